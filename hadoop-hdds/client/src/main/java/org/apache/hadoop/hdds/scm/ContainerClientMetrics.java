@@ -22,8 +22,11 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.hadoop.hdds.protocol.DatanodeID;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.storage.AdaptiveConcurrencyLimit;
+import org.apache.hadoop.hdds.scm.storage.SharedChunkBufferPool;
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
@@ -63,6 +66,8 @@ public final class ContainerClientMetrics {
   @Metric
   private MutableRate hsyncWatchForCommitNs;
   @Metric
+  private MutableCounterLong hsyncCoalesced;
+  @Metric
   private MutableCounterLong writeChunksDuringWrite;
   @Metric
   private MutableCounterLong flushesDuringWrite;
@@ -78,6 +83,7 @@ public final class ContainerClientMetrics {
   private final Map<PipelineID, MutableCounterLong> writeChunkCallsByPipeline;
   private final Map<PipelineID, MutableCounterLong> writeChunkBytesByPipeline;
   private final Map<DatanodeID, MutableCounterLong> writeChunksCallsByLeaders;
+  private final WriteConcurrencyLimits writeConcurrencyLimits;
   private final MetricsRegistry registry;
 
   /**
@@ -109,6 +115,9 @@ public static synchronized ContainerClientMetrics acquire() {
       instance = DefaultMetricsSystem.instance().register(
           SOURCE_NAME + instanceCount,
           "Ozone Client Metrics", new ContainerClientMetrics());
+      DefaultMetricsSystem.instance().register(
+          WriteConcurrencyLimits.SOURCE_NAME + instanceCount,
+          "Adaptive write concurrency limits", instance.writeConcurrencyLimits);
     }
     referenceCount++;
     return instance;
@@ -127,6 +136,8 @@ public static synchronized void release() {
       instance.stop();
       DefaultMetricsSystem.instance().unregisterSource(
           SOURCE_NAME + instanceCount);
+      DefaultMetricsSystem.instance().unregisterSource(
+          WriteConcurrencyLimits.SOURCE_NAME + instanceCount);
       instance = null;
     }
   }
@@ -136,6 +147,7 @@ private ContainerClientMetrics() {
     writeChunkCallsByPipeline = new ConcurrentHashMap<>();
     writeChunkBytesByPipeline = new ConcurrentHashMap<>();
     writeChunksCallsByLeaders = new ConcurrentHashMap<>();
+    writeConcurrencyLimits = new WriteConcurrencyLimits();
 
     listBlockLatency = new MutableQuantiles[3];
     getBlockLatency = new MutableQuantiles[3];
@@ -219,6 +231,26 @@ public void recordWriteChunk(Pipeline pipeline, long chunkSizeBytes) {
     totalWriteChunkBytes.incr(chunkSizeBytes);
   }
 
+  /**
+   * Get the adaptive limit of in-flight requests of the given type
+   * (WriteChunk or PutBlock) of the given pipeline, shared by all the streams
+   * writing to it.  The current limit is exposed by a gauge of the pipeline.
+   */
+  public AdaptiveConcurrencyLimit getWriteConcurrencyLimit(PipelineID pipelineID,
+      ContainerProtos.Type type, OzoneClientConfig config) {
+    return writeConcurrencyLimits.get(pipelineID, type, config);
+  }
+
+  /**
+   * Remove the write concurrency limits and their gauges of a pipeline
+   * which is no longer used, e.g. when its client is evicted.
+   */
+  public static synchronized void removeWriteConcurrencyLimits(PipelineID pipelineID) {
+    if (instance != null) {
+      instance.writeConcurrencyLimits.remove(pipelineID);
+    }
+  }
+
   public void addListBlockLatency(long latency) {
     for (MutableQuantiles q : listBlockLatency) {
       if (q != null) {
@@ -304,6 +336,10 @@ Map<DatanodeID, MutableCounterLong> getWriteChunksCallsByLeaders() {
     return writeChunksCallsByLeaders;
   }
 
+  WriteConcurrencyLimits getWriteConcurrencyLimits() {
+    return writeConcurrencyLimits;
+  }
+
   public MutableRate getHsyncSynchronizedWorkNs() {
     return hsyncSynchronizedWorkNs;
   }
@@ -320,6 +356,10 @@ public MutableRate getHsyncWatchForCommitNs() {
     return hsyncWatchForCommitNs;
   }
 
+  public MutableCounterLong getHsyncCoalesced() {
+    return hsyncCoalesced;
+  }
+
   public MutableCounterLong getWriteChunksDuringWrite() {
     return writeChunksDuringWrite;
   }
@@ -327,4 +367,46 @@ public MutableCounterLong getWriteChunksDuringWrite() {
   public MutableCounterLong getFlushesDuringWrite() {
     return flushesDuringWrite;
   }
+
+  @Metric(about = "Number of ReadChunk requests hedged to another datanode", type = Metric.Type.COUNTER)
+  public long getHedgedReadOps() {
+    return XceiverClientGrpc.getHedgedReadCount();
+  }
+
+  @Metric(about = "Number of hedged ReadChunk requests completed before the original one",
+      type = Metric.Type.COUNTER)
+  public long getHedgedReadWins() {
+    return XceiverClientGrpc.getHedgedReadWinCount();
+  }
+
+  @Metric(about = "Number of stream buffers reused from the shared buffer pool", type = Metric.Type.COUNTER)
+  public long getBufferPoolHits() {
+    return SharedChunkBufferPool.get().getHits();
+  }
+
+  @Metric(about = "Number of stream buffers allocated by the shared buffer pool", type = Metric.Type.COUNTER)
+  public long getBufferPoolMisses() {
+    return SharedChunkBufferPool.get().getMisses();
+  }
+
+  @Metric(about = "Number of stream buffers allocated outside the shared buffer pool since it is at its limit",
+      type = Metric.Type.COUNTER)
+  public long getBufferPoolOverflows() {
+    return SharedChunkBufferPool.get().getOverflows();
+  }
+
+  @Metric(about = "Total size of the stream buffers in use from the shared buffer pool")
+  public long getBufferPoolOutstandingBytes() {
+    return SharedChunkBufferPool.get().getOutstandingBytes();
+  }
+
+  @Metric(about = "Total size of the idle stream buffers in the shared buffer pool")
+  public long getBufferPoolPooledBytes() {
+    return SharedChunkBufferPool.get().getPooledBytes();
+  }
+
+  @Metric(about = "Number of buffer pools discarded without returning the buffers", type = Metric.Type.COUNTER)
+  public long getBufferPoolLeaks() {
+    return SharedChunkBufferPool.get().getLeaks();
+  }
 }
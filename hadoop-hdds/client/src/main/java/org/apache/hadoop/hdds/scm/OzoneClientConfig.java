@@ -123,6 +123,29 @@ public class OzoneClientConfig {
       tags = ConfigTag.CLIENT)
   private long streamBufferMaxSize = 32 * 1024 * 1024;
 
+  @Config(key = "ozone.client.stream.buffer.pool.max.size",
+      defaultValue = "0B",
+      type = ConfigType.SIZE,
+      description = "The maximum total size of the idle stream buffers "
+          + "(ozone.client.stream.buffer.size) kept in a pool shared by all the "
+          + "key output streams of the JVM, so that they are reused by the "
+          + "following streams instead of being freed. If zero, the buffers "
+          + "are freed when the key output stream is closed.",
+      tags = ConfigTag.CLIENT)
+  private long streamBufferPoolMaxSize = 0;
+
+  @Config(key = "ozone.client.stream.buffer.pool.max.outstanding.size",
+      defaultValue = "0B",
+      type = ConfigType.SIZE,
+      description = "The maximum total size of the stream buffers in use "
+          + "from the shared pool (see ozone.client.stream.buffer.pool.max.size) "
+          + "by all the key output streams of the JVM. Once reached, the "
+          + "streams allocate further buffers on the heap, outside of the "
+          + "pool, so that the direct memory of the pool is bounded by the sum "
+          + "of both sizes. If zero, the buffers in use are not limited.",
+      tags = ConfigTag.CLIENT)
+  private long streamBufferPoolMaxOutstandingSize = 0;
+
   @Config(key = "ozone.client.stream.readblock.enable",
       defaultValue = "false",
       type = ConfigType.BOOLEAN,
@@ -130,6 +153,124 @@ public class OzoneClientConfig {
       tags = ConfigTag.CLIENT)
   private boolean streamReadBlock = false;
 
+  @Config(key = "ozone.client.read.ahead.chunks",
+      defaultValue = "0",
+      description = "The number of chunks to read ahead in the background "
+          + "once a block is detected to be read sequentially. "
+          + "Read-ahead stops as soon as the block is accessed randomly. "
+          + "If zero, read-ahead is disabled.",
+      tags = ConfigTag.CLIENT)
+  private int readAheadChunks = 0;
+
+  @Config(key = "ozone.client.read.ahead.sequential.threshold",
+      defaultValue = "2",
+      description = "The number of consecutive sequential reads of a block "
+          + "before read-ahead (ozone.client.read.ahead.chunks) is started.",
+      tags = ConfigTag.CLIENT)
+  private int readAheadSequentialThreshold = 2;
+
+  @Config(key = "ozone.client.read.ahead.max.size",
+      defaultValue = "32MB",
+      type = ConfigType.SIZE,
+      description = "The maximum size of chunk data read ahead but not yet "
+          + "consumed for each block input stream.",
+      tags = ConfigTag.CLIENT)
+  private long readAheadMaxSize = 32 * 1024 * 1024;
+
+  @Config(key = "ozone.client.read.ahead.pool.limit",
+      defaultValue = "16",
+      description = "Thread pool max size for reading chunks ahead. "
+          + "Read-ahead is skipped when all the threads are busy.",
+      tags = ConfigTag.CLIENT)
+  private int readAheadPoolLimit = 16;
+
+  @Config(key = "ozone.client.read.ahead.blocks",
+      defaultValue = "0",
+      description = "The number of blocks following the current one whose "
+          + "first chunks are read ahead when a key is read sequentially, "
+          + "so that several blocks are fetched from different pipelines "
+          + "concurrently. The data read ahead is bounded by "
+          + "ozone.client.read.ahead.max.size for each block. Effective only "
+          + "if ozone.client.read.ahead.chunks is positive. "
+          + "If zero, blocks are only read ahead once they are reached.",
+      tags = ConfigTag.CLIENT)
+  private int readAheadBlocks = 0;
+
+  @Config(key = "ozone.client.vectored.read.pool.limit",
+      defaultValue = "16",
+      description = "Thread pool max size for vectored reads. The ranges "
+          + "of a vectored read in different blocks are read in parallel. "
+          + "If zero, the ranges are read in the calling thread.",
+      tags = ConfigTag.CLIENT)
+  private int vectoredReadPoolLimit = 16;
+
+  @Config(key = "ozone.client.async.pool.limit",
+      defaultValue = "32",
+      description = "Thread pool size of the asynchronous key API "
+          + "(AsyncOzoneBucket), which limits the number of its operations "
+          + "running concurrently. Further operations are queued without "
+          + "blocking the caller, up to ozone.client.async.queue.limit.",
+      tags = ConfigTag.CLIENT)
+  private int asyncPoolLimit = 32;
+
+  @Config(key = "ozone.client.async.queue.limit",
+      defaultValue = "1024",
+      description = "Maximum number of operations of the asynchronous key "
+          + "API queued for its thread pool. Operations submitted when the "
+          + "queue is full are rejected: their futures are completed "
+          + "exceptionally with a RejectedExecutionException.",
+      tags = ConfigTag.CLIENT)
+  private int asyncQueueLimit = 1024;
+
+  @Config(key = "ozone.client.async.close.timeout",
+      defaultValue = "0s",
+      type = ConfigType.TIME,
+      description = "Time to wait on close of the client for the queued and "
+          + "running operations of the asynchronous key API. The operations "
+          + "still queued afterwards are cancelled. If zero, close does not "
+          + "wait.",
+      tags = ConfigTag.CLIENT)
+  private Duration asyncCloseTimeout = Duration.ZERO;
+
+  @Config(key = "ozone.client.hedged.read.threshold",
+      defaultValue = "0s",
+      type = ConfigType.TIME,
+      description = "If positive, a ReadChunk request of a replicated "
+          + "container not completed within this time is also sent to another "
+          + "datanode of the pipeline, and the first successful response is "
+          + "used (hedged read). If zero, hedged read is disabled.",
+      tags = ConfigTag.CLIENT)
+  private Duration hedgedReadThreshold = Duration.ZERO;
+
+  @Config(key = "ozone.client.hedged.read.percentile",
+      defaultValue = "99",
+      type = ConfigType.DOUBLE,
+      description = "If positive, the delay before a hedged read is the "
+          + "larger of ozone.client.hedged.read.threshold and this percentile "
+          + "of the recent ReadChunk latencies of the pipeline. If zero, "
+          + "ozone.client.hedged.read.threshold is used as is.",
+      tags = ConfigTag.CLIENT)
+  private double hedgedReadPercentile = 99;
+
+  @Config(key = "ozone.client.key.location.cache.size",
+      defaultValue = "0",
+      description = "The maximum number of keys whose block locations are "
+          + "cached by the client for reads, saving a lookup in OM when the "
+          + "same key is opened again. A cached entry is dropped when a read "
+          + "of the key fails with an error that requires refreshing the "
+          + "block locations. If zero, the cache is disabled.",
+      tags = ConfigTag.CLIENT)
+  private int keyLocationCacheSize = 0;
+
+  @Config(key = "ozone.client.key.location.cache.ttl",
+      defaultValue = "10s",
+      type = ConfigType.TIME,
+      description = "The time after which a key cached in the client key "
+          + "location cache (ozone.client.key.location.cache.size) is looked "
+          + "up in OM again.",
+      tags = ConfigTag.CLIENT)
+  private Duration keyLocationCacheTtl = Duration.ofSeconds(10);
+
   @Config(key = "ozone.client.max.retries",
       defaultValue = "5",
       description = "Maximum number of retries by Ozone Client on "
@@ -187,6 +328,15 @@ public class OzoneClientConfig {
       tags = ConfigTag.CLIENT)
   private boolean checksumVerify = true;
 
+  @Config(key = "ozone.client.checksum.parallelism",
+      defaultValue = "1",
+      description = "The maximum number of threads used to compute the "
+          + "checksums of a single chunk, including the writing thread. "
+          + "Large chunks are split across a small shared pool when this is "
+          + "greater than 1. Only applies to CRC32 and CRC32C checksums.",
+      tags = ConfigTag.CLIENT)
+  private int checksumParallelism = 1;
+
   @Config(key = "ozone.client.max.ec.stripe.write.retries",
       defaultValue = "10",
       description = "When EC stripe write failed, client will request to allocate new block group "
@@ -200,7 +350,10 @@ public class OzoneClientConfig {
   @Config(key = "ozone.client.ec.stripe.queue.size",
       defaultValue = "2",
       description = "The max number of EC stripes can be buffered in client " +
-          " before flushing into datanodes.",
+          " before flushing into datanodes. Parity of the buffered stripes " +
+          "is computed in the background while earlier stripes are " +
+          "written, so each EC key output stream holds up to this number " +
+          "plus two stripes in memory.",
       tags = ConfigTag.CLIENT)
   private int ecStripeQueueSize = 2;
 
@@ -230,6 +383,25 @@ public class OzoneClientConfig {
       tags = ConfigTag.CLIENT)
   private int ecReconstructStripeWritePoolLimit = 10 * 3;
 
+  @Config(key = "ozone.client.ec.reconstruct.stripe.cache.size",
+      defaultValue = "0",
+      type = ConfigType.SIZE,
+      description = "The maximum total size of EC stripes reconstructed by "
+          + "degraded reads that are kept by the client, so that reading the "
+          + "same stripe again while a data location is unavailable does not "
+          + "read and decode it again. If zero, the cache is disabled.",
+      tags = ConfigTag.CLIENT)
+  private long ecReconstructStripeCacheSize = 0;
+
+  @Config(key = "ozone.client.ec.reconstruct.stripe.cache.ttl",
+      defaultValue = "60s",
+      type = ConfigType.TIME,
+      description = "The time after which a stripe cached in the client EC "
+          + "reconstructed stripe cache "
+          + "(ozone.client.ec.reconstruct.stripe.cache.size) is dropped.",
+      tags = ConfigTag.CLIENT)
+  private Duration ecReconstructStripeCacheTtl = Duration.ofSeconds(60);
+
   @Config(key = "ozone.client.checksum.combine.mode",
       defaultValue = "COMPOSITE_CRC",
       description = "The combined checksum type [MD5MD5CRC / COMPOSITE_CRC] "
@@ -298,6 +470,65 @@ public class OzoneClientConfig {
       tags = ConfigTag.CLIENT)
   private int maxConcurrentWritePerKey = 1;
 
+  @Config(key = "ozone.client.hsync.group.commit.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      description = "When enabled, the hsync and hflush calls on a key are group committed: " +
+          "a call returns once a sync started after it was made has completed, " +
+          "so that concurrent calls share one PutBlock and OM update. " +
+          "It is useful only when ozone.client.key.write.concurrency is not 1.",
+      tags = ConfigTag.CLIENT)
+  private boolean hsyncGroupCommit = false;
+
+  @Config(key = "ozone.client.hsync.group.commit.window",
+      defaultValue = "0s",
+      type = ConfigType.TIME,
+      description = "The time a group committed hsync waits for more hsync calls to join before syncing. " +
+          "Zero means only the calls made while a sync is running are grouped.",
+      tags = ConfigTag.CLIENT)
+  private Duration hsyncGroupCommitWindow = Duration.ZERO;
+
+  @Config(key = "ozone.client.write.concurrency.adaptive",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      description = "When enabled, the number of concurrent write requests is tuned by the observed latency. " +
+          "Each pipeline limits its in-flight WriteChunk requests and its in-flight PutBlock requests " +
+          "separately, each by the latency of the requests of its type. " +
+          "A limit is increased by one while the latency stays within " +
+          "ozone.client.write.concurrency.adaptive.latency.tolerance times the lowest latency observed, " +
+          "and multiplied by ozone.client.write.concurrency.adaptive.backoff.ratio otherwise.",
+      tags = ConfigTag.CLIENT)
+  private boolean adaptiveWriteConcurrency = false;
+
+  @Config(key = "ozone.client.write.concurrency.adaptive.min",
+      defaultValue = "1",
+      description = "The minimum of the adaptive write concurrency limits.",
+      tags = ConfigTag.CLIENT)
+  private int adaptiveWriteConcurrencyMin = 1;
+
+  @Config(key = "ozone.client.write.concurrency.adaptive.pipeline.max",
+      defaultValue = "32",
+      description = "The maximum of the adaptive limits of in-flight WriteChunk requests and of " +
+          "in-flight PutBlock requests on each pipeline.",
+      tags = ConfigTag.CLIENT)
+  private int adaptiveWriteConcurrencyPipelineMax = 32;
+
+  @Config(key = "ozone.client.write.concurrency.adaptive.latency.tolerance",
+      defaultValue = "2.0",
+      type = ConfigType.DOUBLE,
+      description = "The ratio of a write latency to the lowest latency observed above which " +
+          "the adaptive write concurrency limit is decreased.",
+      tags = ConfigTag.CLIENT)
+  private double adaptiveWriteConcurrencyTolerance = 2.0;
+
+  @Config(key = "ozone.client.write.concurrency.adaptive.backoff.ratio",
+      defaultValue = "0.75",
+      type = ConfigType.DOUBLE,
+      description = "The factor applied to the adaptive write concurrency limit when it is decreased. " +
+          "Must be between 0 and 1.",
+      tags = ConfigTag.CLIENT)
+  private double adaptiveWriteConcurrencyBackoffRatio = 0.75;
+
   @Config(key = "ozone.client.stream.read.pre-read-size",
       defaultValue = "33554432",
       type = ConfigType.LONG,
@@ -345,6 +576,103 @@ public void validate() {
           OzoneConfigKeys.OZONE_CLIENT_BYTES_PER_CHECKSUM_MIN_SIZE;
     }
 
+    if (readAheadChunks > 0 && readAheadPoolLimit < 1) {
+      LOG.warn("Ignoring ozone.client.read.ahead.chunks = {} because " +
+          "ozone.client.read.ahead.pool.limit = {} is less than 1.",
+          readAheadChunks, readAheadPoolLimit);
+      readAheadChunks = 0;
+    }
+
+    if (hedgedReadThreshold == null || hedgedReadThreshold.isNegative()) {
+      LOG.warn("Invalid ozone.client.hedged.read.threshold = {}. " +
+          "Hedged read is disabled.", hedgedReadThreshold);
+      hedgedReadThreshold = Duration.ZERO;
+    }
+    if (hedgedReadPercentile < 0 || hedgedReadPercentile > 100) {
+      LOG.warn("Invalid ozone.client.hedged.read.percentile = {}. " +
+          "Resetting to 0.", hedgedReadPercentile);
+      hedgedReadPercentile = 0;
+    }
+
+    if (checksumParallelism < 1) {
+      LOG.warn("Invalid ozone.client.checksum.parallelism = {}. " +
+          "Resetting to 1.", checksumParallelism);
+      checksumParallelism = 1;
+    }
+
+    if (hsyncGroupCommitWindow == null || hsyncGroupCommitWindow.isNegative()) {
+      LOG.warn("Invalid ozone.client.hsync.group.commit.window = {}. " +
+          "Resetting to 0.", hsyncGroupCommitWindow);
+      hsyncGroupCommitWindow = Duration.ZERO;
+    }
+
+    if (adaptiveWriteConcurrencyMin < 1) {
+      LOG.warn("Invalid ozone.client.write.concurrency.adaptive.min = {}. " +
+          "Resetting to 1.", adaptiveWriteConcurrencyMin);
+      adaptiveWriteConcurrencyMin = 1;
+    }
+    if (adaptiveWriteConcurrencyPipelineMax < adaptiveWriteConcurrencyMin) {
+      LOG.warn("Invalid ozone.client.write.concurrency.adaptive.pipeline.max = {}. " +
+          "Resetting to {}.", adaptiveWriteConcurrencyPipelineMax, adaptiveWriteConcurrencyMin);
+      adaptiveWriteConcurrencyPipelineMax = adaptiveWriteConcurrencyMin;
+    }
+    if (adaptiveWriteConcurrencyTolerance < 1) {
+      LOG.warn("Invalid ozone.client.write.concurrency.adaptive.latency.tolerance = {}. " +
+          "Resetting to 2.0.", adaptiveWriteConcurrencyTolerance);
+      adaptiveWriteConcurrencyTolerance = 2.0;
+    }
+    if (adaptiveWriteConcurrencyBackoffRatio <= 0 || adaptiveWriteConcurrencyBackoffRatio >= 1) {
+      LOG.warn("Invalid ozone.client.write.concurrency.adaptive.backoff.ratio = {}. " +
+          "Resetting to 0.75.", adaptiveWriteConcurrencyBackoffRatio);
+      adaptiveWriteConcurrencyBackoffRatio = 0.75;
+    }
+
+    if (asyncPoolLimit < 1) {
+      LOG.warn("Invalid ozone.client.async.pool.limit = {}. " +
+          "Resetting to 1.", asyncPoolLimit);
+      asyncPoolLimit = 1;
+    }
+
+    if (asyncQueueLimit < 1) {
+      LOG.warn("Invalid ozone.client.async.queue.limit = {}. " +
+          "Resetting to 1.", asyncQueueLimit);
+      asyncQueueLimit = 1;
+    }
+
+    if (asyncCloseTimeout == null || asyncCloseTimeout.isNegative()) {
+      LOG.warn("Invalid ozone.client.async.close.timeout = {}. " +
+          "Resetting to 0.", asyncCloseTimeout);
+      asyncCloseTimeout = Duration.ZERO;
+    }
+
+    if (keyLocationCacheSize < 0) {
+      LOG.warn("Invalid ozone.client.key.location.cache.size = {}. " +
+          "Resetting to 0.", keyLocationCacheSize);
+      keyLocationCacheSize = 0;
+    }
+    if (keyLocationCacheTtl == null || keyLocationCacheTtl.isNegative()
+        || keyLocationCacheTtl.isZero()) {
+      LOG.warn("Invalid ozone.client.key.location.cache.ttl = {}. " +
+          "Key location cache is disabled.", keyLocationCacheTtl);
+      keyLocationCacheTtl = Duration.ofSeconds(10);
+      keyLocationCacheSize = 0;
+    }
+
+    if (ecReconstructStripeCacheSize < 0) {
+      LOG.warn("Invalid ozone.client.ec.reconstruct.stripe.cache.size = {}. " +
+          "Resetting to 0.", ecReconstructStripeCacheSize);
+      ecReconstructStripeCacheSize = 0;
+    }
+    if (ecReconstructStripeCacheTtl == null
+        || ecReconstructStripeCacheTtl.isNegative()
+        || ecReconstructStripeCacheTtl.isZero()) {
+      LOG.warn("Invalid ozone.client.ec.reconstruct.stripe.cache.ttl = {}. " +
+          "EC reconstructed stripe cache is disabled.",
+          ecReconstructStripeCacheTtl);
+      ecReconstructStripeCacheTtl = Duration.ofSeconds(60);
+      ecReconstructStripeCacheSize = 0;
+    }
+
     // Verify client configs related to HBase enhancements
     // Enforce check on ozone.client.hbase.enhancements.allowed
     if (!hbaseEnhancementsAllowed) {
@@ -506,6 +834,14 @@ public void setChecksumVerify(boolean checksumVerify) {
     this.checksumVerify = checksumVerify;
   }
 
+  public int getChecksumParallelism() {
+    return checksumParallelism;
+  }
+
+  public void setChecksumParallelism(int checksumParallelism) {
+    this.checksumParallelism = checksumParallelism;
+  }
+
   public int getMaxECStripeWriteRetries() {
     return this.maxECStripeWriteRetries;
   }
@@ -560,6 +896,22 @@ public int getEcReconstructStripeWritePoolLimit() {
     return ecReconstructStripeWritePoolLimit;
   }
 
+  public long getEcReconstructStripeCacheSize() {
+    return ecReconstructStripeCacheSize;
+  }
+
+  public void setEcReconstructStripeCacheSize(long size) {
+    this.ecReconstructStripeCacheSize = size;
+  }
+
+  public Duration getEcReconstructStripeCacheTtl() {
+    return ecReconstructStripeCacheTtl;
+  }
+
+  public void setEcReconstructStripeCacheTtl(Duration ttl) {
+    this.ecReconstructStripeCacheTtl = ttl;
+  }
+
   public void setFsDefaultBucketLayout(String bucketLayout) {
     if (!bucketLayout.isEmpty()) {
       this.fsDefaultBucketLayout = bucketLayout;
@@ -614,6 +966,62 @@ public int getMaxConcurrentWritePerKey() {
     return this.maxConcurrentWritePerKey;
   }
 
+  public boolean isHsyncGroupCommit() {
+    return hsyncGroupCommit;
+  }
+
+  public void setHsyncGroupCommit(boolean hsyncGroupCommit) {
+    this.hsyncGroupCommit = hsyncGroupCommit;
+  }
+
+  public Duration getHsyncGroupCommitWindow() {
+    return hsyncGroupCommitWindow;
+  }
+
+  public void setHsyncGroupCommitWindow(Duration hsyncGroupCommitWindow) {
+    this.hsyncGroupCommitWindow = hsyncGroupCommitWindow;
+  }
+
+  public boolean isAdaptiveWriteConcurrency() {
+    return adaptiveWriteConcurrency;
+  }
+
+  public void setAdaptiveWriteConcurrency(boolean adaptiveWriteConcurrency) {
+    this.adaptiveWriteConcurrency = adaptiveWriteConcurrency;
+  }
+
+  public int getAdaptiveWriteConcurrencyMin() {
+    return adaptiveWriteConcurrencyMin;
+  }
+
+  public void setAdaptiveWriteConcurrencyMin(int adaptiveWriteConcurrencyMin) {
+    this.adaptiveWriteConcurrencyMin = adaptiveWriteConcurrencyMin;
+  }
+
+  public int getAdaptiveWriteConcurrencyPipelineMax() {
+    return adaptiveWriteConcurrencyPipelineMax;
+  }
+
+  public void setAdaptiveWriteConcurrencyPipelineMax(int adaptiveWriteConcurrencyPipelineMax) {
+    this.adaptiveWriteConcurrencyPipelineMax = adaptiveWriteConcurrencyPipelineMax;
+  }
+
+  public double getAdaptiveWriteConcurrencyTolerance() {
+    return adaptiveWriteConcurrencyTolerance;
+  }
+
+  public void setAdaptiveWriteConcurrencyTolerance(double adaptiveWriteConcurrencyTolerance) {
+    this.adaptiveWriteConcurrencyTolerance = adaptiveWriteConcurrencyTolerance;
+  }
+
+  public double getAdaptiveWriteConcurrencyBackoffRatio() {
+    return adaptiveWriteConcurrencyBackoffRatio;
+  }
+
+  public void setAdaptiveWriteConcurrencyBackoffRatio(double adaptiveWriteConcurrencyBackoffRatio) {
+    this.adaptiveWriteConcurrencyBackoffRatio = adaptiveWriteConcurrencyBackoffRatio;
+  }
+
   public boolean isStreamReadBlock() {
     return streamReadBlock;
   }
@@ -622,6 +1030,126 @@ public void setStreamReadBlock(boolean streamReadBlock) {
     this.streamReadBlock = streamReadBlock;
   }
 
+  public long getStreamBufferPoolMaxSize() {
+    return streamBufferPoolMaxSize;
+  }
+
+  public void setStreamBufferPoolMaxSize(long streamBufferPoolMaxSize) {
+    this.streamBufferPoolMaxSize = streamBufferPoolMaxSize;
+  }
+
+  public long getStreamBufferPoolMaxOutstandingSize() {
+    return streamBufferPoolMaxOutstandingSize;
+  }
+
+  public void setStreamBufferPoolMaxOutstandingSize(long streamBufferPoolMaxOutstandingSize) {
+    this.streamBufferPoolMaxOutstandingSize = streamBufferPoolMaxOutstandingSize;
+  }
+
+  public int getReadAheadChunks() {
+    return readAheadChunks;
+  }
+
+  public void setReadAheadChunks(int readAheadChunks) {
+    this.readAheadChunks = readAheadChunks;
+  }
+
+  public int getReadAheadSequentialThreshold() {
+    return readAheadSequentialThreshold;
+  }
+
+  public void setReadAheadSequentialThreshold(int readAheadSequentialThreshold) {
+    this.readAheadSequentialThreshold = readAheadSequentialThreshold;
+  }
+
+  public long getReadAheadMaxSize() {
+    return readAheadMaxSize;
+  }
+
+  public void setReadAheadMaxSize(long readAheadMaxSize) {
+    this.readAheadMaxSize = readAheadMaxSize;
+  }
+
+  public int getReadAheadPoolLimit() {
+    return readAheadPoolLimit;
+  }
+
+  public void setReadAheadPoolLimit(int readAheadPoolLimit) {
+    this.readAheadPoolLimit = readAheadPoolLimit;
+  }
+
+  public int getReadAheadBlocks() {
+    return readAheadBlocks;
+  }
+
+  public void setReadAheadBlocks(int readAheadBlocks) {
+    this.readAheadBlocks = readAheadBlocks;
+  }
+
+  public int getVectoredReadPoolLimit() {
+    return vectoredReadPoolLimit;
+  }
+
+  public void setVectoredReadPoolLimit(int vectoredReadPoolLimit) {
+    this.vectoredReadPoolLimit = vectoredReadPoolLimit;
+  }
+
+  public int getAsyncPoolLimit() {
+    return asyncPoolLimit;
+  }
+
+  public void setAsyncPoolLimit(int asyncPoolLimit) {
+    this.asyncPoolLimit = asyncPoolLimit;
+  }
+
+  public int getAsyncQueueLimit() {
+    return asyncQueueLimit;
+  }
+
+  public void setAsyncQueueLimit(int asyncQueueLimit) {
+    this.asyncQueueLimit = asyncQueueLimit;
+  }
+
+  public Duration getAsyncCloseTimeout() {
+    return asyncCloseTimeout;
+  }
+
+  public void setAsyncCloseTimeout(Duration asyncCloseTimeout) {
+    this.asyncCloseTimeout = asyncCloseTimeout;
+  }
+
+  public Duration getHedgedReadThreshold() {
+    return hedgedReadThreshold;
+  }
+
+  public void setHedgedReadThreshold(Duration hedgedReadThreshold) {
+    this.hedgedReadThreshold = hedgedReadThreshold;
+  }
+
+  public double getHedgedReadPercentile() {
+    return hedgedReadPercentile;
+  }
+
+  public void setHedgedReadPercentile(double hedgedReadPercentile) {
+    this.hedgedReadPercentile = hedgedReadPercentile;
+  }
+
+  public int getKeyLocationCacheSize() {
+    return keyLocationCacheSize;
+  }
+
+  public void setKeyLocationCacheSize(int keyLocationCacheSize) {
+    this.keyLocationCacheSize = keyLocationCacheSize;
+  }
+
+  public Duration getKeyLocationCacheTtl() {
+    return keyLocationCacheTtl;
+  }
+
+  public void setKeyLocationCacheTtl(Duration keyLocationCacheTtl) {
+    this.keyLocationCacheTtl = keyLocationCacheTtl;
+  }
+
   public long getStreamReadPreReadSize() {
     return streamReadPreReadSize;
   }
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm;
+
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+
+/**
+ * Estimates a percentile of the most recent read latencies of a pipeline.
+ * It is used to decide how long to wait before sending a hedged read.
+ */
+final class ReadLatencyPercentile {
+  private static final int WINDOW_SIZE = 128;
+  // Too few samples do not give a meaningful percentile.
+  private static final int MIN_SAMPLES = 32;
+  // Recompute the percentile only after this number of new samples.
+  private static final int UPDATE_INTERVAL = 16;
+
+  private final double percentile;
+  private final long[] samples = new long[WINDOW_SIZE];
+  private int next;
+  private int count;
+  private int added;
+  private long value = -1;
+
+  ReadLatencyPercentile(double percentile) {
+    Preconditions.checkArgument(percentile > 0 && percentile <= 100,
+        "percentile = %s is not in (0, 100]", percentile);
+    this.percentile = percentile;
+  }
+
+  synchronized void add(long latency) {
+    samples[next] = latency;
+    next = (next + 1) % WINDOW_SIZE;
+    if (count < WINDOW_SIZE) {
+      count++;
+    }
+    added++;
+  }
+
+  /**
+   * @return the percentile of the recent latencies,
+   * or -1 if there are not enough samples yet.
+   */
+  synchronized long get() {
+    if (count < MIN_SAMPLES) {
+      return -1;
+    }
+    if (value < 0 || added >= UPDATE_INTERVAL) {
+      final long[] sorted = Arrays.copyOf(samples, count);
+      Arrays.sort(sorted);
+      final int index = (int) Math.ceil(percentile / 100 * count) - 1;
+      value = sorted[Math.max(0, Math.min(index, count - 1))];
+      added = 0;
+    }
+    return value;
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.storage.AdaptiveConcurrencyLimit;
+import org.apache.hadoop.metrics2.MetricsCollector;
+import org.apache.hadoop.metrics2.MetricsRecordBuilder;
+import org.apache.hadoop.metrics2.MetricsSource;
+import org.apache.hadoop.metrics2.lib.Interns;
+
+/**
+ * The adaptive limits of in-flight write requests of the pipelines,
+ * one for each request type, since WriteChunk and PutBlock requests have
+ * very different latencies.  The limits of a pipeline are exposed as the
+ * writeConcurrencyLimit&lt;type&gt;Pipeline-&lt;id&gt; gauges until the
+ * pipeline is removed.
+ */
+final class WriteConcurrencyLimits implements MetricsSource {
+  static final String SOURCE_NAME =
+      WriteConcurrencyLimits.class.getSimpleName();
+
+  private final Map<PipelineID, Map<ContainerProtos.Type, AdaptiveConcurrencyLimit>>
+      limits = new ConcurrentHashMap<>();
+
+  AdaptiveConcurrencyLimit get(PipelineID pipelineID,
+      ContainerProtos.Type type, OzoneClientConfig config) {
+    return limits.computeIfAbsent(pipelineID, id -> new ConcurrentHashMap<>())
+        .computeIfAbsent(type, t -> new AdaptiveConcurrencyLimit(
+            config.getAdaptiveWriteConcurrencyMin(),
+            config.getAdaptiveWriteConcurrencyPipelineMax(),
+            config.getAdaptiveWriteConcurrencyTolerance(),
+            config.getAdaptiveWriteConcurrencyBackoffRatio(), null));
+  }
+
+  void remove(PipelineID pipelineID) {
+    limits.remove(pipelineID);
+  }
+
+  int size() {
+    return limits.size();
+  }
+
+  @Override
+  public void getMetrics(MetricsCollector collector, boolean all) {
+    final MetricsRecordBuilder builder = collector.addRecord(SOURCE_NAME);
+    limits.forEach((pipelineID, pipelineLimits) ->
+        pipelineLimits.forEach((type, limit) -> builder.addGauge(
+            Interns.info("writeConcurrencyLimit" + type + "Pipeline-"
+                    + pipelineID.getId(),
+                "Adaptive limit of in-flight " + type
+                    + " requests on a pipeline"),
+            limit.getLimit())));
+  }
+}
@@ -30,13 +30,16 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.HddsConfigKeys;
 import org.apache.hadoop.hdds.HddsUtils;
@@ -91,6 +94,9 @@ public class XceiverClientGrpc extends XceiverClientSpi {
   private static final Logger LOG = LoggerFactory.getLogger(XceiverClientGrpc.class);
   private static final int SHUTDOWN_WAIT_INTERVAL_MILLIS = 100;
   private static final int SHUTDOWN_WAIT_MAX_SECONDS = 5;
+  // Number of hedged ReadChunk requests, and of those that returned first.
+  private static final AtomicLong HEDGED_READS = new AtomicLong();
+  private static final AtomicLong HEDGED_READ_WINS = new AtomicLong();
   private final Pipeline pipeline;
   private final ConfigurationSource config;
   private final XceiverClientMetrics metrics;
@@ -103,6 +109,11 @@ public class XceiverClientGrpc extends XceiverClientSpi {
   // Cache the DN which returned the GetBlock command so that the ReadChunk
   // command can be sent to the same DN.
   private final Map<DatanodeBlockID, DatanodeDetails> getBlockDNcache;
+  // Delay before a ReadChunk request is also sent to another datanode,
+  // zero if hedged read is disabled.
+  private final long hedgedReadThresholdMillis;
+  // Recent ReadChunk latencies, null if the threshold is used as is.
+  private final ReadLatencyPercentile readLatency;
 
   private final AtomicBoolean isClosed = new AtomicBoolean(false);
 
@@ -133,6 +144,10 @@ public XceiverClientGrpc(Pipeline pipeline, ConfigurationSource config,
         OzoneConfigKeys.OZONE_NETWORK_TOPOLOGY_AWARE_READ_DEFAULT);
     this.trustManager = trustManager;
     this.getBlockDNcache = new ConcurrentHashMap<>();
+    final OzoneClientConfig clientConfig = config.getObject(OzoneClientConfig.class);
+    this.hedgedReadThresholdMillis = clientConfig.getHedgedReadThreshold().toMillis();
+    this.readLatency = hedgedReadThresholdMillis > 0 && clientConfig.getHedgedReadPercentile() > 0
+        ? new ReadLatencyPercentile(clientConfig.getHedgedReadPercentile()) : null;
   }
 
   /**
@@ -498,6 +513,10 @@ private XceiverClientReply sendCommandWithRetry(
     // datanodes in the pipeline in a round-robin fashion.
     XceiverClientReply reply = new XceiverClientReply(null);
     List<DatanodeDetails> datanodeList = sortDatanodes(request);
+    if (hedgedReadThresholdMillis > 0 && datanodeList.size() > 1
+        && request.getCmdType() == ContainerProtos.Type.ReadChunk) {
+      return sendReadChunkWithHedging(request, validators, datanodeList);
+    }
 
     for (DatanodeDetails dn : datanodeList) {
       try {
@@ -565,6 +584,143 @@ private XceiverClientReply sendCommandWithRetry(
     }
   }
 
+  /**
+   * Send the ReadChunk request to the first datanode, and also to the next
+   * datanode if no response is received within the hedged read delay.
+   * The first successful response is returned and the other requests are
+   * cancelled. If a request fails, it is retried on the next datanode right
+   * away, without waiting for the hedged read delay.
+   */
+  private XceiverClientReply sendReadChunkWithHedging(
+      ContainerCommandRequestProto request, List<Validator> validators,
+      List<DatanodeDetails> datanodeList) throws IOException {
+    final XceiverClientReply reply = new XceiverClientReply(null);
+    final int numNodes = datanodeList.size();
+    final long delay = getHedgedReadDelay();
+    final List<CompletableFuture<ContainerCommandResponseProto>> futures = new ArrayList<>(numNodes);
+    final long[] sendTimes = new long[numNodes];
+    final boolean[] hedged = new boolean[numNodes];
+    // Indexes of the datanodes which responded, in the order of the responses.
+    final BlockingQueue<Integer> completed = new LinkedBlockingQueue<>();
+    IOException ioException = null;
+    int pending = 0;
+    // Whether the last request failed, so the next datanode is tried now.
+    boolean failed = false;
+
+    try {
+      while (pending > 0 || futures.size() < numNodes) {
+        final Integer index;
+        if (futures.size() < numNodes && (pending == 0 || failed)) {
+          index = null;
+        } else if (futures.size() < numNodes) {
+          index = completed.poll(delay, TimeUnit.MILLISECONDS);
+        } else {
+          index = completed.take();
+        }
+
+        if (index == null) {
+          // No request pending, the last one failed or the pending ones are
+          // slow, send the request to the next datanode.
+          final boolean retry = failed;
+          failed = false;
+          final int next = futures.size();
+          final DatanodeDetails dn = datanodeList.get(next);
+          reply.addDatanode(dn);
+          sendTimes[next] = Time.monotonicNow();
+          try {
+            final CompletableFuture<ContainerCommandResponseProto> future =
+                sendCommandAsync(request, dn).getResponse();
+            futures.add(future);
+            future.whenComplete((r, e) -> completed.offer(next));
+          } catch (IOException e) {
+            futures.add(null);
+            ioException = e;
+            failed = true;
+            LOG.debug("Failed to send command {} to datanode {}", processForDebug(request), dn, e);
+            continue;
+          }
+          if (pending > 0 && !retry) {
+            hedged[next] = true;
+            HEDGED_READS.incrementAndGet();
+            LOG.debug("Send hedged command {} to datanode {} after {} ms", processForDebug(request), dn, delay);
+          }
+          pending++;
+          continue;
+        }
+
+        pending--;
+        final DatanodeDetails dn = datanodeList.get(index);
+        try {
+          final ContainerCommandResponseProto responseProto = futures.get(index).get();
+          if (validators != null && !validators.isEmpty()) {
+            for (Validator validator : validators) {
+              validator.accept(request, responseProto);
+            }
+          }
+          if (readLatency != null) {
+            readLatency.add(Time.monotonicNow() - sendTimes[index]);
+          }
+          if (hedged[index]) {
+            HEDGED_READ_WINS.incrementAndGet();
+          }
+          reply.setResponse(CompletableFuture.completedFuture(responseProto));
+          return reply;
+        } catch (IOException e) {
+          ioException = e;
+          failed = true;
+          LOG.debug("Failed to execute command {} on datanode {}", processForDebug(request), dn, e);
+        } catch (ExecutionException e) {
+          LOG.debug("Failed to execute command {} on datanode {}", processForDebug(request), dn, e);
+          if (Status.fromThrowable(e.getCause()).getCode()
+              == Status.UNAUTHENTICATED.getCode()) {
+            throw new SCMSecurityException("Failed to authenticate with "
+                + "GRPC XceiverServer with Ozone block token.");
+          }
+          ioException = new IOException(e);
+          failed = true;
+        }
+      }
+    } catch (InterruptedException e) {
+      LOG.error("Command execution was interrupted ", e);
+      Thread.currentThread().interrupt();
+      throw (IOException) new InterruptedIOException(
+          "Command " + processForDebug(request) + " was interrupted.")
+          .initCause(e);
+    } finally {
+      // Cancel the requests still pending, e.g. those which lost the race.
+      for (CompletableFuture<ContainerCommandResponseProto> future : futures) {
+        if (future != null) {
+          future.cancel(true);
+        }
+      }
+    }
+
+    Objects.requireNonNull(ioException, "ioException == null");
+    LOG.warn("Failed to execute command {} on the pipeline {}.",
+        request.getCmdType(), pipeline);
+    throw ioException;
+  }
+
+  private long getHedgedReadDelay() {
+    final long percentile = readLatency != null ? readLatency.get() : -1;
+    return Math.max(hedgedReadThresholdMillis, percentile);
+  }
+
+  /**
+   * @return the number of ReadChunk requests sent to another datanode
+   * because the previous datanode was slow to respond.
+   */
+  public static long getHedgedReadCount() {
+    return HEDGED_READS.get();
+  }
+
+  /**
+   * @return the number of hedged ReadChunk requests which returned the response.
+   */
+  public static long getHedgedReadWinCount() {
+    return HEDGED_READ_WINS.get();
+  }
+
   @Override
   public void streamRead(ContainerCommandRequestProto request,
       StreamingReadResponse streamObserver) {
@@ -736,6 +892,13 @@ private void decreasePendingMetricsAndReleaseSemaphore() {
             });
     requestObserver.onNext(request);
     requestObserver.onCompleted();
+    // Cancel the call once the reply is no longer needed, e.g. by a hedged read.
+    replyFuture.whenComplete((r, e) -> {
+      if (replyFuture.isCancelled()) {
+        ((ClientCallStreamObserver<ContainerCommandRequestProto>) requestObserver)
+            .cancel("Reply is no longer needed", null);
+      }
+    });
     return new XceiverClientReply(replyFuture);
   }
 
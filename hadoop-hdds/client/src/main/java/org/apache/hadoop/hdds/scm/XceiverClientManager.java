@@ -98,6 +98,8 @@ public void onRemoval(
                 // Mark the entry as evicted
                 XceiverClientSpi info = removalNotification.getValue();
                 info.setEvicted();
+                ContainerClientMetrics.removeWriteConcurrencyLimits(
+                    info.getPipeline().getId());
               }
             }
           }).build();
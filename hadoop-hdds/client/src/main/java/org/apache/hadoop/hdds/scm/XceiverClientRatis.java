@@ -30,6 +30,8 @@
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 import org.apache.hadoop.hdds.HddsUtils;
@@ -82,6 +84,9 @@ public final class XceiverClientRatis extends XceiverClientSpi {
 
   // Map to track commit index at every server
   private final ConcurrentHashMap<UUID, Long> commitInfoMap;
+  // in-flight watch requests by log index, shared by the streams writing to this pipeline
+  private final ConcurrentNavigableMap<Long, CompletableFuture<XceiverClientReply>> pendingWatches
+      = new ConcurrentSkipListMap<>();
 
   private final XceiverClientMetrics metrics
       = XceiverClientManager.getXceiverClientMetrics();
@@ -304,7 +309,19 @@ public CompletableFuture<XceiverClientReply> watchForCommit(long index) {
       return CompletableFuture.completedFuture(newWatchReply(index, "replicatedMin", replicatedMin));
     }
 
+    // An in-flight watch of the same or a higher index also covers this index,
+    // so concurrent watches (e.g. of hsync calls) are coalesced into one request.
+    final Map.Entry<Long, CompletableFuture<XceiverClientReply>> pending = pendingWatches.ceilingEntry(index);
+    if (pending != null) {
+      LOG.debug("watchForCommit({}) coalesced into watchForCommit({})", index, pending.getKey());
+      return pending.getValue();
+    }
     final CompletableFuture<XceiverClientReply> replyFuture = new CompletableFuture<>();
+    final CompletableFuture<XceiverClientReply> previous = pendingWatches.putIfAbsent(index, replyFuture);
+    if (previous != null) {
+      return previous;
+    }
+    replyFuture.whenComplete((r, e) -> pendingWatches.remove(index, replyFuture));
     getClient().async().watch(index, watchType).thenAccept(reply -> {
       final long updated = updateCommitInfosMap(reply, watchType);
       Preconditions.checkState(updated >= index, "Returned index " + updated + " < expected " + index);
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+
+/**
+ * A concurrency limit tuned by the latency of the requests it admits,
+ * using additive increase / multiplicative decrease (AIMD).
+ * <p>
+ * The limit is increased by one after a window of {@code limit} requests
+ * completed within {@code tolerance} times the baseline latency, i.e. the
+ * smoothed minimum latency observed so far.  It is multiplied by
+ * {@code backoffRatio} when a request is slower than that or fails,
+ * at most once per window, so that a single congestion event does not
+ * collapse the limit.  The limit always stays within
+ * {@code [minLimit, maxLimit]}.
+ */
+public final class AdaptiveConcurrencyLimit {
+  /** Weight of a new sample when the baseline drifts upwards. */
+  private static final double BASELINE_DRIFT = 0.01;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final double backoffRatio;
+  private final IntConsumer limitListener;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition permitAvailable = lock.newCondition();
+
+  private int limit;
+  private int inFlight;
+  private int waiting;
+  private double increase;
+  private int samplesSinceDecrease;
+  private double baselineNanos = Double.NaN;
+
+  public AdaptiveConcurrencyLimit(int minLimit, int maxLimit,
+      double tolerance, double backoffRatio, IntConsumer limitListener) {
+    Preconditions.checkArgument(minLimit > 0,
+        "minLimit = %s <= 0", minLimit);
+    Preconditions.checkArgument(maxLimit >= minLimit,
+        "maxLimit = %s < minLimit = %s", maxLimit, minLimit);
+    Preconditions.checkArgument(tolerance >= 1,
+        "tolerance = %s < 1", tolerance);
+    Preconditions.checkArgument(backoffRatio > 0 && backoffRatio < 1,
+        "backoffRatio = %s is not in (0, 1)", backoffRatio);
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.tolerance = tolerance;
+    this.backoffRatio = backoffRatio;
+    this.limitListener = limitListener;
+    this.limit = minLimit;
+    this.samplesSinceDecrease = minLimit;
+  }
+
+  /**
+   * Wait until the number of requests in flight is below the current limit
+   * and admit a new one.
+   */
+  public void acquire() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      waiting++;
+      try {
+        while (inFlight >= limit) {
+          permitAvailable.await();
+        }
+      } finally {
+        waiting--;
+      }
+      inFlight++;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Complete a request admitted by {@link #acquire()} without tuning the
+   * limit, e.g. when the request was not sent.
+   */
+  public void release() {
+    release(-1, true);
+  }
+
+  /**
+   * Complete a request admitted by {@link #acquire()} and tune the limit.
+   * @param latencyNanos the latency of the request,
+   *                     negative if it should not be sampled.
+   * @param success whether the request succeeded.
+   */
+  public void release(long latencyNanos, boolean success) {
+    final int newLimit;
+    lock.lock();
+    try {
+      Preconditions.checkState(inFlight > 0, "No request in flight");
+      final int oldLimit = limit;
+      if (!success) {
+        decrease();
+      } else if (latencyNanos >= 0) {
+        onSample(latencyNanos);
+      }
+      inFlight--;
+      if (limit > oldLimit) {
+        permitAvailable.signalAll();
+      } else {
+        permitAvailable.signal();
+      }
+      newLimit = limit == oldLimit ? -1 : limit;
+    } finally {
+      lock.unlock();
+    }
+    if (newLimit > 0 && limitListener != null) {
+      limitListener.accept(newLimit);
+    }
+  }
+
+  private void onSample(long latencyNanos) {
+    samplesSinceDecrease++;
+    if (Double.isNaN(baselineNanos) || latencyNanos < baselineNanos) {
+      baselineNanos = latencyNanos;
+    } else {
+      baselineNanos += (latencyNanos - baselineNanos) * BASELINE_DRIFT;
+    }
+
+    if (latencyNanos > baselineNanos * tolerance) {
+      decrease();
+    } else if (inFlight * 2 >= limit) {
+      // only grow when the limit is actually used
+      increase += 1.0 / limit;
+      if (increase >= 1) {
+        increase = 0;
+        limit = Math.min(limit + 1, maxLimit);
+      }
+    }
+  }
+
+  private void decrease() {
+    if (samplesSinceDecrease < limit) {
+      return;
+    }
+    samplesSinceDecrease = 0;
+    increase = 0;
+    limit = Math.max((int) (limit * backoffRatio), minLimit);
+  }
+
+  public int getLimit() {
+    lock.lock();
+    try {
+      return limit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getInFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getQueueLength() {
+    lock.lock();
+    try {
+      return waiting;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getMinLimit() {
+    return minLimit;
+  }
+
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+}
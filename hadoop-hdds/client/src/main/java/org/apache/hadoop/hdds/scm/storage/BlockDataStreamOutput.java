@@ -189,7 +189,7 @@ public BlockDataStreamOutput(
     failedServers = new ArrayList<>(0);
     ioException = new AtomicReference<>(null);
     checksum = new Checksum(config.getChecksumType(),
-        config.getBytesPerChecksum());
+        config.getBytesPerChecksum(), false, config.getChecksumParallelism());
     metrics = XceiverClientManager.getXceiverClientMetrics();
   }
 
@@ -22,11 +22,16 @@
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.BlockData;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
@@ -108,6 +113,23 @@ public class BlockInputStream extends BlockExtendedInputStream {
 
   private BlockData blockData;
 
+  // Executor to read chunks ahead, null if read-ahead is disabled.
+  private final Supplier<ExecutorService> readAheadExecutorSupplier;
+  // Max number of chunks to read ahead of the current chunk.
+  private final int readAheadChunks;
+  // Number of consecutive sequential reads required to start read-ahead.
+  private final int readAheadThreshold;
+  // Max size of the chunks read ahead of the current chunk.
+  private final long readAheadMaxSize;
+  // Position in the block where the previous read ended.
+  private long lastReadEnd = 0;
+  // Number of consecutive reads each starting where the previous one ended.
+  private int sequentialReads = 0;
+  // Whether the read-ahead of this block was requested by the key stream.
+  private final AtomicBoolean readAheadRequested = new AtomicBoolean();
+  // Positioned reads are not tracked, see readPositioned.
+  private boolean positionedRead = false;
+
   public BlockInputStream(
       BlockLocationInfo blockInfo,
       Pipeline pipeline,
@@ -115,6 +137,18 @@ public BlockInputStream(
       XceiverClientFactory xceiverClientFactory,
       Function<BlockID, BlockLocationInfo> refreshFunction,
       OzoneClientConfig config) throws IOException {
+    this(blockInfo, pipeline, token, xceiverClientFactory, refreshFunction,
+        config, null);
+  }
+
+  public BlockInputStream(
+      BlockLocationInfo blockInfo,
+      Pipeline pipeline,
+      Token<OzoneBlockTokenIdentifier> token,
+      XceiverClientFactory xceiverClientFactory,
+      Function<BlockID, BlockLocationInfo> refreshFunction,
+      OzoneClientConfig config,
+      Supplier<ExecutorService> readAheadExecutorSupplier) throws IOException {
     this.blockInfo = blockInfo;
     this.blockID = blockInfo.getBlockID();
     this.length = blockInfo.getLength();
@@ -124,6 +158,11 @@ public BlockInputStream(
     this.xceiverClientFactory = xceiverClientFactory;
     this.refreshFunction = refreshFunction;
     this.retryPolicy = getReadRetryPolicy(config);
+    this.readAheadExecutorSupplier = readAheadExecutorSupplier;
+    this.readAheadChunks = readAheadExecutorSupplier == null ? 0
+        : config.getReadAheadChunks();
+    this.readAheadThreshold = config.getReadAheadSequentialThreshold();
+    this.readAheadMaxSize = config.getReadAheadMaxSize();
   }
 
   // only for unit tests
@@ -301,6 +340,132 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
     }
 
     checkOpen();
+    if (positionedRead) {
+      return readFromChunkStreams(strategy);
+    }
+    final boolean sequential = updateAccessPattern();
+    final int n = readFromChunkStreams(strategy);
+    if (n > 0) {
+      lastReadEnd = getPos();
+      if (sequential) {
+        readAhead();
+      }
+    }
+    return n;
+  }
+
+  /**
+   * Track whether this block is read sequentially,
+   * i.e. each read starts where the previous one ended.
+   * Read-ahead is cancelled when a random read is detected.
+   * @return true if read-ahead should be performed after this read.
+   */
+  private boolean updateAccessPattern() {
+    if (readAheadChunks <= 0) {
+      return false;
+    }
+    if (getPos() == lastReadEnd) {
+      sequentialReads++;
+    } else {
+      if (sequentialReads >= readAheadThreshold) {
+        LOG.debug("Random read detected at {} (previous read ended at {}) for block {}, cancel read-ahead",
+            getPos(), lastReadEnd, blockID);
+        cancelReadAhead();
+      }
+      sequentialReads = 0;
+    }
+    return sequentialReads >= readAheadThreshold;
+  }
+
+  /**
+   * Start reading the chunks from the current chunk onwards in the background,
+   * up to {@link #readAheadChunks} chunks after the current one
+   * and {@link #readAheadMaxSize} bytes.
+   */
+  private void readAhead() {
+    final ExecutorService executor = readAheadExecutorSupplier.get();
+    final int last = Math.min(chunkStreams.size() - 1, chunkIndex + readAheadChunks);
+    long size = 0;
+    for (int i = chunkIndex; i <= last; i++) {
+      final ChunkInputStream next = chunkStreams.get(i);
+      if (i == chunkIndex && next.getPos() != 0) {
+        // the current chunk is already being read
+        continue;
+      }
+      size += next.getLength();
+      if (size > readAheadMaxSize || !next.readAhead(executor)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Initialize this block and read its first chunks ahead in the background,
+   * as the previous block of the key is read sequentially.
+   */
+  @Override
+  public void startReadAhead() {
+    if (readAheadChunks <= 0 || !readAheadRequested.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      readAheadExecutorSupplier.get().execute(this::readAheadFromStart);
+    } catch (RejectedExecutionException e) {
+      // all the read-ahead threads are busy, try again on the next read
+      readAheadRequested.set(false);
+    }
+  }
+
+  private synchronized void readAheadFromStart() {
+    try {
+      checkOpen();
+      if (getPos() != 0) {
+        // the block is already being read
+        return;
+      }
+      initialize();
+      if (!initialized) {
+        return;
+      }
+      // The block is expected to be read sequentially from the start.
+      sequentialReads = readAheadThreshold;
+      lastReadEnd = 0;
+      readAhead();
+    } catch (IOException e) {
+      LOG.debug("Failed to read ahead block {}", blockID, e);
+    }
+  }
+
+  /**
+   * Positioned reads, e.g. the vectored reads, are independent of the
+   * sequential reads of this block. They are neither counted as random reads,
+   * which would cancel the read-ahead, nor as sequential reads.
+   */
+  @Override
+  public synchronized int readPositioned(long position, ByteBuffer buffer)
+      throws IOException {
+    final long oldPos = getPos();
+    seek(position);
+    positionedRead = true;
+    try {
+      return read(buffer);
+    } finally {
+      positionedRead = false;
+      seek(oldPos);
+    }
+  }
+
+  private void cancelReadAhead() {
+    final List<ChunkInputStream> inputStreams = this.chunkStreams;
+    if (inputStreams != null) {
+      for (ChunkInputStream is : inputStreams) {
+        is.cancelReadAhead();
+      }
+    }
+  }
+
+  private int readFromChunkStreams(ByteReaderStrategy strategy)
+      throws IOException {
     int totalReadLen = 0;
     int len = strategy.getTargetLength();
     while (len > 0) {
@@ -522,6 +687,7 @@ private void handleReadError(IOException cause) throws IOException {
     final List<ChunkInputStream> inputStreams = this.chunkStreams;
     if (inputStreams != null) {
       for (ChunkInputStream is : inputStreams) {
+        is.cancelReadAhead();
         is.releaseClient();
       }
     }
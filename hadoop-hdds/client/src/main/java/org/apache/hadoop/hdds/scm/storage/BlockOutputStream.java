@@ -153,6 +153,10 @@ public class BlockOutputStream extends OutputStream {
   private int replicationIndex;
   private Pipeline pipeline;
   private final ContainerClientMetrics clientMetrics;
+  // adaptive limits of in-flight WriteChunk and PutBlock requests on the
+  // pipeline, null if disabled
+  private final AdaptiveConcurrencyLimit writeChunkLimit;
+  private final AdaptiveConcurrencyLimit putBlockLimit;
   private boolean allowPutBlockPiggybacking;
   private boolean supportIncrementalChunkList;
 
@@ -232,8 +236,14 @@ public BlockOutputStream(
     writtenDataLength = 0;
     failedServers = new CopyOnWriteArrayList<>();
     ioException = new AtomicReference<>(null);
-    this.checksum = new Checksum(config.getChecksumType(), config.getBytesPerChecksum(), true);
+    this.checksum = new Checksum(config.getChecksumType(), config.getBytesPerChecksum(), true,
+        config.getChecksumParallelism());
     this.clientMetrics = clientMetrics;
+    final boolean adaptiveWriteConcurrency = config.isAdaptiveWriteConcurrency() && clientMetrics != null;
+    this.writeChunkLimit = adaptiveWriteConcurrency
+        ? clientMetrics.getWriteConcurrencyLimit(pipeline.getId(), ContainerProtos.Type.WriteChunk, config) : null;
+    this.putBlockLimit = adaptiveWriteConcurrency
+        ? clientMetrics.getWriteConcurrencyLimit(pipeline.getId(), ContainerProtos.Type.PutBlock, config) : null;
     this.streamBufferArgs = streamBufferArgs;
     this.allowPutBlockPiggybacking = canEnablePutblockPiggybacking();
     LOG.debug("PutBlock piggybacking is {}", allowPutBlockPiggybacking);
@@ -597,7 +607,14 @@ CompletableFuture<PutBlockResult> executePutBlock(boolean close,
 
       // if block is full, send the eof
       boolean isBlockFull = (blockSize != -1 && flushPos == blockSize);
-      asyncReply = putBlockAsync(xceiverClient, blockData, close || isBlockFull, tokenString);
+      final long admittedNanos = acquireWriteConcurrency(putBlockLimit);
+      try {
+        asyncReply = putBlockAsync(xceiverClient, blockData, close || isBlockFull, tokenString);
+      } catch (Exception e) {
+        releaseWriteConcurrency(putBlockLimit, null, admittedNanos);
+        throw e;
+      }
+      releaseWriteConcurrency(putBlockLimit, asyncReply, admittedNanos);
       CompletableFuture<ContainerCommandResponseProto> future = asyncReply.getResponse();
       flushFuture = future.thenApplyAsync(e -> {
         try {
@@ -632,6 +649,37 @@ CompletableFuture<PutBlockResult> executePutBlock(boolean close,
     return flushFuture.thenApply(r -> new PutBlockResult(asyncReply.getLogIndex(), r));
   }
 
+  /**
+   * Wait until the given adaptive write concurrency limit of the pipeline,
+   * if any, admits a new request.
+   * @return the time the request is admitted.
+   */
+  private static long acquireWriteConcurrency(AdaptiveConcurrencyLimit limit) throws InterruptedException {
+    if (limit == null) {
+      return 0;
+    }
+    limit.acquire();
+    return System.nanoTime();
+  }
+
+  /**
+   * Release the request admitted by {@link #acquireWriteConcurrency}
+   * when its reply is received, and tune the limit by its latency.
+   * @param reply the reply of the request, null if it was not sent.
+   */
+  private static void releaseWriteConcurrency(AdaptiveConcurrencyLimit limit,
+      XceiverClientReply reply, long admittedNanos) {
+    if (limit == null) {
+      return;
+    }
+    if (reply == null) {
+      limit.release();
+      return;
+    }
+    reply.getResponse().whenComplete((r, e) ->
+        limit.release(System.nanoTime() - admittedNanos, e == null));
+  }
+
   @Override
   public void flush() throws IOException {
     if (xceiverClientFactory != null && xceiverClient != null
@@ -963,8 +1011,15 @@ private CompletableFuture<PutBlockResult> writeChunkToContainer(
         byteBufferList = null;
       }
 
-      asyncReply = writeChunkAsync(xceiverClient, chunkInfo,
-          blockID.get(), data, tokenString, replicationIndex, blockData, close);
+      final long admittedNanos = acquireWriteConcurrency(writeChunkLimit);
+      try {
+        asyncReply = writeChunkAsync(xceiverClient, chunkInfo,
+            blockID.get(), data, tokenString, replicationIndex, blockData, close);
+      } catch (Exception e) {
+        releaseWriteConcurrency(writeChunkLimit, null, admittedNanos);
+        throw e;
+      }
+      releaseWriteConcurrency(writeChunkLimit, asyncReply, admittedNanos);
       CompletableFuture<ContainerCommandResponseProto>
           respFuture = asyncReply.getResponse();
       validateFuture = respFuture.thenApplyAsync(e -> {
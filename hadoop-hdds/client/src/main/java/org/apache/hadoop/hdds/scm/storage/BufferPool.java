@@ -20,8 +20,12 @@
 import com.google.common.annotations.VisibleForTesting;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -31,6 +35,7 @@
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.apache.ratis.util.Preconditions;
+import org.apache.ratis.util.UncheckedAutoCloseable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +45,9 @@
  * This pool is designed for concurrent access to allocation and release. It imposes a maximum number of buffers to be
  * allocated at the same time and once the limit has been approached, the thread requesting a new allocation needs to
  * wait until a allocated buffer is released.
+ * If a {@link SharedChunkBufferPool} is given, the buffers are taken from it and returned to it when this pool is
+ * cleared, instead of being allocated and freed by each pool.  When the shared pool is at its limit of buffers in use,
+ * heap buffers are allocated instead, so that the direct memory of the shared pool stays bounded.
  */
 public class BufferPool {
   private static final Logger LOG = LoggerFactory.getLogger(BufferPool.class);
@@ -55,6 +63,14 @@ public class BufferPool {
   private final Lock lock = new ReentrantLock();
   private final Condition notFull = lock.newCondition();
 
+  // The pool shared by all the streams, null if the buffers are not shared.
+  private final SharedChunkBufferPool sharedPool;
+  // The buffers of this pool taken from the sharedPool.
+  private final Set<ChunkBuffer> sharedBuffers = Collections.newSetFromMap(new IdentityHashMap<>());
+  // The total size of the buffers taken from the sharedPool.
+  private final AtomicLong sharedBytes = new AtomicLong();
+  private UncheckedAutoCloseable leakTracker;
+
   public static BufferPool empty() {
     return EMPTY;
   }
@@ -66,9 +82,16 @@ public BufferPool(int bufferSize, int capacity) {
 
   public BufferPool(int bufferSize, int capacity,
       Function<ByteBuffer, ByteString> byteStringConversion) {
+    this(bufferSize, capacity, byteStringConversion, null);
+  }
+
+  public BufferPool(int bufferSize, int capacity,
+      Function<ByteBuffer, ByteString> byteStringConversion,
+      SharedChunkBufferPool sharedPool) {
     this.capacity = capacity;
     this.bufferSize = bufferSize;
     this.byteStringConversion = byteStringConversion;
+    this.sharedPool = sharedPool;
   }
 
   public Function<ByteBuffer, ByteString> byteStringConversion() {
@@ -95,7 +118,7 @@ public ChunkBuffer allocateBuffer(int increment) throws InterruptedException {
       }
       // Get a buffer to allocate, preferably from the released ones.
       final ChunkBuffer buffer = released.isEmpty() ?
-          ChunkBuffer.allocate(bufferSize, increment) : released.removeFirst();
+          newBuffer(increment) : released.removeFirst();
       allocated.add(buffer);
       currentBuffer = buffer;
 
@@ -107,6 +130,33 @@ public ChunkBuffer allocateBuffer(int increment) throws InterruptedException {
     }
   }
 
+  private ChunkBuffer newBuffer(int increment) {
+    // Incrementally allocated buffers are not shared.
+    if (sharedPool == null || (increment > 0 && increment < bufferSize)) {
+      return ChunkBuffer.allocate(bufferSize, increment);
+    }
+    if (leakTracker == null) {
+      leakTracker = sharedPool.track(this, sharedBytes);
+    }
+    final ChunkBuffer buffer = sharedPool.allocate(bufferSize);
+    if (buffer == null) {
+      // The shared pool is at its limit, this buffer is freed by GC.
+      return ChunkBuffer.wrap(ByteBuffer.allocate(bufferSize));
+    }
+    sharedBuffers.add(buffer);
+    sharedBytes.addAndGet(bufferSize);
+    return buffer;
+  }
+
+  private void freeBuffer(ChunkBuffer buffer) {
+    if (sharedBuffers.remove(buffer)) {
+      sharedBytes.addAndGet(-bufferSize);
+      sharedPool.release(buffer, bufferSize);
+    } else {
+      buffer.close();
+    }
+  }
+
   void releaseBuffer(ChunkBuffer buffer) {
     LOG.debug("Releasing buffer {}", buffer);
     lock.lock();
@@ -162,11 +212,15 @@ public void waitUntilAvailable() throws InterruptedException {
   public void clearBufferPool() {
     lock.lock();
     try {
-      allocated.forEach(ChunkBuffer::close);
-      released.forEach(ChunkBuffer::close);
+      allocated.forEach(this::freeBuffer);
+      released.forEach(this::freeBuffer);
       allocated.clear();
       released.clear();
       currentBuffer = null;
+      if (leakTracker != null) {
+        leakTracker.close();
+        leakTracker = null;
+      }
     } finally {
       lock.unlock();
     }
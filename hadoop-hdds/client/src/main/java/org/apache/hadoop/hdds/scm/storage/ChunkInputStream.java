@@ -22,10 +22,17 @@
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.fs.ByteBufferReadable;
@@ -48,6 +55,8 @@
 import org.apache.hadoop.ozone.common.utils.BufferUtils;
 import org.apache.hadoop.security.token.Token;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * An {@link InputStream} called from BlockInputStream to read a chunk from the
@@ -57,6 +66,8 @@
 public class ChunkInputStream extends InputStream
     implements Seekable, CanUnbuffer, ByteBufferReadable {
 
+  private static final Logger LOG = LoggerFactory.getLogger(ChunkInputStream.class);
+
   private final ChunkInfo chunkInfo;
   private final long length;
   private final BlockID blockID;
@@ -98,6 +109,9 @@ public class ChunkInputStream extends InputStream
 
   private final Supplier<Token<?>> tokenSupplier;
 
+  // The whole chunk being read in the background, before it is requested.
+  private CompletableFuture<ByteBuffer[]> readAhead;
+
   private static final int EOF = -1;
   private final List<Validator> validators;
 
@@ -280,6 +294,7 @@ public boolean seekToNewSource(long targetPos) {
 
   @Override
   public synchronized void close() {
+    cancelReadAhead();
     releaseBuffers();
     releaseClient();
   }
@@ -295,13 +310,17 @@ protected synchronized void releaseClient() {
    * Updates DatanodeBlockId which based on blockId.
    */
   private void updateDatanodeBlockId(Pipeline pipeline) throws IOException {
+    datanodeBlockID = getDatanodeBlockId(pipeline);
+  }
+
+  private ContainerProtos.DatanodeBlockID getDatanodeBlockId(Pipeline pipeline) throws IOException {
     DatanodeDetails closestNode = pipeline.getClosestNode();
     int replicaIdx = pipeline.getReplicaIndex(closestNode);
     ContainerProtos.DatanodeBlockID.Builder builder = blockID.getDatanodeBlockIDProtobufBuilder();
     if (replicaIdx > 0) {
       builder.setReplicaIndex(replicaIdx);
     }
-    datanodeBlockID = builder.build();
+    return builder.build();
   }
 
   /**
@@ -378,6 +397,15 @@ private synchronized void readChunkFromContainer(int len) throws IOException {
     // successful read in adjustBufferPosition()
     storePosition();
 
+    final ByteBuffer[] readAheadBuffers = takeReadAhead();
+    if (readAheadBuffers != null) {
+      // The whole chunk has been read ahead, no need to go to the Datanode.
+      setBuffers(readAheadBuffers, length);
+      bufferOffsetWrtChunkData = 0;
+      adjustBufferPosition(startByteIndex);
+      return;
+    }
+
     long adjustedBuffersOffset, adjustedBuffersLen;
     if (verifyChecksum) {
       // Adjust the chunk offset and length to include required checksum
@@ -414,8 +442,12 @@ private synchronized void readChunkFromContainer(int len) throws IOException {
 
   private void readChunkDataIntoBuffers(ChunkInfo readChunkInfo)
       throws IOException {
-    buffers = readChunk(readChunkInfo);
-    buffersSize = readChunkInfo.getLen();
+    setBuffers(readChunk(readChunkInfo), readChunkInfo.getLen());
+  }
+
+  private void setBuffers(ByteBuffer[] data, long dataSize) {
+    buffers = data;
+    buffersSize = dataSize;
 
     bufferOffsets = new long[buffers.length];
     int tempOffset = 0;
@@ -435,10 +467,14 @@ private void readChunkDataIntoBuffers(ChunkInfo readChunkInfo)
   @VisibleForTesting
   protected ByteBuffer[] readChunk(ChunkInfo readChunkInfo)
       throws IOException {
+    return readChunk(xceiverClient, readChunkInfo, datanodeBlockID, tokenSupplier.get());
+  }
+
+  private ByteBuffer[] readChunk(XceiverClientSpi client, ChunkInfo readChunkInfo,
+      ContainerProtos.DatanodeBlockID dnBlockID, Token<?> token) throws IOException {
 
     ReadChunkResponseProto readChunkResponse =
-        ContainerProtocolCalls.readChunk(xceiverClient, readChunkInfo, datanodeBlockID, validators,
-            tokenSupplier.get());
+        ContainerProtocolCalls.readChunk(client, readChunkInfo, dnBlockID, validators, token);
 
     if (readChunkResponse.hasData()) {
       return readChunkResponse.getData().asReadOnlyByteBufferList()
@@ -453,6 +489,88 @@ protected ByteBuffer[] readChunk(ChunkInfo readChunkInfo)
     }
   }
 
+  /**
+   * Start reading the whole chunk in the background using the given executor,
+   * so that the data is already available when this chunk is read.
+   * Only a chunk which has not been read from yet is read ahead.
+   * @return true if the chunk is being read ahead, false otherwise.
+   */
+  synchronized boolean readAhead(Executor executor) {
+    if (readAhead != null) {
+      return true;
+    }
+    if (buffers != null || length == 0 || getPos() != 0) {
+      return false;
+    }
+    final Pipeline pipeline = pipelineSupplier.get();
+    final Token<?> token = tokenSupplier.get();
+    try {
+      readAhead = CompletableFuture.supplyAsync(() -> {
+        try {
+          return readChunkAhead(pipeline, token);
+        } catch (IOException e) {
+          throw new CompletionException(e);
+        }
+      }, executor);
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Skip read-ahead of chunk {}: {}", getChunkName(), e.toString());
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Read the whole chunk from the container with a separate client,
+   * so that it does not interfere with the reads of this stream.
+   */
+  @VisibleForTesting
+  protected ByteBuffer[] readChunkAhead(Pipeline pipeline, Token<?> token)
+      throws IOException {
+    final XceiverClientSpi client = xceiverClientFactory.acquireClientForReadData(pipeline);
+    try {
+      return readChunk(client, chunkInfo, getDatanodeBlockId(pipeline), token);
+    } finally {
+      xceiverClientFactory.releaseClientForReadData(client, false);
+    }
+  }
+
+  /**
+   * Wait for the chunk being read ahead, if any.
+   * @return the data of the whole chunk, or null if the chunk was not read
+   *         ahead or the read-ahead has failed.
+   */
+  private ByteBuffer[] takeReadAhead() throws IOException {
+    final CompletableFuture<ByteBuffer[]> future = readAhead;
+    if (future == null) {
+      return null;
+    }
+    readAhead = null;
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for read-ahead of chunk " + getChunkName());
+    } catch (ExecutionException | CancellationException e) {
+      LOG.debug("Read-ahead of chunk {} failed, reading it again", getChunkName(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Cancel the read-ahead of this chunk, if any.
+   */
+  synchronized void cancelReadAhead() {
+    if (readAhead != null) {
+      readAhead.cancel(false);
+      readAhead = null;
+    }
+  }
+
+  @VisibleForTesting
+  synchronized boolean isReadingAhead() {
+    return readAhead != null;
+  }
+
   private void validateChunk(
       ContainerCommandRequestProto request,
       ContainerCommandResponseProto response
@@ -733,6 +851,7 @@ protected long getChunkPosition() {
 
   @Override
   public synchronized void unbuffer() {
+    cancelReadAhead();
     storePosition();
     releaseBuffers();
     releaseClient();
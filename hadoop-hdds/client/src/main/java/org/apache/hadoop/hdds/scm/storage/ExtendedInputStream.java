@@ -20,9 +20,12 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntFunction;
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.CanUnbuffer;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.Seekable;
 import org.apache.hadoop.fs.StreamCapabilities;
 import org.apache.hadoop.util.StringUtils;
@@ -47,6 +50,23 @@ public boolean readFully(long position, ByteBuffer buffer) throws IOException {
     return false;
   }
 
+  /**
+   * Vectored read, see {@link org.apache.hadoop.fs.PositionedReadable#readVectored}.
+   * The data of each range is set asynchronously, the position of the stream
+   * is not changed.
+   *
+   * @param ranges the byte ranges to read.
+   * @param allocate the function to allocate the buffers for the data.
+   * @param minSeek ranges closer than this are merged into a single read.
+   * @param maxReadSize the maximum size of a merged read.
+   * @return true iff vectored read is supported in this implementation.
+   */
+  public boolean readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate, int minSeek, int maxReadSize)
+      throws IOException {
+    return false;
+  }
+
   @Override
   public synchronized int read() throws IOException {
     byte[] buf = new byte[1];
@@ -22,11 +22,24 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 import org.apache.hadoop.fs.FSExceptionMessages;
+import org.apache.hadoop.fs.FileRange;
+import org.apache.hadoop.fs.VectoredReadUtils;
+import org.apache.hadoop.fs.impl.CombinedFileRange;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.ratis.util.Preconditions;
 
 /**
@@ -60,11 +73,45 @@ public class MultipartInputStream extends ExtendedInputStream {
 
   private boolean initialized = false;
 
+  // Executor to read the parts in parallel for vectored reads,
+  // null to read them in the calling thread.
+  private final Supplier<ExecutorService> vectoredReadExecutorSupplier;
+
+  // Number of following parts to start reading ahead when the stream is
+  // read sequentially, zero to disable.
+  private final int readAheadParts;
+  // Number of consecutive sequential reads required to read parts ahead.
+  private final int readAheadThreshold;
+  // Position in the stream where the previous read ended.
+  private long lastReadEnd = 0;
+  // Number of consecutive reads each starting where the previous one ended.
+  private int sequentialReads = 0;
+
   public MultipartInputStream(String keyName,
                               List<? extends PartInputStream> inputStreams) {
+    this(keyName, inputStreams, null);
+  }
+
+  public MultipartInputStream(String keyName,
+      List<? extends PartInputStream> inputStreams,
+      Supplier<ExecutorService> vectoredReadExecutorSupplier) {
+    this(keyName, inputStreams, vectoredReadExecutorSupplier, null);
+  }
+
+  /**
+   * @param config if not null, the following parts are read ahead
+   *               as configured by {@link OzoneClientConfig#getReadAheadBlocks()}.
+   */
+  public MultipartInputStream(String keyName,
+      List<? extends PartInputStream> inputStreams,
+      Supplier<ExecutorService> vectoredReadExecutorSupplier,
+      OzoneClientConfig config) {
     Objects.requireNonNull(inputStreams, "inputStreams == null");
 
     this.key = keyName;
+    this.vectoredReadExecutorSupplier = vectoredReadExecutorSupplier;
+    this.readAheadParts = config == null ? 0 : config.getReadAheadBlocks();
+    this.readAheadThreshold = config == null ? 0 : config.getReadAheadSequentialThreshold();
     this.partStreams = Collections.unmodifiableList(inputStreams);
     this.isStreamBlockInputStream = !inputStreams.isEmpty() && inputStreams.get(0) instanceof StreamBlockInputStream;
 
@@ -92,6 +139,36 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
     Objects.requireNonNull(strategy, "strategy == null");
     checkOpen();
 
+    if (readAheadParts <= 0) {
+      return readFromParts(strategy);
+    }
+    if (getPos() == lastReadEnd) {
+      sequentialReads++;
+    } else {
+      sequentialReads = 0;
+    }
+    final int n = readFromParts(strategy);
+    if (n > 0) {
+      lastReadEnd = getPos();
+      if (sequentialReads >= readAheadThreshold) {
+        readAheadParts();
+      }
+    }
+    return n;
+  }
+
+  /**
+   * Start reading ahead the parts following the current one,
+   * so that they are fetched concurrently while the stream is read sequentially.
+   */
+  private void readAheadParts() {
+    final int last = Math.min(partStreams.size() - 1, partIndex + readAheadParts);
+    for (int i = partIndex + 1; i <= last; i++) {
+      partStreams.get(i).startReadAhead();
+    }
+  }
+
+  private int readFromParts(ByteReaderStrategy strategy) throws IOException {
     int totalReadLen = 0;
     while (strategy.getTargetLength() > 0) {
       if (partStreams.isEmpty() ||
@@ -209,6 +286,123 @@ int readImpl(InputStream inputStream) throws IOException {
     return true;
   }
 
+  /**
+   * Vectored read. Nearby ranges are merged, then the merged ranges are
+   * grouped by the part they start in. The groups are read in parallel,
+   * so that the reads from different blocks, usually on different
+   * datanodes, are issued concurrently.
+   */
+  @Override
+  public boolean readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate, int minSeek, int maxReadSize)
+      throws IOException {
+    checkOpen();
+    initialize();
+
+    final List<? extends FileRange> sortedRanges =
+        VectoredReadUtils.validateAndSortRanges(ranges, Optional.of(length));
+    for (FileRange range : sortedRanges) {
+      range.setData(new CompletableFuture<>());
+    }
+    final List<CombinedFileRange> combinedRanges =
+        VectoredReadUtils.mergeSortedRanges(sortedRanges, 1, minSeek, maxReadSize);
+
+    final Map<Integer, List<CombinedFileRange>> rangesByPart = new TreeMap<>();
+    for (CombinedFileRange combined : combinedRanges) {
+      rangesByPart.computeIfAbsent(getPartIndex(combined.getOffset()), k -> new ArrayList<>())
+          .add(combined);
+    }
+
+    final ExecutorService executor = vectoredReadExecutorSupplier != null
+        ? vectoredReadExecutorSupplier.get() : null;
+    for (List<CombinedFileRange> partRanges : rangesByPart.values()) {
+      final Runnable task = () -> {
+        for (CombinedFileRange combined : partRanges) {
+          readCombinedRange(combined, allocate);
+        }
+      };
+      if (executor == null) {
+        task.run();
+      } else {
+        try {
+          executor.execute(task);
+        } catch (RejectedExecutionException e) {
+          task.run();
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Read a merged range and complete the data of the underlying ranges.
+   */
+  private void readCombinedRange(CombinedFileRange combined,
+      IntFunction<ByteBuffer> allocate) {
+    try {
+      final ByteBuffer buffer = allocate.apply(combined.getLength());
+      readPositioned(combined.getOffset(), buffer);
+      buffer.flip();
+      for (FileRange range : combined.getUnderlying()) {
+        range.getData().complete(
+            VectoredReadUtils.sliceTo(buffer, combined.getOffset(), range));
+      }
+    } catch (Exception e) {
+      for (FileRange range : combined.getUnderlying()) {
+        range.getData().completeExceptionally(e);
+      }
+    }
+  }
+
+  /**
+   * Read from the given position until the buffer is full, without changing
+   * the position of this stream, nor the position and read-ahead of the parts.
+   */
+  private void readPositioned(long position, ByteBuffer buffer)
+      throws IOException {
+    long pos = position;
+    while (buffer.hasRemaining()) {
+      checkOpen();
+      final int index = getPartIndex(pos);
+      final PartInputStream part = partStreams.get(index);
+      final long posInPart = pos - partOffsets[index];
+      final int toRead = (int) Math.min(buffer.remaining(),
+          part.getLength() - posInPart);
+      if (toRead <= 0) {
+        throw new EOFException("EOF encountered at pos: " + pos
+            + " for key: " + key);
+      }
+      int remaining = toRead;
+      while (remaining > 0) {
+        final ByteBuffer target = buffer.duplicate();
+        target.limit(target.position() + remaining);
+        final int n = part.readPositioned(posInPart + toRead - remaining, target);
+        if (n <= 0) {
+          throw new EOFException("EOF encountered at pos: "
+              + (pos + toRead - remaining) + " for key: " + key);
+        }
+        buffer.position(buffer.position() + n);
+        remaining -= n;
+      }
+      pos += toRead;
+    }
+  }
+
+  /**
+   * @return the index of the part containing the given position.
+   */
+  private int getPartIndex(long pos) {
+    int index = Arrays.binarySearch(partOffsets, pos);
+    if (index < 0) {
+      index = -index - 2;
+    }
+    // skip empty parts
+    while (index + 1 < partOffsets.length && partOffsets[index + 1] <= pos) {
+      index++;
+    }
+    return index;
+  }
+
   public synchronized void initialize() throws IOException {
     // Pre-check that the stream has not been intialized already
     if (initialized) {
@@ -18,6 +18,8 @@
 package org.apache.hadoop.hdds.scm.storage;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.CanUnbuffer;
 import org.apache.hadoop.fs.Seekable;
 
@@ -25,7 +27,7 @@
  * A stream that can be a part of a {@link MultipartInputStream}.
  */
 public interface PartInputStream
-    extends CanUnbuffer, Seekable {
+    extends ByteBufferReadable, CanUnbuffer, Seekable {
   long getLength();
 
   default long getRemaining() throws IOException {
@@ -33,4 +35,32 @@ default long getRemaining() throws IOException {
   }
 
   void close() throws IOException;
+
+  /**
+   * Start reading this part in the background, as the previous part
+   * of the {@link MultipartInputStream} is read sequentially.
+   * It is ignored by the streams which do not support read-ahead.
+   */
+  default void startReadAhead() {
+  }
+
+  /**
+   * Read from the given position of this part into the buffer,
+   * without changing the position of this part.
+   * The streams which support read-ahead do not count it as a read of the
+   * stream, so it does not affect the read-ahead of the sequential reads.
+   * @return the number of bytes read, or -1 at the end of this part.
+   */
+  default int readPositioned(long position, ByteBuffer buffer)
+      throws IOException {
+    synchronized (this) {
+      final long oldPos = getPos();
+      seek(position);
+      try {
+        return read(buffer);
+      } finally {
+        seek(oldPos);
+      }
+    }
+  }
 }
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.utils.LeakDetector;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.ratis.util.UncheckedAutoCloseable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A JVM-wide pool of direct {@link ChunkBuffer}s shared by all the
+ * {@link BufferPool}s, so that the buffers of a closed key stream are reused
+ * by the following streams instead of being freed and allocated again.
+ * <p>
+ * Idle buffers are kept by their size (i.e. the stream buffer size).
+ * The total size of the idle buffers is bounded by
+ * {@link #setMaxPooledSize(long)}; a buffer released when the pool is full
+ * is freed.  The total size of the buffers in use can be bounded by
+ * {@link #setMaxOutstandingSize(long)}; once reached, {@link #allocate(int)}
+ * returns null and the caller allocates a buffer outside of this pool.
+ * A {@link BufferPool} discarded without being cleared is reported
+ * by a {@link LeakDetector}.
+ */
+public final class SharedChunkBufferPool {
+  private static final Logger LOG = LoggerFactory.getLogger(SharedChunkBufferPool.class);
+
+  private static final SharedChunkBufferPool INSTANCE = new SharedChunkBufferPool();
+  private static final LeakDetector LEAK_DETECTOR = new LeakDetector("BufferPool");
+
+  private final Map<Integer, Deque<ChunkBuffer>> idleBuffers = new ConcurrentHashMap<>();
+  private final AtomicLong pooledBytes = new AtomicLong();
+  private volatile long maxPooledSize;
+  private volatile long maxOutstandingSize;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong outstandingBytes = new AtomicLong();
+  private final AtomicLong overflows = new AtomicLong();
+  private final AtomicLong leaks = new AtomicLong();
+
+  private SharedChunkBufferPool() {
+  }
+
+  public static SharedChunkBufferPool get() {
+    return INSTANCE;
+  }
+
+  /**
+   * Set the maximum total size of the idle buffers kept in this pool.
+   * Since the pool is shared by the JVM, the value set last is used.
+   */
+  public void setMaxPooledSize(long maxPooledSize) {
+    this.maxPooledSize = maxPooledSize;
+  }
+
+  public long getMaxPooledSize() {
+    return maxPooledSize;
+  }
+
+  /**
+   * Set the maximum total size of the buffers in use from this pool,
+   * zero or negative for no limit.
+   * Since the pool is shared by the JVM, the value set last is used.
+   */
+  public void setMaxOutstandingSize(long maxOutstandingSize) {
+    this.maxOutstandingSize = maxOutstandingSize;
+  }
+
+  public long getMaxOutstandingSize() {
+    return maxOutstandingSize;
+  }
+
+  /**
+   * Get an idle buffer of the given size, or allocate a new one.
+   * @return the buffer, or null if the buffers in use from this pool
+   *         would exceed {@link #getMaxOutstandingSize()}.
+   */
+  ChunkBuffer allocate(int size) {
+    if (!reserve(size)) {
+      overflows.incrementAndGet();
+      return null;
+    }
+    final Deque<ChunkBuffer> buffers = idleBuffers.get(size);
+    ChunkBuffer buffer = buffers != null ? buffers.pollFirst() : null;
+    if (buffer != null) {
+      pooledBytes.addAndGet(-size);
+      hits.incrementAndGet();
+    } else {
+      misses.incrementAndGet();
+      buffer = ChunkBuffer.allocate(size);
+    }
+    return buffer;
+  }
+
+  /** Add the given size to the outstanding bytes unless it exceeds the limit. */
+  private boolean reserve(int size) {
+    final long max = maxOutstandingSize;
+    if (max <= 0) {
+      outstandingBytes.addAndGet(size);
+      return true;
+    }
+    for (long current = outstandingBytes.get(); current + size <= max; current = outstandingBytes.get()) {
+      if (outstandingBytes.compareAndSet(current, current + size)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Return a buffer allocated by {@link #allocate(int)} to this pool.
+   * The buffer is freed if the pool is full.
+   */
+  void release(ChunkBuffer buffer, int size) {
+    outstandingBytes.addAndGet(-size);
+    if (pooledBytes.addAndGet(size) <= maxPooledSize) {
+      buffer.clear();
+      idleBuffers.computeIfAbsent(size, k -> new ConcurrentLinkedDeque<>())
+          .offerFirst(buffer);
+    } else {
+      pooledBytes.addAndGet(-size);
+      buffer.close();
+    }
+  }
+
+  /**
+   * Track the given {@link BufferPool} for leaks.
+   * @param bufferPool the pool to track.
+   * @param bytes the total size of the buffers allocated from this pool
+   *              and not yet released by the given {@link BufferPool}.
+   * @return the tracker to be closed when the given pool is cleared.
+   */
+  UncheckedAutoCloseable track(BufferPool bufferPool, AtomicLong bytes) {
+    return LEAK_DETECTOR.track(bufferPool, () -> {
+      final long leaked = bytes.get();
+      if (leaked > 0) {
+        leaks.incrementAndGet();
+        outstandingBytes.addAndGet(-leaked);
+        LOG.warn("BufferPool is not cleared before being discarded, {} bytes of buffers are leaked", leaked);
+      }
+    });
+  }
+
+  /** Remove and free all the idle buffers. */
+  public void clear() {
+    for (Deque<ChunkBuffer> buffers : idleBuffers.values()) {
+      for (ChunkBuffer buffer; (buffer = buffers.pollFirst()) != null;) {
+        pooledBytes.addAndGet(-buffer.limit());
+        buffer.close();
+      }
+    }
+  }
+
+  /** @return the number of allocations served by an idle buffer. */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** @return the number of allocations requiring a new buffer. */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /** @return the number of allocations refused since the buffers in use are at the limit. */
+  public long getOverflows() {
+    return overflows.get();
+  }
+
+  /** @return the total size of the buffers in use. */
+  public long getOutstandingBytes() {
+    return outstandingBytes.get();
+  }
+
+  /** @return the total size of the idle buffers in this pool. */
+  public long getPooledBytes() {
+    return pooledBytes.get();
+  }
+
+  /** @return the number of {@link BufferPool}s discarded without being cleared. */
+  public long getLeaks() {
+    return leaks.get();
+  }
+}
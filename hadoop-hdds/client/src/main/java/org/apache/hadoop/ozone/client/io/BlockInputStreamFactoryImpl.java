@@ -47,6 +47,7 @@
 public class BlockInputStreamFactoryImpl implements BlockInputStreamFactory {
 
   private ECBlockInputStreamFactory ecBlockStreamFactory;
+  private final Supplier<ExecutorService> readAheadExecutorSupplier;
 
   public static BlockInputStreamFactory getInstance(
       ByteBufferPool byteBufferPool,
@@ -55,15 +56,58 @@ public static BlockInputStreamFactory getInstance(
         ecReconstructExecutorSupplier);
   }
 
+  public static BlockInputStreamFactory getInstance(
+      ByteBufferPool byteBufferPool,
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      Supplier<ExecutorService> readAheadExecutorSupplier) {
+    return new BlockInputStreamFactoryImpl(byteBufferPool,
+        ecReconstructExecutorSupplier, readAheadExecutorSupplier);
+  }
+
+  public static BlockInputStreamFactory getInstance(
+      ByteBufferPool byteBufferPool,
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      Supplier<ExecutorService> readAheadExecutorSupplier,
+      ECStripeCache ecStripeCache) {
+    return new BlockInputStreamFactoryImpl(byteBufferPool,
+        ecReconstructExecutorSupplier, readAheadExecutorSupplier,
+        ecStripeCache);
+  }
+
   public BlockInputStreamFactoryImpl() {
     this(new ElasticByteBufferPool(), Executors::newSingleThreadExecutor);
   }
 
   public BlockInputStreamFactoryImpl(ByteBufferPool byteBufferPool,
       Supplier<ExecutorService> ecReconstructExecutorSupplier) {
+    this(byteBufferPool, ecReconstructExecutorSupplier, null);
+  }
+
+  /**
+   * @param readAheadExecutorSupplier executor for reading chunks of
+   *        replicated blocks ahead, or null to disable read-ahead.
+   */
+  public BlockInputStreamFactoryImpl(ByteBufferPool byteBufferPool,
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      Supplier<ExecutorService> readAheadExecutorSupplier) {
+    this(byteBufferPool, ecReconstructExecutorSupplier,
+        readAheadExecutorSupplier, null);
+  }
+
+  /**
+   * @param readAheadExecutorSupplier executor for reading chunks of
+   *        replicated blocks ahead, or null to disable read-ahead.
+   * @param ecStripeCache cache for stripes reconstructed by degraded EC
+   *        reads, or null to disable caching.
+   */
+  public BlockInputStreamFactoryImpl(ByteBufferPool byteBufferPool,
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      Supplier<ExecutorService> readAheadExecutorSupplier,
+      ECStripeCache ecStripeCache) {
     this.ecBlockStreamFactory =
         ECBlockInputStreamFactoryImpl.getInstance(this, byteBufferPool,
-            ecReconstructExecutorSupplier);
+            ecReconstructExecutorSupplier, ecStripeCache);
+    this.readAheadExecutorSupplier = readAheadExecutorSupplier;
   }
 
   /**
@@ -95,7 +139,7 @@ public BlockExtendedInputStream create(ReplicationConfig repConfig,
     } else {
       return new BlockInputStream(blockInfo,
           pipeline, token, xceiverFactory, refreshFunction,
-          config);
+          config, readAheadExecutorSupplier);
     }
   }
 
@@ -40,20 +40,35 @@ public final class ECBlockInputStreamFactoryImpl implements
   private final BlockInputStreamFactory inputStreamFactory;
   private final ByteBufferPool byteBufferPool;
   private final Supplier<ExecutorService> ecReconstructExecutorSupplier;
+  private final ECStripeCache stripeCache;
 
   public static ECBlockInputStreamFactory getInstance(
       BlockInputStreamFactory streamFactory, ByteBufferPool byteBufferPool,
       Supplier<ExecutorService> ecReconstructExecutorSupplier) {
+    return getInstance(streamFactory, byteBufferPool,
+        ecReconstructExecutorSupplier, null);
+  }
+
+  /**
+   * @param stripeCache cache for reconstructed stripes, or null to disable
+   *        caching.
+   */
+  public static ECBlockInputStreamFactory getInstance(
+      BlockInputStreamFactory streamFactory, ByteBufferPool byteBufferPool,
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      ECStripeCache stripeCache) {
     return new ECBlockInputStreamFactoryImpl(streamFactory, byteBufferPool,
-        ecReconstructExecutorSupplier);
+        ecReconstructExecutorSupplier, stripeCache);
   }
 
   private ECBlockInputStreamFactoryImpl(BlockInputStreamFactory streamFactory,
       ByteBufferPool byteBufferPool,
-      Supplier<ExecutorService> ecReconstructExecutorSupplier) {
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      ECStripeCache stripeCache) {
     this.byteBufferPool = byteBufferPool;
     this.inputStreamFactory = streamFactory;
     this.ecReconstructExecutorSupplier = ecReconstructExecutorSupplier;
+    this.stripeCache = stripeCache;
   }
 
   /**
@@ -84,7 +99,8 @@ public BlockExtendedInputStream create(boolean missingLocations,
           new ECBlockReconstructedStripeInputStream(
               (ECReplicationConfig)repConfig, blockInfo,
               xceiverFactory, refreshFunction, inputStreamFactory,
-              byteBufferPool, ecReconstructExecutorSupplier.get(), config);
+              byteBufferPool, ecReconstructExecutorSupplier.get(), config,
+              stripeCache);
       if (failedLocations != null) {
         sis.addFailedDatanodes(failedLocations);
       }
@@ -29,6 +29,10 @@
 /**
  * Input stream which wraps a ECBlockReconstructedStripeInputStream to allow
  * a EC Block to be read via the traditional InputStream read methods.
+ *
+ * Sequential reads are served from whole stripes read into the buffers. A read
+ * after a seek which falls within a single cell reads and decodes only the
+ * requested range, so random reads do not pay for reconstructing the stripe.
  */
 public class ECBlockReconstructedInputStream extends BlockExtendedInputStream {
 
@@ -40,6 +44,11 @@ public class ECBlockReconstructedInputStream extends BlockExtendedInputStream {
   private boolean unBuffered = false;
 
   private long position = 0;
+  // The buffers do not hold the stripe at the current position, it has to be
+  // read before reading from the buffers
+  private boolean seekPending = false;
+  // The position at which the previous read ended
+  private long lastReadEnd = 0;
 
   public ECBlockReconstructedInputStream(ECReplicationConfig repConfig,
       ByteBufferPool byteBufferPool,
@@ -78,11 +87,19 @@ public synchronized int read(ByteBuffer buf) throws IOException {
     }
     allocateBuffers();
     if (unBuffered) {
-      seek(getPos());
+      seekPending = true;
       unBuffered = false;
     }
     int totalRead = 0;
     while (buf.hasRemaining() && getRemaining() > 0) {
+      if (seekPending) {
+        int read = position != lastReadEnd ? readCellRange(buf) : 0;
+        if (read > 0) {
+          totalRead += read;
+          continue;
+        }
+        readAndSeekStripe();
+      }
       ByteBuffer b = selectNextBuffer();
       if (b == null) {
         // This should not happen, so if it does abort.
@@ -100,9 +117,39 @@ public synchronized int read(ByteBuffer buf) throws IOException {
       // excessive memory usage.
       freeBuffers();
     }
+    lastReadEnd = position;
     return totalRead;
   }
 
+  /**
+   * Read from the current position into dest by reconstructing only the
+   * range of the current stripe that is needed, if the read falls within one
+   * cell.
+   * @return the number of bytes read, or 0 if the read spans more than one
+   * cell, and the stripe has to be read instead.
+   */
+  private int readCellRange(ByteBuffer dest) throws IOException {
+    int chunkSize = repConfig.getEcChunkSize();
+    long stripeSize = (long)chunkSize * repConfig.getData();
+    int partial = (int)(position % stripeSize);
+    int cell = partial / chunkSize;
+    int cellOffset = partial % chunkSize;
+    int length = (int)Math.min(dest.remaining(), getRemaining());
+    if (cellOffset + length > chunkSize) {
+      return 0;
+    }
+    stripeReader.seek(position - partial);
+    clearBuffers();
+    stripeReader.readStripeRange(bufs, cellOffset, length);
+    long read = readBufferToDest(bufs[cell], dest);
+    // The buffers hold only the range, not the stripe.
+    for (ByteBuffer b : bufs) {
+      b.position(0);
+      b.limit(0);
+    }
+    return (int)read;
+  }
+
   private void ensureNotClosed() throws IOException {
     if (closed) {
       throw new IOException("The input stream is closed");
@@ -181,19 +228,21 @@ public synchronized void seek(long pos) throws IOException {
       throw new EOFException(
           "EOF encountered at pos: " + pos + " for block: " + getBlockID());
     }
+    // The stripe is read by the next read, which may need only a part of it.
+    position = pos;
+    seekPending = true;
+  }
+
+  private void readAndSeekStripe() throws IOException {
     long stripeSize = (long)repConfig.getEcChunkSize() * repConfig.getData();
-    long stripeNum = pos / stripeSize;
-    int partial = (int)(pos % stripeSize);
+    long stripeNum = position / stripeSize;
+    int offset = (int)(position % stripeSize);
     // Seek the stripe reader to the beginning of the new current stripe
     stripeReader.seek(stripeNum * stripeSize);
     // Now reload the data buffers and adjust their position to the partial
     // stripe offset.
-    readAndSeekStripe(partial);
-    position = pos;
-  }
-
-  private void readAndSeekStripe(int offset) throws IOException {
     allocateBuffers();
+    seekPending = false;
     readStripe();
     if (offset == 0) {
       return;
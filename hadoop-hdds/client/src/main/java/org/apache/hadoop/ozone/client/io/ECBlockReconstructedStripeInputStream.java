@@ -110,6 +110,16 @@
  * caller should {@code setRecoveryIndexes([2, 3])}, and then can recover the
  * part of each stripe for these replicas by calling
  * {@code recoverChunks(bufs)}, passing two buffers.
+ *
+ * readStripeRange(bufs, cellOffset, length) is a variant of readStripe() which
+ * reads and decodes only the given range of each cell in the current stripe,
+ * for small reads which do not need the whole stripe.
+ *
+ * If an {@link ECStripeCache} is given, stripes which had to be decoded are
+ * added to it, and later reads of the same stripe are served from the cache
+ * without reading the block. Likewise, decoded ranges are added to it, and
+ * later range reads are served from a cached stripe or a cached range
+ * containing them.
  */
 public class ECBlockReconstructedStripeInputStream extends ECBlockInputStream {
 
@@ -150,6 +160,12 @@ public class ECBlockReconstructedStripeInputStream extends ECBlockInputStream {
   // for offline recovery: indexes to be recovered
   private final Set<Integer> recoveryIndexes = new TreeSet<>();
 
+  // reconstructed stripes shared by readers, or null if not cached
+  private final ECStripeCache stripeCache;
+
+  // offset within the cells to read from, non-zero only during a range read
+  private int rangeOffset = 0;
+
   @SuppressWarnings("checkstyle:ParameterNumber")
   public ECBlockReconstructedStripeInputStream(ECReplicationConfig repConfig,
       BlockLocationInfo blockInfo,
@@ -159,10 +175,25 @@ public ECBlockReconstructedStripeInputStream(ECReplicationConfig repConfig,
       ByteBufferPool byteBufferPool,
       ExecutorService ecReconstructExecutor,
       OzoneClientConfig config) {
+    this(repConfig, blockInfo, xceiverClientFactory, refreshFunction,
+        streamFactory, byteBufferPool, ecReconstructExecutor, config, null);
+  }
+
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  public ECBlockReconstructedStripeInputStream(ECReplicationConfig repConfig,
+      BlockLocationInfo blockInfo,
+      XceiverClientFactory xceiverClientFactory,
+      Function<BlockID, BlockLocationInfo> refreshFunction,
+      BlockInputStreamFactory streamFactory,
+      ByteBufferPool byteBufferPool,
+      ExecutorService ecReconstructExecutor,
+      OzoneClientConfig config,
+      ECStripeCache stripeCache) {
     super(repConfig, blockInfo, xceiverClientFactory,
         refreshFunction, streamFactory, config);
     this.byteBufferPool = byteBufferPool;
     this.executor = ecReconstructExecutor;
+    this.stripeCache = stripeCache;
 
     int expectedDataBlocks = calculateExpectedDataBlocks(repConfig);
     int d = repConfig.getData();
@@ -316,6 +347,15 @@ private void assignBuffers(ByteBuffer[] bufs) {
     }
   }
 
+  /**
+   * @return the replica indexes of the buffers passed to {@link #read}.
+   */
+  private Collection<Integer> getOutputIndexes() {
+    return isOfflineRecovery()
+        ? recoveryIndexes
+        : setOfRange(0, getRepConfig().getData());
+  }
+
   private int getExpectedBufferCount() {
     return isOfflineRecovery()
         ? recoveryIndexes.size()
@@ -368,10 +408,13 @@ synchronized int read(ByteBuffer[] bufs) throws IOException {
     if (toRead == 0) {
       return EOF;
     }
+    validateBuffers(bufs);
+    if (readFromStripeCache(bufs, toRead)) {
+      return toRead;
+    }
     if (!initialized) {
       init();
     }
-    validateBuffers(bufs);
     while (true) {
       try {
         assignBuffers(bufs);
@@ -404,6 +447,10 @@ synchronized int read(ByteBuffer[] bufs) throws IOException {
       // Reset the buffer positions and limits to remove any padding added
       // before EC Decode.
       setBufferReadLimits(toRead);
+      if (stripeCache != null) {
+        stripeCache.put(getBlockID().getContainerBlockID(), getStripeIndex(),
+            getOutputIndexes(), toRead, bufs);
+      }
     } else {
       // If we have no missing indexes, then the buffers will be at their
       // limits after reading so we need to flip them to ensure they are ready
@@ -421,6 +468,173 @@ synchronized int read(ByteBuffer[] bufs) throws IOException {
     return toRead;
   }
 
+  /**
+   * Read only a range of each cell in the current stripe into the given
+   * buffers. The same range is read from the locations selected for decoding,
+   * and only that range of the missing cells is decoded, so the amount of
+   * data read is proportional to the range rather than the stripe. The
+   * buffers should be passed as for {@link #readStripe(ByteBuffer[])}.
+   * After returning, each buffer holds the bytes of the range in the
+   * corresponding data cell, "ready to read" with position zero. Cells shorter
+   * than the range, at the end of the block, hold fewer or no bytes.
+   *
+   * The position of the stream is not changed, so the current stripe can still
+   * be read with {@link #readStripe(ByteBuffer[])} afterwards.
+   *
+   * @param bufs A list of byteBuffers which must contain EC Data Number
+   *             entries. Each Bytebuffer should be at position 0 and have
+   *             EC ChunkSize bytes remaining.
+   * @param cellOffset The offset within each cell of the range to read
+   * @param length The length of the range to read from each cell
+   * @return The number of bytes read into all the buffers
+   */
+  public synchronized int readStripeRange(ByteBuffer[] bufs, int cellOffset,
+      int length) throws IOException {
+    Preconditions.assertTrue(!isOfflineRecovery(),
+        "Range read is not supported for recovery");
+    int chunkSize = getRepConfig().getEcChunkSize();
+    Preconditions.assertTrue(cellOffset >= 0 && length >= 0
+        && cellOffset + length <= chunkSize, () -> "Range " + cellOffset
+        + "+" + length + " does not fit in a cell of " + chunkSize);
+    int toRead = (int)Math.min(getRemaining(), getStripeSize());
+    if (toRead == 0) {
+      return EOF;
+    }
+    int span = getRangeLength(0, toRead, cellOffset, length);
+    if (span == 0) {
+      return 0;
+    }
+    validateBuffers(bufs);
+    if (stripeCache != null && stripeCache.getRange(
+        getBlockID().getContainerBlockID(), getStripeIndex(),
+        getOutputIndexes(), toRead, cellOffset, length, bufs)) {
+      int read = 0;
+      for (ByteBuffer b : bufs) {
+        read += b.remaining();
+      }
+      return read;
+    }
+    if (!initialized) {
+      init();
+    }
+    // Seek to the current position, so the block streams are positioned at
+    // the range before reading it and at the stripe start after it.
+    seek(getPos());
+    rangeOffset = cellOffset;
+    try {
+      while (true) {
+        try {
+          assignBuffers(bufs);
+          clearInternalBuffers();
+          setRangeReadLimits(toRead, cellOffset, length);
+          loadDataBuffersFromStream();
+          break;
+        } catch (IOException e) {
+          seek(getPos());
+          for (ByteBuffer b : bufs) {
+            b.position(0);
+          }
+          init();
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted waiting for reads to complete",
+              ie);
+        }
+      }
+    } finally {
+      rangeOffset = 0;
+    }
+    if (!missingIndexes.isEmpty()) {
+      padRange(span);
+      flipInputs();
+      decodeStripe();
+    } else {
+      flipInputs();
+    }
+    // Drop the padding, so each buffer holds only the bytes of its cell.
+    int read = 0;
+    for (int i = 0; i < bufs.length; i++) {
+      int cellRead = getRangeLength(i, toRead, cellOffset, length);
+      bufs[i].position(0);
+      bufs[i].limit(cellRead);
+      read += cellRead;
+    }
+    if (!missingIndexes.isEmpty() && stripeCache != null) {
+      stripeCache.putRange(getBlockID().getContainerBlockID(),
+          getStripeIndex(), getOutputIndexes(), toRead, cellOffset, length,
+          bufs);
+    }
+    return read;
+  }
+
+  /**
+   * @return the number of bytes of the range in the cell with the given
+   * index, for a stripe of stripeLength bytes. Parity cells are as long as
+   * the first cell.
+   */
+  private int getRangeLength(int index, int stripeLength, int cellOffset,
+      int length) {
+    int chunkSize = getRepConfig().getEcChunkSize();
+    int cell = index < getRepConfig().getData() ? index : 0;
+    long cellLength = Math.max(0,
+        Math.min(chunkSize, stripeLength - (long) cell * chunkSize));
+    return (int) Math.max(0, Math.min(length, cellLength - cellOffset));
+  }
+
+  private void setRangeReadLimits(int stripeLength, int cellOffset,
+      int length) {
+    int span = getRangeLength(0, stripeLength, cellOffset, length);
+    for (int i : allIndexes) {
+      ByteBuffer b = decoderInputBuffers[i];
+      if (b != null) {
+        b.limit(getRangeLength(i, stripeLength, cellOffset, length));
+      }
+    }
+    for (ByteBuffer b : decoderOutputBuffers) {
+      b.limit(span);
+    }
+  }
+
+  private void padRange(int span) {
+    int dataNum = getRepConfig().getData();
+    for (int i = 0; i < dataNum; i++) {
+      ByteBuffer b = decoderInputBuffers[i];
+      if (b != null) {
+        b.limit(span);
+        zeroFill(b);
+      }
+    }
+    for (int i = dataNum; i < getRepConfig().getRequiredNodes(); i++) {
+      ByteBuffer b = decoderInputBuffers[i];
+      if (b != null) {
+        Preconditions.assertSame(span, b.position(), "buf.position");
+      }
+    }
+  }
+
+  private boolean readFromStripeCache(ByteBuffer[] bufs, int toRead)
+      throws IOException {
+    if (stripeCache == null || !stripeCache.get(
+        getBlockID().getContainerBlockID(), getStripeIndex(),
+        getOutputIndexes(), toRead, bufs)) {
+      return false;
+    }
+    long newPos = getPos() + toRead;
+    if (newPos < getLength()) {
+      // The block streams were not read, so seek to have them repositioned
+      // before the next stripe is read from them.
+      seek(newPos);
+    } else {
+      setPos(newPos);
+      freeAllResourcesWithoutClosing();
+    }
+    return true;
+  }
+
+  private long getStripeIndex() {
+    return getPos() / getStripeSize();
+  }
+
   private void validateBuffers(ByteBuffer[] bufs) {
     Preconditions.assertSame(getExpectedBufferCount(), bufs.length,
         "buffer count");
@@ -650,8 +864,13 @@ private void readIntoBuffer(int ind, ByteBuffer buf) throws IOException {
 
   private void readFromCurrentLocation(int ind, ByteBuffer buf)
       throws IOException {
+    if (rangeOffset > 0 && !buf.hasRemaining()) {
+      // None of the range is in this cell, and the replica may end before
+      // the range offset.
+      return;
+    }
     BlockExtendedInputStream stream = getOrOpenStream(ind);
-    seekStreamIfNecessary(stream, 0);
+    seekStreamIfNecessary(stream, rangeOffset);
     while (buf.hasRemaining()) {
       int read = stream.read(buf);
       if (read == EOF) {
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.io;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableSet;
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.client.ContainerBlockID;
+
+/**
+ * Client side cache of recently reconstructed EC stripes.
+ *
+ * While a data location of a block is unavailable, every read of a stripe
+ * has to read the remaining data and parity cells and decode the missing
+ * ones. Keeping the result lets repeated reads of the same stripe be served
+ * without reading from the datanodes again. An entry is identified by the
+ * block, the stripe index within the block and the set of replica indexes
+ * whose cells it holds. The cache is bounded by the total size of the cached
+ * cells and entries expire after a fixed time.
+ *
+ * Range reads of a stripe may also add the range they decoded, i.e. the same
+ * part of each cell, which serves later reads of that range. A whole stripe
+ * replaces the range, but a range does not replace a whole stripe.
+ */
+public final class ECStripeCache implements Closeable {
+
+  // The range length of the entries holding whole cells.
+  private static final int WHOLE_CELLS = Integer.MAX_VALUE;
+
+  private final Cache<Key, Stripe> cache;
+  private final ECStripeCacheMetrics metrics;
+
+  public ECStripeCache(long maxSize, Duration ttl) {
+    this.metrics = ECStripeCacheMetrics.create();
+    this.cache = CacheBuilder.newBuilder()
+        .maximumWeight(maxSize)
+        .<Key, Stripe>weigher((key, stripe) -> stripe.size())
+        .expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS)
+        .removalListener(this::onRemoval)
+        .build();
+  }
+
+  /**
+   * Copy a cached stripe into the given buffers. Each buffer must be at
+   * position zero with enough space for a cell. On a hit, the buffers are
+   * returned "ready to read", as after reading the stripe from the block.
+   *
+   * @param blockID the block the stripe belongs to
+   * @param stripeIndex index of the stripe within the block
+   * @param indexes replica indexes of the cells, one for each buffer
+   * @param length number of bytes expected in the stripe
+   * @param bufs buffers to fill with the cells of the stripe
+   * @return true if the stripe was found and copied, false otherwise
+   */
+  public boolean get(ContainerBlockID blockID, long stripeIndex,
+      Collection<Integer> indexes, int length, ByteBuffer[] bufs) {
+    return getRange(blockID, stripeIndex, indexes, length, 0, WHOLE_CELLS,
+        bufs);
+  }
+
+  /**
+   * Copy a range of each cell of a cached stripe into the given buffers.
+   * The stripe is found if the whole stripe or a range containing the
+   * requested one is cached. On a hit, each buffer is returned "ready to
+   * read" with the bytes of the range in its cell, which are fewer for the
+   * cells shorter than the range.
+   *
+   * @param blockID the block the stripe belongs to
+   * @param stripeIndex index of the stripe within the block
+   * @param indexes replica indexes of the cells, one for each buffer
+   * @param length number of bytes expected in the stripe
+   * @param cellOffset offset of the range within each cell
+   * @param rangeLength length of the range within each cell
+   * @param bufs buffers to fill with the range of each cell
+   * @return true if the range was found and copied, false otherwise
+   */
+  public boolean getRange(ContainerBlockID blockID, long stripeIndex,
+      Collection<Integer> indexes, int length, int cellOffset,
+      int rangeLength, ByteBuffer[] bufs) {
+    Stripe stripe = cache.getIfPresent(
+        new Key(blockID, stripeIndex, indexes));
+    if (stripe == null || stripe.length != length
+        || stripe.cells.length != bufs.length
+        || !stripe.contains(cellOffset, rangeLength)) {
+      metrics.incrMisses();
+      return false;
+    }
+    int from = cellOffset - stripe.cellOffset;
+    for (int i = 0; i < bufs.length; i++) {
+      byte[] cell = stripe.cells[i];
+      int count = Math.max(0, Math.min(rangeLength, cell.length - from));
+      bufs[i].put(cell, Math.min(from, cell.length), count);
+      bufs[i].flip();
+    }
+    metrics.incrHits();
+    return true;
+  }
+
+  /**
+   * Add a reconstructed stripe to the cache. The cells are copied from the
+   * remaining bytes of each buffer, the buffers themselves are not modified.
+   *
+   * @param blockID the block the stripe belongs to
+   * @param stripeIndex index of the stripe within the block
+   * @param indexes replica indexes of the cells, one for each buffer
+   * @param length number of bytes in the stripe
+   * @param bufs "ready to read" buffers holding the cells of the stripe
+   */
+  public void put(ContainerBlockID blockID, long stripeIndex,
+      Collection<Integer> indexes, int length, ByteBuffer[] bufs) {
+    Stripe stripe = new Stripe(length, 0, WHOLE_CELLS, copyCells(bufs));
+    cache.put(new Key(blockID, stripeIndex, indexes), stripe);
+    metrics.incrPuts();
+    metrics.addCachedBytes(stripe.size());
+  }
+
+  /**
+   * Add a reconstructed range of a stripe to the cache, unless the whole
+   * stripe is already cached. The cells are copied from the remaining bytes
+   * of each buffer, the buffers themselves are not modified.
+   *
+   * @param blockID the block the stripe belongs to
+   * @param stripeIndex index of the stripe within the block
+   * @param indexes replica indexes of the cells, one for each buffer
+   * @param length number of bytes in the stripe
+   * @param cellOffset offset of the range within each cell
+   * @param rangeLength length of the range within each cell
+   * @param bufs "ready to read" buffers holding the range of each cell
+   */
+  public void putRange(ContainerBlockID blockID, long stripeIndex,
+      Collection<Integer> indexes, int length, int cellOffset,
+      int rangeLength, ByteBuffer[] bufs) {
+    Key key = new Key(blockID, stripeIndex, indexes);
+    Stripe cached = cache.getIfPresent(key);
+    if (cached != null && cached.isWhole() && cached.length == length) {
+      return;
+    }
+    Stripe stripe = new Stripe(length, cellOffset, rangeLength,
+        copyCells(bufs));
+    cache.put(key, stripe);
+    metrics.incrPuts();
+    metrics.addCachedBytes(stripe.size());
+  }
+
+  private static byte[][] copyCells(ByteBuffer[] bufs) {
+    byte[][] cells = new byte[bufs.length][];
+    for (int i = 0; i < bufs.length; i++) {
+      ByteBuffer b = bufs[i].duplicate();
+      cells[i] = new byte[b.remaining()];
+      b.get(cells[i]);
+    }
+    return cells;
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public ECStripeCacheMetrics getMetrics() {
+    return metrics;
+  }
+
+  private void onRemoval(RemovalNotification<Key, Stripe> notification) {
+    Stripe stripe = notification.getValue();
+    if (stripe != null) {
+      metrics.addCachedBytes(-stripe.size());
+    }
+    if (notification.wasEvicted()) {
+      metrics.incrEvictions();
+    }
+  }
+
+  @Override
+  public void close() {
+    cache.invalidateAll();
+    cache.cleanUp();
+    metrics.unregister();
+  }
+
+  private static final class Key {
+    private final ContainerBlockID blockID;
+    private final long stripeIndex;
+    private final Set<Integer> indexes;
+
+    Key(ContainerBlockID blockID, long stripeIndex,
+        Collection<Integer> indexes) {
+      this.blockID = blockID;
+      this.stripeIndex = stripeIndex;
+      this.indexes = ImmutableSet.copyOf(indexes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return stripeIndex == other.stripeIndex
+          && blockID.equals(other.blockID)
+          && indexes.equals(other.indexes);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(blockID, stripeIndex, indexes);
+    }
+  }
+
+  private static final class Stripe {
+    private final int length;
+    // The range of each cell held by this entry.
+    private final int cellOffset;
+    private final int rangeLength;
+    private final byte[][] cells;
+
+    Stripe(int length, int cellOffset, int rangeLength, byte[][] cells) {
+      this.length = length;
+      this.cellOffset = cellOffset;
+      this.rangeLength = rangeLength;
+      this.cells = cells;
+    }
+
+    boolean isWhole() {
+      return rangeLength == WHOLE_CELLS;
+    }
+
+    boolean contains(int offset, int len) {
+      return isWhole() || (offset >= cellOffset
+          && (long) offset + len <= (long) cellOffset + rangeLength);
+    }
+
+    int size() {
+      int size = 0;
+      for (byte[] cell : cells) {
+        size += cell.length;
+      }
+      return size;
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.io;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Metrics for {@link ECStripeCache}.
+ */
+@Metrics(about = "EC Reconstructed Stripe Cache Metrics",
+    context = OzoneConsts.OZONE)
+public final class ECStripeCacheMetrics {
+
+  private static final String SOURCE_NAME =
+      ECStripeCacheMetrics.class.getSimpleName();
+  private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger();
+
+  private final String name;
+
+  @Metric("Number of stripes read from the cache")
+  private MutableCounterLong hits;
+  @Metric("Number of stripes not found in the cache")
+  private MutableCounterLong misses;
+  @Metric("Number of reconstructed stripes added to the cache")
+  private MutableCounterLong puts;
+  @Metric("Number of stripes evicted from the cache")
+  private MutableCounterLong evictions;
+  @Metric("Bytes of stripe data held in the cache")
+  private MutableGaugeLong cachedBytes;
+
+  private ECStripeCacheMetrics(String name) {
+    this.name = name;
+  }
+
+  public static ECStripeCacheMetrics create() {
+    String name = SOURCE_NAME + INSTANCE_COUNT.incrementAndGet();
+    return DefaultMetricsSystem.instance().register(name,
+        "EC Reconstructed Stripe Cache Metrics",
+        new ECStripeCacheMetrics(name));
+  }
+
+  public void unregister() {
+    DefaultMetricsSystem.instance().unregisterSource(name);
+  }
+
+  void incrHits() {
+    hits.incr();
+  }
+
+  void incrMisses() {
+    misses.incr();
+  }
+
+  void incrPuts() {
+    puts.incr();
+  }
+
+  void incrEvictions() {
+    evictions.incr();
+  }
+
+  void addCachedBytes(long delta) {
+    cachedBytes.incr(delta);
+  }
+
+  public long getHits() {
+    return hits.value();
+  }
+
+  public long getMisses() {
+    return misses.value();
+  }
+
+  public long getPuts() {
+    return puts.value();
+  }
+
+  public long getEvictions() {
+    return evictions.value();
+  }
+
+  public long getCachedBytes() {
+    return cachedBytes.value();
+  }
+}
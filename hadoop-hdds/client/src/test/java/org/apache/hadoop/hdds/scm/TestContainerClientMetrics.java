@@ -19,14 +19,18 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 
 import java.util.Collections;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
 import org.apache.hadoop.hdds.protocol.DatanodeID;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.storage.AdaptiveConcurrencyLimit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -80,6 +84,31 @@ public void testRecordChunkMetrics() {
         metrics.getWriteChunksCallsByLeaders().get(leaderId2).value());
   }
 
+  @Test
+  public void testWriteConcurrencyLimits() {
+    ContainerClientMetrics metrics = ContainerClientMetrics.acquire();
+    OzoneClientConfig config = new OzoneClientConfig();
+    PipelineID pipelineId1 = PipelineID.randomId();
+    PipelineID pipelineId2 = PipelineID.randomId();
+
+    AdaptiveConcurrencyLimit writeChunk = metrics.getWriteConcurrencyLimit(
+        pipelineId1, ContainerProtos.Type.WriteChunk, config);
+    AdaptiveConcurrencyLimit putBlock = metrics.getWriteConcurrencyLimit(
+        pipelineId1, ContainerProtos.Type.PutBlock, config);
+    // each request type has its own limit and latency baseline
+    assertNotSame(writeChunk, putBlock);
+    assertSame(writeChunk, metrics.getWriteConcurrencyLimit(
+        pipelineId1, ContainerProtos.Type.WriteChunk, config));
+    metrics.getWriteConcurrencyLimit(
+        pipelineId2, ContainerProtos.Type.WriteChunk, config);
+    assertEquals(2, metrics.getWriteConcurrencyLimits().size());
+
+    ContainerClientMetrics.removeWriteConcurrencyLimits(pipelineId1);
+    assertEquals(1, metrics.getWriteConcurrencyLimits().size());
+    assertNotSame(writeChunk, metrics.getWriteConcurrencyLimit(
+        pipelineId1, ContainerProtos.Type.WriteChunk, config));
+  }
+
   @Test
   public void testReleaseWithoutUse() {
     assertThrows(IllegalStateException.class, ContainerClientMetrics::release);
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ReadLatencyPercentile}.
+ */
+public class TestReadLatencyPercentile {
+
+  @Test
+  public void testPercentile() {
+    ReadLatencyPercentile latency = new ReadLatencyPercentile(90);
+    for (int i = 1; i < 32; i++) {
+      latency.add(i);
+    }
+    // not enough samples
+    assertEquals(-1, latency.get());
+
+    for (int i = 32; i <= 100; i++) {
+      latency.add(i);
+    }
+    assertEquals(90, latency.get());
+
+    // the oldest samples are dropped
+    for (int i = 0; i < 128; i++) {
+      latency.add(1000);
+    }
+    assertEquals(1000, latency.get());
+  }
+
+  @Test
+  public void testInvalidPercentile() {
+    assertThrows(IllegalArgumentException.class, () -> new ReadLatencyPercentile(0));
+    assertThrows(IllegalArgumentException.class, () -> new ReadLatencyPercentile(101));
+  }
+}
@@ -20,7 +20,9 @@
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
@@ -50,9 +52,25 @@ class DummyBlockInputStream extends BlockInputStream {
       List<ChunkInfo> chunkList,
       Map<String, byte[]> chunks,
       OzoneClientConfig config) throws IOException {
+    this(blockId, blockLen, pipeline, token, xceiverClientManager,
+        refreshFunction, chunkList, chunks, config, null);
+  }
+
+  @SuppressWarnings("parameternumber")
+  DummyBlockInputStream(
+      BlockID blockId,
+      long blockLen,
+      Pipeline pipeline,
+      Token<OzoneBlockTokenIdentifier> token,
+      XceiverClientFactory xceiverClientManager,
+      Function<BlockID, BlockLocationInfo> refreshFunction,
+      List<ChunkInfo> chunkList,
+      Map<String, byte[]> chunks,
+      OzoneClientConfig config,
+      Supplier<ExecutorService> readAheadExecutorSupplier) throws IOException {
     super(new BlockLocationInfo(new BlockLocationInfo.Builder().setBlockID(blockId).setLength(blockLen)),
         pipeline, token,
-        xceiverClientManager, refreshFunction, config);
+        xceiverClientManager, refreshFunction, config, readAheadExecutorSupplier);
     this.chunkDataMap = chunks;
     this.chunks = chunkList;
 
@@ -25,6 +25,7 @@
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.ozone.common.utils.BufferUtils;
+import org.apache.hadoop.security.token.Token;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 
 /**
@@ -37,6 +38,9 @@ public class DummyChunkInputStream extends ChunkInputStream {
   // Stores the read chunk data in each readChunk call
   private final List<ByteString> readByteBuffers = new ArrayList<>();
 
+  // Number of readChunkAhead calls
+  private int readAheadCount;
+
   public DummyChunkInputStream(ChunkInfo chunkInfo,
       BlockID blockId,
       XceiverClientFactory xceiverClientFactory,
@@ -74,6 +78,12 @@ protected ByteBuffer[] readChunk(ChunkInfo readChunkInfo) {
         .toArray(new ByteBuffer[0]);
   }
 
+  @Override
+  protected synchronized ByteBuffer[] readChunkAhead(Pipeline pipeline, Token<?> token) {
+    readAheadCount++;
+    return new ByteBuffer[] {ByteBuffer.wrap(chunkData).asReadOnlyBuffer()};
+  }
+
   @Override
   protected void acquireClient() {
     // No action needed
@@ -87,4 +97,8 @@ protected void releaseClient() {
   public List<ByteString> getReadByteBuffers() {
     return readByteBuffers;
   }
+
+  public synchronized int getReadAheadCount() {
+    return readAheadCount;
+  }
 }
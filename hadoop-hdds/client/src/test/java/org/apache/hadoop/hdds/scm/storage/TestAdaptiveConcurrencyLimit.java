@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link AdaptiveConcurrencyLimit}.
+ */
+class TestAdaptiveConcurrencyLimit {
+
+  /** Keep the limit saturated and complete n requests with the given latency. */
+  private static void complete(AdaptiveConcurrencyLimit limit, int n, long latency) throws Exception {
+    for (int i = 0; i < n; i++) {
+      while (limit.getInFlight() < limit.getLimit()) {
+        limit.acquire();
+      }
+      limit.release(latency, true);
+    }
+  }
+
+  @Test
+  void testAdditiveIncrease() throws Exception {
+    final AtomicInteger reported = new AtomicInteger();
+    final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 8, 2, 0.5, reported::set);
+    assertEquals(1, limit.getLimit());
+
+    complete(limit, 1, 1000);
+    assertEquals(2, limit.getLimit());
+    assertEquals(2, reported.get());
+
+    // one window of samples for each increment
+    complete(limit, 2, 1000);
+    assertEquals(3, limit.getLimit());
+
+    // never exceeds the maximum
+    complete(limit, 100, 1000);
+    assertEquals(8, limit.getLimit());
+    assertEquals(8, reported.get());
+  }
+
+  @Test
+  void testMultiplicativeDecrease() throws Exception {
+    final AtomicInteger reported = new AtomicInteger();
+    final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 8, 2, 0.5, reported::set);
+    complete(limit, 100, 1000);
+    assertEquals(8, limit.getLimit());
+
+    // within the tolerance
+    complete(limit, 1, 1900);
+    assertEquals(8, limit.getLimit());
+
+    complete(limit, 1, 10_000);
+    assertEquals(4, limit.getLimit());
+    assertEquals(4, reported.get());
+
+    // decreased at most once per window
+    complete(limit, 1, 10_000);
+    assertEquals(4, limit.getLimit());
+
+    // decreased again after a window
+    complete(limit, 4, 10_000);
+    assertEquals(2, limit.getLimit());
+    // never below the minimum
+    complete(limit, 10, 10_000);
+    assertEquals(2, limit.getLimit());
+    assertEquals(2, reported.get());
+  }
+
+  @Test
+  void testFailureDecreases() throws Exception {
+    final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 8, 2, 0.5, null);
+    complete(limit, 100, 1000);
+    assertEquals(8, limit.getLimit());
+
+    limit.acquire();
+    limit.release(-1, false);
+    assertEquals(4, limit.getLimit());
+
+    // releasing without a sample does not change the limit
+    limit.release();
+    assertEquals(4, limit.getLimit());
+    assertEquals(6, limit.getInFlight());
+  }
+
+  @Test
+  void testAcquireWaitsForLimit() throws Exception {
+    final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 2, 0.5, null);
+    limit.acquire();
+
+    final CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+      try {
+        limit.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+    });
+    GenericTestUtils.waitFor(() -> limit.getQueueLength() == 1, 10, 3000);
+    assertEquals(1, limit.getInFlight());
+
+    limit.release(1000, true);
+    waiter.get();
+    assertEquals(1, limit.getInFlight());
+    assertEquals(0, limit.getQueueLength());
+
+    limit.release();
+    assertThrows(IllegalStateException.class, limit::release);
+  }
+
+  @Test
+  void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(0, 1, 2, 0.5, null));
+    assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(2, 1, 2, 0.5, null));
+    assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(1, 1, 0.5, 0.5, null));
+    assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(1, 1, 2, 1, null));
+  }
+}
@@ -33,6 +33,7 @@
 import static org.mockito.Mockito.when;
 
 import com.google.common.primitives.Bytes;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -41,6 +42,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
@@ -265,6 +267,119 @@ public void testSeekAndRead() throws Exception {
     matchWithInputData(b2, 150, 100);
   }
 
+  private BlockInputStream createReadAheadStream() throws IOException {
+    OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    clientConfig.setChecksumVerify(false);
+    clientConfig.setReadAheadChunks(2);
+    clientConfig.setReadAheadSequentialThreshold(2);
+    ExecutorService executor = MoreExecutors.newDirectExecutorService();
+    return new DummyBlockInputStream(new BlockID(new ContainerBlockID(1, 1)),
+        blockSize, MockPipeline.createSingleNodePipeline(), null, null,
+        refreshFunction, chunks, chunkDataMap, clientConfig, () -> executor);
+  }
+
+  private static int getReadAheadCount(BlockInputStream stream, int index) {
+    return ((DummyChunkInputStream) stream.getChunkStreams().get(index))
+        .getReadAheadCount();
+  }
+
+  @Test
+  public void testSequentialReadAhead() throws Exception {
+    blockStream = createReadAheadStream();
+    byte[] b = new byte[blockSize];
+    int pos = 0;
+    while (pos < blockSize) {
+      int bytesRead = blockStream.read(b, pos, Math.min(50, blockSize - pos));
+      assertEquals(Math.min(50, blockSize - pos), bytesRead);
+      pos += bytesRead;
+    }
+    matchWithInputData(b, 0, blockSize);
+
+    // The first chunk is read before the read pattern is detected as
+    // sequential, all the following chunks are read ahead exactly once.
+    assertEquals(0, getReadAheadCount(blockStream, 0));
+    for (int i = 1; i < chunks.size(); i++) {
+      assertEquals(1, getReadAheadCount(blockStream, i));
+    }
+  }
+
+  @Test
+  public void testRandomReadNoReadAhead() throws Exception {
+    blockStream = createReadAheadStream();
+    byte[] b = new byte[20];
+    int[] positions = {0, 310, 120, 420, 205};
+    for (int p : positions) {
+      seekAndVerify(p);
+      assertEquals(20, blockStream.read(b, 0, 20));
+      matchWithInputData(b, p, 20);
+    }
+
+    for (int i = 0; i < chunks.size(); i++) {
+      assertEquals(0, getReadAheadCount(blockStream, i));
+    }
+  }
+
+  @Test
+  public void testReadAheadCancelledOnRandomRead() throws Exception {
+    // Use an executor which never runs the read-ahead
+    OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    clientConfig.setChecksumVerify(false);
+    clientConfig.setReadAheadChunks(2);
+    clientConfig.setReadAheadSequentialThreshold(1);
+    ExecutorService executor = mock(ExecutorService.class);
+    blockStream = new DummyBlockInputStream(new BlockID(new ContainerBlockID(1, 1)),
+        blockSize, MockPipeline.createSingleNodePipeline(), null, null,
+        refreshFunction, chunks, chunkDataMap, clientConfig, () -> executor);
+
+    byte[] b = new byte[20];
+    assertEquals(20, blockStream.read(b, 0, 20));
+    List<ChunkInputStream> chunkStreams = blockStream.getChunkStreams();
+    assertTrue(chunkStreams.get(1).isReadingAhead());
+    assertTrue(chunkStreams.get(2).isReadingAhead());
+    assertFalse(chunkStreams.get(3).isReadingAhead());
+
+    // A random read stops the read-ahead and falls back to reading the chunk
+    seekAndVerify(CHUNK_SIZE * 3 + 10);
+    assertEquals(20, blockStream.read(b, 0, 20));
+    matchWithInputData(b, CHUNK_SIZE * 3 + 10, 20);
+    for (ChunkInputStream chunkStream : chunkStreams) {
+      assertFalse(chunkStream.isReadingAhead());
+    }
+  }
+
+  @Test
+  public void testPositionedReadKeepsReadAhead() throws Exception {
+    // Use an executor which never runs the read-ahead
+    OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    clientConfig.setChecksumVerify(false);
+    clientConfig.setReadAheadChunks(2);
+    clientConfig.setReadAheadSequentialThreshold(1);
+    ExecutorService executor = mock(ExecutorService.class);
+    blockStream = new DummyBlockInputStream(new BlockID(new ContainerBlockID(1, 1)),
+        blockSize, MockPipeline.createSingleNodePipeline(), null, null,
+        refreshFunction, chunks, chunkDataMap, clientConfig, () -> executor);
+
+    byte[] b = new byte[20];
+    assertEquals(20, blockStream.read(b, 0, 20));
+    List<ChunkInputStream> chunkStreams = blockStream.getChunkStreams();
+    assertTrue(chunkStreams.get(1).isReadingAhead());
+    assertTrue(chunkStreams.get(2).isReadingAhead());
+
+    // A positioned read is not a random read of the stream
+    ByteBuffer buffer = ByteBuffer.allocate(20);
+    assertEquals(20, blockStream.readPositioned(CHUNK_SIZE * 3 + 10, buffer));
+    matchWithInputData(buffer.array(), CHUNK_SIZE * 3 + 10, 20);
+    assertEquals(20, blockStream.getPos());
+    assertTrue(chunkStreams.get(1).isReadingAhead());
+    assertTrue(chunkStreams.get(2).isReadingAhead());
+
+    // and the following read is still sequential
+    assertEquals(20, blockStream.read(b, 0, 20));
+    matchWithInputData(b, 20, 20);
+    assertTrue(chunkStreams.get(1).isReadingAhead());
+    assertTrue(chunkStreams.get(2).isReadingAhead());
+  }
+
   @Test
   public void testRefreshPipelineFunction() throws Exception {
     LogCapturer logCapturer = LogCapturer.captureLogs(BlockExtendedInputStream.class);
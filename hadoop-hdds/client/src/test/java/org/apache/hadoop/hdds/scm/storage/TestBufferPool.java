@@ -29,6 +29,7 @@
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import org.apache.hadoop.hdds.scm.ByteStringConversion;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.ozone.test.GenericTestUtils;
 import org.apache.ozone.test.GenericTestUtils.LogCapturer;
@@ -63,6 +64,84 @@ void testBufferPoolConcurrently() throws Exception {
     assertAllocationBlockedUntilReleased(pool, buffers);
   }
 
+  @Test
+  void testSharedBufferPool() throws Exception {
+    final int bufferSize = 1 << 10;
+    final SharedChunkBufferPool shared = SharedChunkBufferPool.get();
+    shared.setMaxPooledSize(2 * bufferSize);
+    shared.clear();
+    final long hits = shared.getHits();
+    final long misses = shared.getMisses();
+    final long outstanding = shared.getOutstandingBytes();
+
+    final BufferPool pool1 = new BufferPool(bufferSize, 3,
+        ByteStringConversion.createByteBufferConversion(false), shared);
+    for (int i = 0; i < 3; i++) {
+      fill(pool1.allocateBuffer(0));
+    }
+    assertEquals(misses + 3, shared.getMisses());
+    assertEquals(outstanding + 3 * bufferSize, shared.getOutstandingBytes());
+
+    // Only the buffers up to the max pooled size are kept.
+    pool1.clearBufferPool();
+    assertEquals(outstanding, shared.getOutstandingBytes());
+    assertEquals(2 * bufferSize, shared.getPooledBytes());
+
+    // A new pool reuses the cleared buffers.
+    final BufferPool pool2 = new BufferPool(bufferSize, 3,
+        ByteStringConversion.createByteBufferConversion(false), shared);
+    final ChunkBuffer reused = pool2.allocateBuffer(0);
+    assertEquals(hits + 1, shared.getHits());
+    assertEquals(0, reused.position());
+    assertEquals(bufferSize, reused.remaining());
+    assertEquals(bufferSize, shared.getPooledBytes());
+    pool2.clearBufferPool();
+    assertEquals(2 * bufferSize, shared.getPooledBytes());
+
+    // Incrementally allocated buffers are not shared.
+    final BufferPool pool3 = new BufferPool(bufferSize, 3,
+        ByteStringConversion.createByteBufferConversion(false), shared);
+    pool3.allocateBuffer(bufferSize / 4);
+    assertEquals(hits + 1, shared.getHits());
+    assertEquals(misses + 3, shared.getMisses());
+    pool3.clearBufferPool();
+    assertEquals(2 * bufferSize, shared.getPooledBytes());
+
+    shared.clear();
+    assertEquals(0, shared.getPooledBytes());
+  }
+
+  @Test
+  void testSharedBufferPoolMaxOutstandingSize() throws Exception {
+    final int bufferSize = 1 << 10;
+    final SharedChunkBufferPool shared = SharedChunkBufferPool.get();
+    shared.setMaxPooledSize(4 * bufferSize);
+    shared.clear();
+    final long outstanding = shared.getOutstandingBytes();
+    final long overflows = shared.getOverflows();
+    shared.setMaxOutstandingSize(outstanding + 2 * bufferSize);
+    try {
+      final BufferPool pool = new BufferPool(bufferSize, 3,
+          ByteStringConversion.createByteBufferConversion(false), shared);
+      for (int i = 0; i < 3; i++) {
+        final ChunkBuffer buffer = pool.allocateBuffer(0);
+        fill(buffer);
+        assertEquals(bufferSize, buffer.remaining());
+      }
+      // The third buffer is allocated outside of the shared pool.
+      assertEquals(outstanding + 2 * bufferSize, shared.getOutstandingBytes());
+      assertEquals(overflows + 1, shared.getOverflows());
+
+      // Only the buffers taken from the shared pool are returned to it.
+      pool.clearBufferPool();
+      assertEquals(outstanding, shared.getOutstandingBytes());
+      assertEquals(2 * bufferSize, shared.getPooledBytes());
+    } finally {
+      shared.setMaxOutstandingSize(0);
+      shared.clear();
+    }
+  }
+
   private void assertAllocationBlockedUntilReleased(BufferPool pool, Deque<ChunkBuffer> buffers) throws Exception {
     // As the pool is full, allocation will need to wait until a buffer is released.
     assertFull(pool);
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import static org.apache.hadoop.hdds.scm.storage.TestChunkInputStream.generateRandomData;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.hadoop.fs.FileRange;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
+import org.apache.hadoop.hdds.scm.pipeline.MockPipeline;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MultipartInputStream}'s vectored read and read-ahead.
+ */
+public class TestMultipartInputStream {
+
+  private static final int CHUNK_SIZE = 100;
+  private static final int CHUNKS_PER_BLOCK = 3;
+  private static final int BLOCK_SIZE = CHUNK_SIZE * CHUNKS_PER_BLOCK;
+  private static final int NUM_BLOCKS = 3;
+
+  private byte[] keyData;
+  private List<BlockInputStream> blockStreams;
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    keyData = generateRandomData(BLOCK_SIZE * NUM_BLOCKS);
+    blockStreams = createBlockStreams(newConfig(), null);
+    executor = Executors.newFixedThreadPool(NUM_BLOCKS);
+  }
+
+  private static OzoneClientConfig newConfig() {
+    OzoneClientConfig config = new OzoneConfiguration().getObject(OzoneClientConfig.class);
+    config.setChecksumVerify(false);
+    return config;
+  }
+
+  private List<BlockInputStream> createBlockStreams(OzoneClientConfig config,
+      Supplier<ExecutorService> readAheadExecutorSupplier) throws Exception {
+    Checksum checksum = new Checksum(ChecksumType.NONE, CHUNK_SIZE);
+    List<BlockInputStream> streams = new ArrayList<>();
+    for (int b = 0; b < NUM_BLOCKS; b++) {
+      List<ChunkInfo> chunks = new ArrayList<>();
+      Map<String, byte[]> chunkDataMap = new HashMap<>();
+      for (int c = 0; c < CHUNKS_PER_BLOCK; c++) {
+        String chunkName = "chunk-" + b + "-" + c;
+        int offset = b * BLOCK_SIZE + c * CHUNK_SIZE;
+        byte[] data = Arrays.copyOfRange(keyData, offset, offset + CHUNK_SIZE);
+        chunks.add(ChunkInfo.newBuilder()
+            .setChunkName(chunkName)
+            .setOffset(0)
+            .setLen(CHUNK_SIZE)
+            .setChecksumData(checksum.computeChecksum(data, 0, CHUNK_SIZE).getProtoBufMessage())
+            .build());
+        chunkDataMap.put(chunkName, data);
+      }
+      streams.add(new DummyBlockInputStream(new BlockID(1, b), BLOCK_SIZE,
+          MockPipeline.createSingleNodePipeline(), null, null, null,
+          chunks, chunkDataMap, config, readAheadExecutorSupplier));
+    }
+    return streams;
+  }
+
+  @AfterEach
+  public void cleanup() throws Exception {
+    executor.shutdownNow();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testReadVectoredInParallel() throws Exception {
+    testReadVectored(() -> executor);
+  }
+
+  @Test
+  public void testReadVectoredInCallingThread() throws Exception {
+    testReadVectored(null);
+  }
+
+  private void testReadVectored(Supplier<ExecutorService> executorSupplier)
+      throws Exception {
+    MultipartInputStream stream = new MultipartInputStream("key",
+        blockStreams, executorSupplier);
+    stream.seek(123);
+
+    List<FileRange> ranges = Arrays.asList(
+        FileRange.createFileRange(650, 100),
+        FileRange.createFileRange(10, 20),
+        // close to the previous range, merged into one read
+        FileRange.createFileRange(40, 30),
+        // spans two blocks
+        FileRange.createFileRange(BLOCK_SIZE - 10, 20),
+        FileRange.createFileRange(keyData.length - 1, 1));
+    assertTrue(stream.readVectored(ranges, ByteBuffer::allocate, 16, 1024));
+
+    for (FileRange range : ranges) {
+      ByteBuffer data = range.getData().get(10, TimeUnit.SECONDS);
+      assertEquals(range.getLength(), data.remaining());
+      byte[] actual = new byte[range.getLength()];
+      data.get(actual);
+      assertArrayEquals(Arrays.copyOfRange(keyData, (int) range.getOffset(),
+          (int) range.getOffset() + range.getLength()), actual);
+    }
+
+    // the position of the stream is not changed
+    assertEquals(123, stream.getPos());
+    byte[] b = new byte[200];
+    assertEquals(200, stream.read(b, 0, 200));
+    assertArrayEquals(Arrays.copyOfRange(keyData, 123, 323), b);
+  }
+
+  @Test
+  public void testReadVectoredBeyondEOF() {
+    MultipartInputStream stream = new MultipartInputStream("key",
+        blockStreams, () -> executor);
+    List<FileRange> ranges = Arrays.asList(
+        FileRange.createFileRange(keyData.length - 10, 20));
+    assertThrows(EOFException.class,
+        () -> stream.readVectored(ranges, ByteBuffer::allocate, 16, 1024));
+  }
+
+  @Test
+  public void testReadAheadNextBlock() throws Exception {
+    OzoneClientConfig config = newConfig();
+    config.setReadAheadChunks(1);
+    config.setReadAheadSequentialThreshold(1);
+    config.setReadAheadBlocks(1);
+    blockStreams = createBlockStreams(config, () -> executor);
+    MultipartInputStream stream = new MultipartInputStream("key",
+        blockStreams, null, config);
+
+    byte[] b = new byte[keyData.length];
+    assertEquals(50, stream.read(b, 0, 50));
+    // the first chunks of the next block are read in the background
+    BlockInputStream next = blockStreams.get(1);
+    GenericTestUtils.waitFor(() -> next.getChunkStreams() != null
+        && ((DummyChunkInputStream) next.getChunkStreams().get(0)).getReadAheadCount() == 1
+        && ((DummyChunkInputStream) next.getChunkStreams().get(1)).getReadAheadCount() == 1,
+        10, 10_000);
+    // only one block is read ahead
+    assertNull(blockStreams.get(2).getChunkStreams());
+
+    int pos = 50;
+    while (pos < keyData.length) {
+      pos += stream.read(b, pos, Math.min(70, b.length - pos));
+    }
+    assertArrayEquals(keyData, b);
+  }
+}
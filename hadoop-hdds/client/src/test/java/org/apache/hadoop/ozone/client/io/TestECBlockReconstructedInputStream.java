@@ -342,6 +342,62 @@ public void testSeek() throws IOException {
     }
   }
 
+  @Test
+  public void testSeekAndReadWithinCell() throws IOException {
+    int chunkSize = repConfig.getEcChunkSize();
+    int readBufferSize = 1000;
+    // 3 stripes and a partial chunk
+    int blockLength = chunkSize * repConfig.getData() * 3 + chunkSize - 1;
+    ByteBuffer[] dataBufs = allocateBuffers(repConfig.getData(),
+        chunkSize * 4);
+    ECStreamTestUtil.randomFill(dataBufs, chunkSize, dataGenerator,
+        blockLength);
+    ByteBuffer[] parity = generateParity(dataBufs, repConfig);
+    addDataStreamsToFactory(dataBufs, parity);
+
+    Map<DatanodeDetails, Integer> dnMap
+        = ECStreamTestUtil.createIndexMap(1, 3, 4, 5);
+    try (ECBlockReconstructedStripeInputStream stripeStream
+        = createStripeInputStream(dnMap, blockLength)) {
+      try (ECBlockReconstructedInputStream stream =
+          new ECBlockReconstructedInputStream(repConfig, bufferPool,
+              stripeStream)) {
+        ByteBuffer b = ByteBuffer.allocate(readBufferSize);
+
+        // A read in the missing second cell of the second stripe reads only
+        // the same range from the other locations
+        long stripeSize = (long) chunkSize * repConfig.getData();
+        int cellOffset = 12345;
+        long seekPosition = stripeSize + chunkSize + cellOffset;
+        stream.seek(seekPosition);
+        assertEquals(readBufferSize, stream.read(b));
+        resetAndAdvanceDataGenerator(seekPosition);
+        ECStreamTestUtil.assertBufferMatches(b, dataGenerator);
+        for (ECStreamTestUtil.TestBlockInputStream bis
+            : streamFactory.getBlockStreams()) {
+          assertEquals(chunkSize + cellOffset + readBufferSize, bis.getPos());
+        }
+
+        // Further reads continue sequentially from the seek position
+        for (int i = 0; i < 3; i++) {
+          b.clear();
+          assertEquals(readBufferSize, stream.read(b));
+          ECStreamTestUtil.assertBufferMatches(b, dataGenerator);
+        }
+
+        for (int i = 0; i < 100; i++) {
+          seekPosition = random.nextInt(blockLength);
+          stream.seek(seekPosition);
+          b.clear();
+          long expectedRead = Math.min(stream.getRemaining(), readBufferSize);
+          assertEquals(expectedRead, stream.read(b));
+          resetAndAdvanceDataGenerator(seekPosition);
+          ECStreamTestUtil.assertBufferMatches(b, dataGenerator);
+        }
+      }
+    }
+  }
+
   private void resetAndAdvanceDataGenerator(long position) {
     dataGenerator = new SplittableRandom(randomSeed);
     for (long i = 0; i < position; i++) {
@@ -30,6 +30,7 @@
 import com.google.common.collect.ImmutableSet;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -807,13 +808,237 @@ public void testFailedLocationsAreNotRead() throws IOException {
     }
   }
 
+  @Test
+  public void testReadStripeRange() throws IOException {
+    int chunkSize = repConfig.getEcChunkSize();
+    // The last stripe has a full first cell, 100 bytes in the second cell
+    // and an empty third cell
+    int partialStripeSize = chunkSize + 100;
+    int dataLength = stripeSize() + partialStripeSize;
+    ByteBuffer[] dataBufs = allocateBuffers(repConfig.getData(), 2 * chunkSize);
+    ECStreamTestUtil.randomFill(dataBufs, chunkSize, dataGen, dataLength);
+    ByteBuffer[] parity = generateParity(dataBufs, repConfig);
+    addDataStreamsToFactory(dataBufs, parity);
+
+    // Data index 2 is missing
+    Map<DatanodeDetails, Integer> dnMap =
+        ECStreamTestUtil.createIndexMap(1, 3, 4, 5);
+    BlockLocationInfo keyInfo =
+        ECStreamTestUtil.createKeyInfo(repConfig, dataLength, dnMap);
+    streamFactory.setCurrentPipeline(keyInfo.getPipeline());
+
+    ByteBuffer[] bufs = allocateByteBuffers(repConfig);
+    int offset = 1000;
+    int length = 4096;
+    try (ECBlockReconstructedStripeInputStream ecb =
+        createInputStream(keyInfo)) {
+      assertEquals(3 * length, ecb.readStripeRange(bufs, offset, length));
+      for (int j = 0; j < bufs.length; j++) {
+        validateContents(dataBufs[j], bufs[j], offset, length);
+      }
+      // Only the range was read from the locations used for decoding
+      for (TestBlockInputStream bis : streamFactory.getBlockStreams()) {
+        assertEquals(offset + length, bis.getPos());
+      }
+      assertEquals(0, ecb.getPos());
+
+      // The stripe can still be read in full after reading a range of it
+      clearBuffers(bufs);
+      assertEquals(stripeSize(), ecb.read(bufs));
+      for (int j = 0; j < bufs.length; j++) {
+        validateContents(dataBufs[j], bufs[j], 0, chunkSize);
+      }
+
+      // In the last stripe only part of the range is in the shorter cells
+      clearBuffers(bufs);
+      assertEquals(length + 50, ecb.readStripeRange(bufs, 50, length));
+      validateContents(dataBufs[0], bufs[0], chunkSize + 50, length);
+      validateContents(dataBufs[1], bufs[1], chunkSize + 50, 50);
+      assertEquals(0, bufs[2].remaining());
+      assertEquals(stripeSize(), ecb.getPos());
+    }
+  }
+
+  @Test
+  public void testReconstructedStripesAreCached() throws IOException {
+    int chunkSize = repConfig.getEcChunkSize();
+    int partialStripeSize = chunkSize * 2 - 1;
+    int dataLength = stripeSize() * 2 + partialStripeSize;
+    ByteBuffer[] dataBufs = allocateBuffers(repConfig.getData(), 3 * chunkSize);
+    ECStreamTestUtil.randomFill(dataBufs, chunkSize, dataGen, dataLength);
+    ByteBuffer[] parity = generateParity(dataBufs, repConfig);
+
+    // Data index 2 is missing, so every stripe has to be decoded
+    Map<DatanodeDetails, Integer> dnMap =
+        ECStreamTestUtil.createIndexMap(1, 3, 4, 5);
+    BlockLocationInfo keyInfo =
+        ECStreamTestUtil.createKeyInfo(repConfig, dataLength, dnMap);
+
+    ByteBuffer[] bufs = allocateByteBuffers(repConfig);
+    try (ECStripeCache cache =
+        new ECStripeCache(10L * stripeSize(), Duration.ofMinutes(1))) {
+      ECStripeCacheMetrics metrics = cache.getMetrics();
+
+      // The first reader decodes and caches only the first stripe
+      resetStreamFactory(dataBufs, parity, keyInfo);
+      try (ECBlockReconstructedStripeInputStream ecb =
+          createInputStream(keyInfo, cache)) {
+        assertEquals(stripeSize(), ecb.read(bufs));
+        for (int j = 0; j < bufs.length; j++) {
+          validateContents(dataBufs[j], bufs[j], 0, chunkSize);
+        }
+      }
+      assertEquals(0, metrics.getHits());
+      assertEquals(1, metrics.getPuts());
+      assertEquals(stripeSize(), metrics.getCachedBytes());
+
+      // The second reader gets the first stripe from the cache without
+      // reading the block, then reads and decodes the remaining stripes
+      resetStreamFactory(dataBufs, parity, keyInfo);
+      try (ECBlockReconstructedStripeInputStream ecb =
+          createInputStream(keyInfo, cache)) {
+        clearBuffers(bufs);
+        assertEquals(stripeSize(), ecb.read(bufs));
+        for (int j = 0; j < bufs.length; j++) {
+          validateContents(dataBufs[j], bufs[j], 0, chunkSize);
+        }
+        assertThat(streamFactory.getBlockStreams()).isEmpty();
+
+        clearBuffers(bufs);
+        assertEquals(stripeSize(), ecb.read(bufs));
+        for (int j = 0; j < bufs.length; j++) {
+          validateContents(dataBufs[j], bufs[j], chunkSize, chunkSize);
+        }
+        clearBuffers(bufs);
+        assertEquals(partialStripeSize, ecb.read(bufs));
+        validateContents(dataBufs[0], bufs[0], 2 * chunkSize, chunkSize);
+        validateContents(dataBufs[1], bufs[1], 2 * chunkSize, chunkSize - 1);
+        assertEquals(0, bufs[2].remaining());
+      }
+      assertEquals(1, metrics.getHits());
+      assertEquals(3, metrics.getPuts());
+
+      // The third reader is served entirely from the cache
+      resetStreamFactory(dataBufs, parity, keyInfo);
+      try (ECBlockReconstructedStripeInputStream ecb =
+          createInputStream(keyInfo, cache)) {
+        for (int i = 0; i < 2; i++) {
+          clearBuffers(bufs);
+          assertEquals(stripeSize(), ecb.read(bufs));
+          for (int j = 0; j < bufs.length; j++) {
+            validateContents(dataBufs[j], bufs[j], i * chunkSize, chunkSize);
+          }
+        }
+        clearBuffers(bufs);
+        assertEquals(partialStripeSize, ecb.read(bufs));
+        validateContents(dataBufs[0], bufs[0], 2 * chunkSize, chunkSize);
+        validateContents(dataBufs[1], bufs[1], 2 * chunkSize, chunkSize - 1);
+        assertEquals(0, bufs[2].remaining());
+        clearBuffers(bufs);
+        assertEquals(-1, ecb.read(bufs));
+        assertThat(streamFactory.getBlockStreams()).isEmpty();
+      }
+      assertEquals(4, metrics.getHits());
+      assertEquals(3, metrics.getPuts());
+    }
+  }
+
+  @Test
+  public void testReconstructedRangesAreCached() throws IOException {
+    int chunkSize = repConfig.getEcChunkSize();
+    int dataLength = stripeSize();
+    ByteBuffer[] dataBufs = allocateBuffers(repConfig.getData(), chunkSize);
+    ECStreamTestUtil.randomFill(dataBufs, chunkSize, dataGen, dataLength);
+    ByteBuffer[] parity = generateParity(dataBufs, repConfig);
+
+    // Data index 2 is missing, so every range has to be decoded
+    Map<DatanodeDetails, Integer> dnMap =
+        ECStreamTestUtil.createIndexMap(1, 3, 4, 5);
+    BlockLocationInfo keyInfo =
+        ECStreamTestUtil.createKeyInfo(repConfig, dataLength, dnMap);
+
+    ByteBuffer[] bufs = allocateByteBuffers(repConfig);
+    try (ECStripeCache cache =
+        new ECStripeCache(10L * stripeSize(), Duration.ofMinutes(1))) {
+      ECStripeCacheMetrics metrics = cache.getMetrics();
+
+      // The first reader decodes and caches the range
+      resetStreamFactory(dataBufs, parity, keyInfo);
+      try (ECBlockReconstructedStripeInputStream ecb =
+          createInputStream(keyInfo, cache)) {
+        assertEquals(3 * 4096, ecb.readStripeRange(bufs, 1000, 4096));
+        for (int j = 0; j < bufs.length; j++) {
+          validateContents(dataBufs[j], bufs[j], 1000, 4096);
+        }
+      }
+      assertEquals(1, metrics.getPuts());
+      assertEquals(3 * 4096, metrics.getCachedBytes());
+
+      // The second reader gets a range within the cached one from the cache
+      // without reading the block, other ranges are read and decoded
+      resetStreamFactory(dataBufs, parity, keyInfo);
+      try (ECBlockReconstructedStripeInputStream ecb =
+          createInputStream(keyInfo, cache)) {
+        clearBuffers(bufs);
+        assertEquals(3 * 1000, ecb.readStripeRange(bufs, 2000, 1000));
+        for (int j = 0; j < bufs.length; j++) {
+          validateContents(dataBufs[j], bufs[j], 2000, 1000);
+        }
+        assertThat(streamFactory.getBlockStreams()).isEmpty();
+        assertEquals(1, metrics.getHits());
+
+        clearBuffers(bufs);
+        assertEquals(3 * 100, ecb.readStripeRange(bufs, 0, 100));
+        for (int j = 0; j < bufs.length; j++) {
+          validateContents(dataBufs[j], bufs[j], 0, 100);
+        }
+        assertThat(streamFactory.getBlockStreams()).isNotEmpty();
+        assertEquals(1, metrics.getHits());
+        assertEquals(2, metrics.getPuts());
+
+        // A cached range does not serve a read of the whole stripe
+        clearBuffers(bufs);
+        assertEquals(stripeSize(), ecb.read(bufs));
+        assertEquals(1, metrics.getHits());
+        assertEquals(3, metrics.getPuts());
+      }
+
+      // The third reader gets any range from the cached stripe
+      resetStreamFactory(dataBufs, parity, keyInfo);
+      try (ECBlockReconstructedStripeInputStream ecb =
+          createInputStream(keyInfo, cache)) {
+        clearBuffers(bufs);
+        assertEquals(3 * 100, ecb.readStripeRange(bufs, 5000, 100));
+        for (int j = 0; j < bufs.length; j++) {
+          validateContents(dataBufs[j], bufs[j], 5000, 100);
+        }
+        assertThat(streamFactory.getBlockStreams()).isEmpty();
+      }
+      assertEquals(2, metrics.getHits());
+      assertEquals(3, metrics.getPuts());
+      assertEquals(stripeSize(), metrics.getCachedBytes());
+    }
+  }
+
+  private void resetStreamFactory(ByteBuffer[] data, ByteBuffer[] parity,
+      BlockLocationInfo keyInfo) {
+    streamFactory = new TestBlockInputStreamFactory();
+    addDataStreamsToFactory(data, parity);
+    streamFactory.setCurrentPipeline(keyInfo.getPipeline());
+  }
+
   private ECBlockReconstructedStripeInputStream createInputStream(
       BlockLocationInfo keyInfo) {
+    return createInputStream(keyInfo, null);
+  }
+
+  private ECBlockReconstructedStripeInputStream createInputStream(
+      BlockLocationInfo keyInfo, ECStripeCache stripeCache) {
     OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
     clientConfig.setChecksumVerify(true);
     return new ECBlockReconstructedStripeInputStream(repConfig, keyInfo,
         null, null, streamFactory, bufferPool, ecReconstructExecutor,
-        clientConfig);
+        clientConfig, stripeCache);
   }
 
   private void addDataStreamsToFactory(ByteBuffer[] data, ByteBuffer[] parity) {
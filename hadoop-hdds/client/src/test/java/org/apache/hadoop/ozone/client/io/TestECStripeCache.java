@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.hadoop.hdds.client.ContainerBlockID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ECStripeCache}.
+ */
+public class TestECStripeCache {
+
+  private static final int CELL_SIZE = 1024;
+  private static final List<Integer> DATA_INDEXES = Arrays.asList(0, 1, 2);
+  private static final ContainerBlockID BLOCK = new ContainerBlockID(1, 1);
+
+  @Test
+  public void testGetReturnsCopyOfCachedStripe() {
+    try (ECStripeCache cache =
+        new ECStripeCache(1024 * CELL_SIZE, Duration.ofMinutes(1))) {
+      ByteBuffer[] stripe = randomStripe(CELL_SIZE, CELL_SIZE, 10);
+      int length = 2 * CELL_SIZE + 10;
+      cache.put(BLOCK, 3, DATA_INDEXES, length, stripe);
+      // the source buffers are not consumed
+      assertEquals(CELL_SIZE, stripe[0].remaining());
+
+      ByteBuffer[] bufs = allocate();
+      assertTrue(cache.get(BLOCK, 3, DATA_INDEXES, length, bufs));
+      for (int i = 0; i < bufs.length; i++) {
+        assertEquals(0, bufs[i].position());
+        assertEquals(stripe[i], bufs[i]);
+      }
+
+      // changing the source does not change the cached stripe
+      stripe[0].put(0, (byte) (stripe[0].get(0) + 1));
+      bufs = allocate();
+      assertTrue(cache.get(BLOCK, 3, DATA_INDEXES, length, bufs));
+      assertEquals((byte) (stripe[0].get(0) - 1), bufs[0].get(0));
+
+      ECStripeCacheMetrics metrics = cache.getMetrics();
+      assertEquals(2, metrics.getHits());
+      assertEquals(1, metrics.getPuts());
+      assertEquals(length, metrics.getCachedBytes());
+    }
+  }
+
+  @Test
+  public void testMissOnDifferentKeyOrLength() {
+    try (ECStripeCache cache =
+        new ECStripeCache(1024 * CELL_SIZE, Duration.ofMinutes(1))) {
+      int length = 3 * CELL_SIZE;
+      cache.put(BLOCK, 0, DATA_INDEXES, length,
+          randomStripe(CELL_SIZE, CELL_SIZE, CELL_SIZE));
+
+      assertFalse(cache.get(new ContainerBlockID(1, 2), 0, DATA_INDEXES,
+          length, allocate()));
+      assertFalse(cache.get(BLOCK, 1, DATA_INDEXES, length, allocate()));
+      assertFalse(cache.get(BLOCK, 0, Arrays.asList(0, 1, 3), length,
+          allocate()));
+      assertFalse(cache.get(BLOCK, 0, DATA_INDEXES, length - 1, allocate()));
+      assertTrue(cache.get(BLOCK, 0, Arrays.asList(2, 1, 0), length,
+          allocate()));
+
+      ECStripeCacheMetrics metrics = cache.getMetrics();
+      assertEquals(1, metrics.getHits());
+      assertEquals(4, metrics.getMisses());
+    }
+  }
+
+  @Test
+  public void testGetRange() {
+    try (ECStripeCache cache =
+        new ECStripeCache(1024 * CELL_SIZE, Duration.ofMinutes(1))) {
+      int length = 2 * CELL_SIZE + 150;
+      // the range 100+200 of each cell, the last cell has only 50 bytes of it
+      ByteBuffer[] range = randomStripe(200, 200, 50);
+      cache.putRange(BLOCK, 0, DATA_INDEXES, length, 100, 200, range);
+
+      ByteBuffer[] bufs = allocate();
+      assertTrue(cache.getRange(BLOCK, 0, DATA_INDEXES, length, 150, 100,
+          bufs));
+      assertEquals(range[0].duplicate().position(50).limit(150), bufs[0]);
+      assertEquals(range[1].duplicate().position(50).limit(150), bufs[1]);
+      assertEquals(range[2].duplicate().position(50), bufs[2]);
+
+      // ranges not contained in the cached one, and the whole stripe miss
+      assertFalse(cache.getRange(BLOCK, 0, DATA_INDEXES, length, 50, 100,
+          allocate()));
+      assertFalse(cache.getRange(BLOCK, 0, DATA_INDEXES, length, 250, 100,
+          allocate()));
+      assertFalse(cache.get(BLOCK, 0, DATA_INDEXES, length, allocate()));
+
+      // a whole stripe replaces the range and serves any range
+      ByteBuffer[] stripe = randomStripe(CELL_SIZE, CELL_SIZE, 150);
+      cache.put(BLOCK, 0, DATA_INDEXES, length, stripe);
+      bufs = allocate();
+      assertTrue(cache.getRange(BLOCK, 0, DATA_INDEXES, length, 50, 100,
+          bufs));
+      assertEquals(stripe[0].duplicate().position(50).limit(150), bufs[0]);
+      assertEquals(stripe[2].duplicate().position(50).limit(150), bufs[2]);
+
+      // but a range does not replace the whole stripe
+      cache.putRange(BLOCK, 0, DATA_INDEXES, length, 100, 200,
+          randomStripe(200, 200, 50));
+      bufs = allocate();
+      assertTrue(cache.get(BLOCK, 0, DATA_INDEXES, length, bufs));
+      assertEquals(stripe[0], bufs[0]);
+
+      ECStripeCacheMetrics metrics = cache.getMetrics();
+      assertEquals(3, metrics.getHits());
+      assertEquals(3, metrics.getMisses());
+      assertEquals(2, metrics.getPuts());
+      assertEquals(2 * CELL_SIZE + 150, metrics.getCachedBytes());
+    }
+  }
+
+  @Test
+  public void testCacheIsBoundedBySize() {
+    int stripeSize = 3 * CELL_SIZE;
+    long maxSize = 8L * stripeSize;
+    try (ECStripeCache cache =
+        new ECStripeCache(maxSize, Duration.ofMinutes(1))) {
+      for (int i = 0; i < 100; i++) {
+        cache.put(BLOCK, i, DATA_INDEXES, stripeSize,
+            randomStripe(CELL_SIZE, CELL_SIZE, CELL_SIZE));
+      }
+      ECStripeCacheMetrics metrics = cache.getMetrics();
+      assertThat(metrics.getCachedBytes()).isLessThanOrEqualTo(maxSize);
+      assertThat(metrics.getEvictions()).isGreaterThanOrEqualTo(100 - 8);
+      assertEquals(100, metrics.getPuts());
+
+      cache.invalidateAll();
+      assertEquals(0, metrics.getCachedBytes());
+    }
+  }
+
+  private static ByteBuffer[] randomStripe(int... cellLengths) {
+    ByteBuffer[] bufs = new ByteBuffer[cellLengths.length];
+    for (int i = 0; i < bufs.length; i++) {
+      byte[] cell = new byte[cellLengths[i]];
+      ThreadLocalRandom.current().nextBytes(cell);
+      bufs[i] = ByteBuffer.wrap(cell);
+    }
+    return bufs;
+  }
+
+  private static ByteBuffer[] allocate() {
+    ByteBuffer[] bufs = new ByteBuffer[DATA_INDEXES.size()];
+    for (int i = 0; i < bufs.length; i++) {
+      bufs[i] = ByteBuffer.allocate(CELL_SIZE);
+    }
+    return bufs;
+  }
+}
@@ -189,6 +189,24 @@ static <T> T tryEachDatanode(Pipeline pipeline,
   public static GetBlockResponseProto getBlock(XceiverClientSpi xceiverClient,
       List<Validator> validators, BlockID blockID, Token<? extends TokenIdentifier> token,
       Map<DatanodeDetails, Integer> replicaIndexes) throws IOException {
+    return getBlock(xceiverClient, validators, blockID, token, replicaIndexes, false);
+  }
+
+  /**
+   * Calls the container protocol to get a container block.
+   *
+   * @param xceiverClient client to perform call
+   * @param validators functions to validate the response
+   * @param blockID blockID to identify container
+   * @param token a token for this block (may be null)
+   * @param compositeCrcOnly if true, the datanode omits the chunks of the
+   *                         block when its composite CRC is in the metadata
+   * @return container protocol get block response
+   * @throws IOException if there is an I/O error while performing the call
+   */
+  public static GetBlockResponseProto getBlock(XceiverClientSpi xceiverClient,
+      List<Validator> validators, BlockID blockID, Token<? extends TokenIdentifier> token,
+      Map<DatanodeDetails, Integer> replicaIndexes, boolean compositeCrcOnly) throws IOException {
     ContainerCommandRequestProto.Builder builder = ContainerCommandRequestProto
         .newBuilder()
         .setCmdType(Type.GetBlock)
@@ -198,7 +216,7 @@ public static GetBlockResponseProto getBlock(XceiverClientSpi xceiverClient,
     }
 
     return tryEachDatanode(xceiverClient.getPipeline(),
-        d -> getBlock(xceiverClient, validators, builder, blockID, d, replicaIndexes),
+        d -> getBlock(xceiverClient, validators, builder, blockID, d, replicaIndexes, compositeCrcOnly),
         d -> toErrorMessage(blockID, d));
   }
 
@@ -213,10 +231,17 @@ public static GetBlockResponseProto getBlock(XceiverClientSpi xceiverClient,
     return getBlock(xceiverClient, getValidatorList(), datanodeBlockID, token, replicaIndexes);
   }
 
+  public static GetBlockResponseProto getBlock(XceiverClientSpi xceiverClient,
+      BlockID datanodeBlockID, Token<? extends TokenIdentifier> token,
+      Map<DatanodeDetails, Integer> replicaIndexes, boolean compositeCrcOnly) throws IOException {
+    return getBlock(xceiverClient, getValidatorList(), datanodeBlockID, token, replicaIndexes, compositeCrcOnly);
+  }
+
   private static GetBlockResponseProto getBlock(XceiverClientSpi xceiverClient,
       List<Validator> validators,
       ContainerCommandRequestProto.Builder builder, BlockID blockID,
-      DatanodeDetails datanode, Map<DatanodeDetails, Integer> replicaIndexes) throws IOException {
+      DatanodeDetails datanode, Map<DatanodeDetails, Integer> replicaIndexes,
+      boolean compositeCrcOnly) throws IOException {
     String traceId = TracingUtil.exportCurrentSpan();
     if (traceId != null) {
       builder.setTraceID(traceId);
@@ -228,6 +253,9 @@ private static GetBlockResponseProto getBlock(XceiverClientSpi xceiverClient,
     }
     final GetBlockRequestProto.Builder readBlockRequest = GetBlockRequestProto.newBuilder()
         .setBlockID(datanodeBlockID.build());
+    if (compositeCrcOnly) {
+      readBlockRequest.setCompositeCrcOnly(true);
+    }
     final ContainerCommandRequestProto request = builder
         .setDatanodeUuid(datanode.getUuidString())
         .setGetBlock(readBlockRequest).build();
@@ -459,6 +459,9 @@ public final class OzoneConsts {
   // EC Constants
   public static final String BLOCK_GROUP_LEN_KEY_IN_PUT_BLOCK = "blockGroupLen";
 
+  // Block metadata key of the composite CRC computed by the datanode at PutBlock
+  public static final String BLOCK_COMPOSITE_CRC_KEY = "compositeCrc";
+
   public static final String OZONE_OM_RANGER_ADMIN_CREATE_USER_HTTP_ENDPOINT =
       "/service/xusers/secure/users";
 
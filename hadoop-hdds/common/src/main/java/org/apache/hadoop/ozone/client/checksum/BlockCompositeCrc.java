@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.checksum;
+
+import java.util.List;
+import java.util.Objects;
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+import org.apache.hadoop.hdds.annotation.InterfaceStability;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.util.DataChecksum;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+
+/**
+ * The COMPOSITE_CRC checksum of a replicated block, i.e. the CRC of the whole
+ * block composed from the CRCs of its chunks.
+ * <p>
+ * Datanodes compute it when a block is closed by PutBlock and persist it in
+ * the block metadata under {@link OzoneConsts#BLOCK_COMPOSITE_CRC_KEY}, so
+ * that file checksums can be computed without fetching the chunk list of
+ * every block.
+ */
+@InterfaceAudience.Private
+@InterfaceStability.Unstable
+public final class BlockCompositeCrc {
+  private static final String SEPARATOR = ":";
+
+  private final ChecksumType checksumType;
+  private final int bytesPerChecksum;
+  private final int crc;
+
+  private BlockCompositeCrc(ChecksumType checksumType, int bytesPerChecksum,
+      int crc) {
+    this.checksumType = checksumType;
+    this.bytesPerChecksum = bytesPerChecksum;
+    this.crc = crc;
+  }
+
+  public ChecksumType getChecksumType() {
+    return checksumType;
+  }
+
+  public int getBytesPerChecksum() {
+    return bytesPerChecksum;
+  }
+
+  public int getCrc() {
+    return crc;
+  }
+
+  /** @return the CRC as 4 big-endian bytes, as digested by CrcComposer. */
+  public byte[] toBytes() {
+    return CrcUtil.intToBytes(crc);
+  }
+
+  /**
+   * @return true if all the chunks have the same CRC32 or CRC32C checksum
+   * type and bytesPerChecksum, so that {@link #compute} gives the checksum
+   * of the whole block.
+   */
+  public static boolean isSupported(List<ChunkInfo> chunks) {
+    if (chunks.isEmpty()) {
+      return false;
+    }
+    final ContainerProtos.ChecksumData first = chunks.get(0).getChecksumData();
+    if (first.getType() != ChecksumType.CRC32
+        && first.getType() != ChecksumType.CRC32C) {
+      return false;
+    }
+    for (ChunkInfo chunk : chunks) {
+      final ContainerProtos.ChecksumData checksumData = chunk.getChecksumData();
+      if (checksumData.getType() != first.getType()
+          || checksumData.getBytesPerChecksum() != first.getBytesPerChecksum()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Compose the CRC of the block from the checksums of its chunks. The
+   * checksum type and bytesPerChecksum are taken from the first chunk.
+   *
+   * @throws IllegalArgumentException if the checksum type is not CRC32 or
+   * CRC32C.
+   */
+  public static BlockCompositeCrc compute(List<ChunkInfo> chunks) {
+    if (chunks.isEmpty()) {
+      throw new IllegalArgumentException("No chunks");
+    }
+    final ContainerProtos.ChecksumData first = chunks.get(0).getChecksumData();
+    final DataChecksum.Type dataChecksumType = toDataChecksumType(first.getType());
+    final long chunkSize = chunks.get(0).getLen();
+    final int bytesPerCrc = first.getBytesPerChecksum();
+
+    final CrcComposer blockCrcComposer =
+        CrcComposer.newCrcComposer(dataChecksumType, chunkSize);
+    for (ChunkInfo chunkInfo : chunks) {
+      final CrcComposer chunkCrcComposer =
+          CrcComposer.newCrcComposer(dataChecksumType, bytesPerCrc);
+      // compute the composite-crc checksum of the whole chunk by iterating
+      // all the checksum data one by one
+      long remainingChunkSize = chunkInfo.getLen();
+      for (ByteString checksum : chunkInfo.getChecksumData().getChecksumsList()) {
+        final int checksumDataCrc = checksum.asReadOnlyByteBuffer().getInt();
+        chunkCrcComposer.update(checksumDataCrc,
+            Math.min(bytesPerCrc, remainingChunkSize));
+        remainingChunkSize -= bytesPerCrc;
+      }
+      final int chunkCrc = CrcUtil.readInt(chunkCrcComposer.digest(), 0);
+      blockCrcComposer.update(chunkCrc, chunkInfo.getLen());
+    }
+    final int crc = CrcUtil.readInt(blockCrcComposer.digest(), 0);
+    return new BlockCompositeCrc(first.getType(), bytesPerCrc, crc);
+  }
+
+  private static DataChecksum.Type toDataChecksumType(ChecksumType type) {
+    switch (type) {
+    case CRC32C:
+      return DataChecksum.Type.CRC32C;
+    case CRC32:
+      return DataChecksum.Type.CRC32;
+    default:
+      throw new IllegalArgumentException("unsupported checksum type: " + type);
+    }
+  }
+
+  /** @return the value to store in the block metadata. */
+  public String toMetadataValue() {
+    return checksumType + SEPARATOR + bytesPerChecksum + SEPARATOR
+        + Integer.toHexString(crc);
+  }
+
+  /**
+   * @return the composite CRC stored in the metadata of the given block, or
+   * null if there is none or it cannot be parsed.
+   */
+  public static BlockCompositeCrc fromBlockData(ContainerProtos.BlockData blockData) {
+    for (ContainerProtos.KeyValue kv : blockData.getMetadataList()) {
+      if (OzoneConsts.BLOCK_COMPOSITE_CRC_KEY.equals(kv.getKey())) {
+        return parse(kv.getValue());
+      }
+    }
+    return null;
+  }
+
+  static BlockCompositeCrc parse(String value) {
+    final String[] parts = value.split(SEPARATOR);
+    if (parts.length != 3) {
+      return null;
+    }
+    try {
+      final ChecksumType type = ChecksumType.valueOf(parts[0]);
+      if (type != ChecksumType.CRC32 && type != ChecksumType.CRC32C) {
+        return null;
+      }
+      return new BlockCompositeCrc(type, Integer.parseInt(parts[1]),
+          Integer.parseUnsignedInt(parts[2], 16));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof BlockCompositeCrc)) {
+      return false;
+    }
+    final BlockCompositeCrc that = (BlockCompositeCrc) obj;
+    return checksumType == that.checksumType
+        && bytesPerChecksum == that.bytesPerChecksum
+        && crc == that.crc;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(checksumType, bytesPerChecksum, crc);
+  }
+
+  @Override
+  public String toString() {
+    return toMetadataValue();
+  }
+}
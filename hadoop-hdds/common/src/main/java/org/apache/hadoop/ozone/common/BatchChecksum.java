@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.common;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.thirdparty.com.google.protobuf.UnsafeByteOperations;
+
+/**
+ * Computes the CRC32 or CRC32C checksums of all the bytesPerChecksum windows
+ * of a chunk in one call.
+ * <p>
+ * The checksums are written into a single array, which is shared by the
+ * returned ByteStrings, instead of allocating an array and a ByteString for
+ * each window. A single checksum instance is used for a run of windows, and
+ * direct buffers are passed to it without copying, so the JDK CRC32C
+ * intrinsics apply to them. Large chunks can be split across a small shared
+ * pool of daemon threads, with the calling thread computing the first part.
+ */
+public final class BatchChecksum {
+
+  /** Chunks are not split into parts of fewer windows than this. */
+  static final int MIN_WINDOWS_PER_TASK = 64;
+
+  private static final int POOL_SIZE =
+      Math.min(4, Runtime.getRuntime().availableProcessors());
+
+  /** Holder for the pool, so it is only created when first needed. */
+  private static final class Pool {
+    private static final ExecutorService EXECUTOR =
+        Executors.newFixedThreadPool(POOL_SIZE, new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("BatchChecksum-%d")
+            .build());
+  }
+
+  private BatchChecksum() {
+  }
+
+  /**
+   * @return true if the checksums of the given type can be computed by
+   * {@link #computeChecksums}.
+   */
+  public static boolean isSupported(ChecksumType type) {
+    return type == ChecksumType.CRC32 || type == ChecksumType.CRC32C;
+  }
+
+  /**
+   * Compute the checksum of each bytesPerChecksum window of the data,
+   * starting at its position. The last window may be shorter. The data is
+   * consumed, as when computing the checksums one window at a time.
+   *
+   * @param type CRC32 or CRC32C
+   * @param bytesPerChecksum the size of each window
+   * @param data the data to compute the checksums for
+   * @param parallelism the maximum number of threads to compute the checksums
+   *                    with, including the calling thread. If 1 or less,
+   *                    the checksums are computed by the calling thread.
+   * @return the checksum of each window
+   */
+  public static List<ByteString> computeChecksums(ChecksumType type,
+      int bytesPerChecksum, ChunkBuffer data, int parallelism)
+      throws OzoneChecksumException {
+    final Supplier<ChecksumByteBuffer> constructor = getConstructor(type);
+    final List<ByteBuffer> windows = new ArrayList<>();
+    for (ByteBuffer b : data.iterate(bytesPerChecksum)) {
+      if (b.remaining() > bytesPerChecksum) {
+        final ByteBuffer window = b.duplicate();
+        window.limit(window.position() + bytesPerChecksum);
+        b = window;
+      }
+      windows.add(b);
+    }
+    final int count = windows.size();
+    final byte[] checksums = new byte[count * Integer.BYTES];
+
+    final int tasks = Math.min(Math.min(parallelism, POOL_SIZE + 1),
+        count / MIN_WINDOWS_PER_TASK);
+    if (tasks <= 1) {
+      compute(constructor.get(), windows, 0, count, checksums);
+    } else {
+      final int perTask = (count + tasks - 1) / tasks;
+      final List<Future<?>> futures = new ArrayList<>(tasks - 1);
+      for (int start = perTask; start < count; start += perTask) {
+        final int from = start;
+        final int to = Math.min(count, start + perTask);
+        futures.add(Pool.EXECUTOR.submit(() ->
+            compute(constructor.get(), windows, from, to, checksums)));
+      }
+      compute(constructor.get(), windows, 0, perTask, checksums);
+      for (Future<?> f : futures) {
+        try {
+          f.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new OzoneChecksumException(
+              "Interrupted computing " + type + " checksums", e);
+        } catch (ExecutionException e) {
+          throw new OzoneChecksumException(
+              "Failed to compute " + type + " checksums", e.getCause());
+        }
+      }
+    }
+
+    final ByteString all = UnsafeByteOperations.unsafeWrap(checksums);
+    final List<ByteString> list = new ArrayList<>(count);
+    for (int i = 0; i < checksums.length; i += Integer.BYTES) {
+      list.add(all.substring(i, i + Integer.BYTES));
+    }
+    return list;
+  }
+
+  private static Supplier<ChecksumByteBuffer> getConstructor(
+      ChecksumType type) throws OzoneChecksumException {
+    switch (type) {
+    case CRC32:
+      return ChecksumByteBufferFactory::crc32Impl;
+    case CRC32C:
+      return ChecksumByteBufferFactory::crc32CImpl;
+    default:
+      throw new OzoneChecksumException(
+          "Batch checksum is not supported for " + type);
+    }
+  }
+
+  /** Write the big-endian checksums of windows [from, to) to out. */
+  private static void compute(ChecksumByteBuffer checksum,
+      List<ByteBuffer> windows, int from, int to, byte[] out) {
+    for (int i = from; i < to; i++) {
+      checksum.reset();
+      checksum.update(windows.get(i));
+      final int value = (int) checksum.getValue();
+      final int offset = i * Integer.BYTES;
+      out[offset] = (byte) (value >>> 24);
+      out[offset + 1] = (byte) (value >>> 16);
+      out[offset + 2] = (byte) (value >>> 8);
+      out[offset + 3] = (byte) value;
+    }
+  }
+}
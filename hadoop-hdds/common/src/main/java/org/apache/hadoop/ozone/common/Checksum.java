@@ -53,6 +53,12 @@ public class Checksum {
    */
   private final ChecksumCache checksumCache;
 
+  /**
+   * The maximum number of threads to compute the CRC checksums of a chunk
+   * with, see {@link BatchChecksum}.
+   */
+  private final int parallelism;
+
   private static Function<ByteBuffer, ByteString> newMessageDigestFunction(
       String algorithm) {
     final MessageDigest md;
@@ -126,9 +132,7 @@ public boolean clearChecksumCache() {
    * @param bytesPerChecksum number of bytes of data per checksum
    */
   public Checksum(ChecksumType type, int bytesPerChecksum) {
-    this.checksumType = type;
-    this.bytesPerChecksum = bytesPerChecksum;
-    this.checksumCache = null;
+    this(type, bytesPerChecksum, false);
   }
 
   /**
@@ -138,10 +142,24 @@ public Checksum(ChecksumType type, int bytesPerChecksum) {
    * @param allowChecksumCache true to enable checksum cache
    */
   public Checksum(ChecksumType type, int bytesPerChecksum, boolean allowChecksumCache) {
+    this(type, bytesPerChecksum, allowChecksumCache, 1);
+  }
+
+  /**
+   * Constructs a Checksum object.
+   * @param type type of Checksum
+   * @param bytesPerChecksum number of bytes of data per checksum
+   * @param allowChecksumCache true to enable checksum cache
+   * @param parallelism maximum number of threads to compute the CRC checksums
+   *                    of a large chunk with, 1 to use only the calling thread
+   */
+  public Checksum(ChecksumType type, int bytesPerChecksum,
+      boolean allowChecksumCache, int parallelism) {
     this.checksumType = type;
     this.bytesPerChecksum = bytesPerChecksum;
-    LOG.debug("allowChecksumCache = {}", allowChecksumCache);
+    this.parallelism = parallelism;
     if (allowChecksumCache) {
+      LOG.debug("allowChecksumCache = {}", allowChecksumCache);
       this.checksumCache = new ChecksumCache(bytesPerChecksum);
     } else {
       this.checksumCache = null;
@@ -225,6 +243,13 @@ public ChecksumData computeChecksum(ChunkBuffer data, boolean useCache)
       return new ChecksumData(checksumType, bytesPerChecksum);
     }
 
+    if ((checksumCache == null || !useCache)
+        && BatchChecksum.isSupported(checksumType)) {
+      return new ChecksumData(checksumType, bytesPerChecksum,
+          BatchChecksum.computeChecksums(checksumType, bytesPerChecksum, data,
+              parallelism));
+    }
+
     final Function<ByteBuffer, ByteString> function;
     try {
       function = Algorithm.valueOf(checksumType).newChecksumFunction();
@@ -303,6 +328,23 @@ public static void verifyChecksum(ByteBuffer data,
   public static void verifyChecksum(ChunkBuffer data,
       ChecksumData checksumData,
       int startIndex) throws OzoneChecksumException {
+    verifyChecksum(data, checksumData, startIndex, 1);
+  }
+
+  /**
+   * Computes the ChecksumData for the input data and verifies that it
+   * matches with that of the input checksumData.
+   * @param data input data
+   * @param checksumData checksumData to match with
+   * @param startIndex index of first checksum in checksumData to match with
+   *                   data's computed checksum.
+   * @param parallelism maximum number of threads to compute the checksums
+   *                    with, see {@link BatchChecksum}
+   * @throws OzoneChecksumException is thrown if checksums do not match
+   */
+  public static void verifyChecksum(ChunkBuffer data,
+      ChecksumData checksumData, int startIndex, int parallelism)
+      throws OzoneChecksumException {
     ChecksumType checksumType = checksumData.getChecksumType();
     if (checksumType == ChecksumType.NONE) {
       // Checksum is set to NONE. No further verification is required.
@@ -310,7 +352,8 @@ public static void verifyChecksum(ChunkBuffer data,
     }
 
     int bytesPerChecksum = checksumData.getBytesPerChecksum();
-    Checksum checksum = new Checksum(checksumType, bytesPerChecksum);
+    Checksum checksum = new Checksum(checksumType, bytesPerChecksum, false,
+        parallelism);
     final ChecksumData computed = checksum.computeChecksum(data);
     checksumData.verifyChecksumDataMatches(startIndex, computed);
   }
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.checksum;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Test class for {@link BlockCompositeCrc}.
+ */
+class TestBlockCompositeCrc {
+
+  private static final int BYTES_PER_CHECKSUM = 1024;
+  private static final int CHUNK_SIZE = 4 * BYTES_PER_CHECKSUM;
+
+  @ParameterizedTest
+  @EnumSource(value = ChecksumType.class, names = {"CRC32", "CRC32C"})
+  void testSameAsCrcOfWholeBlock(ChecksumType type) throws Exception {
+    // the last chunk and its last window are partial
+    final byte[] data = new byte[3 * CHUNK_SIZE + BYTES_PER_CHECKSUM + 100];
+    new Random(data.length).nextBytes(data);
+
+    final List<ChunkInfo> chunks = chunks(type, data);
+    assertTrue(BlockCompositeCrc.isSupported(chunks));
+    final BlockCompositeCrc blockCrc = BlockCompositeCrc.compute(chunks);
+
+    final ByteBuffer expected = new Checksum(type, data.length)
+        .computeChecksum(ByteBuffer.wrap(data)).getChecksums().get(0)
+        .asReadOnlyByteBuffer();
+    assertEquals(expected.getInt(), blockCrc.getCrc());
+    assertEquals(type, blockCrc.getChecksumType());
+    assertEquals(BYTES_PER_CHECKSUM, blockCrc.getBytesPerChecksum());
+  }
+
+  @Test
+  void testMetadataValue() throws Exception {
+    final byte[] data = new byte[CHUNK_SIZE + 1];
+    new Random(data.length).nextBytes(data);
+    final BlockCompositeCrc blockCrc =
+        BlockCompositeCrc.compute(chunks(ChecksumType.CRC32C, data));
+
+    final ContainerProtos.BlockData blockData = ContainerProtos.BlockData.newBuilder()
+        .setBlockID(ContainerProtos.DatanodeBlockID.newBuilder()
+            .setContainerID(1).setLocalID(1))
+        .addMetadata(ContainerProtos.KeyValue.newBuilder()
+            .setKey(OzoneConsts.BLOCK_COMPOSITE_CRC_KEY)
+            .setValue(blockCrc.toMetadataValue()))
+        .build();
+    assertEquals(blockCrc, BlockCompositeCrc.fromBlockData(blockData));
+    assertNull(BlockCompositeCrc.fromBlockData(blockData.toBuilder().clearMetadata().build()));
+
+    assertNull(BlockCompositeCrc.parse("CRC32C:1024"));
+    assertNull(BlockCompositeCrc.parse("SHA256:1024:abc"));
+    assertNull(BlockCompositeCrc.parse("CRC32C:1024:xyz"));
+  }
+
+  @Test
+  void testUnsupportedChunks() throws Exception {
+    final byte[] data = new byte[2 * CHUNK_SIZE];
+    assertFalse(BlockCompositeCrc.isSupported(Collections.emptyList()));
+    assertFalse(BlockCompositeCrc.isSupported(chunks(ChecksumType.SHA256, data)));
+    assertThrows(IllegalArgumentException.class,
+        () -> BlockCompositeCrc.compute(chunks(ChecksumType.MD5, data)));
+
+    final List<ChunkInfo> mixed = new ArrayList<>(chunks(ChecksumType.CRC32, data));
+    mixed.set(1, chunks(ChecksumType.CRC32C, data).get(1));
+    assertFalse(BlockCompositeCrc.isSupported(mixed));
+  }
+
+  private static List<ChunkInfo> chunks(ChecksumType type, byte[] data)
+      throws Exception {
+    final Checksum checksum = new Checksum(type, BYTES_PER_CHECKSUM);
+    final List<ChunkInfo> chunks = new ArrayList<>();
+    for (int offset = 0; offset < data.length; offset += CHUNK_SIZE) {
+      final int length = Math.min(CHUNK_SIZE, data.length - offset);
+      chunks.add(ChunkInfo.newBuilder()
+          .setChunkName("chunk_" + chunks.size())
+          .setOffset(offset)
+          .setLen(length)
+          .setChecksumData(checksum.computeChecksum(
+              ByteBuffer.wrap(data, offset, length)).getProtoBufMessage())
+          .build());
+    }
+    return chunks;
+  }
+}
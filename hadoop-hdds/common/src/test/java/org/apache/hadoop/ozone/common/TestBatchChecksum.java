@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.ozone.common.Checksum.Algorithm;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test class for {@link BatchChecksum}.
+ */
+class TestBatchChecksum {
+
+  private static final int BYTES_PER_CHECKSUM = 512;
+
+  static List<Arguments> parameters() {
+    final List<Arguments> args = new ArrayList<>();
+    for (ChecksumType type : new ChecksumType[] {ChecksumType.CRC32, ChecksumType.CRC32C}) {
+      for (boolean direct : new boolean[] {false, true}) {
+        for (int parallelism : new int[] {1, 4}) {
+          args.add(Arguments.of(type, direct, parallelism));
+        }
+      }
+    }
+    return args;
+  }
+
+  @ParameterizedTest
+  @MethodSource("parameters")
+  void testSameAsPerWindowChecksums(ChecksumType type, boolean direct,
+      int parallelism) throws Exception {
+    // Enough windows to be split across tasks, with a partial last window.
+    final int size = BYTES_PER_CHECKSUM * BatchChecksum.MIN_WINDOWS_PER_TASK * 5 + 100;
+    final byte[] data = new byte[size];
+    new Random(size).nextBytes(data);
+
+    final List<ByteString> expected = perWindowChecksums(type, data);
+    final List<ByteString> actual = BatchChecksum.computeChecksums(type,
+        BYTES_PER_CHECKSUM, ChunkBuffer.wrap(toBuffer(data, direct)), parallelism);
+    assertEquals(expected, actual);
+  }
+
+  @ParameterizedTest
+  @MethodSource("parameters")
+  void testChecksumObjectUsesBatch(ChecksumType type, boolean direct,
+      int parallelism) throws Exception {
+    final byte[] data = new byte[BYTES_PER_CHECKSUM * 3 + 1];
+    new Random(data.length).nextBytes(data);
+
+    final ChecksumData computed = new Checksum(type, BYTES_PER_CHECKSUM,
+        false, parallelism).computeChecksum(toBuffer(data, direct));
+    assertEquals(perWindowChecksums(type, data), computed.getChecksums());
+    Checksum.verifyChecksum(ChunkBuffer.wrap(toBuffer(data, direct)), computed,
+        0, parallelism);
+  }
+
+  @Test
+  void testEmptyData() throws Exception {
+    assertTrue(BatchChecksum.computeChecksums(ChecksumType.CRC32C,
+        BYTES_PER_CHECKSUM, ChunkBuffer.wrap(ByteBuffer.allocate(0)), 4).isEmpty());
+  }
+
+  @Test
+  void testUnsupportedType() {
+    assertFalse(BatchChecksum.isSupported(ChecksumType.SHA256));
+    assertThrows(OzoneChecksumException.class,
+        () -> BatchChecksum.computeChecksums(ChecksumType.MD5,
+            BYTES_PER_CHECKSUM, ChunkBuffer.wrap(ByteBuffer.allocate(10)), 1));
+  }
+
+  private static List<ByteString> perWindowChecksums(ChecksumType type,
+      byte[] data) {
+    final Function<ByteBuffer, ByteString> function =
+        Algorithm.valueOf(type).newChecksumFunction();
+    final List<ByteString> checksums = new ArrayList<>();
+    for (int offset = 0; offset < data.length; offset += BYTES_PER_CHECKSUM) {
+      final int length = Math.min(BYTES_PER_CHECKSUM, data.length - offset);
+      checksums.add(function.apply(ByteBuffer.wrap(data, offset, length)));
+    }
+    return checksums;
+  }
+
+  private static ByteBuffer toBuffer(byte[] data, boolean direct) {
+    if (!direct) {
+      return ByteBuffer.wrap(data);
+    }
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+    buffer.put(data);
+    buffer.flip();
+    return buffer;
+  }
+}
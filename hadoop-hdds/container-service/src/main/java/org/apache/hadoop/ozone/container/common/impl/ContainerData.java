@@ -77,8 +77,9 @@ public abstract class ContainerData {
   // Path to Physical file system where chunks are stored.
   private String chunksPath;
 
-  // State of the Container
-  private ContainerDataProto.State state;
+  // State of the Container, updated under the lock of this object
+  // but read without it, e.g. by the state checks of every request.
+  private volatile ContainerDataProto.State state;
 
   private final long maxSize;
 
@@ -199,7 +200,7 @@ public ContainerType getContainerType() {
    * Returns the state of the container.
    * @return ContainerLifeCycleState
    */
-  public synchronized ContainerDataProto.State getState() {
+  public ContainerDataProto.State getState() {
     return state;
   }
 
@@ -300,7 +301,7 @@ public void setMetadata(Map<String, String> metadataMap) {
    * checks if the container is open.
    * @return - boolean
    */
-  public synchronized  boolean isOpen() {
+  public boolean isOpen() {
     return ContainerDataProto.State.OPEN == state;
   }
 
@@ -308,7 +309,7 @@ public synchronized  boolean isOpen() {
    * checks if the container is closing.
    * @return - boolean
    */
-  public synchronized  boolean isClosing() {
+  public boolean isClosing() {
     return ContainerDataProto.State.CLOSING == state;
   }
 
@@ -316,7 +317,7 @@ public synchronized  boolean isClosing() {
    * checks if the container is invalid.
    * @return - boolean
    */
-  public synchronized boolean isValid() {
+  public boolean isValid() {
     return ContainerDataProto.State.INVALID != state;
   }
 
@@ -324,7 +325,7 @@ public synchronized boolean isValid() {
    * checks if the container is closed.
    * @return - boolean
    */
-  public synchronized boolean isClosed() {
+  public boolean isClosed() {
     return ContainerDataProto.State.CLOSED == state;
   }
 
@@ -332,7 +333,7 @@ public synchronized boolean isClosed() {
    * checks if the container is quasi closed.
    * @return - boolean
    */
-  public synchronized boolean isQuasiClosed() {
+  public boolean isQuasiClosed() {
     return ContainerDataProto.State.QUASI_CLOSED == state;
   }
 
@@ -340,7 +341,7 @@ public synchronized boolean isQuasiClosed() {
    * checks if the container is unhealthy.
    * @return - boolean
    */
-  public synchronized boolean isUnhealthy() {
+  public boolean isUnhealthy() {
     return ContainerDataProto.State.UNHEALTHY == state;
   }
 
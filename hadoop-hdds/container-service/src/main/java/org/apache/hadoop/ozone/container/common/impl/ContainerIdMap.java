@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.impl;
+
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A concurrent map from container ID to value, keyed by primitive longs.
+ * <p>
+ * Lookups by ID are lock-free and do not box the ID: the entries are kept in
+ * lock-striped open addressing hash tables, which are only read with volatile
+ * array accesses. Updates lock the stripe of the ID, and also update a sorted
+ * view used for ordered iteration and range queries, so that both agree once
+ * the update returns.
+ *
+ * @param <V> the value type.
+ */
+final class ContainerIdMap<V> {
+  /** Marks an unused slot; not a valid container ID. */
+  static final long EMPTY = Long.MIN_VALUE;
+
+  private static final int STRIPES = 64;
+  private static final int MIN_CAPACITY = 16;
+
+  private final Stripe<V>[] stripes;
+  private final ConcurrentSkipListMap<Long, V> sorted = new ConcurrentSkipListMap<>();
+  private final NavigableMap<Long, V> sortedView = Collections.unmodifiableNavigableMap(sorted);
+
+  @SuppressWarnings("unchecked")
+  ContainerIdMap() {
+    stripes = new Stripe[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe<>();
+    }
+  }
+
+  private static long hash(long id) {
+    final long h = id * 0x9E3779B97F4A7C15L;
+    return h ^ (h >>> 32);
+  }
+
+  private Stripe<V> stripe(long hash) {
+    return stripes[(int) (hash >>> 58) & (STRIPES - 1)];
+  }
+
+  private static void checkId(long id) {
+    if (id == EMPTY) {
+      throw new IllegalArgumentException("Invalid container ID " + id);
+    }
+  }
+
+  /** @return the value of the given ID, or null if absent. Lock-free. */
+  V get(long id) {
+    final long h = hash(id);
+    return stripe(h).get(id, (int) h);
+  }
+
+  boolean containsKey(long id) {
+    return get(id) != null;
+  }
+
+  /** @return the previous value of the given ID, in which case the value is not put. */
+  V putIfAbsent(long id, V value) {
+    checkId(id);
+    final long h = hash(id);
+    final Stripe<V> stripe = stripe(h);
+    synchronized (stripe) {
+      final V previous = stripe.put(id, (int) h, value, true);
+      if (previous == null) {
+        sorted.put(id, value);
+      }
+      return previous;
+    }
+  }
+
+  /** @return the previous value of the given ID, or null if absent. */
+  V put(long id, V value) {
+    checkId(id);
+    final long h = hash(id);
+    final Stripe<V> stripe = stripe(h);
+    synchronized (stripe) {
+      final V previous = stripe.put(id, (int) h, value, false);
+      sorted.put(id, value);
+      return previous;
+    }
+  }
+
+  /** @return the removed value of the given ID, or null if absent. */
+  V remove(long id) {
+    final long h = hash(id);
+    final Stripe<V> stripe = stripe(h);
+    synchronized (stripe) {
+      final V removed = stripe.remove(id, (int) h);
+      if (removed != null) {
+        sorted.remove(id);
+      }
+      return removed;
+    }
+  }
+
+  int size() {
+    int size = 0;
+    for (Stripe<V> stripe : stripes) {
+      size += stripe.size;
+    }
+    return size;
+  }
+
+  /** @return an unmodifiable view of the entries, sorted by ID. */
+  NavigableMap<Long, V> sortedView() {
+    return sortedView;
+  }
+
+  /**
+   * An open addressing hash table with linear probing.
+   * A slot, once assigned to an ID, keeps it until the table is rebuilt;
+   * removing the ID only clears the value.
+   * So a reader can stop probing at the first {@link #EMPTY} slot.
+   */
+  private static final class Table<V> {
+    private final AtomicLongArray ids;
+    private final AtomicReferenceArray<V> values;
+    private final int mask;
+
+    Table(int capacity) {
+      ids = new AtomicLongArray(capacity);
+      for (int i = 0; i < capacity; i++) {
+        ids.lazySet(i, EMPTY);
+      }
+      values = new AtomicReferenceArray<>(capacity);
+      mask = capacity - 1;
+    }
+
+    int capacity() {
+      return mask + 1;
+    }
+
+    /** @return the slot of the given ID, or its first {@link #EMPTY} slot. */
+    int slot(long id, int hash) {
+      int i = hash & mask;
+      while (true) {
+        final long slotId = ids.get(i);
+        if (slotId == id || slotId == EMPTY) {
+          return i;
+        }
+        i = (i + 1) & mask;
+      }
+    }
+  }
+
+  /** A hash table guarded by the stripe's monitor; reads do not lock. */
+  private static final class Stripe<V> {
+    private volatile Table<V> table = new Table<>(MIN_CAPACITY);
+    /** Slots assigned to an ID, including the ones whose value was removed. */
+    private int used;
+    private volatile int size;
+
+    V get(long id, int hash) {
+      final Table<V> t = table;
+      int i = hash & t.mask;
+      for (int n = 0; n <= t.mask; n++) {
+        final long slotId = t.ids.get(i);
+        if (slotId == id) {
+          return t.values.get(i);
+        } else if (slotId == EMPTY) {
+          return null;
+        }
+        i = (i + 1) & t.mask;
+      }
+      return null;
+    }
+
+    V put(long id, int hash, V value, boolean onlyIfAbsent) {
+      Table<V> t = table;
+      int i = t.slot(id, hash);
+      if (t.ids.get(i) == EMPTY) {
+        // keep the load factor below 3/4, counting the removed slots
+        if ((used + 1) * 4L > t.capacity() * 3L) {
+          t = rebuild(size + 1);
+          i = t.slot(id, hash);
+        }
+        // publish the value before the id, see get
+        t.values.set(i, value);
+        t.ids.set(i, id);
+        used++;
+        size++;
+        return null;
+      }
+
+      final V previous = t.values.get(i);
+      if (previous == null) {
+        size++;
+      } else if (onlyIfAbsent) {
+        return previous;
+      }
+      t.values.set(i, value);
+      return previous;
+    }
+
+    V remove(long id, int hash) {
+      final Table<V> t = table;
+      final int i = t.slot(id, hash);
+      if (t.ids.get(i) == EMPTY) {
+        return null;
+      }
+      final V removed = t.values.get(i);
+      if (removed != null) {
+        t.values.set(i, null);
+        size--;
+      }
+      return removed;
+    }
+
+    /** Copy the entries to a new table sized for the given number of entries. */
+    private Table<V> rebuild(int entries) {
+      int capacity = MIN_CAPACITY;
+      while (entries * 2L > capacity) {
+        capacity <<= 1;
+      }
+      final Table<V> old = table;
+      final Table<V> t = new Table<>(capacity);
+      int count = 0;
+      for (int j = 0; j < old.capacity(); j++) {
+        final V v = old.values.get(j);
+        if (v != null) {
+          final long id = old.ids.get(j);
+          final int i = t.slot(id, (int) hash(id));
+          t.values.lazySet(i, v);
+          t.ids.lazySet(i, id);
+          count++;
+        }
+      }
+      used = count;
+      // the volatile write publishes the new table
+      table = t;
+      return t;
+    }
+  }
+}
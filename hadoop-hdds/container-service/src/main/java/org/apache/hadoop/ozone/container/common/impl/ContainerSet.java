@@ -28,14 +28,12 @@
 import java.io.IOException;
 import java.time.Clock;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentNavigableMap;
-import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -69,8 +67,7 @@ public class ContainerSet implements Iterable<Container<?>> {
    */
   private static final int MAX_CONTAINER_MAP_SWAP_RETRIES = 5;
 
-  private final ConcurrentSkipListMap<Long, Container<?>> containerMap = new
-      ConcurrentSkipListMap<>();
+  private final ContainerIdMap<Container<?>> containerMap = new ContainerIdMap<>();
   private final ConcurrentSkipListSet<Long> missingContainerSet =
       new ConcurrentSkipListSet<>();
 
@@ -458,7 +455,7 @@ public int containerCount() {
   public void handleVolumeFailures(StateContext context) throws StorageContainerException {
     AtomicBoolean failedVolume = new AtomicBoolean(false);
     AtomicInteger containerCount = new AtomicInteger(0);
-    for (Container<?> c : containerMap.values()) {
+    for (Container<?> c : containerMap.sortedView().values()) {
       ContainerData data = c.getContainerData();
       if (data.getVolume().isFailed()) {
         removeMissingContainer(data.getContainerID());
@@ -486,7 +483,7 @@ public void handleVolumeFailures(StateContext context) throws StorageContainerEx
 
   @Override
   public Iterator<Container<?>> iterator() {
-    return containerMap.values().iterator();
+    return containerMap.sortedView().values().iterator();
   }
 
   /**
@@ -538,7 +535,7 @@ public long containerCount(HddsVolume volume) {
    * @return containerMap Iterator
    */
   public Iterator<Map.Entry<Long, Container<?>>> getContainerMapIterator() {
-    return containerMap.entrySet().iterator();
+    return containerMap.sortedView().entrySet().iterator();
   }
 
   /**
@@ -547,11 +544,11 @@ public Iterator<Map.Entry<Long, Container<?>>> getContainerMapIterator() {
    */
   @VisibleForTesting
   public Map<Long, Container<?>> getContainerMapCopy() {
-    return ImmutableMap.copyOf(containerMap);
+    return ImmutableMap.copyOf(containerMap.sortedView());
   }
 
   public Map<Long, Container<?>> getContainerMap() {
-    return Collections.unmodifiableMap(containerMap);
+    return containerMap.sortedView();
   }
 
   /**
@@ -577,11 +574,11 @@ public void listContainer(long startContainerId, long count,
             "must be positive");
     LOG.debug("listContainer returns containerData starting from {} of count " +
         "{}", startContainerId, count);
-    ConcurrentNavigableMap<Long, Container<?>> map;
+    NavigableMap<Long, Container<?>> map;
     if (startContainerId == 0) {
-      map = containerMap;
+      map = containerMap.sortedView();
     } else {
-      map = containerMap.tailMap(startContainerId, true);
+      map = containerMap.sortedView().tailMap(startContainerId, true);
     }
     int currentCount = 0;
     for (Container<?> entry : map.values()) {
@@ -604,10 +601,10 @@ public ContainerReportsProto getContainerReport() throws IOException {
 
     ContainerReportsProto.Builder crBuilder =
         ContainerReportsProto.newBuilder();
-    // No need for locking since containerMap is a ConcurrentSkipListMap
-    // And we can never get the exact state since close might happen
-    // after we iterate a point.
-    List<Container<?>> containers = new ArrayList<>(containerMap.values());
+    // No need for locking since the sorted view of containerMap is a
+    // ConcurrentSkipListMap. And we can never get the exact state since close
+    // might happen after we iterate a point.
+    List<Container<?>> containers = new ArrayList<>(containerMap.sortedView().values());
     // Incremental Container reports can read stale container information
     // This is to make sure FCR and ICR can be linearized and processed by
     // consumers such as SCM.
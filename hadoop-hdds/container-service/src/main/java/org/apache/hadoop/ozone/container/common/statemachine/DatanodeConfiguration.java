@@ -95,6 +95,13 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
       "hdds.datanode.container.client.cache.stale.threshold";
 
   static final boolean CHUNK_DATA_VALIDATION_CHECK_DEFAULT = false;
+  static final int CHUNK_CHECKSUM_VERIFY_PARALLELISM_DEFAULT = 1;
+  static final boolean CONTAINER_DB_GROUP_COMMIT_ENABLED_DEFAULT = false;
+  static final int CONTAINER_DB_GROUP_COMMIT_MAX_BATCHES_DEFAULT = 64;
+  static final int VOLUME_IO_SCHEDULER_MAX_OUTSTANDING_DEFAULT = 16;
+  static final int VOLUME_IO_SCHEDULER_BACKGROUND_MAX_OUTSTANDING_DEFAULT = 4;
+  static final long CHUNK_READ_CACHE_MAX_ENTRY_SIZE_DEFAULT = 4 * 1024 * 1024;
+  static final int CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT = 1;
 
   static final long PERIODIC_DISK_CHECK_INTERVAL_MINUTES_DEFAULT = 60;
 
@@ -524,6 +531,146 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   private boolean isChunkDataValidationCheck =
       CHUNK_DATA_VALIDATION_CHECK_DEFAULT;
 
+  @Config(key = "hdds.datanode.chunk.checksum.verify.parallelism",
+      defaultValue = "1",
+      type = ConfigType.INT,
+      tags = { DATANODE },
+      description = "The maximum number of threads used to verify the "
+          + "CRC32 or CRC32C checksums of a single chunk when "
+          + "hdds.datanode.chunk.data.validation.check is enabled, including "
+          + "the handler thread."
+  )
+  private int chunkChecksumVerifyParallelism =
+      CHUNK_CHECKSUM_VERIFY_PARALLELISM_DEFAULT;
+
+  @Config(key = "hdds.datanode.container.db.group.commit.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE },
+      description = "Whether the PutBlock updates of the containers sharing "
+          + "a schema V3 RocksDB of a volume are committed together. "
+          + "Concurrent PutBlocks are merged into a single write (and a single "
+          + "WAL sync, if enabled) to the DB, and each of them returns once "
+          + "the write completed."
+  )
+  private boolean containerDbGroupCommitEnabled =
+      CONTAINER_DB_GROUP_COMMIT_ENABLED_DEFAULT;
+
+  @Config(key = "hdds.datanode.container.db.group.commit.max.batches",
+      defaultValue = "64",
+      type = ConfigType.INT,
+      tags = { DATANODE },
+      description = "The maximum number of PutBlock updates merged into a "
+          + "single write to a schema V3 RocksDB when "
+          + "hdds.datanode.container.db.group.commit.enabled is true."
+  )
+  private int containerDbGroupCommitMaxBatches =
+      CONTAINER_DB_GROUP_COMMIT_MAX_BATCHES_DEFAULT;
+
+  @Config(key = "hdds.datanode.volume.io.scheduler.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE },
+      description = "Whether the I/Os of the chunk reads and writes of the "
+          + "clients, the container replication, the container data scanner, "
+          + "the block deletion and the disk balancer are scheduled per volume. "
+          + "The I/Os of the background classes are admitted only when no "
+          + "client I/O is waiting for the volume."
+  )
+  private boolean volumeIOSchedulerEnabled = false;
+
+  @Config(key = "hdds.datanode.volume.io.scheduler.max.outstanding",
+      defaultValue = "16",
+      type = ConfigType.INT,
+      tags = { DATANODE },
+      description = "The maximum number of outstanding I/Os per volume "
+          + "when hdds.datanode.volume.io.scheduler.enabled is true."
+  )
+  private int volumeIOSchedulerMaxOutstanding =
+      VOLUME_IO_SCHEDULER_MAX_OUTSTANDING_DEFAULT;
+
+  @Config(key = "hdds.datanode.volume.io.scheduler.background.max.outstanding",
+      defaultValue = "4",
+      type = ConfigType.INT,
+      tags = { DATANODE },
+      description = "The maximum number of outstanding I/Os per volume of the "
+          + "background classes (REPLICATION, SCAN, DELETION, DISK_BALANCER) "
+          + "when hdds.datanode.volume.io.scheduler.enabled is true."
+  )
+  private int volumeIOSchedulerBackgroundMaxOutstanding =
+      VOLUME_IO_SCHEDULER_BACKGROUND_MAX_OUTSTANDING_DEFAULT;
+
+  @Config(key = "hdds.datanode.volume.io.scheduler.weights",
+      defaultValue = "CLIENT_READ=8,CLIENT_WRITE=8,REPLICATION=4,SCAN=1,"
+          + "DELETION=1,DISK_BALANCER=1",
+      type = ConfigType.STRING,
+      tags = { DATANODE },
+      description = "The weights of the I/O classes, as comma separated "
+          + "CLASS=weight. The waiting I/Os of the foreground (CLIENT_READ, "
+          + "CLIENT_WRITE) and of the background classes get the bytes of a "
+          + "volume in proportion to their weights."
+  )
+  private String volumeIOSchedulerWeights =
+      "CLIENT_READ=8,CLIENT_WRITE=8,REPLICATION=4,SCAN=1,DELETION=1,DISK_BALANCER=1";
+
+  @Config(key = "hdds.datanode.volume.io.scheduler.bandwidth",
+      defaultValue = "",
+      type = ConfigType.STRING,
+      tags = { DATANODE },
+      description = "The maximum bandwidth per volume of I/O classes, as "
+          + "comma separated CLASS=size per second, e.g. SCAN=50MB. "
+          + "The classes not listed are not limited."
+  )
+  private String volumeIOSchedulerBandwidth = "";
+
+  @Config(key = "hdds.datanode.chunk.read.cache.size",
+      defaultValue = "0",
+      type = ConfigType.SIZE,
+      tags = { DATANODE },
+      description = "The size of the datanode-wide cache of the data of hot "
+          + "chunks of closed containers. The cached data is held in direct "
+          + "memory, so -XX:MaxDirectMemorySize must leave room for it and "
+          + "for the pool of the free buffers, up to 10% of this size. "
+          + "0 disables the cache."
+  )
+  private long chunkReadCacheSize = 0;
+
+  @Config(key = "hdds.datanode.chunk.read.cache.max.entry.size",
+      defaultValue = "4MB",
+      type = ConfigType.SIZE,
+      tags = { DATANODE },
+      description = "Chunk reads longer than this are not cached by the "
+          + "cache configured by hdds.datanode.chunk.read.cache.size."
+  )
+  private long chunkReadCacheMaxEntrySize =
+      CHUNK_READ_CACHE_MAX_ENTRY_SIZE_DEFAULT;
+
+  @Config(key = "hdds.datanode.container.load.threads.per.volume",
+      defaultValue = "1",
+      type = ConfigType.INT,
+      tags = { DATANODE },
+      description = "The number of threads per volume loading the containers "
+          + "of the volume at datanode startup. The volumes are always loaded "
+          + "in parallel; more threads also load the containers of a volume "
+          + "in parallel, which helps when each container has its own DB "
+          + "(schema V1/V2) or the disks handle concurrent reads well."
+  )
+  private int containerLoadThreadsPerVolume =
+      CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT;
+
+  @Config(key = "hdds.datanode.container.load.defer.block.statistics",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE },
+      description = "If the block count and bytes used of a closed, "
+          + "quasi-closed or unhealthy container are missing from its DB at "
+          + "datanode startup, whether to compute them by iterating its blocks "
+          + "in the background after all the containers are loaded, instead "
+          + "of while loading the container. Until then the container reports "
+          + "zero blocks and bytes used."
+  )
+  private boolean containerLoadDeferBlockStatistics = false;
+
   @Config(key = "hdds.datanode.wait.on.all.followers",
       defaultValue = "false",
       type = ConfigType.BOOLEAN,
@@ -699,6 +846,65 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   @SuppressWarnings("checkstyle:MethodLength")
   @PostConstruct
   public void validate() {
+    if (chunkChecksumVerifyParallelism < 1) {
+      LOG.warn("hdds.datanode.chunk.checksum.verify.parallelism must be " +
+              "greater than zero and was set to {}. Defaulting to {}",
+          chunkChecksumVerifyParallelism,
+          CHUNK_CHECKSUM_VERIFY_PARALLELISM_DEFAULT);
+      chunkChecksumVerifyParallelism =
+          CHUNK_CHECKSUM_VERIFY_PARALLELISM_DEFAULT;
+    }
+
+    if (containerDbGroupCommitMaxBatches < 1) {
+      LOG.warn("hdds.datanode.container.db.group.commit.max.batches must be "
+              + "greater than zero and was set to {}. Defaulting to {}",
+          containerDbGroupCommitMaxBatches,
+          CONTAINER_DB_GROUP_COMMIT_MAX_BATCHES_DEFAULT);
+      containerDbGroupCommitMaxBatches =
+          CONTAINER_DB_GROUP_COMMIT_MAX_BATCHES_DEFAULT;
+    }
+
+    if (volumeIOSchedulerMaxOutstanding < 1) {
+      LOG.warn("hdds.datanode.volume.io.scheduler.max.outstanding must be "
+              + "greater than zero and was set to {}. Defaulting to {}",
+          volumeIOSchedulerMaxOutstanding,
+          VOLUME_IO_SCHEDULER_MAX_OUTSTANDING_DEFAULT);
+      volumeIOSchedulerMaxOutstanding =
+          VOLUME_IO_SCHEDULER_MAX_OUTSTANDING_DEFAULT;
+    }
+
+    if (volumeIOSchedulerBackgroundMaxOutstanding < 1) {
+      LOG.warn("hdds.datanode.volume.io.scheduler.background.max.outstanding "
+              + "must be greater than zero and was set to {}. Defaulting to {}",
+          volumeIOSchedulerBackgroundMaxOutstanding,
+          VOLUME_IO_SCHEDULER_BACKGROUND_MAX_OUTSTANDING_DEFAULT);
+      volumeIOSchedulerBackgroundMaxOutstanding =
+          VOLUME_IO_SCHEDULER_BACKGROUND_MAX_OUTSTANDING_DEFAULT;
+    }
+
+    if (chunkReadCacheSize < 0) {
+      LOG.warn("hdds.datanode.chunk.read.cache.size must not be negative "
+          + "and was set to {}. Disabling the cache", chunkReadCacheSize);
+      chunkReadCacheSize = 0;
+    }
+
+    if (chunkReadCacheMaxEntrySize < 1
+        || chunkReadCacheMaxEntrySize > Integer.MAX_VALUE) {
+      LOG.warn("hdds.datanode.chunk.read.cache.max.entry.size must be "
+              + "between 1 and {} and was set to {}. Defaulting to {}",
+          Integer.MAX_VALUE, chunkReadCacheMaxEntrySize,
+          CHUNK_READ_CACHE_MAX_ENTRY_SIZE_DEFAULT);
+      chunkReadCacheMaxEntrySize = CHUNK_READ_CACHE_MAX_ENTRY_SIZE_DEFAULT;
+    }
+
+    if (containerLoadThreadsPerVolume < 1) {
+      LOG.warn("hdds.datanode.container.load.threads.per.volume must be "
+              + "greater than zero and was set to {}. Defaulting to {}",
+          containerLoadThreadsPerVolume,
+          CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT);
+      containerLoadThreadsPerVolume = CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT;
+    }
+
     if (containerDeleteThreads < 1) {
       LOG.warn(CONTAINER_DELETE_THREADS_MAX_KEY + " must be greater than zero" +
               " and was set to {}. Defaulting to {}",
@@ -1180,6 +1386,102 @@ public void setChunkDataValidationCheck(boolean writeChunkValidationCheck) {
     isChunkDataValidationCheck = writeChunkValidationCheck;
   }
 
+  public int getChunkChecksumVerifyParallelism() {
+    return chunkChecksumVerifyParallelism;
+  }
+
+  public void setChunkChecksumVerifyParallelism(int parallelism) {
+    this.chunkChecksumVerifyParallelism = parallelism;
+  }
+
+  public boolean isContainerDbGroupCommitEnabled() {
+    return containerDbGroupCommitEnabled;
+  }
+
+  public void setContainerDbGroupCommitEnabled(boolean enabled) {
+    this.containerDbGroupCommitEnabled = enabled;
+  }
+
+  public int getContainerDbGroupCommitMaxBatches() {
+    return containerDbGroupCommitMaxBatches;
+  }
+
+  public void setContainerDbGroupCommitMaxBatches(int maxBatches) {
+    this.containerDbGroupCommitMaxBatches = maxBatches;
+  }
+
+  public boolean isVolumeIOSchedulerEnabled() {
+    return volumeIOSchedulerEnabled;
+  }
+
+  public void setVolumeIOSchedulerEnabled(boolean enabled) {
+    this.volumeIOSchedulerEnabled = enabled;
+  }
+
+  public int getVolumeIOSchedulerMaxOutstanding() {
+    return volumeIOSchedulerMaxOutstanding;
+  }
+
+  public void setVolumeIOSchedulerMaxOutstanding(int maxOutstanding) {
+    this.volumeIOSchedulerMaxOutstanding = maxOutstanding;
+  }
+
+  public int getVolumeIOSchedulerBackgroundMaxOutstanding() {
+    return volumeIOSchedulerBackgroundMaxOutstanding;
+  }
+
+  public void setVolumeIOSchedulerBackgroundMaxOutstanding(int maxOutstanding) {
+    this.volumeIOSchedulerBackgroundMaxOutstanding = maxOutstanding;
+  }
+
+  public String getVolumeIOSchedulerWeights() {
+    return volumeIOSchedulerWeights;
+  }
+
+  public void setVolumeIOSchedulerWeights(String weights) {
+    this.volumeIOSchedulerWeights = weights;
+  }
+
+  public String getVolumeIOSchedulerBandwidth() {
+    return volumeIOSchedulerBandwidth;
+  }
+
+  public void setVolumeIOSchedulerBandwidth(String bandwidth) {
+    this.volumeIOSchedulerBandwidth = bandwidth;
+  }
+
+  public long getChunkReadCacheSize() {
+    return chunkReadCacheSize;
+  }
+
+  public void setChunkReadCacheSize(long size) {
+    this.chunkReadCacheSize = size;
+  }
+
+  public long getChunkReadCacheMaxEntrySize() {
+    return chunkReadCacheMaxEntrySize;
+  }
+
+  public void setChunkReadCacheMaxEntrySize(long size) {
+    this.chunkReadCacheMaxEntrySize = size;
+  }
+
+  public int getContainerLoadThreadsPerVolume() {
+    return containerLoadThreadsPerVolume;
+  }
+
+  public void setContainerLoadThreadsPerVolume(int threads) {
+    this.containerLoadThreadsPerVolume = threads;
+  }
+
+  public boolean isContainerLoadDeferBlockStatistics() {
+    return containerLoadDeferBlockStatistics;
+  }
+
+  public void setContainerLoadDeferBlockStatistics(boolean defer) {
+    this.containerLoadDeferBlockStatistics = defer;
+  }
+
   public int getNumReadThreadPerVolume() {
     return numReadThreadPerVolume;
   }
@@ -43,6 +43,7 @@
 import org.apache.hadoop.hdfs.server.datanode.checker.VolumeCheckResult;
 import org.apache.hadoop.ozone.common.Storage;
 import org.apache.hadoop.ozone.container.common.impl.StorageLocationReport;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.utils.DatanodeStoreCache;
 import org.apache.hadoop.ozone.container.common.utils.HddsVolumeUtil;
 import org.apache.hadoop.ozone.container.common.utils.RawDB;
@@ -86,6 +87,8 @@ public class HddsVolume extends StorageVolume {
 
   private final VolumeIOStats volumeIOStats;
   private final VolumeInfoMetrics volumeInfoMetrics;
+  // null if the I/O of this volume is not scheduled
+  private final VolumeIOScheduler ioScheduler;
 
   private ContainerController controller;
 
@@ -138,6 +141,11 @@ private HddsVolume(Builder b) throws IOException {
           this.getStorageDir().toString(), intervals);
       this.volumeInfoMetrics =
           new VolumeInfoMetrics(b.getVolumeRootStr(), this);
+      this.ioScheduler = VolumeIOScheduler.create(b.getVolumeRootStr(),
+          conf.getObject(DatanodeConfiguration.class));
+      if (ioScheduler != null) {
+        ioScheduler.registerMetrics();
+      }
 
       initialize();
     } else {
@@ -146,6 +154,7 @@ private HddsVolume(Builder b) throws IOException {
       this.setState(VolumeState.FAILED);
       volumeIOStats = null;
       volumeInfoMetrics = new VolumeInfoMetrics(b.getVolumeRootStr(), this);
+      ioScheduler = null;
     }
 
     LOG.info("HddsVolume: {}", getReport());
@@ -187,6 +196,11 @@ public VolumeInfoMetrics getVolumeInfoStats() {
     return volumeInfoMetrics;
   }
 
+  @Nullable
+  public VolumeIOScheduler getIOScheduler() {
+    return ioScheduler;
+  }
+
   @Override
   protected StorageLocationReport.Builder reportBuilder() {
     StorageLocationReport.Builder builder = super.reportBuilder();
@@ -203,6 +217,9 @@ public void failVolume() {
     if (volumeIOStats != null) {
       volumeIOStats.unregister();
     }
+    if (ioScheduler != null) {
+      ioScheduler.unregisterMetrics();
+    }
     closeDbStore();
   }
 
@@ -212,6 +229,9 @@ public void shutdown() {
     if (volumeIOStats != null) {
       volumeIOStats.unregister();
     }
+    if (ioScheduler != null) {
+      ioScheduler.unregisterMetrics();
+    }
     if (volumeInfoMetrics != null) {
       volumeInfoMetrics.unregister();
     }
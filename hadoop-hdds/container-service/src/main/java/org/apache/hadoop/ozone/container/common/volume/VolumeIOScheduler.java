@@ -0,0 +1,463 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.volume;
+
+import jakarta.annotation.Nullable;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.hadoop.hdds.conf.StorageSize;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+import org.apache.ratis.util.UncheckedAutoCloseable;
+
+/**
+ * Schedules the I/O of the different kinds of work sharing a volume.
+ * <p>
+ * An I/O is admitted once a slot of the volume is free, up to the configured
+ * number of outstanding I/Os. Waiting I/Os are queued per {@link IOClass}:
+ * <ul>
+ *   <li>Foreground classes are served before background classes. Background
+ *   I/Os are admitted only when no foreground I/O is waiting, and up to a
+ *   smaller number of outstanding I/Os, so that they use the idle bandwidth
+ *   of the volume while leaving slots to the foreground I/Os.</li>
+ *   <li>Within the foreground and background classes, the queues are served
+ *   by weighted fair queuing on the number of bytes.</li>
+ *   <li>A class may be limited to a number of bytes per second by a token
+ *   bucket, in which case its I/Os wait for the tokens.</li>
+ * </ul>
+ * The queue length, the number of outstanding I/Os, the waiting time and the
+ * I/O time of each class are reported by {@link VolumeIOSchedulerMetrics}.
+ */
+public class VolumeIOScheduler {
+
+  private static final UncheckedAutoCloseable NOOP = () -> { };
+
+  /**
+   * The kinds of work doing I/O on a volume:
+   * <ul>
+   *   <li>{@link #CLIENT_READ} and {@link #CLIENT_WRITE}: the chunk reads and
+   *   writes of the clients, per chunk.</li>
+   *   <li>{@link #REPLICATION}: the export and import of containers, per
+   *   buffer of the container archive.</li>
+   *   <li>{@link #SCAN}: the container data scanner, per checksum.</li>
+   *   <li>{@link #DELETION}: the deletion of the chunk files of blocks by the
+   *   block deleting service, per block.</li>
+   *   <li>{@link #DISK_BALANCER}: the copy of containers between volumes,
+   *   per buffer read from the source volume.</li>
+   * </ul>
+   */
+  public enum IOClass {
+    CLIENT_READ(true, 8),
+    CLIENT_WRITE(true, 8),
+    REPLICATION(false, 4),
+    SCAN(false, 1),
+    DELETION(false, 1),
+    DISK_BALANCER(false, 1);
+
+    private final boolean foreground;
+    private final int defaultWeight;
+
+    IOClass(boolean foreground, int defaultWeight) {
+      this.foreground = foreground;
+      this.defaultWeight = defaultWeight;
+    }
+
+    public boolean isForeground() {
+      return foreground;
+    }
+
+    public int getDefaultWeight() {
+      return defaultWeight;
+    }
+  }
+
+  /** An I/O waiting to be admitted. */
+  private static final class Waiter {
+    private final long bytes;
+    private final Condition admitted;
+    private boolean isAdmitted;
+
+    private Waiter(long bytes, Condition admitted) {
+      this.bytes = bytes;
+      this.admitted = admitted;
+    }
+  }
+
+  /** The queue, the fair share and the token bucket of a class. */
+  private static final class ClassQueue {
+    private final IOClass ioClass;
+    private final int weight;
+    /** Bytes per second, or 0 if unlimited. */
+    private final long rate;
+    private final Queue<Waiter> waiters = new ArrayDeque<>();
+
+    private double virtualTime;
+    private double tokens;
+    private long lastRefillNanos;
+    private int outstanding;
+
+    private ClassQueue(IOClass ioClass, int weight, long rate, long now) {
+      this.ioClass = ioClass;
+      this.weight = weight;
+      this.rate = rate;
+      // allow a burst of one second
+      this.tokens = rate;
+      this.lastRefillNanos = now;
+    }
+
+    /** @return the nanoseconds until the class has tokens, 0 if it has. */
+    private long refill(long now) {
+      if (rate == 0) {
+        return 0;
+      }
+      tokens = Math.min(rate, tokens + (now - lastRefillNanos) * (double) rate / TimeUnit.SECONDS.toNanos(1));
+      lastRefillNanos = now;
+      return tokens > 0 ? 0 : (long) Math.ceil(-tokens * TimeUnit.SECONDS.toNanos(1) / rate) + 1;
+    }
+  }
+
+  private final int maxOutstanding;
+  private final int maxBackgroundOutstanding;
+  private final EnumMap<IOClass, ClassQueue> queues = new EnumMap<>(IOClass.class);
+  private final VolumeIOSchedulerMetrics metrics;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private int outstanding;
+  private int backgroundOutstanding;
+  /** The virtual time of the last admitted I/O. */
+  private double virtualTime;
+
+  /**
+   * @param maxOutstanding the maximum number of outstanding I/Os.
+   * @param maxBackgroundOutstanding the maximum number of outstanding I/Os of the background classes.
+   * @param weights the weights of the classes, the default weight if absent.
+   * @param bytesPerSecond the bandwidth of the classes, unlimited if absent.
+   */
+  VolumeIOScheduler(String name, int maxOutstanding, int maxBackgroundOutstanding,
+      Map<IOClass, Integer> weights, Map<IOClass, Long> bytesPerSecond) {
+    if (maxOutstanding < 1) {
+      throw new IllegalArgumentException("maxOutstanding = " + maxOutstanding + " < 1");
+    }
+    this.maxOutstanding = maxOutstanding;
+    this.maxBackgroundOutstanding = Math.max(1, Math.min(maxBackgroundOutstanding, maxOutstanding));
+    final long now = System.nanoTime();
+    for (IOClass c : IOClass.values()) {
+      final int weight = weights.getOrDefault(c, c.getDefaultWeight());
+      if (weight < 1) {
+        throw new IllegalArgumentException("The weight of " + c + " is " + weight + " < 1");
+      }
+      queues.put(c, new ClassQueue(c, weight, Math.max(0, bytesPerSecond.getOrDefault(c, 0L)), now));
+    }
+    this.metrics = new VolumeIOSchedulerMetrics(name, this);
+  }
+
+  /** @return a scheduler as configured, or null if disabled. */
+  @Nullable
+  static VolumeIOScheduler create(String name, DatanodeConfiguration conf) {
+    if (!conf.isVolumeIOSchedulerEnabled()) {
+      return null;
+    }
+    final Map<IOClass, Integer> weights = new EnumMap<>(IOClass.class);
+    parse(conf.getVolumeIOSchedulerWeights()).forEach((c, v) -> weights.put(c, Integer.parseInt(v)));
+    final Map<IOClass, Long> bandwidth = new EnumMap<>(IOClass.class);
+    parse(conf.getVolumeIOSchedulerBandwidth()).forEach((c, v) -> bandwidth.put(c, StorageSize.parse(v).toBytes()));
+    return new VolumeIOScheduler(name, conf.getVolumeIOSchedulerMaxOutstanding(),
+        conf.getVolumeIOSchedulerBackgroundMaxOutstanding(), weights, bandwidth);
+  }
+
+  /** Parse a comma separated list of CLASS=value. */
+  static Map<IOClass, String> parse(String value) {
+    final Map<IOClass, String> map = new EnumMap<>(IOClass.class);
+    if (value == null) {
+      return map;
+    }
+    for (String entry : value.split(",")) {
+      final String trimmed = entry.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      final int i = trimmed.indexOf('=');
+      if (i < 0) {
+        throw new IllegalArgumentException("Expected CLASS=value but found " + trimmed);
+      }
+      final IOClass c = IOClass.valueOf(trimmed.substring(0, i).trim().toUpperCase(Locale.ROOT));
+      map.put(c, trimmed.substring(i + 1).trim());
+    }
+    return map;
+  }
+
+  /**
+   * Acquire a slot of the given volume for an I/O.
+   *
+   * @return a slot to be closed once the I/O is done;
+   *         a no-op if the volume is null or has no scheduler.
+   */
+  public static UncheckedAutoCloseable acquire(@Nullable HddsVolume volume, IOClass ioClass, long bytes)
+      throws InterruptedIOException {
+    final VolumeIOScheduler scheduler = volume != null ? volume.getIOScheduler() : null;
+    return scheduler != null ? scheduler.acquire(ioClass, bytes) : NOOP;
+  }
+
+  /**
+   * @return a stream acquiring a slot of the given volume for each read;
+   *         the given stream if the volume is null or has no scheduler.
+   */
+  public static InputStream schedule(InputStream in, @Nullable HddsVolume volume, IOClass ioClass) {
+    final VolumeIOScheduler scheduler = volume != null ? volume.getIOScheduler() : null;
+    return scheduler != null ? new ScheduledInputStream(in, scheduler, ioClass) : in;
+  }
+
+  /**
+   * @return a stream acquiring a slot of the given volume for each write;
+   *         the given stream if the volume is null or has no scheduler.
+   */
+  public static OutputStream schedule(OutputStream out, @Nullable HddsVolume volume, IOClass ioClass) {
+    final VolumeIOScheduler scheduler = volume != null ? volume.getIOScheduler() : null;
+    return scheduler != null ? new ScheduledOutputStream(out, scheduler, ioClass) : out;
+  }
+
+  /**
+   * Acquire a slot for an I/O of the given class and size,
+   * waiting for its turn if the volume is busy.
+   *
+   * @return the slot, to be closed once the I/O is done.
+   */
+  public UncheckedAutoCloseable acquire(IOClass ioClass, long bytes) throws InterruptedIOException {
+    final ClassQueue queue = queues.get(ioClass);
+    final long start = System.nanoTime();
+    lock.lock();
+    try {
+      final Waiter waiter = new Waiter(Math.max(0, bytes), lock.newCondition());
+      if (queue.waiters.isEmpty()) {
+        // an idle class does not get credit for the time it was idle
+        queue.virtualTime = Math.max(queue.virtualTime, virtualTime);
+      }
+      queue.waiters.add(waiter);
+      dispatch();
+      while (!waiter.isAdmitted) {
+        final long tokenWait = nanosUntilTokens();
+        try {
+          if (tokenWait > 0) {
+            waiter.admitted.awaitNanos(tokenWait);
+          } else {
+            waiter.admitted.await();
+          }
+        } catch (InterruptedException e) {
+          if (waiter.isAdmitted) {
+            release(queue, start, System.nanoTime());
+          } else {
+            queue.waiters.remove(waiter);
+          }
+          dispatch();
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted waiting for an " + ioClass + " I/O slot");
+        }
+        dispatch();
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    final long admitted = System.nanoTime();
+    metrics.addWaitTime(ioClass, admitted - start);
+    return () -> {
+      final long done = System.nanoTime();
+      lock.lock();
+      try {
+        release(queue, admitted, done);
+        dispatch();
+      } finally {
+        lock.unlock();
+      }
+    };
+  }
+
+  private void release(ClassQueue queue, long admitted, long done) {
+    outstanding--;
+    queue.outstanding--;
+    if (!queue.ioClass.isForeground()) {
+      backgroundOutstanding--;
+    }
+    metrics.addIOTime(queue.ioClass, done - admitted);
+  }
+
+  /** Admit the waiting I/Os while there are free slots. Must hold the lock. */
+  private void dispatch() {
+    final long now = System.nanoTime();
+    while (outstanding < maxOutstanding) {
+      ClassQueue next = select(true, now);
+      if (next == null && !hasForegroundWaiter() && backgroundOutstanding < maxBackgroundOutstanding) {
+        next = select(false, now);
+      }
+      if (next == null) {
+        return;
+      }
+      final Waiter waiter = next.waiters.remove();
+      outstanding++;
+      next.outstanding++;
+      if (!next.ioClass.isForeground()) {
+        backgroundOutstanding++;
+      }
+      if (next.rate > 0) {
+        // may become negative, i.e. a large I/O delays the following ones
+        next.tokens -= waiter.bytes;
+      }
+      next.virtualTime += (double) Math.max(1, waiter.bytes) / next.weight;
+      virtualTime = next.virtualTime;
+      waiter.isAdmitted = true;
+      waiter.admitted.signal();
+    }
+  }
+
+  /** @return the eligible class with the least virtual time. */
+  private ClassQueue select(boolean foreground, long now) {
+    ClassQueue selected = null;
+    for (ClassQueue q : queues.values()) {
+      if (q.ioClass.isForeground() == foreground && !q.waiters.isEmpty() && q.refill(now) == 0
+          && (selected == null || q.virtualTime < selected.virtualTime)) {
+        selected = q;
+      }
+    }
+    return selected;
+  }
+
+  private boolean hasForegroundWaiter() {
+    for (ClassQueue q : queues.values()) {
+      if (q.ioClass.isForeground() && !q.waiters.isEmpty()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** @return the nanoseconds until a waiting class gets tokens, 0 if none is waiting for tokens. */
+  private long nanosUntilTokens() {
+    final long now = System.nanoTime();
+    long min = 0;
+    for (ClassQueue q : queues.values()) {
+      if (!q.waiters.isEmpty()) {
+        final long wait = q.refill(now);
+        if (wait > 0 && (min == 0 || wait < min)) {
+          min = wait;
+        }
+      }
+    }
+    return min;
+  }
+
+  public int getQueueLength(IOClass ioClass) {
+    lock.lock();
+    try {
+      return queues.get(ioClass).waiters.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getOutstanding(IOClass ioClass) {
+    lock.lock();
+    try {
+      return queues.get(ioClass).outstanding;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getMaxOutstanding() {
+    return maxOutstanding;
+  }
+
+  public int getMaxBackgroundOutstanding() {
+    return maxBackgroundOutstanding;
+  }
+
+  public VolumeIOSchedulerMetrics getMetrics() {
+    return metrics;
+  }
+
+  void registerMetrics() {
+    metrics.register();
+  }
+
+  void unregisterMetrics() {
+    metrics.unregister();
+  }
+
+  /** An {@link InputStream} acquiring a slot for each read. */
+  private static final class ScheduledInputStream extends FilterInputStream {
+    private final VolumeIOScheduler scheduler;
+    private final IOClass ioClass;
+
+    private ScheduledInputStream(InputStream in, VolumeIOScheduler scheduler, IOClass ioClass) {
+      super(in);
+      this.scheduler = scheduler;
+      this.ioClass = ioClass;
+    }
+
+    @Override
+    public int read() throws IOException {
+      try (UncheckedAutoCloseable ignored = scheduler.acquire(ioClass, 1)) {
+        return in.read();
+      }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      try (UncheckedAutoCloseable ignored = scheduler.acquire(ioClass, len)) {
+        return in.read(b, off, len);
+      }
+    }
+  }
+
+  /** An {@link OutputStream} acquiring a slot for each write. */
+  private static final class ScheduledOutputStream extends FilterOutputStream {
+    private final VolumeIOScheduler scheduler;
+    private final IOClass ioClass;
+
+    private ScheduledOutputStream(OutputStream out, VolumeIOScheduler scheduler, IOClass ioClass) {
+      super(out);
+      this.scheduler = scheduler;
+      this.ioClass = ioClass;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      try (UncheckedAutoCloseable ignored = scheduler.acquire(ioClass, 1)) {
+        out.write(b);
+      }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      try (UncheckedAutoCloseable ignored = scheduler.acquire(ioClass, len)) {
+        out.write(b, off, len);
+      }
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.volume;
+
+import java.util.EnumMap;
+import java.util.Map;
+import org.apache.hadoop.metrics2.MetricsCollector;
+import org.apache.hadoop.metrics2.MetricsInfo;
+import org.apache.hadoop.metrics2.MetricsRecordBuilder;
+import org.apache.hadoop.metrics2.MetricsSource;
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.Interns;
+import org.apache.hadoop.metrics2.lib.MetricsRegistry;
+import org.apache.hadoop.metrics2.lib.MutableRate;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass;
+
+/**
+ * Metrics of the {@link VolumeIOScheduler} of a volume, per {@link IOClass}.
+ */
+@Metrics(about = "Ozone Volume I/O Scheduler Metrics",
+    context = OzoneConsts.OZONE)
+public final class VolumeIOSchedulerMetrics implements MetricsSource {
+
+  private static final String SOURCE_BASENAME =
+      VolumeIOSchedulerMetrics.class.getSimpleName();
+
+  private final String metricsSourceName;
+  private final MetricsRegistry registry;
+  private final VolumeIOScheduler scheduler;
+
+  private final Map<IOClass, MutableRate> waitTimeNs = new EnumMap<>(IOClass.class);
+  private final Map<IOClass, MutableRate> ioTimeNs = new EnumMap<>(IOClass.class);
+  private final Map<IOClass, MetricsInfo> queueLength = new EnumMap<>(IOClass.class);
+  private final Map<IOClass, MetricsInfo> outstanding = new EnumMap<>(IOClass.class);
+
+  VolumeIOSchedulerMetrics(String volume, VolumeIOScheduler scheduler) {
+    this.metricsSourceName = SOURCE_BASENAME + '-' + volume;
+    this.registry = new MetricsRegistry(metricsSourceName);
+    this.scheduler = scheduler;
+    for (IOClass c : IOClass.values()) {
+      waitTimeNs.put(c, registry.newRate("waitTimeNs" + c, c + " I/O waiting time"));
+      ioTimeNs.put(c, registry.newRate("ioTimeNs" + c, c + " I/O time after admission"));
+      queueLength.put(c, Interns.info("queueLength" + c, "Number of waiting " + c + " I/Os"));
+      outstanding.put(c, Interns.info("outstanding" + c, "Number of outstanding " + c + " I/Os"));
+    }
+  }
+
+  void register() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    ms.register(metricsSourceName, "Volume I/O Scheduler Statistics", this);
+  }
+
+  void unregister() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    ms.unregisterSource(metricsSourceName);
+  }
+
+  void addWaitTime(IOClass c, long nanos) {
+    waitTimeNs.get(c).add(nanos);
+  }
+
+  void addIOTime(IOClass c, long nanos) {
+    ioTimeNs.get(c).add(nanos);
+  }
+
+  MutableRate getWaitTime(IOClass c) {
+    return waitTimeNs.get(c);
+  }
+
+  MutableRate getIOTime(IOClass c) {
+    return ioTimeNs.get(c);
+  }
+
+  @Override
+  public void getMetrics(MetricsCollector collector, boolean all) {
+    MetricsRecordBuilder builder = collector.addRecord(metricsSourceName);
+    registry.snapshot(builder, all);
+    for (IOClass c : IOClass.values()) {
+      builder.addGauge(queueLength.get(c), scheduler.getQueueLength(c))
+          .addGauge(outstanding.get(c), scheduler.getOutstanding(c));
+    }
+  }
+}
@@ -53,7 +53,10 @@
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.hadoop.fs.FileAlreadyExistsException;
 import org.apache.hadoop.fs.FileUtil;
 import org.apache.hadoop.hdds.HddsUtils;
@@ -77,6 +80,8 @@
 import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass;
 import org.apache.hadoop.ozone.container.common.volume.VolumeSet;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerLocationUtil;
@@ -99,6 +104,9 @@ public class KeyValueContainer implements Container<KeyValueContainerData> {
   private static final Logger LOG =
           LoggerFactory.getLogger(KeyValueContainer.class);
 
+  /** Buffer size for copying the files of the container to another volume. */
+  private static final int COPY_BUFFER_SIZE = (int) OzoneConsts.MB;
+
   // Use a non-fair RW lock for better throughput, we may revisit this decision
   // if this causes fairness issues.
   private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
@@ -598,8 +606,9 @@ public void importContainerData(InputStream input,
     try {
       //copy the values from the input stream to the final destination
       // directory.
-      byte[] descriptorContent = packer.unpackContainerData(this, input, tmpDir,
-          destContainerDir);
+      byte[] descriptorContent = packer.unpackContainerData(this,
+          VolumeIOScheduler.schedule(input, hddsVolume, IOClass.REPLICATION),
+          tmpDir, destContainerDir);
 
       Objects.requireNonNull(descriptorContent,
           () -> "Missing container descriptor from the archive: " + getContainerData());
@@ -707,7 +716,8 @@ public void exportContainerData(OutputStream destination,
         writeUnlock();
       }
 
-      packContainerToDestination(destination, packer);
+      packContainerToDestination(VolumeIOScheduler.schedule(destination,
+          containerData.getVolume(), IOClass.REPLICATION), packer);
     } finally {
       if (lock.isWriteLockedByCurrentThread()) {
         writeUnlock();
@@ -1017,7 +1027,8 @@ private void packContainerToDestination(OutputStream destination,
   }
 
   /**
-   * Copy container directory to destination path.
+   * Copy container directory to destination path.  The files are read
+   * through the I/O scheduler of the volume of the container.
    * @param destination destination path
    * @throws IOException file operation exception
    */
@@ -1027,9 +1038,24 @@ private void copyContainerToDestination(Path destination)
       if (Files.exists(destination)) {
         FileUtils.deleteDirectory(destination.toFile());
       }
-      FileUtils.copyDirectory(new File(containerData.getContainerPath()),
-          destination.toFile());
-
+      final Path source = Paths.get(containerData.getContainerPath());
+      final List<Path> paths;
+      try (Stream<Path> walk = Files.walk(source)) {
+        paths = walk.collect(Collectors.toList());
+      }
+      for (Path path : paths) {
+        final Path target = destination.resolve(source.relativize(path));
+        if (Files.isDirectory(path)) {
+          Files.createDirectories(target);
+          continue;
+        }
+        try (InputStream in = VolumeIOScheduler.schedule(Files.newInputStream(path),
+                containerData.getVolume(), IOClass.DISK_BALANCER);
+             OutputStream out = Files.newOutputStream(target)) {
+          IOUtils.copy(in, out, COPY_BUFFER_SIZE);
+        }
+        Files.setLastModifiedTime(target, Files.getLastModifiedTime(path));
+      }
     } catch (IOException e) {
       LOG.error("Failed when copying container to {}", destination, e);
       throw e;
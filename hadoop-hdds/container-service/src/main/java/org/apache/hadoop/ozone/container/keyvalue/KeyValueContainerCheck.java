@@ -23,6 +23,7 @@
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.NoSuchFileException;
@@ -49,6 +50,8 @@
 import org.apache.hadoop.ozone.container.common.interfaces.BlockIterator;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerLocationUtil;
@@ -58,6 +61,7 @@
 import org.apache.hadoop.ozone.container.ozoneimpl.MetadataScanResult;
 import org.apache.hadoop.util.DirectBufferPool;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.util.UncheckedAutoCloseable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -206,7 +210,7 @@ public DataScanResult fullCheck(DataTransferThrottler throttler, Canceler cancel
   }
 
   private List<ContainerScanError> scanData(ContainerMerkleTreeWriter currentTree, DataTransferThrottler throttler,
-                                            Canceler canceler) {
+                                            Canceler canceler) throws InterruptedException {
     Preconditions.checkState(containerDataFromDisk != null,
         "invoke loadContainerData prior to calling this function");
 
@@ -337,7 +341,8 @@ private boolean blockInDBWithLock(DBHandle db, BlockData block)
   }
 
   private List<ContainerScanError> scanBlock(DBHandle db, File dbFile, BlockData block,
-      DataTransferThrottler throttler, Canceler canceler, ContainerMerkleTreeWriter currentTree) {
+      DataTransferThrottler throttler, Canceler canceler, ContainerMerkleTreeWriter currentTree)
+      throws InterruptedException {
     ContainerLayoutVersion layout = containerDataFromDisk.getLayoutVersion();
 
     List<ContainerScanError> blockErrors = new ArrayList<>();
@@ -386,10 +391,14 @@ private List<ContainerScanError> scanBlock(DBHandle db, File dbFile, BlockData b
           currentTree.addBlock(block.getBlockID().getLocalID());
           int bytesPerChecksum = chunk.getChecksumData().getBytesPerChecksum();
           ByteBuffer buffer = BUFFER_POOL.getBuffer(bytesPerChecksum);
-          // Keep scanning the block even if there are errors with individual chunks.
-          blockErrors.addAll(verifyChecksum(block, chunk, chunkFile, layout, buffer, currentTree, throttler, canceler));
-          buffer.clear();
-          BUFFER_POOL.returnBuffer(buffer);
+          try {
+            // Keep scanning the block even if there are errors with individual chunks.
+            blockErrors.addAll(verifyChecksum(block, chunk, chunkFile, layout, buffer, currentTree, throttler,
+                canceler, volume));
+          } finally {
+            buffer.clear();
+            BUFFER_POOL.returnBuffer(buffer);
+          }
         }
       }
 
@@ -417,7 +426,8 @@ private List<ContainerScanError> scanBlock(DBHandle db, File dbFile, BlockData b
   @SuppressWarnings("checkstyle:ParameterNumber")
   private static List<ContainerScanError> verifyChecksum(BlockData block,
       ContainerProtos.ChunkInfo chunk, File chunkFile, ContainerLayoutVersion layout, ByteBuffer buffer,
-      ContainerMerkleTreeWriter currentTree, DataTransferThrottler throttler, Canceler canceler) {
+      ContainerMerkleTreeWriter currentTree, DataTransferThrottler throttler, Canceler canceler,
+      HddsVolume hddsVolume) throws InterruptedException {
 
     List<ContainerScanError> scanErrors = new ArrayList<>();
 
@@ -449,7 +459,10 @@ private static List<ContainerScanError> verifyChecksum(BlockData block,
           buffer.limit((int) (chunk.getLen() % bytesPerChecksum));
         }
 
-        int v = channel.read(buffer);
+        final int v;
+        try (UncheckedAutoCloseable ignored = VolumeIOScheduler.acquire(hddsVolume, IOClass.SCAN, buffer.remaining())) {
+          v = channel.read(buffer);
+        }
         if (v == -1) {
           break;
         }
@@ -506,6 +519,12 @@ private static List<ContainerScanError> verifyChecksum(BlockData block,
               new IOException(message)));
         }
       }
+    } catch (InterruptedIOException ex) {
+      // Interrupted waiting for the volume, abort the whole scan without a result.
+      final InterruptedException ie = new InterruptedException("Interrupted scanning chunk " + chunk.getChunkName()
+          + " of block " + block.getBlockID());
+      ie.initCause(ex);
+      throw ie;
     } catch (IOException ex) {
       // An unknown error occurred trying to access the chunk. Report it as corrupted.
       chunkHealthy = false;
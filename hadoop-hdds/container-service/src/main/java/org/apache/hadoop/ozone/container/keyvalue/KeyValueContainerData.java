@@ -92,6 +92,12 @@ public class KeyValueContainerData extends ContainerData {
 
   private final Set<Long> finalizedBlockSet;
 
+  // Whether the block count and bytes used are yet to be computed from the
+  // block table, see KeyValueContainerUtil#loadDeferredBlockStatistics.
+  private volatile boolean blockStatisticsDeferred;
+  // Serializes the computation of the deferred block statistics.
+  private final Object blockStatisticsLock = new Object();
+
   static {
     // Initialize YAML fields
     KV_YAML_FIELDS = Lists.newArrayList();
@@ -323,6 +329,19 @@ public boolean isFinalizedBlockExist(long localID) {
     return finalizedBlockSet.contains(localID);
   }
 
+  public boolean isBlockStatisticsDeferred() {
+    return blockStatisticsDeferred;
+  }
+
+  public void setBlockStatisticsDeferred(boolean deferred) {
+    this.blockStatisticsDeferred = deferred;
+  }
+
+  @JsonIgnore
+  public Object getBlockStatisticsLock() {
+    return blockStatisticsLock;
+  }
+
   public void clearFinalizedBlock(DBHandle db) throws IOException {
     if (!finalizedBlockSet.isEmpty()) {
       // delete from db and clear memory
@@ -381,6 +400,8 @@ public void updateAndCommitDBCounters(DBHandle db,
       BatchOperation batchOperation, int deletedBlockCount,
       long releasedBytes) throws IOException {
     Table<String, Long> metadataTable = db.getStore().getMetadataTable();
+    // The counters must not be persisted before they are computed.
+    KeyValueContainerUtil.loadDeferredBlockStatistics(this, db.getStore());
 
     // Set Bytes used and block count key.
     final BlockByteAndCounts b = getStatistics().getBlockByteAndCounts();
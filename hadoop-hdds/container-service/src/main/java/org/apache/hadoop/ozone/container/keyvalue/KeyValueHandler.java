@@ -58,6 +58,8 @@
 import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.unsupportedRequest;
 import static org.apache.hadoop.hdds.scm.utils.ClientCommandsUtils.getReadChunkVersion;
 import static org.apache.hadoop.hdds.utils.IOUtils.roundUp;
+import static org.apache.hadoop.ozone.OzoneConsts.BLOCK_COMPOSITE_CRC_KEY;
+import static org.apache.hadoop.ozone.OzoneConsts.BLOCK_GROUP_LEN_KEY_IN_PUT_BLOCK;
 import static org.apache.hadoop.ozone.OzoneConsts.INCREMENTAL_CHUNK_LIST;
 import static org.apache.hadoop.ozone.container.checksum.DNContainerOperationClient.createSingleNodePipeline;
 import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.DEFAULT_LAYOUT;
@@ -128,6 +130,7 @@
 import org.apache.hadoop.hdds.utils.io.RandomAccessFileChannel;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.client.checksum.BlockCompositeCrc;
 import org.apache.hadoop.ozone.client.io.BlockInputStreamFactoryImpl;
 import org.apache.hadoop.ozone.common.Checksum;
 import org.apache.hadoop.ozone.common.ChecksumData;
@@ -192,6 +195,7 @@ public class KeyValueHandler extends Handler {
   private final long maxDeleteLockWaitMs;
   private final Function<ByteBuffer, ByteString> byteBufferToByteString;
   private final boolean validateChunkChecksumData;
+  private final int checksumVerifyParallelism;
   private final int chunkSize;
   // A striped lock that is held during container creation.
   private final Striped<Lock> containerCreationLocks;
@@ -225,6 +229,8 @@ public KeyValueHandler(ConfigurationSource config,
     blockManager = new BlockManagerImpl(config);
     validateChunkChecksumData = conf.getObject(
         DatanodeConfiguration.class).isChunkDataValidationCheck();
+    checksumVerifyParallelism = conf.getObject(
+        DatanodeConfiguration.class).getChunkChecksumVerifyParallelism();
     chunkManager = ChunkManagerFactory.createChunkManager(config, blockManager,
         volSet);
     this.checksumManager = checksumManager;
@@ -656,12 +662,13 @@ ContainerCommandResponseProto handlePutBlock(
     try {
       checkContainerOpen(kvContainer);
 
-      ContainerProtos.BlockData data = request.getPutBlock().getBlockData();
+      final boolean eof = !request.getPutBlock().hasEof() || request.getPutBlock().getEof();
+      ContainerProtos.BlockData data = withCompositeCrc(request.getPutBlock().getBlockData(), eof);
       BlockData blockData = BlockData.getFromProtoBuf(data);
       Objects.requireNonNull(blockData, "blockData == null");
 
       boolean endOfBlock = false;
-      if (!request.getPutBlock().hasEof() || request.getPutBlock().getEof()) {
+      if (eof) {
         // There are two cases where client sends empty put block with eof.
         // (1) An EC empty file. In this case, the block/chunk file does not exist,
         //     so no need to flush/close the file.
@@ -700,6 +707,42 @@ ContainerCommandResponseProto handlePutBlock(
     return putBlockResponseSuccess(request, blockDataProto);
   }
 
+  /**
+   * Set the composite CRC of a replicated block in its metadata when the
+   * block is closed with its full chunk list, so that it can be served
+   * without the chunks. An existing value, e.g. sent by the client or
+   * computed for a previous chunk list, is never kept.
+   */
+  private static ContainerProtos.BlockData withCompositeCrc(
+      ContainerProtos.BlockData data, boolean endOfBlock) {
+    boolean compute = endOfBlock && BlockCompositeCrc.isSupported(data.getChunksList());
+    boolean hasKey = false;
+    for (ContainerProtos.KeyValue kv : data.getMetadataList()) {
+      if (kv.getKey().equals(INCREMENTAL_CHUNK_LIST)
+          || kv.getKey().equals(BLOCK_GROUP_LEN_KEY_IN_PUT_BLOCK)) {
+        compute = false;
+      } else if (kv.getKey().equals(BLOCK_COMPOSITE_CRC_KEY)) {
+        hasKey = true;
+      }
+    }
+    if (!compute && !hasKey) {
+      return data;
+    }
+
+    final ContainerProtos.BlockData.Builder builder = data.toBuilder().clearMetadata();
+    for (ContainerProtos.KeyValue kv : data.getMetadataList()) {
+      if (!kv.getKey().equals(BLOCK_COMPOSITE_CRC_KEY)) {
+        builder.addMetadata(kv);
+      }
+    }
+    if (compute) {
+      builder.addMetadata(ContainerProtos.KeyValue.newBuilder()
+          .setKey(BLOCK_COMPOSITE_CRC_KEY)
+          .setValue(BlockCompositeCrc.compute(data.getChunksList()).toMetadataValue()));
+    }
+    return builder.build();
+  }
+
   ContainerCommandResponseProto handleFinalizeBlock(
       ContainerCommandRequestProto request, KeyValueContainer kvContainer) {
     ContainerCommandResponseProto responseProto = checkFaultInjector(request);
@@ -834,6 +877,10 @@ ContainerCommandResponseProto handleGetBlock(
           request.getGetBlock().getBlockID());
       BlockUtils.verifyReplicaIdx(kvContainer, blockID);
       responseData = blockManager.getBlock(kvContainer, blockID).getProtoBufMessage();
+      if (request.getGetBlock().getCompositeCrcOnly()
+          && BlockCompositeCrc.fromBlockData(responseData) != null) {
+        responseData = responseData.toBuilder().clearChunks().build();
+      }
       final long numBytes = responseData.getSerializedSize();
       metrics.incContainerBytesStats(Type.GetBlock, numBytes);
 
@@ -1016,10 +1063,11 @@ private void validateChunkChecksumData(ChunkBufferToByteString data, ChunkInfo i
       try {
         if (data instanceof ChunkBuffer) {
           final ChunkBuffer b = (ChunkBuffer)data;
-          Checksum.verifyChecksum(b.duplicate(b.position(), b.limit()), info.getChecksumData(), 0);
+          Checksum.verifyChecksum(b.duplicate(b.position(), b.limit()), info.getChecksumData(), 0,
+              checksumVerifyParallelism);
         } else {
-          Checksum.verifyChecksum(data.toByteString(byteBufferToByteString).asReadOnlyByteBuffer(),
-              info.getChecksumData(), 0);
+          Checksum.verifyChecksum(ChunkBuffer.wrap(data.toByteString(byteBufferToByteString).asReadOnlyByteBuffer()),
+              info.getChecksumData(), 0, checksumVerifyParallelism);
         }
       } catch (OzoneChecksumException ex) {
         throw ChunkUtils.wrapInStorageContainerException(ex);
@@ -1158,8 +1206,11 @@ public void putBlockForClosedContainer(KeyValueContainer kvContainer, BlockData
       blockData.setBlockCommitSequenceId(blockCommitSequenceId);
     }
 
-    blockManager.putBlockForClosedContainer(kvContainer, blockData, overwriteBscId);
-    ContainerProtos.BlockData blockDataProto = blockData.getProtoBufMessage();
+    // The chunk list may have been rewritten, so the composite CRC is computed again from it.
+    // It is dropped if the block is incomplete, i.e. some of its chunks failed to be repaired.
+    final ContainerProtos.BlockData blockDataProto =
+        withCompositeCrc(blockData.getProtoBufMessage(), overwriteBscId);
+    blockManager.putBlockForClosedContainer(kvContainer, BlockData.getFromProtoBuf(blockDataProto), overwriteBscId);
     final long numBytes = blockDataProto.getSerializedSize();
     // Increment write stats for PutBlock after write.
     metrics.incClosedContainerBytesStats(Type.PutBlock, numBytes);
@@ -1364,6 +1415,7 @@ public Container importContainer(ContainerData originalContainerData,
     HddsVolume targetVolume = originalContainerData.getVolume();
     populateContainerPathFields(container, targetVolume);
     container.importContainerData(rawContainerStream, packer);
+    chunkManager.invalidateContainer(container.getContainerData().getContainerID());
     ContainerLogger.logImported(container.getContainerData());
     sendICR(container);
     return container;
@@ -1375,6 +1427,7 @@ public Container importContainer(ContainerData targetTempContainerData) throws I
     HddsVolume targetVolume = targetTempContainerData.getVolume();
     populateContainerPathFields(container, targetVolume);
     container.importContainerData((KeyValueContainerData) targetTempContainerData);
+    chunkManager.invalidateContainer(container.getContainerData().getContainerID());
     return container;
   }
 
@@ -2396,6 +2449,7 @@ private void deleteInternal(Container container, boolean force)
           }
           containerLocked.markContainerForDelete();
           containerSet.removeContainer(containerId);
+          chunkManager.invalidateContainer(containerId);
           ContainerLogger.logDeleted(containerLocked.getContainerData(), force);
           KeyValueContainerUtil.removeContainer(keyValueContainerData, conf);
         } catch (IOException ioe) {
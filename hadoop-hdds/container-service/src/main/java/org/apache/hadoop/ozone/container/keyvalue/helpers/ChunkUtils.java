@@ -62,12 +62,15 @@
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass;
 import org.apache.hadoop.ozone.container.keyvalue.impl.MappedBufferManager;
 import org.apache.hadoop.util.Time;
 import org.apache.ratis.thirdparty.io.netty.buffer.ByteBuf;
 import org.apache.ratis.thirdparty.io.netty.buffer.PooledByteBufAllocator;
 import org.apache.ratis.thirdparty.io.netty.handler.stream.ChunkedNioFile;
 import org.apache.ratis.util.AutoCloseableLock;
+import org.apache.ratis.util.UncheckedAutoCloseable;
 import org.apache.ratis.util.function.CheckedFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -148,10 +151,13 @@ private static void writeData(ChunkBuffer data, String filename,
 
     validateBufferSize(len, data.remaining());
 
-    final long startTime = Time.monotonicNow();
+    final long startTime;
     final long bytesWritten;
-    try {
+    try (UncheckedAutoCloseable ignored = VolumeIOScheduler.acquire(volume, IOClass.CLIENT_WRITE, len)) {
+      startTime = Time.monotonicNow();
       bytesWritten = writer.applyAsLong(data);
+    } catch (InterruptedIOException e) {
+      throw wrapInStorageContainerException(e);
     } catch (UncheckedIOException e) {
       if (!(e.getCause() instanceof InterruptedIOException)) {
         onFailure(volume);
@@ -221,12 +227,16 @@ private static void readData(File file, long offset, long len,
       HddsVolume volume) throws StorageContainerException {
 
     final Path path = file.toPath();
-    final long startTime = Time.monotonicNow();
+    final long startTime;
     final long bytesRead;
 
-    try (AutoCloseableLock ignoredLock = getFileReadLock(path);
+    try (UncheckedAutoCloseable ignoredSlot = VolumeIOScheduler.acquire(volume, IOClass.CLIENT_READ, len);
+         AutoCloseableLock ignoredLock = getFileReadLock(path);
          FileChannel channel = open(path, READ_OPTIONS, NO_ATTRIBUTES)) {
+      startTime = Time.monotonicNow();
       bytesRead = readMethod.apply(channel);
+    } catch (InterruptedIOException e) {
+      throw wrapInStorageContainerException(e);
     } catch (Exception e) {
       onFailure(volume);
       throw wrapInStorageContainerException(e);
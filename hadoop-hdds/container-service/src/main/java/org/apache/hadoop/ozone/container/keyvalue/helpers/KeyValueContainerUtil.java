@@ -44,6 +44,7 @@
 import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.utils.ContainerInspectorUtil;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.PendingDelete;
 import org.apache.hadoop.ozone.container.metadata.DatanodeStore;
@@ -221,6 +222,22 @@ public static void parseKVContainerData(KeyValueContainerData kvContainerData,
    */
   public static void parseKVContainerData(KeyValueContainerData kvContainerData,
       ConfigurationSource config, boolean skipVerifyChecksum) throws IOException {
+    parseKVContainerData(kvContainerData, config, skipVerifyChecksum, false);
+  }
+
+  /**
+   * @param kvContainerData
+   * @param config
+   * @param skipVerifyChecksum checksum verification should be skipped if the state
+   * has changed to RECOVERING during container import, false otherwise
+   * @param deferBlockStatistics if the block count and bytes used of a container
+   * which is not open are missing from its DB, defer computing them from the
+   * block table to {@link #loadDeferredBlockStatistics}
+   * @throws IOException
+   */
+  public static void parseKVContainerData(KeyValueContainerData kvContainerData,
+      ConfigurationSource config, boolean skipVerifyChecksum,
+      boolean deferBlockStatistics) throws IOException {
 
     long containerID = kvContainerData.getContainerID();
 
@@ -254,7 +271,7 @@ public static void parseKVContainerData(KeyValueContainerData kvContainerData,
     if (kvContainerData.hasSchema(OzoneConsts.SCHEMA_V3)) {
       try (DBHandle db = BlockUtils.getDB(kvContainerData, config)) {
         populateContainerMetadata(kvContainerData,
-            db.getStore(), bCheckChunksFilePath);
+            db.getStore(), bCheckChunksFilePath, deferBlockStatistics);
       }
       return;
     }
@@ -277,7 +294,8 @@ public static void parseKVContainerData(KeyValueContainerData kvContainerData,
             "instance was retrieved from the cache. This should only happen " +
             "in tests");
       }
-      populateContainerMetadata(kvContainerData, store, bCheckChunksFilePath);
+      populateContainerMetadata(kvContainerData, store, bCheckChunksFilePath,
+          deferBlockStatistics);
     } finally {
       if (cachedDB != null) {
         // If we get a cached instance, calling close simply decrements the
@@ -317,7 +335,7 @@ private static void loadAndSetContainerDataChecksum(KeyValueContainerData kvCont
 
   private static void populateContainerMetadata(
       KeyValueContainerData kvContainerData, DatanodeStore store,
-      boolean bCheckChunksFilePath)
+      boolean bCheckChunksFilePath, boolean deferBlockStatistics)
       throws IOException {
     Table<String, Long> metadataTable = store.getMetadataTable();
 
@@ -337,7 +355,8 @@ private static void populateContainerMetadata(
     }
 
     // Set block statistics
-    populateBlockStatistics(kvContainerData, metadataTable, store);
+    populateBlockStatistics(kvContainerData, metadataTable, store,
+        deferBlockStatistics);
     kvContainerData.getStatistics().setBlockPendingDeletion(pendingDeletions.getCount(), pendingDeletions.getBytes());
 
     // If the container is missing a chunks directory, possibly due to the
@@ -412,7 +431,7 @@ private static PendingDelete handlePostDataDistributionFeature(
 
   private static void populateBlockStatistics(
       KeyValueContainerData kvContainerData, Table<String, Long> metadataTable,
-      DatanodeStore store) throws IOException {
+      DatanodeStore store, boolean deferBlockStatistics) throws IOException {
 
     final Long metadataTableBytesUsed = metadataTable.get(kvContainerData.getBytesUsedKey());
     final Long metadataTableBlockCount = metadataTable.get(kvContainerData.getBlockCountKey());
@@ -423,6 +442,14 @@ private static void populateBlockStatistics(
     if (metadataTableBytesUsed != null && metadataTableBlockCount != null) {
       blockBytes = metadataTableBytesUsed;
       blockCount = metadataTableBlockCount;
+    } else if (deferBlockStatistics && (kvContainerData.isClosed()
+        || kvContainerData.isQuasiClosed() || kvContainerData.isUnhealthy())) {
+      // Only open containers get new blocks, so the block table can be
+      // iterated after the datanode has started.
+      LOG.debug("Missing bytesUsed={} or blockCount={} from {}: defer recalculating them",
+          metadataTableBytesUsed, metadataTableBlockCount, metadataTable.getName());
+      kvContainerData.setBlockStatisticsDeferred(true);
+      return;
     } else {
       LOG.warn("Missing bytesUsed={} or blockCount={} from {}: recalculate them from block table",
           metadataTableBytesUsed, metadataTableBlockCount, metadataTable.getName());
@@ -434,6 +461,51 @@ private static void populateBlockStatistics(
     kvContainerData.getStatistics().updateBlocks(blockBytes, blockCount);
   }
 
+  /**
+   * Compute the block count and bytes used of the container from its block
+   * table if that was deferred when it was loaded.
+   * <p>
+   * The check and the computation are done under the block statistics lock of
+   * the container.  A caller that changes the block table and then the
+   * statistics, e.g. block deletion, must call this first, so that its change
+   * cannot be overwritten by a computation from an earlier snapshot of the
+   * block table.
+   */
+  public static void loadDeferredBlockStatistics(
+      KeyValueContainerData kvContainerData, DatanodeStore store)
+      throws IOException {
+    if (!kvContainerData.isBlockStatisticsDeferred()) {
+      return;
+    }
+    synchronized (kvContainerData.getBlockStatisticsLock()) {
+      if (!kvContainerData.isBlockStatisticsDeferred()) {
+        return;
+      }
+      final ContainerData.BlockByteAndCounts blockData =
+          getUsedBytesAndBlockCount(store, kvContainerData);
+      kvContainerData.getStatistics().updateBlocks(blockData.getBytes(),
+          blockData.getCount());
+      kvContainerData.setBlockStatisticsDeferred(false);
+      LOG.debug("Loaded deferred bytesUsed={} and blockCount={} of container {}",
+          blockData.getBytes(), blockData.getCount(),
+          kvContainerData.getContainerID());
+    }
+  }
+
+  /**
+   * Compute the block count and bytes used of the container from its block
+   * table if that was deferred when it was loaded.
+   */
+  public static void loadDeferredBlockStatistics(KeyValueContainer container,
+      ConfigurationSource config) throws IOException {
+    final KeyValueContainerData kvContainerData = container.getContainerData();
+    if (kvContainerData.isBlockStatisticsDeferred()) {
+      try (DBHandle db = BlockUtils.getDB(kvContainerData, config)) {
+        loadDeferredBlockStatistics(kvContainerData, db.getStore());
+      }
+    }
+  }
+
   /**
    * Loads finalizeBlockLocalIds for container in memory.
    * @param kvContainerData - KeyValueContainerData
@@ -40,6 +40,7 @@
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerUtil;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
 import org.apache.hadoop.ozone.container.upgrade.VersionedDatanodeFeatures;
 import org.slf4j.Logger;
@@ -114,6 +115,8 @@ public long putBlockForClosedContainer(Container container, BlockData data, bool
     // against a single DB. We rely on DB level locking to avoid conflicts.
     try (DBHandle db = BlockUtils.getDB(containerData, config)) {
       Objects.requireNonNull(db, "db == null");
+      // The counters must not be persisted before they are computed.
+      KeyValueContainerUtil.loadDeferredBlockStatistics(containerData, db.getStore());
 
       long blockBcsID = data.getBlockCommitSequenceId();
       long containerBcsID = containerData.getBlockCommitSequenceId();
@@ -151,7 +154,7 @@ public long putBlockForClosedContainer(Container container, BlockData data, bool
               containerData.getBlockCount() + 1);
         }
 
-        db.getStore().getBatchHandler().commitBatchOperation(batch);
+        db.getStore().commitPutBlockBatch(batch);
       }
 
       if (overwriteBcsId && blockBcsID > containerBcsID) {
@@ -256,7 +259,7 @@ public long persistPutBlock(KeyValueContainer container,
           db.getStore().getMetadataTable().putWithBatch(batch, containerData.getBlockCountKey(), b.getCount() + 1);
         }
 
-        db.getStore().getBatchHandler().commitBatchOperation(batch);
+        db.getStore().commitPutBlockBatch(batch);
       }
 
       if (bcsId != 0) {
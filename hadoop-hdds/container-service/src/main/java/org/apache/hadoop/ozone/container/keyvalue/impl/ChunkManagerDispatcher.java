@@ -54,7 +54,16 @@ public class ChunkManagerDispatcher implements ChunkManager {
   private final Map<ContainerLayoutVersion, ChunkManager> handlers
       = new EnumMap<>(ContainerLayoutVersion.class);
 
+  /** Cache of hot chunks, or null if disabled. */
+  private final ChunkReadCache readCache;
+
   ChunkManagerDispatcher(boolean sync, BlockManager manager) {
+    this(sync, manager, null);
+  }
+
+  ChunkManagerDispatcher(boolean sync, BlockManager manager,
+      ChunkReadCache readCache) {
+    this.readCache = readCache;
     handlers.put(FILE_PER_CHUNK,
         new FilePerChunkStrategy(sync, manager));
     handlers.put(FILE_PER_BLOCK,
@@ -68,6 +77,7 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
 
     selectHandler(container)
         .writeChunk(container, blockID, info, data, dispatcherContext);
+    invalidate(blockID);
   }
 
   @Override
@@ -91,12 +101,14 @@ public void finishWriteChunks(KeyValueContainer kvContainer,
 
     selectHandler(kvContainer)
         .finishWriteChunks(kvContainer, blockData);
+    invalidate(blockData.getBlockID());
   }
 
   @Override
   public void finalizeWriteChunk(KeyValueContainer kvContainer,
       BlockID blockId) throws IOException {
     selectHandler(kvContainer).finalizeWriteChunk(kvContainer, blockId);
+    invalidate(blockId);
   }
 
   @Override
@@ -104,8 +116,11 @@ public ChunkBufferToByteString readChunk(Container container, BlockID blockID,
       ChunkInfo info, DispatcherContext dispatcherContext)
       throws StorageContainerException {
 
-    final ChunkBufferToByteString data = selectHandler(container)
-        .readChunk(container, blockID, info, dispatcherContext);
+    final ChunkManager handler = selectHandler(container);
+    final ChunkBufferToByteString data = readCache == null
+        ? handler.readChunk(container, blockID, info, dispatcherContext)
+        : readCache.read(container, blockID, info, dispatcherContext,
+            () -> handler.readChunk(container, blockID, info, dispatcherContext));
 
     Objects.requireNonNull(data, "data == null");
     container.getContainerData().getStatistics().updateRead(info.getLen());
@@ -124,7 +139,7 @@ public void deleteChunk(Container container, BlockID blockID, ChunkInfo info)
     // will be updated while deleting the block from the DB
 
     selectHandler(container).deleteChunk(container, blockID, info);
-
+    invalidate(blockID);
   }
 
   @Override
@@ -138,11 +153,28 @@ public void deleteChunks(Container container, BlockData blockData)
     // will be updated while deleting the block from the DB
 
     selectHandler(container).deleteChunks(container, blockData);
+    invalidate(blockData.getBlockID());
+  }
+
+  @Override
+  public void invalidateContainer(long containerID) {
+    if (readCache != null) {
+      readCache.invalidateContainer(containerID);
+    }
+  }
+
+  private void invalidate(BlockID blockID) {
+    if (readCache != null) {
+      readCache.invalidate(blockID);
+    }
   }
 
   @Override
   public void shutdown() {
     handlers.values().forEach(ChunkManager::shutdown);
+    if (readCache != null) {
+      readCache.shutdown();
+    }
   }
 
   private @Nonnull ChunkManager selectHandler(Container container)
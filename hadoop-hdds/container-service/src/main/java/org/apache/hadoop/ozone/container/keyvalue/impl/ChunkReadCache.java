@@ -0,0 +1,676 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import com.google.common.base.Preconditions;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.ContainerBlockID;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.common.ChunkBufferToByteString;
+import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
+import org.apache.hadoop.ozone.container.common.impl.ContainerData;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.ratis.util.function.CheckedSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A datanode-wide, size-bounded cache of the data of hot chunks, keyed by
+ * block ID, offset and length.
+ * <p>
+ * The data is copied to direct buffers, outside of the Java heap.  The buffers
+ * of the evicted and invalidated entries are returned to a bounded pool once
+ * they are no longer read, and reused for the new entries.  A hit hands the
+ * cached buffer to the response when the {@link DispatcherContext} supports
+ * releasing it after the response is sent; otherwise the data is copied.
+ * <p>
+ * The entries
+ * are kept in a segmented LRU: a new entry is put in the probation segment and
+ * is promoted to the protected segment when it is read again.  When the cache
+ * is full, a new entry is admitted only if it is estimated to be read more
+ * frequently than each of the entries it would evict (TinyLFU), so that a scan
+ * does not flush the hot chunks.
+ * <p>
+ * Only the chunks of closed and quasi-closed containers are cached since the
+ * chunks of open containers may still be rewritten.  The chunks of a block are
+ * invalidated when the block is written or deleted, and the chunks of a
+ * container when the container is deleted or imported.
+ */
+public final class ChunkReadCache {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ChunkReadCache.class);
+
+  /** Percentage of the capacity for the protected segment. */
+  private static final int PROTECTED_PERCENT = 80;
+  private static final int MAX_STRIPES = 16;
+  /** The minimum number of the largest entries held by a stripe. */
+  private static final int MIN_ENTRIES_PER_STRIPE = 64;
+  /** Percentage of the capacity for the pool of the free buffers. */
+  private static final int POOL_PERCENT = 10;
+
+  private final long maxEntrySize;
+  /**
+   * The cache is split into stripes by block, each with its own lock,
+   * segments and frequency sketch, so that concurrent reads of different
+   * blocks do not contend on a single lock.
+   */
+  private final Stripe[] stripes;
+  private final FreeBuffers freeBuffers;
+
+  private final ConcurrentMap<HddsVolume, ChunkReadCacheMetrics> metrics =
+      new ConcurrentHashMap<>();
+
+  ChunkReadCache(long capacity, long maxEntrySize) {
+    this(capacity, maxEntrySize, stripeCount(capacity, maxEntrySize));
+  }
+
+  ChunkReadCache(long capacity, long maxEntrySize, int stripeCount) {
+    Preconditions.checkArgument(Integer.bitCount(stripeCount) == 1,
+        "stripeCount = %s must be a power of 2", stripeCount);
+    this.maxEntrySize = Math.min(maxEntrySize, capacity / stripeCount);
+    this.freeBuffers = new FreeBuffers(
+        Math.max(this.maxEntrySize, capacity / 100 * POOL_PERCENT));
+    this.stripes = new Stripe[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      stripes[i] = new Stripe(capacity / stripeCount, freeBuffers);
+    }
+  }
+
+  private static int stripeCount(long capacity, long maxEntrySize) {
+    int count = 1;
+    while (count < MAX_STRIPES && capacity / (2L * count)
+        >= MIN_ENTRIES_PER_STRIPE * maxEntrySize) {
+      count <<= 1;
+    }
+    return count;
+  }
+
+  /**
+   * @return the cache configured by hdds.datanode.chunk.read.cache.size,
+   *         or null if it is disabled.
+   */
+  public static ChunkReadCache create(DatanodeConfiguration conf) {
+    final long size = conf.getChunkReadCacheSize();
+    if (size <= 0) {
+      return null;
+    }
+    final ChunkReadCache cache =
+        new ChunkReadCache(size, conf.getChunkReadCacheMaxEntrySize());
+    LOG.info("Using chunk read cache of {} bytes in {} stripes",
+        size, cache.stripes.length);
+    return cache;
+  }
+
+  /**
+   * Read a chunk from the cache.  If it is not cached, read it using the
+   * given reader, and cache it if it is admitted.
+   */
+  ChunkBufferToByteString read(Container container, BlockID blockID,
+      ChunkInfo info, DispatcherContext dispatcherContext,
+      CheckedSupplier<ChunkBufferToByteString, StorageContainerException> reader)
+      throws StorageContainerException {
+    final ContainerData containerData = container.getContainerData();
+    final HddsVolume volume = containerData.getVolume();
+    if (volume == null || !isCacheable(containerData, info, dispatcherContext)) {
+      return reader.get();
+    }
+
+    final ChunkReadCacheMetrics volumeMetrics = getMetrics(volume);
+    final Key key = new Key(blockID.getContainerBlockID(), info.getOffset(),
+        info.getLen());
+    final Stripe stripe = stripeFor(key.block);
+    final long readGeneration;
+    final boolean releaseSupported = dispatcherContext != null
+        && dispatcherContext.isReleaseSupported();
+    final Entry cached;
+    synchronized (stripe) {
+      cached = stripe.lookup(key);
+      readGeneration = stripe.generation;
+      if (cached != null) {
+        cached.retain();
+      }
+    }
+    if (cached != null) {
+      volumeMetrics.incHits();
+      if (releaseSupported) {
+        dispatcherContext.setReleaseMethod(cached::release);
+        return ChunkBuffer.wrap(cached.data.asReadOnlyBuffer());
+      }
+      try {
+        return ChunkBuffer.wrap(cached.copyData());
+      } finally {
+        cached.release();
+      }
+    }
+
+    volumeMetrics.incMisses();
+    final ChunkBufferToByteString data = reader.get();
+    if (data instanceof ChunkBuffer) {
+      stripe.add(key, (ChunkBuffer) data, readGeneration, volumeMetrics);
+    }
+    return data;
+  }
+
+  private boolean isCacheable(ContainerData containerData, ChunkInfo info,
+      DispatcherContext dispatcherContext) {
+    return (containerData.isClosed() || containerData.isQuasiClosed())
+        && info.getLen() > 0 && info.getLen() <= maxEntrySize
+        && !DispatcherContext.op(dispatcherContext).readFromTmpFile();
+  }
+
+  /**
+   * Invalidate the cached chunks of the given block.  It must be called when
+   * the chunks of the block are written or deleted, including the rewrites of
+   * the chunks of closed containers by reconciliation.
+   */
+  public void invalidate(BlockID blockID) {
+    final ContainerBlockID block = blockID.getContainerBlockID();
+    final List<Entry> removed = new ArrayList<>();
+    final Stripe stripe = stripeFor(block);
+    synchronized (stripe) {
+      stripe.generation++;
+      stripe.removeBlock(block, removed);
+    }
+    removed.forEach(e -> e.onRemove(false));
+  }
+
+  /**
+   * Invalidate the cached chunks of all the blocks of the given container,
+   * when the container is deleted or replaced by an imported copy.
+   */
+  public void invalidateContainer(long containerID) {
+    final List<Entry> removed = new ArrayList<>();
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        stripe.generation++;
+        final List<ContainerBlockID> containerBlocks = new ArrayList<>();
+        for (ContainerBlockID block : stripe.blocks.keySet()) {
+          if (block.getContainerID() == containerID) {
+            containerBlocks.add(block);
+          }
+        }
+        containerBlocks.forEach(block -> stripe.removeBlock(block, removed));
+      }
+    }
+    removed.forEach(e -> e.onRemove(false));
+  }
+
+  public void shutdown() {
+    final List<Entry> removed = new ArrayList<>();
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        removed.addAll(stripe.probation.values());
+        removed.addAll(stripe.protectedSegment.values());
+        stripe.probation.clear();
+        stripe.protectedSegment.clear();
+        stripe.blocks.clear();
+        stripe.probationBytes = 0;
+        stripe.protectedBytes = 0;
+      }
+    }
+    removed.forEach(Entry::release);
+    metrics.values().forEach(ChunkReadCacheMetrics::unregister);
+    metrics.clear();
+  }
+
+  ChunkReadCacheMetrics getMetrics(HddsVolume volume) {
+    return metrics.computeIfAbsent(volume, v -> {
+      final ChunkReadCacheMetrics m =
+          new ChunkReadCacheMetrics(v.getVolumeRootDir());
+      m.register();
+      return m;
+    });
+  }
+
+  long getCachedBytes() {
+    long bytes = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        bytes += stripe.probationBytes + stripe.protectedBytes;
+      }
+    }
+    return bytes;
+  }
+
+  int getEntryCount() {
+    int count = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        count += stripe.probation.size() + stripe.protectedSegment.size();
+      }
+    }
+    return count;
+  }
+
+  int getStripeCount() {
+    return stripes.length;
+  }
+
+  long getFreeBufferBytes() {
+    return freeBuffers.getBytes();
+  }
+
+  private Stripe stripeFor(ContainerBlockID block) {
+    int h = block.hashCode();
+    h ^= h >>> 16;
+    return stripes[h & (stripes.length - 1)];
+  }
+
+  /**
+   * A part of the cache, holding the chunks of a subset of the blocks.
+   * All the fields are guarded by the stripe.
+   */
+  private static final class Stripe {
+    private final long capacity;
+    private final long protectedCapacity;
+    private final LinkedHashMap<Key, Entry> probation =
+        new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Key, Entry> protectedSegment =
+        new LinkedHashMap<>(16, 0.75f, true);
+    /** The cached chunks of each block, for invalidation. */
+    private final Map<ContainerBlockID, Set<Key>> blocks = new HashMap<>();
+    private final FrequencySketch sketch;
+    private final FreeBuffers freeBuffers;
+    private long probationBytes;
+    private long protectedBytes;
+    /**
+     * Incremented when a block is invalidated, so that the data of a read
+     * concurrent with the invalidation is not cached.
+     */
+    private long generation;
+
+    Stripe(long capacity, FreeBuffers freeBuffers) {
+      this.capacity = capacity;
+      this.protectedCapacity = capacity / 100 * PROTECTED_PERCENT;
+      this.sketch = new FrequencySketch(capacity);
+      this.freeBuffers = freeBuffers;
+    }
+
+    /** Look up the entry and record the access, promoting it if in probation. */
+    private Entry lookup(Key key) {
+      sketch.increment(key.hashCode());
+      final Entry e = probation.remove(key);
+      if (e == null) {
+        return protectedSegment.get(key);
+      }
+      probationBytes -= e.size();
+      protectedSegment.put(key, e);
+      protectedBytes += e.size();
+      // demote the least recently used protected entries
+      final Iterator<Entry> i = protectedSegment.values().iterator();
+      while (protectedBytes > protectedCapacity && i.hasNext()) {
+        final Entry demoted = i.next();
+        i.remove();
+        protectedBytes -= demoted.size();
+        probation.put(demoted.key, demoted);
+        probationBytes += demoted.size();
+      }
+      return e;
+    }
+
+    private void add(Key key, ChunkBuffer data, long readGeneration,
+        ChunkReadCacheMetrics volumeMetrics) {
+      final int size = Math.toIntExact(key.length);
+      if (data.remaining() != size) {
+        return;
+      }
+      // check the admission before copying the data
+      synchronized (this) {
+        if (readGeneration != generation || contains(key)) {
+          return;
+        }
+        if (selectVictims(key, size) == null) {
+          volumeMetrics.incRejections();
+          return;
+        }
+      }
+
+      final ByteBuffer buffer = freeBuffers.get(size);
+      if (!copy(data, buffer)) {
+        freeBuffers.put(buffer);
+        return;
+      }
+
+      final boolean invalidated;
+      final List<Entry> victims;
+      synchronized (this) {
+        invalidated = readGeneration != generation || contains(key);
+        victims = invalidated ? null : selectVictims(key, size);
+        if (victims != null) {
+          for (Entry v : victims) {
+            removeFromSegment(v.key);
+            removeFromBlocks(v.key);
+          }
+          probation.put(key, new Entry(key, buffer, volumeMetrics, freeBuffers));
+          probationBytes += size;
+          blocks.computeIfAbsent(key.block, k -> new HashSet<>()).add(key);
+        }
+      }
+
+      if (victims == null) {
+        freeBuffers.put(buffer);
+        if (!invalidated) {
+          volumeMetrics.incRejections();
+        }
+        return;
+      }
+      victims.forEach(v -> v.onRemove(true));
+      volumeMetrics.onAdd(size);
+    }
+
+    private boolean contains(Key key) {
+      return probation.containsKey(key) || protectedSegment.containsKey(key);
+    }
+
+    /**
+     * @return the entries to evict for admitting the given entry,
+     *         in LRU order, or null if it should not be admitted.
+     */
+    private List<Entry> selectVictims(Key key, long size) {
+      long needed = probationBytes + protectedBytes + size - capacity;
+      if (needed <= 0) {
+        return Collections.emptyList();
+      }
+      final int frequency = sketch.frequency(key.hashCode());
+      final List<Entry> victims = new ArrayList<>();
+      for (Map<Key, Entry> segment : Arrays.asList(probation, protectedSegment)) {
+        for (Entry e : segment.values()) {
+          if (sketch.frequency(e.key.hashCode()) >= frequency) {
+            return null;
+          }
+          victims.add(e);
+          needed -= e.size();
+          if (needed <= 0) {
+            return victims;
+          }
+        }
+      }
+      return null;
+    }
+
+    private void removeBlock(ContainerBlockID block, List<Entry> removed) {
+      final Set<Key> keys = blocks.remove(block);
+      if (keys == null) {
+        return;
+      }
+      for (Key key : keys) {
+        final Entry e = removeFromSegment(key);
+        if (e != null) {
+          removed.add(e);
+        }
+      }
+    }
+
+    private Entry removeFromSegment(Key key) {
+      Entry e = probation.remove(key);
+      if (e != null) {
+        probationBytes -= e.size();
+        return e;
+      }
+      e = protectedSegment.remove(key);
+      if (e != null) {
+        protectedBytes -= e.size();
+      }
+      return e;
+    }
+
+    private void removeFromBlocks(Key key) {
+      final Set<Key> keys = blocks.get(key.block);
+      if (keys != null && keys.remove(key) && keys.isEmpty()) {
+        blocks.remove(key.block);
+      }
+    }
+  }
+
+  /**
+   * Copy the data to the given buffer and flip it.
+   * @return true if the buffer is filled exactly with the data.
+   */
+  private static boolean copy(ChunkBuffer data, ByteBuffer copy) {
+    for (ByteBuffer b : data.asByteBufferList()) {
+      if (b.remaining() > copy.remaining()) {
+        return false;
+      }
+      copy.put(b.duplicate());
+    }
+    if (copy.hasRemaining()) {
+      return false;
+    }
+    ((Buffer) copy).flip();
+    return true;
+  }
+
+  /** The cache key of a chunk read. */
+  private static final class Key {
+    private final ContainerBlockID block;
+    private final long offset;
+    private final long length;
+
+    Key(ContainerBlockID block, long offset, long length) {
+      this.block = block;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) o;
+      return offset == that.offset && length == that.length
+          && block.equals(that.block);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(block, offset, length);
+    }
+  }
+
+  /**
+   * A cached chunk.  The buffer is referenced by the cache until the entry is
+   * removed, and by each response reading it until the response is released;
+   * it is returned to the pool when it is no longer referenced.
+   */
+  private static final class Entry {
+    private final Key key;
+    private final ByteBuffer data;
+    private final ChunkReadCacheMetrics metrics;
+    private final FreeBuffers freeBuffers;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    Entry(Key key, ByteBuffer data, ChunkReadCacheMetrics metrics,
+        FreeBuffers freeBuffers) {
+      this.key = key;
+      this.data = data;
+      this.metrics = metrics;
+      this.freeBuffers = freeBuffers;
+    }
+
+    int size() {
+      return data.capacity();
+    }
+
+    /** Must be called while the entry is held by the stripe. */
+    void retain() {
+      Preconditions.checkState(references.getAndIncrement() > 0,
+          "Entry already released");
+    }
+
+    void release() {
+      final int remaining = references.decrementAndGet();
+      Preconditions.checkState(remaining >= 0, "Entry released too many times");
+      if (remaining == 0) {
+        freeBuffers.put(data);
+      }
+    }
+
+    /** Called after the entry is removed from the stripe. */
+    void onRemove(boolean eviction) {
+      metrics.onRemove(size(), eviction);
+      release();
+    }
+
+    /** Copy the data to a heap buffer.  The entry must be retained. */
+    ByteBuffer copyData() {
+      final ByteBuffer copy = ByteBuffer.allocate(data.remaining());
+      copy.put(data.duplicate());
+      ((Buffer) copy).flip();
+      return copy;
+    }
+  }
+
+  /**
+   * A pool of direct buffers of the sizes of the cached chunks, bounded by
+   * the total bytes of the pooled buffers.  The buffers exceeding the bound
+   * are dropped and left to be collected.
+   */
+  private static final class FreeBuffers {
+    private final long maxBytes;
+    private final Map<Integer, ArrayDeque<ByteBuffer>> buffers = new HashMap<>();
+    private long bytes;
+
+    FreeBuffers(long maxBytes) {
+      this.maxBytes = maxBytes;
+    }
+
+    /** @return a cleared direct buffer of the given capacity. */
+    ByteBuffer get(int size) {
+      synchronized (this) {
+        final ArrayDeque<ByteBuffer> free = buffers.get(size);
+        if (free != null) {
+          final ByteBuffer buffer = free.poll();
+          if (free.isEmpty()) {
+            buffers.remove(size);
+          }
+          bytes -= size;
+          return buffer;
+        }
+      }
+      return ByteBuffer.allocateDirect(size);
+    }
+
+    synchronized void put(ByteBuffer buffer) {
+      if (bytes + buffer.capacity() > maxBytes) {
+        return;
+      }
+      ((Buffer) buffer).clear();
+      buffers.computeIfAbsent(buffer.capacity(), k -> new ArrayDeque<>())
+          .push(buffer);
+      bytes += buffer.capacity();
+    }
+
+    synchronized long getBytes() {
+      return bytes;
+    }
+  }
+
+  /**
+   * A count-min sketch estimating the access frequency of the keys with
+   * 4-bit counters.  The counters are halved periodically so that the
+   * estimates favour the recent accesses.
+   */
+  static final class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {
+        0x97cb3127, 0xb8d6ae51, 0x6bb9d6cd, 0xc2b2ae35};
+
+    private final byte[][] counters = new byte[DEPTH][];
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    /** Size the sketch for the number of 16KB entries of the capacity. */
+    FrequencySketch(long capacity) {
+      final long entries = Math.max(1024, Math.min(1 << 20, capacity >> 14));
+      final int width = Integer.highestOneBit((int) entries - 1) << 1;
+      for (int i = 0; i < DEPTH; i++) {
+        counters[i] = new byte[width];
+      }
+      this.mask = width - 1;
+      this.sampleSize = 10 * width;
+    }
+
+    void increment(int hash) {
+      boolean added = false;
+      for (int i = 0; i < DEPTH; i++) {
+        final int index = index(hash, i);
+        if (counters[i][index] < MAX_COUNT) {
+          counters[i][index]++;
+          added = true;
+        }
+      }
+      if (added) {
+        additions++;
+        if (additions >= sampleSize) {
+          reset();
+        }
+      }
+    }
+
+    int frequency(int hash) {
+      int frequency = MAX_COUNT;
+      for (int i = 0; i < DEPTH; i++) {
+        frequency = Math.min(frequency, counters[i][index(hash, i)]);
+      }
+      return frequency;
+    }
+
+    private int index(int hash, int row) {
+      int h = hash * SEEDS[row];
+      h ^= h >>> 16;
+      return h & mask;
+    }
+
+    private void reset() {
+      for (byte[] row : counters) {
+        for (int j = 0; j < row.length; j++) {
+          row[j] >>= 1;
+        }
+      }
+      additions /= 2;
+    }
+  }
+}
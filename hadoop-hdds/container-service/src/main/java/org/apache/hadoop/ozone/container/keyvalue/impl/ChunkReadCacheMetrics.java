@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.metrics2.MetricsCollector;
+import org.apache.hadoop.metrics2.MetricsInfo;
+import org.apache.hadoop.metrics2.MetricsRecordBuilder;
+import org.apache.hadoop.metrics2.MetricsSource;
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.Interns;
+import org.apache.hadoop.metrics2.lib.MetricsRegistry;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Metrics of the {@link ChunkReadCache} for the chunks of a volume.
+ */
+@Metrics(about = "Ozone Chunk Read Cache Metrics",
+    context = OzoneConsts.OZONE)
+public final class ChunkReadCacheMetrics implements MetricsSource {
+
+  private static final String SOURCE_BASENAME =
+      ChunkReadCacheMetrics.class.getSimpleName();
+
+  private static final MetricsInfo HIT_RATIO = Interns.info("hitRatio",
+      "Ratio of the chunk reads served from the cache");
+  private static final MetricsInfo CACHED_BYTES = Interns.info("cachedBytes",
+      "Bytes of the chunks of the volume in the cache");
+
+  private final String metricsSourceName;
+  private final MetricsRegistry registry;
+
+  private final MutableCounterLong hits;
+  private final MutableCounterLong misses;
+  private final MutableCounterLong rejections;
+  private final MutableCounterLong evictions;
+  private final AtomicLong cachedBytes = new AtomicLong();
+
+  ChunkReadCacheMetrics(String volume) {
+    this.metricsSourceName = SOURCE_BASENAME + '-' + volume;
+    this.registry = new MetricsRegistry(metricsSourceName);
+    hits = registry.newCounter("hits", "Number of chunk reads served from the cache", 0L);
+    misses = registry.newCounter("misses", "Number of cacheable chunk reads not in the cache", 0L);
+    rejections = registry.newCounter("rejections", "Number of chunks not admitted to the cache", 0L);
+    evictions = registry.newCounter("evictions", "Number of chunks evicted from the cache", 0L);
+  }
+
+  void register() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    ms.register(metricsSourceName, "Chunk Read Cache Statistics", this);
+  }
+
+  void unregister() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    ms.unregisterSource(metricsSourceName);
+  }
+
+  void incHits() {
+    hits.incr();
+  }
+
+  void incMisses() {
+    misses.incr();
+  }
+
+  void incRejections() {
+    rejections.incr();
+  }
+
+  void onAdd(long bytes) {
+    cachedBytes.addAndGet(bytes);
+  }
+
+  void onRemove(long bytes, boolean evicted) {
+    cachedBytes.addAndGet(-bytes);
+    if (evicted) {
+      evictions.incr();
+    }
+  }
+
+  public long getHits() {
+    return hits.value();
+  }
+
+  public long getMisses() {
+    return misses.value();
+  }
+
+  public long getRejections() {
+    return rejections.value();
+  }
+
+  public long getEvictions() {
+    return evictions.value();
+  }
+
+  public long getCachedBytes() {
+    return cachedBytes.get();
+  }
+
+  public double getHitRatio() {
+    final long h = getHits();
+    final long total = h + getMisses();
+    return total == 0 ? 0 : (double) h / total;
+  }
+
+  @Override
+  public void getMetrics(MetricsCollector collector, boolean all) {
+    MetricsRecordBuilder builder = collector.addRecord(metricsSourceName);
+    registry.snapshot(builder, all);
+    builder.addGauge(HIT_RATIO, getHitRatio())
+        .addGauge(CACHED_BYTES, getCachedBytes());
+  }
+}
@@ -108,6 +108,14 @@ default void finalizeWriteChunk(KeyValueContainer container,
     // no-op
   }
 
+  /**
+   * Drop any data of the given container cached by the chunkManager, when the
+   * container is deleted or replaced by an imported copy.
+   */
+  default void invalidateContainer(long containerID) {
+    // if applicable
+  }
+
   default String streamInit(Container container, BlockID blockID)
       throws StorageContainerException {
     return null;
@@ -48,6 +48,8 @@
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
 import org.apache.hadoop.ozone.container.common.interfaces.Handler;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerUtil;
@@ -55,6 +57,7 @@
 import org.apache.hadoop.ozone.container.ozoneimpl.OzoneContainer;
 import org.apache.hadoop.util.Time;
 import org.apache.ratis.thirdparty.com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.ratis.util.UncheckedAutoCloseable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -228,7 +231,7 @@ public ContainerBackgroundTaskResult deleteViaSchema1(
           continue;
         }
         try {
-          handler.deleteBlock(container, blockData);
+          deleteBlock(handler, container, blockData);
           releasedBytes += KeyValueContainerUtil.getBlockLength(blockData);
           succeedDeletedBlocks.put(blockName, blockData);
         } catch (InvalidProtocolBufferException e) {
@@ -435,6 +438,15 @@ private ContainerBackgroundTaskResult deleteViaTransactionStore(
    * Delete the chunks for the given blocks.
    * Return the deletedBlocks count and number of bytes released.
    */
+  /** Delete the chunks of the block once admitted by the I/O scheduler of the volume. */
+  private void deleteBlock(Handler handler, Container container,
+      BlockData blockData) throws IOException {
+    try (UncheckedAutoCloseable ignored = VolumeIOScheduler.acquire(containerData.getVolume(),
+        IOClass.DELETION, KeyValueContainerUtil.getBlockLengthTryCatch(blockData))) {
+      handler.deleteBlock(container, blockData);
+    }
+  }
+
   private DeleteTransactionStats deleteTransactions(
       List<DeletedBlocksTransaction> delBlocks, Handler handler,
       Table<String, BlockData> blockDataTable, Container container)
@@ -466,7 +478,10 @@ private DeleteTransactionStats deleteTransactions(
         LOG.debug("Deleting block {}", blkLong);
         if (blkInfo == null) {
           try {
-            handler.deleteUnreferenced(container, blkLong);
+            try (UncheckedAutoCloseable ignored = VolumeIOScheduler.acquire(
+                containerData.getVolume(), IOClass.DELETION, 0)) {
+              handler.deleteUnreferenced(container, blkLong);
+            }
           } catch (IOException e) {
             LOG.error("Failed to delete files for unreferenced block {} of" +
                     " container {}", blkLong,
@@ -477,7 +492,7 @@ private DeleteTransactionStats deleteTransactions(
 
         boolean deleted = false;
         try {
-          handler.deleteBlock(container, blkInfo);
+          deleteBlock(handler, container, blkInfo);
           blocksDeleted++;
           deleted = true;
           // Track this block as deleted
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.metadata;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.BatchOperationHandler;
+
+/**
+ * Group commit of {@link BatchOperation}s to a DB shared by many containers.
+ * <p>
+ * A caller of {@link #commit(BatchOperation)} queues its batch. If no commit
+ * is in progress, it becomes the leader: it takes up to the configured number
+ * of queued batches, including the ones queued by other callers while the
+ * previous commit was running, and commits them with a single write.
+ * Each caller returns only after its batch is committed,
+ * or throws the exception of the write its batch was part of.
+ */
+public class BatchGroupCommitter {
+
+  private final BatchOperationHandler handler;
+  private final int maxBatches;
+
+  private final Queue<Request> pending = new ArrayDeque<>();
+  private boolean committing;
+
+  private long commitCount;
+  private long batchCount;
+
+  public BatchGroupCommitter(BatchOperationHandler handler, int maxBatches) {
+    this.handler = Objects.requireNonNull(handler, "handler == null");
+    if (maxBatches < 1) {
+      throw new IllegalArgumentException("maxBatches = " + maxBatches + " < 1");
+    }
+    this.maxBatches = maxBatches;
+  }
+
+  /** A batch waiting to be committed. */
+  private static final class Request {
+    private final BatchOperation batch;
+    private boolean done;
+    private IOException failure;
+
+    private Request(BatchOperation batch) {
+      this.batch = batch;
+    }
+  }
+
+  /**
+   * Commit the given batch together with the batches of concurrent callers.
+   *
+   * @param batch created by the handler of this committer.
+   * @throws IOException if the write containing the batch failed.
+   */
+  public void commit(BatchOperation batch) throws IOException {
+    final Request request = new Request(Objects.requireNonNull(batch, "batch == null"));
+    boolean interrupted = false;
+    synchronized (this) {
+      pending.add(request);
+      while (committing && !request.done) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          // The batch is already queued, it must not be given up.
+          interrupted = true;
+        }
+      }
+      if (!request.done) {
+        committing = true;
+      }
+    }
+
+    try {
+      if (!request.done) {
+        lead(request);
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    if (request.failure != null) {
+      throw request.failure;
+    }
+  }
+
+  /** Commit groups of queued batches until the given one is committed. */
+  private void lead(Request request) {
+    try {
+      while (!isDone(request)) {
+        final List<Request> group = takeGroup();
+        IOException failure = null;
+        try {
+          final List<BatchOperation> batches = new ArrayList<>(group.size());
+          for (Request r : group) {
+            batches.add(r.batch);
+          }
+          handler.commitBatchOperations(batches);
+        } catch (IOException e) {
+          failure = e;
+        } catch (RuntimeException e) {
+          failure = new IOException("Failed to commit " + group.size() + " batches", e);
+        }
+        complete(group, failure);
+      }
+    } finally {
+      synchronized (this) {
+        committing = false;
+        notifyAll();
+      }
+    }
+  }
+
+  private synchronized boolean isDone(Request request) {
+    return request.done;
+  }
+
+  private synchronized List<Request> takeGroup() {
+    final List<Request> group = new ArrayList<>(Math.min(maxBatches, pending.size()));
+    while (group.size() < maxBatches && !pending.isEmpty()) {
+      group.add(pending.poll());
+    }
+    return group;
+  }
+
+  private synchronized void complete(List<Request> group, IOException failure) {
+    for (Request r : group) {
+      r.failure = failure;
+      r.done = true;
+    }
+    commitCount++;
+    batchCount += group.size();
+    notifyAll();
+  }
+
+  synchronized int getPendingCount() {
+    return pending.size();
+  }
+
+  /** @return the number of writes to the DB. */
+  public synchronized long getCommitCount() {
+    return commitCount;
+  }
+
+  /** @return the number of batches committed by the writes to the DB. */
+  public synchronized long getBatchCount() {
+    return batchCount;
+  }
+}
@@ -100,6 +100,15 @@ default BlockData getCompleteBlockData(BlockData blockData,
     return blockData;
   }
 
+  /**
+   * Commit a batch holding the updates of a PutBlock.
+   * A store shared by many containers may commit it together with the
+   * batches of concurrent PutBlocks; it returns once the batch is committed.
+   */
+  default void commitPutBlockBatch(BatchOperation batch) throws IOException {
+    getBatchHandler().commitBatchOperation(batch);
+  }
+
   default void putBlockByID(BatchOperation batch, boolean incremental,
       long localID, BlockData data, KeyValueContainerData containerData,
       boolean endOfBlock)
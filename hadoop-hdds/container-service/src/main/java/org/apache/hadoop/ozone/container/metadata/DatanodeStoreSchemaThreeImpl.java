@@ -68,12 +68,32 @@ public class DatanodeStoreSchemaThreeImpl extends DatanodeStoreWithIncrementalCh
 
   private final Table<String, DeletedBlocksTransaction> deleteTransactionTable;
 
+  /** Merges the PutBlock batches of the containers of the volume, null if disabled. */
+  private final BatchGroupCommitter putBlockCommitter;
+
   public DatanodeStoreSchemaThreeImpl(ConfigurationSource config,
       String dbPath, boolean openReadOnly) throws IOException {
     super(config, new DatanodeSchemaThreeDBDefinition(dbPath, config),
         openReadOnly);
     this.deleteTransactionTable = ((DatanodeSchemaThreeDBDefinition) getDbDef())
         .getDeleteTransactionsColumnFamily().getTable(getStore());
+    final DatanodeConfiguration dc = config.getObject(DatanodeConfiguration.class);
+    this.putBlockCommitter = !openReadOnly && dc.isContainerDbGroupCommitEnabled()
+        ? new BatchGroupCommitter(getBatchHandler(), dc.getContainerDbGroupCommitMaxBatches())
+        : null;
+  }
+
+  @Override
+  public void commitPutBlockBatch(BatchOperation batch) throws IOException {
+    if (putBlockCommitter != null) {
+      putBlockCommitter.commit(batch);
+    } else {
+      super.commitPutBlockBatch(batch);
+    }
+  }
+
+  BatchGroupCommitter getPutBlockCommitter() {
+    return putBlockCommitter;
   }
 
   @Override
@@ -21,9 +21,13 @@
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State.DELETED;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State.RECOVERING;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.io.IOException;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.container.ContainerID;
@@ -33,6 +37,7 @@
 import org.apache.hadoop.ozone.container.common.impl.ContainerData;
 import org.apache.hadoop.ozone.container.common.impl.ContainerDataYaml;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
@@ -78,10 +83,26 @@ public class ContainerReader implements Runnable {
   private final File hddsVolumeDir;
   private final MutableVolumeSet volumeSet;
   private final boolean shouldDelete;
+  private final int loadThreads;
+  private final boolean deferBlockStatistics;
 
   public ContainerReader(
       MutableVolumeSet volSet, HddsVolume volume, ContainerSet cset,
       ConfigurationSource conf, boolean shouldDelete) {
+    this(volSet, volume, cset, conf, shouldDelete,
+        conf.getObject(DatanodeConfiguration.class)
+            .isContainerLoadDeferBlockStatistics());
+  }
+
+  /**
+   * @param deferBlockStatistics whether to defer computing the block count
+   *     and bytes used of the containers, which then has to be done by the
+   *     caller, see {@link KeyValueContainerUtil#loadDeferredBlockStatistics}.
+   */
+  public ContainerReader(
+      MutableVolumeSet volSet, HddsVolume volume, ContainerSet cset,
+      ConfigurationSource conf, boolean shouldDelete,
+      boolean deferBlockStatistics) {
     Objects.requireNonNull(volume,  "volume == null");
     this.hddsVolume = volume;
     this.hddsVolumeDir = hddsVolume.getHddsRootDir();
@@ -89,6 +110,10 @@ public ContainerReader(
     this.config = conf;
     this.volumeSet = volSet;
     this.shouldDelete = shouldDelete;
+    final DatanodeConfiguration dnConf =
+        conf.getObject(DatanodeConfiguration.class);
+    this.loadThreads = dnConf.getContainerLoadThreadsPerVolume();
+    this.deferBlockStatistics = deferBlockStatistics;
   }
 
   @Override
@@ -147,35 +172,68 @@ public void readVolume(File hddsVolumeRootDir) {
       File currentDir = new File(idDir, Storage.STORAGE_DIR_CURRENT);
       File[] containerTopDirs = currentDir.listFiles();
       if (containerTopDirs != null && containerTopDirs.length > 0) {
-        for (File containerTopDir : containerTopDirs) {
-          if (containerTopDir.isDirectory()) {
-            File[] containerDirs = containerTopDir.listFiles();
-            if (containerDirs != null) {
-              for (File containerDir : containerDirs) {
-                try {
-                  File containerFile = ContainerUtils.getContainerFile(
-                      containerDir);
-                  long containerID =
-                      ContainerUtils.getContainerID(containerDir);
-                  if (containerFile.exists()) {
-                    verifyContainerFile(containerID, containerFile);
+        final ExecutorService executor = loadThreads > 1
+            ? Executors.newFixedThreadPool(loadThreads, new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("ContainerLoader-" + hddsVolume.getStorageID() + "-%d")
+                .build())
+            : null;
+        try {
+          for (File containerTopDir : containerTopDirs) {
+            if (containerTopDir.isDirectory()) {
+              File[] containerDirs = containerTopDir.listFiles();
+              if (containerDirs != null) {
+                for (File containerDir : containerDirs) {
+                  if (executor != null) {
+                    executor.execute(() -> loadContainer(containerDir));
                   } else {
-                    LOG.error("Missing .container file for ContainerID: {}",
-                        containerDir.getName());
+                    loadContainer(containerDir);
                   }
-                } catch (Throwable e) {
-                  LOG.error("Failed to load container from {}",
-                      containerDir.getAbsolutePath(), e);
                 }
               }
             }
           }
+        } finally {
+          if (executor != null) {
+            awaitTermination(executor, hddsVolumeRootDir);
+          }
         }
       }
     }
     LOG.info("Finish verifying containers on volume {}", hddsVolumeRootDir);
   }
 
+  private void loadContainer(File containerDir) {
+    try {
+      File containerFile = ContainerUtils.getContainerFile(containerDir);
+      long containerID = ContainerUtils.getContainerID(containerDir);
+      if (containerFile.exists()) {
+        verifyContainerFile(containerID, containerFile);
+      } else {
+        LOG.error("Missing .container file for ContainerID: {}",
+            containerDir.getName());
+      }
+    } catch (Throwable e) {
+      LOG.error("Failed to load container from {}",
+          containerDir.getAbsolutePath(), e);
+    }
+  }
+
+  private static void awaitTermination(ExecutorService executor,
+      File hddsVolumeRootDir) {
+    executor.shutdown();
+    try {
+      while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOG.info("Still loading containers on volume {}", hddsVolumeRootDir);
+      }
+    } catch (InterruptedException e) {
+      LOG.warn("Interrupted while loading containers on volume {}",
+          hddsVolumeRootDir);
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
   private void verifyContainerFile(long containerID,
                                    File containerFile) {
     try {
@@ -214,7 +272,8 @@ public void verifyAndFixupContainerData(ContainerData containerData)
       KeyValueContainerData kvContainerData = (KeyValueContainerData)
           containerData;
       containerData.setVolume(hddsVolume);
-      KeyValueContainerUtil.parseKVContainerData(kvContainerData, config);
+      KeyValueContainerUtil.parseKVContainerData(kvContainerData, config,
+          false, deferBlockStatistics);
       KeyValueContainer kvContainer = new KeyValueContainer(kvContainerData,
           config);
       if (kvContainer.getContainerState() == RECOVERING) {
@@ -44,6 +44,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -96,6 +97,8 @@
 import org.apache.hadoop.ozone.container.diskbalancer.DiskBalancerConfiguration;
 import org.apache.hadoop.ozone.container.diskbalancer.DiskBalancerInfo;
 import org.apache.hadoop.ozone.container.diskbalancer.DiskBalancerService;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerUtil;
 import org.apache.hadoop.ozone.container.keyvalue.statemachine.background.StaleRecoveringContainerScrubbingService;
 import org.apache.hadoop.ozone.container.metadata.WitnessedContainerMetadataStore;
 import org.apache.hadoop.ozone.container.metadata.WitnessedContainerMetadataStoreImpl;
@@ -146,6 +149,8 @@ public class OzoneContainer {
 
   private final ContainerChecksumTreeManager checksumTreeManager;
   private ScheduledExecutorService dbCompactionExecutorService;
+  private ExecutorService blockStatisticsLoader;
+  private final IncrementalReportSender<Container> icrSender;
 
   private final ContainerMetrics metrics;
   private WitnessedContainerMetadataStore witnessedContainerMetadataStore;
@@ -212,7 +217,7 @@ public OzoneContainer(HddsDatanodeService hddsDatanodeService,
     metrics = ContainerMetrics.create(conf);
     handlers = Maps.newHashMap();
 
-    IncrementalReportSender<Container> icrSender = createIncrementalReportSender();
+    icrSender = createIncrementalReportSender();
 
     checksumTreeManager = new ContainerChecksumTreeManager(config);
     for (ContainerType containerType : ContainerType.values()) {
@@ -371,6 +376,7 @@ public void buildContainerSet() throws IOException {
         }
         containerSet.buildMissingContainerSetAndValidate(containerIds, ContainerID::getId);
       }
+      loadDeferredBlockStatistics(volumeThreads.size());
     } catch (InterruptedException ex) {
       LOG.error("Volume Threads Interrupted exception", ex);
       Thread.currentThread().interrupt();
@@ -384,6 +390,56 @@ public void buildContainerSet() throws IOException {
         (Time.monotonicNow() - startTime) / 1000);
   }
 
+  /**
+   * Compute in background the block count and bytes used of the containers
+   * for which it was deferred by
+   * hdds.datanode.container.load.defer.block.statistics.
+   * The full container report may already have been sent with zero values,
+   * so an incremental report is sent for each container once its statistics
+   * are computed.
+   */
+  private void loadDeferredBlockStatistics(int threads) {
+    final List<KeyValueContainer> deferred = new ArrayList<>();
+    for (Container<?> container : containerSet) {
+      if (container instanceof KeyValueContainer && ((KeyValueContainer) container)
+          .getContainerData().isBlockStatisticsDeferred()) {
+        deferred.add((KeyValueContainer) container);
+      }
+    }
+    if (deferred.isEmpty()) {
+      return;
+    }
+
+    LOG.info("Computing block statistics of {} containers in background",
+        deferred.size());
+    final long startTime = Time.monotonicNow();
+    final AtomicLong remaining = new AtomicLong(deferred.size());
+    blockStatisticsLoader = Executors.newFixedThreadPool(Math.max(1, threads),
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat(datanodeDetails.threadNamePrefix()
+                + "BlockStatisticsLoader-%d")
+            .build());
+    for (KeyValueContainer container : deferred) {
+      blockStatisticsLoader.execute(() -> {
+        try {
+          KeyValueContainerUtil.loadDeferredBlockStatistics(container, config);
+          if (containerSet.getContainer(container.getContainerData().getContainerID()) == container) {
+            icrSender.sendDeferred(container);
+          }
+        } catch (IOException e) {
+          LOG.warn("Failed to compute or report block statistics of container {}",
+              container.getContainerData().getContainerID(), e);
+        }
+        if (remaining.decrementAndGet() == 0) {
+          LOG.info("Computed block statistics of {} containers in {}s",
+              deferred.size(), (Time.monotonicNow() - startTime) / 1000);
+        }
+      });
+    }
+    blockStatisticsLoader.shutdown();
+  }
+
   private IncrementalReportSender<Container> createIncrementalReportSender() {
     return new IncrementalReportSender<Container>() {
       private void sendICR(Container container, boolean immediate) throws StorageContainerException {
@@ -600,6 +656,9 @@ public void stop() {
     readChannel.stop();
     this.handlers.values().forEach(Handler::stop);
     hddsDispatcher.shutdown();
+    if (blockStatisticsLoader != null) {
+      blockStatisticsLoader.shutdownNow();
+    }
     volumeChecker.shutdownAndWait(0, TimeUnit.SECONDS);
     volumeSet.shutdown();
     metaVolumeSet.shutdown();
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link ContainerIdMap}.
+ */
+public class TestContainerIdMap {
+
+  @Test
+  void testBasicOperations() {
+    final ContainerIdMap<String> map = new ContainerIdMap<>();
+    assertNull(map.get(1));
+    assertNull(map.putIfAbsent(1, "a"));
+    assertEquals("a", map.putIfAbsent(1, "b"));
+    assertEquals("a", map.get(1));
+    assertEquals("a", map.put(1, "c"));
+    assertEquals("c", map.get(1));
+    assertNull(map.put(0, "zero"));
+    assertEquals(2, map.size());
+
+    assertEquals("c", map.remove(1));
+    assertNull(map.remove(1));
+    assertNull(map.get(1));
+    assertFalse(map.containsKey(1));
+    assertTrue(map.containsKey(0));
+    assertEquals(1, map.size());
+
+    // re-adding a removed ID
+    assertNull(map.putIfAbsent(1, "d"));
+    assertEquals("d", map.get(1));
+    assertEquals(2, map.size());
+
+    assertNull(map.get(ContainerIdMap.EMPTY));
+    assertThrows(IllegalArgumentException.class, () -> map.put(ContainerIdMap.EMPTY, "x"));
+    assertThrows(UnsupportedOperationException.class, () -> map.sortedView().remove(0L));
+  }
+
+  @Test
+  void testAgainstTreeMap() {
+    final ContainerIdMap<Long> map = new ContainerIdMap<>();
+    final TreeMap<Long, Long> expected = new TreeMap<>();
+    final Random random = new Random(1);
+    for (int i = 0; i < 200_000; i++) {
+      // a small key range to exercise removing and re-adding IDs
+      final long id = random.nextInt(20_000);
+      final long value = random.nextLong();
+      switch (random.nextInt(4)) {
+      case 0:
+        assertEquals(expected.remove(id), map.remove(id));
+        break;
+      case 1:
+        assertEquals(expected.putIfAbsent(id, value), map.putIfAbsent(id, value));
+        break;
+      default:
+        assertEquals(expected.put(id, value), map.put(id, value));
+        break;
+      }
+    }
+    assertEquals(expected.size(), map.size());
+    assertEquals(expected, map.sortedView());
+    for (long id = 0; id < 20_000; id++) {
+      assertEquals(expected.get(id), map.get(id));
+    }
+  }
+
+  @Test
+  void testConcurrentReadsAndUpdates() throws Exception {
+    final ContainerIdMap<Long> map = new ContainerIdMap<>();
+    // IDs which are never removed must always be found
+    final int stable = 10_000;
+    for (long id = 0; id < stable; id++) {
+      map.put(id, id);
+    }
+
+    final int writers = 4;
+    final ExecutorService executor = Executors.newFixedThreadPool(writers + 4);
+    final AtomicBoolean done = new AtomicBoolean();
+    try {
+      final List<CompletableFuture<Void>> readers = new ArrayList<>();
+      for (int r = 0; r < 4; r++) {
+        final int seed = r;
+        readers.add(CompletableFuture.runAsync(() -> {
+          final Random random = new Random(seed);
+          while (!done.get()) {
+            final long id = random.nextInt(stable);
+            assertEquals(Long.valueOf(id), map.get(id));
+          }
+        }, executor));
+      }
+
+      final List<CompletableFuture<Map<Long, Long>>> updates = new ArrayList<>();
+      for (int w = 0; w < writers; w++) {
+        final long first = stable + w;
+        updates.add(CompletableFuture.supplyAsync(() -> {
+          // each writer owns the IDs congruent to its index
+          final Map<Long, Long> owned = new HashMap<>();
+          final Random random = new Random(first);
+          for (int i = 0; i < 100_000; i++) {
+            final long id = first + writers * (long) random.nextInt(50_000);
+            if (random.nextBoolean()) {
+              map.put(id, id);
+              owned.put(id, id);
+            } else {
+              map.remove(id);
+              owned.remove(id);
+            }
+          }
+          return owned;
+        }, executor));
+      }
+
+      final Map<Long, Long> expected = new TreeMap<>();
+      for (CompletableFuture<Map<Long, Long>> f : updates) {
+        expected.putAll(f.get());
+      }
+      done.set(true);
+      for (CompletableFuture<Void> f : readers) {
+        f.get();
+      }
+
+      assertEquals(stable + expected.size(), map.size());
+      for (Map.Entry<Long, Long> e : expected.entrySet()) {
+        assertEquals(e.getValue(), map.get(e.getKey()));
+      }
+      assertThat(map.sortedView()).hasSize(stable + expected.size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.volume;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass;
+import org.apache.ozone.test.GenericTestUtils;
+import org.apache.ratis.util.UncheckedAutoCloseable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link VolumeIOScheduler}.
+ */
+public class TestVolumeIOScheduler {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static VolumeIOScheduler newScheduler(int max, int backgroundMax) {
+    return new VolumeIOScheduler("test", max, backgroundMax,
+        Collections.emptyMap(), Collections.emptyMap());
+  }
+
+  /** Acquire a slot in another thread, record the class once admitted and release the slot. */
+  private CompletableFuture<Void> acquireAsync(VolumeIOScheduler scheduler, IOClass c, long bytes,
+      List<IOClass> admitted) {
+    return CompletableFuture.runAsync(() -> {
+      try (UncheckedAutoCloseable ignored = scheduler.acquire(c, bytes)) {
+        synchronized (admitted) {
+          admitted.add(c);
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }, executor);
+  }
+
+  private static void waitForQueueLength(VolumeIOScheduler scheduler, IOClass c, int length) throws Exception {
+    GenericTestUtils.waitFor(() -> scheduler.getQueueLength(c) == length, 10, 10_000);
+  }
+
+  @Test
+  void testMaxOutstanding() throws Exception {
+    final VolumeIOScheduler scheduler = newScheduler(2, 1);
+    final UncheckedAutoCloseable first = scheduler.acquire(IOClass.CLIENT_READ, 10);
+    final UncheckedAutoCloseable second = scheduler.acquire(IOClass.CLIENT_WRITE, 10);
+    assertEquals(1, scheduler.getOutstanding(IOClass.CLIENT_READ));
+    assertEquals(1, scheduler.getOutstanding(IOClass.CLIENT_WRITE));
+
+    final List<IOClass> admitted = new ArrayList<>();
+    final CompletableFuture<Void> third = acquireAsync(scheduler, IOClass.CLIENT_READ, 10, admitted);
+    waitForQueueLength(scheduler, IOClass.CLIENT_READ, 1);
+    assertThat(third).isNotDone();
+
+    first.close();
+    third.get(10, TimeUnit.SECONDS);
+    second.close();
+    assertEquals(0, scheduler.getOutstanding(IOClass.CLIENT_READ));
+    assertEquals(0, scheduler.getOutstanding(IOClass.CLIENT_WRITE));
+    assertEquals(3, scheduler.getMetrics().getWaitTime(IOClass.CLIENT_READ).lastStat().numSamples()
+        + scheduler.getMetrics().getWaitTime(IOClass.CLIENT_WRITE).lastStat().numSamples());
+  }
+
+  @Test
+  void testForegroundBeforeBackground() throws Exception {
+    final VolumeIOScheduler scheduler = newScheduler(1, 1);
+    final UncheckedAutoCloseable busy = scheduler.acquire(IOClass.CLIENT_READ, 10);
+
+    final List<IOClass> admitted = new ArrayList<>();
+    final CompletableFuture<Void> scan = acquireAsync(scheduler, IOClass.SCAN, 10, admitted);
+    waitForQueueLength(scheduler, IOClass.SCAN, 1);
+    final CompletableFuture<Void> write = acquireAsync(scheduler, IOClass.CLIENT_WRITE, 10, admitted);
+    waitForQueueLength(scheduler, IOClass.CLIENT_WRITE, 1);
+
+    busy.close();
+    write.get(10, TimeUnit.SECONDS);
+    scan.get(10, TimeUnit.SECONDS);
+    assertEquals(IOClass.CLIENT_WRITE, admitted.get(0));
+    assertEquals(IOClass.SCAN, admitted.get(1));
+  }
+
+  @Test
+  void testScheduledStreams() throws Exception {
+    final VolumeIOScheduler scheduler = newScheduler(1, 1);
+    final HddsVolume volume = mock(HddsVolume.class);
+    when(volume.getIOScheduler()).thenReturn(scheduler);
+    final byte[] data = new byte[100];
+    data[0] = 1;
+
+    final UncheckedAutoCloseable busy = scheduler.acquire(IOClass.CLIENT_READ, 10);
+    final byte[] read = new byte[data.length];
+    final CompletableFuture<Integer> readFuture = CompletableFuture.supplyAsync(() -> {
+      try (InputStream in = VolumeIOScheduler.schedule(new ByteArrayInputStream(data), volume,
+          IOClass.REPLICATION)) {
+        return in.read(read, 0, read.length);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }, executor);
+    waitForQueueLength(scheduler, IOClass.REPLICATION, 1);
+    assertFalse(readFuture.isDone());
+
+    busy.close();
+    assertEquals(data.length, readFuture.get(10, TimeUnit.SECONDS));
+    assertArrayEquals(data, read);
+
+    final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    try (OutputStream out = VolumeIOScheduler.schedule(written, volume, IOClass.DISK_BALANCER)) {
+      out.write(data);
+    }
+    assertArrayEquals(data, written.toByteArray());
+    assertEquals(0, scheduler.getOutstanding(IOClass.REPLICATION));
+    assertEquals(0, scheduler.getOutstanding(IOClass.DISK_BALANCER));
+
+    final InputStream unscheduled = new ByteArrayInputStream(data);
+    assertSame(unscheduled, VolumeIOScheduler.schedule(unscheduled, null, IOClass.REPLICATION));
+  }
+
+  @Test
+  void testBackgroundMaxOutstanding() throws Exception {
+    final VolumeIOScheduler scheduler = newScheduler(4, 1);
+    final UncheckedAutoCloseable scan = scheduler.acquire(IOClass.SCAN, 10);
+
+    final List<IOClass> admitted = new ArrayList<>();
+    final CompletableFuture<Void> replication = acquireAsync(scheduler, IOClass.REPLICATION, 10, admitted);
+    waitForQueueLength(scheduler, IOClass.REPLICATION, 1);
+
+    // foreground I/Os still get the free slots
+    try (UncheckedAutoCloseable read = scheduler.acquire(IOClass.CLIENT_READ, 10)) {
+      assertEquals(1, scheduler.getOutstanding(IOClass.CLIENT_READ));
+    }
+    assertThat(replication).isNotDone();
+
+    scan.close();
+    replication.get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void testWeightedFairQueuing() throws Exception {
+    final Map<IOClass, Integer> weights = new EnumMap<>(IOClass.class);
+    weights.put(IOClass.CLIENT_READ, 3);
+    weights.put(IOClass.CLIENT_WRITE, 1);
+    final VolumeIOScheduler scheduler = new VolumeIOScheduler("test", 1, 1, weights, Collections.emptyMap());
+    final UncheckedAutoCloseable busy = scheduler.acquire(IOClass.CLIENT_READ, 1);
+
+    final List<IOClass> admitted = new ArrayList<>();
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      futures.add(acquireAsync(scheduler, IOClass.CLIENT_READ, 100, admitted));
+      futures.add(acquireAsync(scheduler, IOClass.CLIENT_WRITE, 100, admitted));
+    }
+    waitForQueueLength(scheduler, IOClass.CLIENT_READ, 8);
+    waitForQueueLength(scheduler, IOClass.CLIENT_WRITE, 8);
+
+    busy.close();
+    for (CompletableFuture<Void> f : futures) {
+      f.get(10, TimeUnit.SECONDS);
+    }
+
+    // while both classes are waiting, reads get 3/4 of the bytes
+    final List<IOClass> firstEight = admitted.subList(0, 8);
+    assertEquals(6, Collections.frequency(firstEight, IOClass.CLIENT_READ), "admitted: " + admitted);
+    assertEquals(2, Collections.frequency(firstEight, IOClass.CLIENT_WRITE), "admitted: " + admitted);
+  }
+
+  @Test
+  void testBandwidth() throws Exception {
+    final Map<IOClass, Long> bandwidth = new EnumMap<>(IOClass.class);
+    bandwidth.put(IOClass.SCAN, 10_000L);
+    final VolumeIOScheduler scheduler = new VolumeIOScheduler("test", 4, 4, Collections.emptyMap(), bandwidth);
+
+    // the burst of one second is used, and 5000 bytes more
+    scheduler.acquire(IOClass.SCAN, 15_000).close();
+
+    // a foreground I/O is not limited
+    final long readStart = System.nanoTime();
+    scheduler.acquire(IOClass.CLIENT_READ, 1_000_000).close();
+    assertThat(System.nanoTime() - readStart).isLessThan(TimeUnit.MILLISECONDS.toNanos(300));
+
+    final long scanStart = System.nanoTime();
+    scheduler.acquire(IOClass.SCAN, 100).close();
+    assertThat(System.nanoTime() - scanStart).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(300));
+  }
+
+  @Test
+  void testInterrupt() throws Exception {
+    final VolumeIOScheduler scheduler = newScheduler(1, 1);
+    final UncheckedAutoCloseable busy = scheduler.acquire(IOClass.CLIENT_WRITE, 10);
+
+    final CompletableFuture<Thread> waiting = new CompletableFuture<>();
+    final CompletableFuture<Void> interrupted = CompletableFuture.runAsync(() -> {
+      waiting.complete(Thread.currentThread());
+      assertThrows(InterruptedIOException.class, () -> scheduler.acquire(IOClass.CLIENT_WRITE, 10));
+    }, executor);
+    waitForQueueLength(scheduler, IOClass.CLIENT_WRITE, 1);
+    waiting.get().interrupt();
+    interrupted.get(10, TimeUnit.SECONDS);
+    assertEquals(0, scheduler.getQueueLength(IOClass.CLIENT_WRITE));
+
+    busy.close();
+    scheduler.acquire(IOClass.CLIENT_WRITE, 10).close();
+    assertEquals(0, scheduler.getOutstanding(IOClass.CLIENT_WRITE));
+  }
+
+  @Test
+  void testParse() {
+    final Map<IOClass, String> parsed = VolumeIOScheduler.parse(" client_read=8, SCAN = 50MB ,");
+    assertEquals(2, parsed.size());
+    assertEquals("8", parsed.get(IOClass.CLIENT_READ));
+    assertEquals("50MB", parsed.get(IOClass.SCAN));
+    assertThat(VolumeIOScheduler.parse("")).isEmpty();
+    assertThrows(IllegalArgumentException.class, () -> VolumeIOScheduler.parse("SCAN"));
+    assertThrows(IllegalArgumentException.class, () -> VolumeIOScheduler.parse("UNKNOWN=1"));
+  }
+}
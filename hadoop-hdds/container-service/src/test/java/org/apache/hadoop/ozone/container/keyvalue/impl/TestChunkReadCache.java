@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.RandomUtils;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.common.ChunkBufferToByteString;
+import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
+import org.apache.hadoop.ozone.container.common.impl.ContainerData;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link ChunkReadCache}.
+ */
+public class TestChunkReadCache {
+  private static final int CHUNK_SIZE = 1024;
+
+  private final AtomicInteger diskReads = new AtomicInteger();
+  private HddsVolume volume;
+  private ChunkReadCache cache;
+
+  @BeforeEach
+  void setup() {
+    volume = mock(HddsVolume.class);
+    when(volume.getVolumeRootDir()).thenReturn("/data/" + System.nanoTime());
+    cache = new ChunkReadCache(8 * CHUNK_SIZE, CHUNK_SIZE);
+  }
+
+  @AfterEach
+  void cleanup() {
+    cache.shutdown();
+  }
+
+  private Container<?> newContainer(boolean closed) {
+    final ContainerData data = mock(ContainerData.class);
+    when(data.getVolume()).thenReturn(volume);
+    when(data.isClosed()).thenReturn(closed);
+    final Container<?> container = mock(Container.class);
+    when(container.getContainerData()).thenReturn(data);
+    return container;
+  }
+
+  private static byte[] chunkData(BlockID blockID) {
+    final byte[] data = new byte[CHUNK_SIZE];
+    data[0] = (byte) blockID.getLocalID();
+    return data;
+  }
+
+  private ChunkBufferToByteString read(Container<?> container, BlockID blockID)
+      throws StorageContainerException {
+    return read(container, blockID, null);
+  }
+
+  private ChunkBufferToByteString read(Container<?> container, BlockID blockID,
+      DispatcherContext context) throws StorageContainerException {
+    final ChunkInfo info = new ChunkInfo(blockID.getLocalID() + "_chunk_1", 0, CHUNK_SIZE);
+    return cache.read(container, blockID, info, context, () -> {
+      diskReads.incrementAndGet();
+      return ChunkBuffer.wrap(ByteBuffer.wrap(chunkData(blockID)));
+    });
+  }
+
+  @Test
+  void testHit() throws Exception {
+    final Container<?> container = newContainer(true);
+    final BlockID blockID = new BlockID(1, 1);
+    final byte[] data = RandomUtils.secure().randomBytes(CHUNK_SIZE);
+    final ChunkInfo info = new ChunkInfo("1_chunk_1", 0, CHUNK_SIZE);
+    for (int i = 0; i < 3; i++) {
+      final ChunkBufferToByteString read = cache.read(container, blockID, info, null, () -> {
+        diskReads.incrementAndGet();
+        return ChunkBuffer.wrap(ByteBuffer.wrap(data));
+      });
+      assertEquals(ByteBuffer.wrap(data), read.toByteString().asReadOnlyByteBuffer());
+    }
+    assertEquals(1, diskReads.get());
+    assertEquals(CHUNK_SIZE, cache.getCachedBytes());
+
+    final ChunkReadCacheMetrics metrics = cache.getMetrics(volume);
+    assertEquals(2, metrics.getHits());
+    assertEquals(1, metrics.getMisses());
+    assertEquals(2.0 / 3, metrics.getHitRatio(), 1e-9);
+    assertEquals(CHUNK_SIZE, metrics.getCachedBytes());
+  }
+
+  @Test
+  void testOpenContainerNotCached() throws Exception {
+    final Container<?> container = newContainer(false);
+    final BlockID blockID = new BlockID(1, 1);
+    read(container, blockID);
+    read(container, blockID);
+    assertEquals(2, diskReads.get());
+    assertEquals(0, cache.getEntryCount());
+    assertEquals(0, cache.getMetrics(volume).getMisses());
+  }
+
+  @Test
+  void testInvalidate() throws Exception {
+    final Container<?> container = newContainer(true);
+    final BlockID blockID = new BlockID(1, 1);
+    final BlockID other = new BlockID(1, 2);
+    read(container, blockID);
+    read(container, other);
+    assertEquals(2, cache.getEntryCount());
+
+    cache.invalidate(blockID);
+    assertEquals(1, cache.getEntryCount());
+    assertEquals(CHUNK_SIZE, cache.getMetrics(volume).getCachedBytes());
+
+    read(container, blockID);
+    read(container, other);
+    assertEquals(3, diskReads.get());
+  }
+
+  @Test
+  void testInvalidateContainer() throws Exception {
+    cache.shutdown();
+    cache = new ChunkReadCache(64 * CHUNK_SIZE, CHUNK_SIZE, 4);
+    final Container<?> container = newContainer(true);
+    for (long localID = 1; localID <= 8; localID++) {
+      read(container, new BlockID(1, localID));
+      read(container, new BlockID(2, localID));
+    }
+    assertEquals(16, cache.getEntryCount());
+
+    cache.invalidateContainer(1);
+    assertEquals(8, cache.getEntryCount());
+    assertEquals(8 * CHUNK_SIZE, cache.getMetrics(volume).getCachedBytes());
+
+    diskReads.set(0);
+    for (long localID = 1; localID <= 8; localID++) {
+      read(container, new BlockID(2, localID));
+    }
+    assertEquals(0, diskReads.get());
+  }
+
+  @Test
+  void testConcurrentReadsOfStripes() throws Exception {
+    cache.shutdown();
+    cache = new ChunkReadCache(64 * CHUNK_SIZE, CHUNK_SIZE, 4);
+    assertEquals(4, cache.getStripeCount());
+    final Container<?> container = newContainer(true);
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 100; i++) {
+            final BlockID blockID = new BlockID(1, i % 16);
+            final ChunkBufferToByteString read = read(container, blockID);
+            assertEquals(ByteBuffer.wrap(chunkData(blockID)),
+                read.toByteString().asReadOnlyByteBuffer());
+            if (i % 10 == 0) {
+              cache.invalidate(blockID);
+            }
+          }
+          return null;
+        }));
+      }
+      for (Future<?> f : futures) {
+        f.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(cache.getCachedBytes()).isLessThanOrEqualTo(64 * CHUNK_SIZE);
+    assertEquals(cache.getEntryCount() * (long) CHUNK_SIZE,
+        cache.getMetrics(volume).getCachedBytes());
+  }
+
+  @Test
+  void testScanDoesNotEvictHotChunks() throws Exception {
+    final Container<?> container = newContainer(true);
+    // read the hot chunks repeatedly
+    for (int i = 0; i < 3; i++) {
+      for (long hot = 1; hot <= 6; hot++) {
+        read(container, new BlockID(1, hot));
+      }
+    }
+    assertEquals(6, diskReads.get());
+
+    // a scan reads many other chunks once
+    for (long cold = 100; cold < 200; cold++) {
+      read(container, new BlockID(1, cold));
+      assertThat(cache.getCachedBytes()).isLessThanOrEqualTo(8 * CHUNK_SIZE);
+    }
+    assertThat(cache.getMetrics(volume).getRejections()).isPositive();
+
+    diskReads.set(0);
+    for (long hot = 1; hot <= 6; hot++) {
+      final ChunkBufferToByteString read = read(container, new BlockID(1, hot));
+      assertEquals(ByteBuffer.wrap(chunkData(new BlockID(1, hot))),
+          read.toByteString().asReadOnlyByteBuffer());
+    }
+    assertEquals(0, diskReads.get());
+  }
+
+  @Test
+  void testRemovedBuffersAreReused() throws Exception {
+    final Container<?> container = newContainer(true);
+    final BlockID blockID = new BlockID(1, 1);
+    read(container, blockID);
+    assertEquals(0, cache.getFreeBufferBytes());
+
+    cache.invalidate(blockID);
+    assertEquals(CHUNK_SIZE, cache.getFreeBufferBytes());
+
+    final BlockID other = new BlockID(1, 2);
+    read(container, other);
+    assertEquals(0, cache.getFreeBufferBytes());
+    assertEquals(ByteBuffer.wrap(chunkData(other)),
+        read(container, other).toByteString().asReadOnlyByteBuffer());
+
+    cache.shutdown();
+    assertEquals(CHUNK_SIZE, cache.getFreeBufferBytes());
+  }
+
+  @Test
+  void testBufferReleasedAfterResponse() throws Exception {
+    final Container<?> container = newContainer(true);
+    final BlockID blockID = new BlockID(1, 1);
+    read(container, blockID);
+
+    final DispatcherContext context = DispatcherContext
+        .newBuilder(DispatcherContext.Op.HANDLE_READ_CHUNK)
+        .setReleaseSupported(true)
+        .build();
+    final ChunkBufferToByteString hit = read(container, blockID, context);
+    assertEquals(1, diskReads.get());
+
+    // the buffer is still referenced by the response
+    cache.invalidate(blockID);
+    assertEquals(0, cache.getFreeBufferBytes());
+    assertEquals(ByteBuffer.wrap(chunkData(blockID)),
+        hit.toByteString().asReadOnlyByteBuffer());
+
+    context.release();
+    assertEquals(CHUNK_SIZE, cache.getFreeBufferBytes());
+  }
+
+  @Test
+  void testLargeReadNotCached() throws Exception {
+    final Container<?> container = newContainer(true);
+    final ChunkInfo info = new ChunkInfo("1_chunk_1", 0, 2 * CHUNK_SIZE);
+    for (int i = 0; i < 2; i++) {
+      cache.read(container, new BlockID(1, 1), info, null, () -> {
+        diskReads.incrementAndGet();
+        return ChunkBuffer.wrap(ByteBuffer.allocate(2 * CHUNK_SIZE));
+      });
+    }
+    assertEquals(2, diskReads.get());
+    assertEquals(0, cache.getEntryCount());
+  }
+}
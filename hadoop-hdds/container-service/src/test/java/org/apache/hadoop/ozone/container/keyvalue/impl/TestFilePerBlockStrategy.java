@@ -25,6 +25,7 @@
 import static org.apache.hadoop.ozone.container.checksum.ContainerMerkleTreeTestUtils.verifyAllDataChecksumsMatch;
 import static org.apache.hadoop.ozone.container.common.ContainerTestUtils.WRITE_STAGE;
 import static org.apache.hadoop.ozone.container.common.impl.ContainerImplTestUtils.newContainerSet;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -46,6 +47,7 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.client.checksum.BlockCompositeCrc;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.common.ChunkBufferToByteString;
 import org.apache.hadoop.ozone.container.ContainerTestHelper;
@@ -367,6 +369,61 @@ public void testPutBlockForClosedContainer() throws IOException {
     assertEquals(2L, containerData.getBlockCommitSequenceId());
   }
 
+  @Test
+  public void testPutBlockForClosedContainerUpdatesCompositeCrc() throws IOException {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    KeyValueContainer kvContainer = getKeyValueContainer();
+    KeyValueContainerData containerData = kvContainer.getContainerData();
+    ContainerSet containerSet = newContainerSet();
+    containerSet.addContainer(kvContainer);
+    KeyValueHandler keyValueHandler = createKeyValueHandler(containerSet);
+    keyValueHandler.markContainerForClose(kvContainer);
+    keyValueHandler.closeContainer(kvContainer);
+
+    List<ContainerProtos.ChunkInfo> chunkInfoList = new ArrayList<>();
+    ChunkInfo info = getChunk(getBlockID().getLocalID(), 0, 0, 20);
+    ChunkBuffer chunkData = ContainerTestHelper.getData(20);
+    setDataChecksum(info, chunkData);
+    chunkInfoList.add(info.getProtoBufMessage());
+    keyValueHandler.writeChunkForClosedContainer(info, getBlockID(), chunkData, kvContainer);
+
+    // The block keeps the composite CRC of its previous chunk list
+    BlockData putBlockData = new BlockData(getBlockID());
+    putBlockData.addMetadata(OzoneConsts.BLOCK_COMPOSITE_CRC_KEY, "CRC32:1048576:1234");
+    putBlockData.setChunks(chunkInfoList);
+    keyValueHandler.putBlockForClosedContainer(kvContainer, putBlockData, 1L, true);
+    assertEquals(BlockCompositeCrc.compute(chunkInfoList).toMetadataValue(),
+        getStoredBlock(containerData, conf).getMetadata().get(OzoneConsts.BLOCK_COMPOSITE_CRC_KEY));
+
+    // A repaired chunk is appended
+    ChunkInfo newInfo = getChunk(getBlockID().getLocalID(), 1, 20, 20);
+    chunkData = ContainerTestHelper.getData(20);
+    setDataChecksum(newInfo, chunkData);
+    chunkInfoList.add(newInfo.getProtoBufMessage());
+    keyValueHandler.writeChunkForClosedContainer(newInfo, getBlockID(), chunkData, kvContainer);
+    putBlockData.setChunks(chunkInfoList);
+    keyValueHandler.putBlockForClosedContainer(kvContainer, putBlockData, 2L, true);
+    String compositeCrc = BlockCompositeCrc.compute(chunkInfoList).toMetadataValue();
+    assertEquals(compositeCrc,
+        getStoredBlock(containerData, conf).getMetadata().get(OzoneConsts.BLOCK_COMPOSITE_CRC_KEY));
+
+    // An incomplete repair does not store a composite CRC
+    putBlockData = new BlockData(getBlockID());
+    putBlockData.addMetadata(OzoneConsts.BLOCK_COMPOSITE_CRC_KEY, compositeCrc);
+    putBlockData.setChunks(chunkInfoList.subList(0, 1));
+    keyValueHandler.putBlockForClosedContainer(kvContainer, putBlockData, 2L, false);
+    assertThat(getStoredBlock(containerData, conf).getMetadata())
+        .doesNotContainKey(OzoneConsts.BLOCK_COMPOSITE_CRC_KEY);
+  }
+
+  private BlockData getStoredBlock(KeyValueContainerData containerData,
+      OzoneConfiguration conf) throws IOException {
+    try (DBHandle dbHandle = BlockUtils.getDB(containerData, conf)) {
+      return dbHandle.getStore().getBlockDataTable()
+          .get(containerData.getBlockKey(getBlockID().getLocalID()));
+    }
+  }
+
   private boolean blockDataEquals(BlockData putBlockData, BlockData getBlockData) {
     return getBlockData.getSize() == putBlockData.getSize() &&
         Objects.equals(getBlockData.getBlockID(), putBlockData.getBlockID()) &&
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.metadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.BatchOperationHandler;
+import org.apache.hadoop.hdds.utils.db.RocksDatabaseException;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link BatchGroupCommitter}.
+ */
+public class TestBatchGroupCommitter {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /** Records the groups of batches, the first write blocks until released. */
+  private static final class RecordingHandler implements BatchOperationHandler {
+    private final List<List<BatchOperation>> groups = new ArrayList<>();
+    private final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile RocksDatabaseException failure;
+
+    @Override
+    public BatchOperation initBatchOperation() {
+      return mock(BatchOperation.class);
+    }
+
+    @Override
+    public void commitBatchOperation(BatchOperation operation) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void commitBatchOperations(List<? extends BatchOperation> operations)
+        throws RocksDatabaseException {
+      synchronized (groups) {
+        groups.add(new ArrayList<>(operations));
+      }
+      firstWriteStarted.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RocksDatabaseException("interrupted");
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    }
+
+    List<List<BatchOperation>> getGroups() {
+      synchronized (groups) {
+        return new ArrayList<>(groups);
+      }
+    }
+  }
+
+  private CompletableFuture<Void> commitAsync(BatchGroupCommitter committer, BatchOperation batch) {
+    return CompletableFuture.runAsync(() -> {
+      try {
+        committer.commit(batch);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }, executor);
+  }
+
+  @Test
+  void testConcurrentBatchesAreMerged() throws Exception {
+    final RecordingHandler handler = new RecordingHandler();
+    final BatchGroupCommitter committer = new BatchGroupCommitter(handler, 64);
+
+    final BatchOperation first = handler.initBatchOperation();
+    final CompletableFuture<Void> firstCommit = commitAsync(committer, first);
+    handler.firstWriteStarted.await();
+
+    // queued while the first write is in progress
+    final List<BatchOperation> queued = new ArrayList<>();
+    final List<CompletableFuture<Void>> queuedCommits = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      final BatchOperation batch = handler.initBatchOperation();
+      queued.add(batch);
+      queuedCommits.add(commitAsync(committer, batch));
+    }
+    GenericTestUtils.waitFor(() -> committer.getPendingCount() == queued.size(), 10, 10_000);
+    assertThat(firstCommit).isNotDone();
+    queuedCommits.forEach(f -> assertThat(f).isNotDone());
+
+    handler.release.countDown();
+    firstCommit.get();
+    for (CompletableFuture<Void> f : queuedCommits) {
+      f.get();
+    }
+
+    final List<List<BatchOperation>> groups = handler.getGroups();
+    assertEquals(2, groups.size());
+    assertEquals(1, groups.get(0).size());
+    assertSame(first, groups.get(0).get(0));
+    assertThat(groups.get(1)).containsExactlyInAnyOrderElementsOf(queued);
+    assertEquals(2, committer.getCommitCount());
+    assertEquals(6, committer.getBatchCount());
+  }
+
+  @Test
+  void testMaxBatches() throws Exception {
+    final RecordingHandler handler = new RecordingHandler();
+    final BatchGroupCommitter committer = new BatchGroupCommitter(handler, 2);
+
+    final CompletableFuture<Void> firstCommit = commitAsync(committer, handler.initBatchOperation());
+    handler.firstWriteStarted.await();
+    final List<CompletableFuture<Void>> queuedCommits = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      queuedCommits.add(commitAsync(committer, handler.initBatchOperation()));
+    }
+    GenericTestUtils.waitFor(() -> committer.getPendingCount() == 5, 10, 10_000);
+
+    handler.release.countDown();
+    firstCommit.get();
+    for (CompletableFuture<Void> f : queuedCommits) {
+      f.get();
+    }
+
+    final List<List<BatchOperation>> groups = handler.getGroups();
+    assertEquals(4, groups.size());
+    for (List<BatchOperation> group : groups) {
+      assertThat(group.size()).isBetween(1, 2);
+    }
+    assertEquals(6, committer.getBatchCount());
+  }
+
+  @Test
+  void testFailureIsReportedToTheGroup() throws Exception {
+    final RecordingHandler handler = new RecordingHandler();
+    final BatchGroupCommitter committer = new BatchGroupCommitter(handler, 64);
+    handler.failure = new RocksDatabaseException("write failed");
+
+    final CompletableFuture<Void> firstCommit = commitAsync(committer, handler.initBatchOperation());
+    handler.firstWriteStarted.await();
+    final List<CompletableFuture<Void>> queuedCommits = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      queuedCommits.add(commitAsync(committer, handler.initBatchOperation()));
+    }
+    GenericTestUtils.waitFor(() -> committer.getPendingCount() == 3, 10, 10_000);
+    handler.release.countDown();
+
+    queuedCommits.add(firstCommit);
+    for (CompletableFuture<Void> f : queuedCommits) {
+      final ExecutionException e = assertThrows(ExecutionException.class, f::get);
+      assertSame(handler.failure, e.getCause().getCause());
+    }
+
+    // the committer is usable after a failure
+    handler.failure = null;
+    committer.commit(handler.initBatchOperation());
+    assertEquals(3, committer.getCommitCount());
+  }
+
+  @Test
+  void testInvalidMaxBatches() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new BatchGroupCommitter(new RecordingHandler(), 0));
+  }
+}
@@ -44,6 +44,9 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.hadoop.conf.StorageUnit;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
@@ -51,6 +54,7 @@
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos;
 import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
 import org.apache.hadoop.hdds.utils.db.InMemoryTestTable;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
@@ -65,6 +69,7 @@
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
 import org.apache.hadoop.ozone.container.common.interfaces.VolumeChoosingPolicy;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.utils.ContainerCache;
 import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
@@ -77,6 +82,7 @@
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueHandler;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerUtil;
 import org.apache.hadoop.ozone.container.metadata.ContainerCreateInfo;
 import org.apache.hadoop.ozone.container.metadata.DatanodeStoreSchemaOneImpl;
 import org.apache.hadoop.ozone.container.metadata.DatanodeStoreSchemaThreeImpl;
@@ -666,6 +672,132 @@ private void setBlockCommitSequence(KeyValueContainerData cData, long val)
     cData.updateBlockCommitSequenceId(val);
   }
 
+  @ContainerTestVersionInfo.ContainerTest
+  public void testParallelLoadingWithDeferredBlockStatistics(
+      ContainerTestVersionInfo versionInfo) throws Exception {
+    setLayoutAndSchemaVersion(versionInfo);
+    setup(versionInfo);
+    // closed containers without block count and bytes used in their DB
+    final int closedContainers = 16;
+    for (int i = 0; i < closedContainers; i++) {
+      addBlocks(createContainer(100 + i), false);
+    }
+    ContainerCache.getInstance(conf).shutdownCache();
+
+    final DatanodeConfiguration dnConf =
+        conf.getObject(DatanodeConfiguration.class);
+    dnConf.setContainerLoadThreadsPerVolume(4);
+    dnConf.setContainerLoadDeferBlockStatistics(true);
+    conf.setFromObject(dnConf);
+    ContainerReader containerReader = new ContainerReader(volumeSet,
+        hddsVolume, containerSet, conf, true);
+    containerReader.readVolume(hddsVolume.getHddsRootDir());
+    assertEquals(2 + closedContainers, containerSet.containerCount());
+
+    // open containers are never deferred
+    KeyValueContainerData openData = (KeyValueContainerData)
+        containerSet.getContainer(1).getContainerData();
+    assertFalse(openData.isBlockStatisticsDeferred());
+    assertEquals(blockCount, openData.getBlockCount());
+
+    for (int i = 0; i < closedContainers; i++) {
+      KeyValueContainer container =
+          (KeyValueContainer) containerSet.getContainer(100 + i);
+      KeyValueContainerData data = container.getContainerData();
+      assertTrue(data.isBlockStatisticsDeferred());
+      assertEquals(0, data.getBlockCount());
+
+      KeyValueContainerUtil.loadDeferredBlockStatistics(container, conf);
+      assertFalse(data.isBlockStatisticsDeferred());
+      assertEquals(blockCount, data.getBlockCount());
+      assertEquals(blockCount * blockLen, data.getBytesUsed());
+    }
+  }
+
+  @ContainerTestVersionInfo.ContainerTest
+  public void testBlockStatisticsNotDeferredByCaller(
+      ContainerTestVersionInfo versionInfo) throws Exception {
+    setLayoutAndSchemaVersion(versionInfo);
+    setup(versionInfo);
+    addBlocks(createContainer(100), false);
+    ContainerCache.getInstance(conf).shutdownCache();
+
+    final DatanodeConfiguration dnConf =
+        conf.getObject(DatanodeConfiguration.class);
+    dnConf.setContainerLoadDeferBlockStatistics(true);
+    conf.setFromObject(dnConf);
+    // e.g. the debug tools, which do not compute deferred statistics
+    ContainerReader containerReader = new ContainerReader(volumeSet,
+        hddsVolume, containerSet, conf, false, false);
+    containerReader.readVolume(hddsVolume.getHddsRootDir());
+
+    KeyValueContainerData data = (KeyValueContainerData)
+        containerSet.getContainer(100).getContainerData();
+    assertFalse(data.isBlockStatisticsDeferred());
+    assertEquals(blockCount, data.getBlockCount());
+    assertEquals(blockCount * blockLen, data.getBytesUsed());
+  }
+
+  @ContainerTestVersionInfo.ContainerTest
+  public void testDeferredBlockStatisticsWithConcurrentDeletion(
+      ContainerTestVersionInfo versionInfo) throws Exception {
+    setLayoutAndSchemaVersion(versionInfo);
+    setup(versionInfo);
+    final int closedContainers = 16;
+    final int deletedBlocks = 3;
+    final List<KeyValueContainer> containers = new ArrayList<>();
+    for (int i = 0; i < closedContainers; i++) {
+      KeyValueContainer container = createContainer(100 + i);
+      addBlocks(container, false);
+      container.getContainerData().setBlockStatisticsDeferred(true);
+      containers.add(container);
+    }
+
+    final ExecutorService loader = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<?>> loads = new ArrayList<>();
+      for (KeyValueContainer container : containers) {
+        loads.add(loader.submit(() -> {
+          KeyValueContainerUtil.loadDeferredBlockStatistics(container, conf);
+          return null;
+        }));
+      }
+      // delete blocks the way BlockDeletingTask does, while loading
+      for (KeyValueContainer container : containers) {
+        KeyValueContainerData data = container.getContainerData();
+        try (DBHandle db = BlockUtils.getDB(data, conf);
+             BatchOperation batch = db.getStore().getBatchHandler()
+                 .initBatchOperation()) {
+          for (long localID = 0; localID < deletedBlocks; localID++) {
+            db.getStore().getBlockDataTable()
+                .deleteWithBatch(batch, data.getBlockKey(localID));
+          }
+          data.updateAndCommitDBCounters(db, batch, deletedBlocks,
+              deletedBlocks * blockLen);
+          data.getStatistics().decDeletion(deletedBlocks * blockLen,
+              deletedBlocks * blockLen, deletedBlocks, deletedBlocks);
+        }
+      }
+      for (Future<?> load : loads) {
+        load.get();
+      }
+    } finally {
+      loader.shutdownNow();
+    }
+
+    for (KeyValueContainer container : containers) {
+      KeyValueContainerData data = container.getContainerData();
+      assertFalse(data.isBlockStatisticsDeferred());
+      assertEquals(blockCount - deletedBlocks, data.getBlockCount());
+      assertEquals((blockCount - deletedBlocks) * blockLen,
+          data.getBytesUsed());
+      try (DBHandle db = BlockUtils.getDB(data, conf)) {
+        assertEquals(blockCount - deletedBlocks, db.getStore()
+            .getMetadataTable().get(data.getBlockCountKey()).longValue());
+      }
+    }
+  }
+
   @ContainerTestVersionInfo.ContainerTest
   public void testMarkedDeletedContainerCleared(
       ContainerTestVersionInfo versionInfo) throws Exception {
@@ -24,6 +24,8 @@
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.base.Preconditions;
@@ -46,6 +48,8 @@
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.IncrementalContainerReportProto;
 import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.hdds.utils.db.Table;
@@ -56,17 +60,21 @@
 import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+import org.apache.hadoop.ozone.container.common.statemachine.StateContext;
 import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
 import org.apache.hadoop.ozone.container.common.volume.RoundRobinVolumeChoosingPolicy;
 import org.apache.hadoop.ozone.container.common.volume.StorageVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeChoosingPolicyFactory;
 import org.apache.hadoop.ozone.container.keyvalue.ContainerTestVersionInfo;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 
 /**
  * This class is used to test OzoneContainer.
@@ -218,6 +226,56 @@ public void testBuildContainerMap(ContainerTestVersionInfo versionInfo)
     ozoneContainer.stop();
   }
 
+  @ContainerTestVersionInfo.ContainerTest
+  public void testDeferredBlockStatisticsAreReported(
+      ContainerTestVersionInfo versionInfo) throws Exception {
+    initTest(versionInfo);
+    for (HddsVolume volume : StorageVolumeUtil.getHddsVolumesList(volumeSet.getVolumesList())) {
+      volume.format(clusterId);
+    }
+    // closed containers without block count and bytes used in their DB
+    int numTestContainers = 3;
+    for (int i = 0; i < numTestContainers; i++) {
+      KeyValueContainerData containerData = new KeyValueContainerData(i,
+          layout, (long) StorageUnit.GB.toBytes(1),
+          UUID.randomUUID().toString(), datanodeDetails.getUuidString());
+      keyValueContainer = new KeyValueContainer(containerData, conf);
+      keyValueContainer.create(volumeSet, volumeChoosingPolicy, clusterId);
+      addBlocks(keyValueContainer, 2, 3, 65536);
+      try (DBHandle db = BlockUtils.getDB(containerData, conf)) {
+        db.getStore().getMetadataTable().delete(containerData.getBlockCountKey());
+        db.getStore().getMetadataTable().delete(containerData.getBytesUsedKey());
+      }
+      keyValueContainer.markContainerForClose();
+      keyValueContainer.close();
+    }
+    BlockUtils.shutdownCache(conf);
+
+    DatanodeConfiguration dnConf = conf.getObject(DatanodeConfiguration.class);
+    dnConf.setContainerLoadDeferBlockStatistics(true);
+    conf.setFromObject(dnConf);
+    StateContext context = ContainerTestUtils.getMockContext(datanodeDetails, conf);
+    OzoneContainer ozoneContainer = new OzoneContainer(datanodeDetails, conf,
+        context, VolumeChoosingPolicyFactory.getPolicy(conf));
+    try {
+      ozoneContainer.buildContainerSet();
+
+      // An incremental report is sent for each container once its statistics
+      // are computed in the background
+      ArgumentCaptor<IncrementalContainerReportProto> captor =
+          ArgumentCaptor.forClass(IncrementalContainerReportProto.class);
+      verify(context, timeout(10_000).times(numTestContainers))
+          .addIncrementalReport(captor.capture());
+      for (IncrementalContainerReportProto icr : captor.getAllValues()) {
+        ContainerReplicaProto report = icr.getReport(0);
+        assertEquals(2, report.getKeyCount());
+        assertEquals(2 * 3 * 65536, report.getUsed());
+      }
+    } finally {
+      ozoneContainer.stop();
+    }
+  }
+
   @ContainerTestVersionInfo.ContainerTest
   public void testBuildNodeReport(ContainerTestVersionInfo versionInfo)
       throws Exception {
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ozone.erasurecode.rawcoder;
+
+import java.nio.ByteBuffer;
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.ozone.erasurecode.rawcoder.util.RSUtil;
+
+/**
+ * A raw erasure decoder in RS code scheme in pure Java, compatible with
+ * {@link RSRawDecoder} and the native/ISA-L coder.  The decode matrix is
+ * computed by {@link RSRawDecoder}, the data is processed like in
+ * {@link RSBlockedRawEncoder}.
+ */
+@InterfaceAudience.Private
+public class RSBlockedRawDecoder extends RSRawDecoder {
+  // the coding tables mulTables was computed from
+  private byte[] mulTablesSource;
+  private byte[][] mulTables;
+
+  public RSBlockedRawDecoder(ECReplicationConfig ecReplicationConfig) {
+    super(ecReplicationConfig);
+  }
+
+  @Override
+  protected void doDecode(ByteBufferDecodingState decodingState) {
+    prepareDecoding(decodingState.inputs, decodingState.erasedIndexes);
+
+    final int[] validIndexes = getValidIndexes();
+    ByteBuffer[] realInputs = new ByteBuffer[getNumDataUnits()];
+    for (int i = 0; i < getNumDataUnits(); i++) {
+      realInputs[i] = decodingState.inputs[validIndexes[i]];
+    }
+    RSUtil.encodeDataBlocked(getMulTables(decodingState.outputs.length),
+        decodingState.decodeLength, realInputs, decodingState.outputs);
+  }
+
+  @Override
+  protected void doDecode(ByteArrayDecodingState decodingState) {
+    prepareDecoding(decodingState.inputs, decodingState.erasedIndexes);
+
+    final int[] validIndexes = getValidIndexes();
+    byte[][] realInputs = new byte[getNumDataUnits()][];
+    int[] realInputOffsets = new int[getNumDataUnits()];
+    for (int i = 0; i < getNumDataUnits(); i++) {
+      realInputs[i] = decodingState.inputs[validIndexes[i]];
+      realInputOffsets[i] = decodingState.inputOffsets[validIndexes[i]];
+    }
+    RSUtil.encodeDataBlocked(getMulTables(decodingState.outputs.length),
+        decodingState.decodeLength, realInputs, realInputOffsets,
+        decodingState.outputs, decodingState.outputOffsets);
+  }
+
+  private byte[][] getMulTables(int numOutputs) {
+    final byte[] gfTables = getGfTables();
+    if (gfTables != mulTablesSource) {
+      mulTables = RSUtil.initMulTables(gfTables, getNumDataUnits(),
+          numOutputs);
+      mulTablesSource = gfTables;
+    }
+    return mulTables;
+  }
+}
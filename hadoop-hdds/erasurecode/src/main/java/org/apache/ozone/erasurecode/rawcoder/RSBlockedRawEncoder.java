@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ozone.erasurecode.rawcoder;
+
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.ozone.erasurecode.rawcoder.util.RSUtil;
+
+/**
+ * A raw erasure encoder in RS code scheme in pure Java, compatible with
+ * {@link RSRawEncoder} and the native/ISA-L coder.  The data is processed in
+ * blocks with loops the JIT compiler can optimize better, and direct buffers
+ * are accessed in bulk, see {@link RSUtil#encodeDataBlocked}.
+ */
+@InterfaceAudience.Private
+public class RSBlockedRawEncoder extends RawErasureEncoder {
+  private final byte[][] mulTables;
+
+  public RSBlockedRawEncoder(ECReplicationConfig ecReplicationConfig) {
+    super(ecReplicationConfig);
+
+    if (getNumAllUnits() >= RSUtil.GF.getFieldSize()) {
+      throw new IllegalArgumentException(
+          "Invalid numDataUnits and numParityUnits");
+    }
+
+    byte[] encodeMatrix = new byte[getNumAllUnits() * getNumDataUnits()];
+    RSUtil.genCauchyMatrix(encodeMatrix, getNumAllUnits(), getNumDataUnits());
+    byte[] gfTables = new byte[getNumAllUnits() * getNumDataUnits() * 32];
+    RSUtil.initTables(getNumDataUnits(), getNumParityUnits(), encodeMatrix,
+        getNumDataUnits() * getNumDataUnits(), gfTables);
+    mulTables = RSUtil.initMulTables(gfTables, getNumDataUnits(),
+        getNumParityUnits());
+  }
+
+  @Override
+  protected void doEncode(ByteBufferEncodingState encodingState) {
+    RSUtil.encodeDataBlocked(mulTables, encodingState.encodeLength,
+        encodingState.inputs, encodingState.outputs);
+  }
+
+  @Override
+  protected void doEncode(ByteArrayEncodingState encodingState) {
+    RSUtil.encodeDataBlocked(mulTables, encodingState.encodeLength,
+        encodingState.inputs, encodingState.inputOffsets,
+        encodingState.outputs, encodingState.outputOffsets);
+  }
+}
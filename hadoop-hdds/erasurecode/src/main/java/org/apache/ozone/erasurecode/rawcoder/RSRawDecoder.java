@@ -100,7 +100,7 @@ protected void doDecode(ByteArrayDecodingState decodingState) {
         decodingState.outputs, decodingState.outputOffsets);
   }
 
-  private <T> void prepareDecoding(T[] inputs, int[] erasedIndexes) {
+  <T> void prepareDecoding(T[] inputs, int[] erasedIndexes) {
     int[] tmpValidIndexes = CoderUtil.getValidIndexes(inputs);
     if (Arrays.equals(this.cachedErasedIndexes, erasedIndexes) &&
         Arrays.equals(this.validIndexes, tmpValidIndexes)) {
@@ -114,6 +114,22 @@ private <T> void prepareDecoding(T[] inputs, int[] erasedIndexes) {
     processErasures(erasedIndexes);
   }
 
+  /**
+   * @return the coding tables of the erasures of the last
+   * {@link #prepareDecoding} call, replaced when the erasures change.
+   */
+  byte[] getGfTables() {
+    return gfTables;
+  }
+
+  /**
+   * @return indexes of the inputs used for decoding by the last
+   * {@link #prepareDecoding} call.
+   */
+  int[] getValidIndexes() {
+    return validIndexes;
+  }
+
   private void processErasures(int[] erasedIndexes) {
     this.decodeMatrix = new byte[getNumAllUnits() * getNumDataUnits()];
     this.invertMatrix = new byte[getNumAllUnits() * getNumDataUnits()];
@@ -31,6 +31,13 @@ public final class RSUtil {
   public static final GaloisField GF = GaloisField.getInstance();
   public static final int PRIMITIVE_ROOT = 2;
 
+  /**
+   * Bytes of each input and output processed together by
+   * {@link #encodeDataBlocked}, so that the outputs stay in the CPU cache
+   * while all the inputs are added to them.
+   */
+  private static final int BLOCK_SIZE = 16 * 1024;
+
   private RSUtil() {
   }
 
@@ -183,4 +190,124 @@ public static void encodeData(byte[] gfTables, ByteBuffer[] inputs,
     }
   }
 
+  /**
+   * Get the rows of the GF multiply table of the coefficients of the coding
+   * tables generated by {@link #initTables}, for
+   * {@link #encodeDataBlocked}.
+   * @return row of output l and input j at index l * numInputs + j
+   */
+  public static byte[][] initMulTables(byte[] gfTables, int numInputs,
+      int numOutputs) {
+    final byte[][] mulTables = new byte[numOutputs * numInputs][];
+    for (int l = 0; l < numOutputs; l++) {
+      for (int j = 0; j < numInputs; j++) {
+        final byte c = gfTables[j * 32 + l * numInputs * 32 + 1];
+        mulTables[l * numInputs + j] = GF256.gfMulTab()[c & 0xff];
+      }
+    }
+    return mulTables;
+  }
+
+  /**
+   * Same as {@link #encodeData(byte[], int, byte[][], int[], byte[][], int[])}
+   * with the multiply tables from {@link #initMulTables}, faster because:
+   * <ul>
+   *   <li>each output is written while adding the first input, so it need
+   *   not be reset first,</li>
+   *   <li>the loops are simple enough for the JIT compiler to remove the
+   *   array bounds checks and unroll them,</li>
+   *   <li>the data is processed in blocks, so the output is still in the CPU
+   *   cache when the next input is added to it.</li>
+   * </ul>
+   */
+  public static void encodeDataBlocked(byte[][] mulTables, int dataLen,
+      byte[][] inputs, int[] inputOffsets, byte[][] outputs,
+      int[] outputOffsets) {
+    final int numInputs = inputs.length;
+    final int numOutputs = outputs.length;
+
+    for (int from = 0; from < dataLen; from += BLOCK_SIZE) {
+      final int len = Math.min(BLOCK_SIZE, dataLen - from);
+      for (int l = 0; l < numOutputs; l++) {
+        final byte[] output = outputs[l];
+        final int oPos = outputOffsets[l] + from;
+
+        byte[] tableLine = mulTables[l * numInputs];
+        byte[] input = inputs[0];
+        int iPos = inputOffsets[0] + from;
+        for (int i = 0; i < len; i++) {
+          output[oPos + i] = tableLine[0xff & input[iPos + i]];
+        }
+
+        for (int j = 1; j < numInputs; j++) {
+          tableLine = mulTables[l * numInputs + j];
+          input = inputs[j];
+          iPos = inputOffsets[j] + from;
+          for (int i = 0; i < len; i++) {
+            output[oPos + i] ^= tableLine[0xff & input[iPos + i]];
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * See above.  Buffers without an accessible array, e.g. direct buffers,
+   * are copied block by block to and from temporary arrays, which is much
+   * faster than accessing them byte by byte.  Positions and limits of the
+   * buffers are not changed.
+   */
+  public static void encodeDataBlocked(byte[][] mulTables, int dataLen,
+      ByteBuffer[] inputs, ByteBuffer[] outputs) {
+    if (hasArrays(inputs) && hasArrays(outputs)) {
+      encodeDataBlocked(mulTables, dataLen, arrays(inputs), offsets(inputs),
+          arrays(outputs), offsets(outputs));
+      return;
+    }
+
+    final byte[][] inputBlocks = new byte[inputs.length][BLOCK_SIZE];
+    final byte[][] outputBlocks = new byte[outputs.length][BLOCK_SIZE];
+    final int[] inputOffsets = new int[inputs.length];
+    final int[] outputOffsets = new int[outputs.length];
+    for (int from = 0; from < dataLen; from += BLOCK_SIZE) {
+      final int len = Math.min(BLOCK_SIZE, dataLen - from);
+      for (int j = 0; j < inputs.length; j++) {
+        final ByteBuffer input = inputs[j].duplicate();
+        input.position(input.position() + from);
+        input.get(inputBlocks[j], 0, len);
+      }
+      encodeDataBlocked(mulTables, len, inputBlocks, inputOffsets,
+          outputBlocks, outputOffsets);
+      for (int l = 0; l < outputs.length; l++) {
+        final ByteBuffer output = outputs[l].duplicate();
+        output.position(output.position() + from);
+        output.put(outputBlocks[l], 0, len);
+      }
+    }
+  }
+
+  private static boolean hasArrays(ByteBuffer[] buffers) {
+    for (ByteBuffer buffer : buffers) {
+      if (!buffer.hasArray()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static byte[][] arrays(ByteBuffer[] buffers) {
+    final byte[][] arrays = new byte[buffers.length][];
+    for (int i = 0; i < buffers.length; i++) {
+      arrays[i] = buffers[i].array();
+    }
+    return arrays;
+  }
+
+  private static int[] offsets(ByteBuffer[] buffers) {
+    final int[] offsets = new int[buffers.length];
+    for (int i = 0; i < buffers.length; i++) {
+      offsets[i] = buffers[i].arrayOffset() + buffers[i].position();
+    }
+    return offsets;
+  }
 }
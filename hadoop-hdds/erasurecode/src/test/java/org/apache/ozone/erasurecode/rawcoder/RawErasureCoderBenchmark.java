@@ -55,7 +55,8 @@ public final class RawErasureCoderBenchmark {
   private static final List<RawErasureCoderFactory> CODER_MAKERS =
       Collections.unmodifiableList(
           Arrays.asList(new DummyRawErasureCoderFactory(),
-              new RSRawErasureCoderFactory()));
+              new RSRawErasureCoderFactory(),
+              new RSBlockedRawErasureCoderFactory()));
 
   private RawErasureCoderBenchmark() {
     // prevent instantiation
@@ -63,7 +64,8 @@ private RawErasureCoderBenchmark() {
 
   enum CODER {
     DUMMY_CODER("Dummy coder"),
-    RS_CODER("Reed-Solomon Java coder");
+    RS_CODER("Reed-Solomon Java coder"),
+    RS_BLOCKED_CODER("Reed-Solomon blocked Java coder");
 
     private final String name;
 
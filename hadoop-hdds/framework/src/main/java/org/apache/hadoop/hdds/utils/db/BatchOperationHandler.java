@@ -17,6 +17,8 @@
 
 package org.apache.hadoop.hdds.utils.db;
 
+import java.util.List;
+
 /**
  * Create and commit batch operation for one DB.
  */
@@ -37,4 +39,17 @@ public interface BatchOperationHandler {
    * @param operation which contains all the required batch operation.
    */
   void commitBatchOperation(BatchOperation operation) throws RocksDatabaseException;
+
+  /**
+   * Commit the given batch operations, in order.
+   * An implementation may merge them into a single write to the DB.
+   *
+   * @param operations the batch operations created by this handler.
+   */
+  default void commitBatchOperations(List<? extends BatchOperation> operations)
+      throws RocksDatabaseException {
+    for (BatchOperation operation : operations) {
+      commitBatchOperation(operation);
+    }
+  }
 }
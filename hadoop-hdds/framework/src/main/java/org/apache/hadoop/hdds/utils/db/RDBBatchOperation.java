@@ -22,7 +22,9 @@
 import com.google.common.base.Preconditions;
 import java.io.Closeable;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -272,11 +274,11 @@ private class FamilyCache {
       }
 
       /** Prepare batch write for the entire family. */
-      void prepareBatchWrite() throws RocksDatabaseException {
+      void prepareBatchWrite(ManagedWriteBatch target) throws RocksDatabaseException {
         Preconditions.checkState(!isCommit, "%s is already committed.", this);
         isCommit = true;
         for (Op op : ops.values()) {
-          op.apply(family, writeBatch);
+          op.apply(family, target);
         }
         debug(this::summary);
       }
@@ -363,8 +365,13 @@ void delete(ColumnFamily family, CodecBuffer key) {
 
     /** Prepare batch write for the entire cache. */
     UncheckedAutoCloseable prepareBatchWrite() throws RocksDatabaseException {
+      return prepareBatchWrite(writeBatch);
+    }
+
+    /** Prepare batch write for the entire cache into the given batch. */
+    UncheckedAutoCloseable prepareBatchWrite(ManagedWriteBatch target) throws RocksDatabaseException {
       for (Map.Entry<String, FamilyCache> e : name2cache.entrySet()) {
-        e.getValue().prepareBatchWrite();
+        e.getValue().prepareBatchWrite(target);
       }
       return this::clear;
     }
@@ -426,6 +433,31 @@ public void commit(RocksDatabase db, ManagedWriteOptions writeOptions) throws Ro
     }
   }
 
+  /**
+   * Commit the given operations in a single {@link ManagedWriteBatch},
+   * i.e. with a single write (and a single WAL sync, if enabled) to the db.
+   * The operations are applied in the given order,
+   * so a later operation overwrites the same key of an earlier one.
+   */
+  public static void commit(RocksDatabase db, List<RDBBatchOperation> operations)
+      throws RocksDatabaseException {
+    if (operations.size() == 1) {
+      operations.get(0).commit(db);
+      return;
+    }
+    final List<UncheckedAutoCloseable> prepared = new ArrayList<>(operations.size());
+    try (ManagedWriteBatch merged = new ManagedWriteBatch()) {
+      for (RDBBatchOperation operation : operations) {
+        debug(() -> String.format("%s: commit-merged %s",
+            operation.name, operation.opCache.getCommitString()));
+        prepared.add(operation.opCache.prepareBatchWrite(merged));
+      }
+      db.batchWrite(merged);
+    } finally {
+      prepared.forEach(UncheckedAutoCloseable::close);
+    }
+  }
+
   @Override
   public void close() {
     debug(() -> String.format("%s: close", name));
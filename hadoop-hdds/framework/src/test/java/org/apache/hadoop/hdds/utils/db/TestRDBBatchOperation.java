@@ -19,6 +19,7 @@
 
 import static org.apache.hadoop.hdds.StringUtils.string2Bytes;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
@@ -210,4 +211,29 @@ public void testRDBBatchOperationWithRDB() throws IOException {
       }
     }
   }
+
+  @Test
+  public void testCommitMultipleBatchOperations() throws IOException {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    String tableName = "test";
+    try (DBStore dbStore = getDBStore(conf, "Merged.db", tableName)) {
+      Table<String, String> table = dbStore.getTable(tableName, StringCodec.get(), StringCodec.get());
+      table.put("key0", "value0");
+      try (BatchOperation batch1 = dbStore.initBatchOperation();
+           BatchOperation batch2 = dbStore.initBatchOperation();
+           BatchOperation batch3 = dbStore.initBatchOperation()) {
+        table.putWithBatch(batch1, "key1", "value1");
+        table.putWithBatch(batch1, "key2", "value2");
+        // a later batch overwrites the keys of an earlier one
+        table.putWithBatch(batch2, "key2", "value22");
+        table.deleteWithBatch(batch2, "key0");
+        table.putWithBatch(batch3, "key3", "value3");
+        dbStore.commitBatchOperations(Arrays.asList(batch1, batch2, batch3));
+      }
+      assertNull(table.get("key0"));
+      assertEquals("value1", table.get("key1"));
+      assertEquals("value22", table.get("key2"));
+      assertEquals("value3", table.get("key3"));
+    }
+  }
 }
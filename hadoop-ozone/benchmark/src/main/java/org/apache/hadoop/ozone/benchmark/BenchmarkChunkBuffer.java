@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark the {@link ChunkBuffer} implementations:
+ * a single buffer, an incrementally allocated buffer
+ * and a list of wrapped buffers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class BenchmarkChunkBuffer {
+
+  /** The {@link ChunkBuffer} implementation to benchmark. */
+  public enum Impl {
+    SINGLE, INCREMENTAL, LIST
+  }
+
+  @Param({"SINGLE", "INCREMENTAL", "LIST"})
+  private Impl impl;
+
+  @Param({"4194304"})
+  private int capacity;
+
+  @Param({"65536"})
+  private int increment;
+
+  @Param({"4096", "65536"})
+  private int writeSize;
+
+  @Param({"16384"})
+  private int bytesPerChecksum;
+
+  private byte[] source;
+  private List<ByteBuffer> wrapped;
+
+  @Setup
+  public void setup() {
+    source = new byte[writeSize];
+    ThreadLocalRandom.current().nextBytes(source);
+
+    wrapped = new ArrayList<>();
+    for (int offset = 0; offset < capacity; offset += increment) {
+      wrapped.add(ByteBuffer.allocateDirect(Math.min(increment, capacity - offset)));
+    }
+  }
+
+  private ChunkBuffer newChunkBuffer() {
+    switch (impl) {
+    case SINGLE:
+      return ChunkBuffer.allocate(capacity);
+    case INCREMENTAL:
+      return ChunkBuffer.allocate(capacity, increment);
+    case LIST:
+      for (ByteBuffer b : wrapped) {
+        b.clear();
+      }
+      return ChunkBuffer.wrap(wrapped);
+    default:
+      throw new IllegalArgumentException("Unexpected impl " + impl);
+    }
+  }
+
+  /** Fill a buffer with small writes, as BlockOutputStream does. */
+  @Benchmark
+  public void fill(Blackhole blackhole) {
+    try (ChunkBuffer buffer = newChunkBuffer()) {
+      while (buffer.remaining() >= writeSize) {
+        buffer.put(source);
+      }
+      blackhole.consume(buffer.position());
+    }
+  }
+
+  /** Fill a buffer and then slice it per checksum window and as ByteStrings. */
+  @Benchmark
+  public void fillAndIterate(Blackhole blackhole) {
+    try (ChunkBuffer buffer = newChunkBuffer()) {
+      while (buffer.remaining() >= writeSize) {
+        buffer.put(source);
+      }
+      buffer.rewind();
+      for (ByteBuffer b : buffer.iterate(bytesPerChecksum)) {
+        blackhole.consume(b.remaining());
+      }
+      buffer.rewind();
+      final ByteString bytes = buffer.toByteString();
+      blackhole.consume(bytes.size());
+    }
+  }
+}
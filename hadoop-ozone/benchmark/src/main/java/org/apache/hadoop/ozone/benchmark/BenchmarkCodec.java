@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.scm.container.ContainerInfo;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
+import org.apache.hadoop.hdds.utils.db.CodecException;
+import org.apache.hadoop.hdds.utils.db.Proto2Codec;
+import org.apache.hadoop.hdds.utils.db.StringCodec;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark the {@link Codec}s used by the metadata tables,
+ * comparing the byte[] methods with the {@link CodecBuffer} methods.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class BenchmarkCodec {
+
+  @Param({"64", "1024"})
+  private int stringLength;
+
+  @Param({"1", "16"})
+  private int numBlocks;
+
+  private final Codec<String> stringCodec = StringCodec.get();
+  private final Codec<HddsProtos.ContainerInfoProto> protoCodec =
+      Proto2Codec.get(HddsProtos.ContainerInfoProto.getDefaultInstance());
+  private final Codec<OmKeyInfo> keyInfoCodec = OmKeyInfo.getCodec();
+
+  private String string;
+  private byte[] stringBytes;
+  private HddsProtos.ContainerInfoProto proto;
+  private byte[] protoBytes;
+  private OmKeyInfo keyInfo;
+  private byte[] keyInfoBytes;
+  private CodecBuffer keyInfoBuffer;
+
+  @Setup
+  public void setup() throws CodecException {
+    string = RandomStringUtils.secure().nextAlphanumeric(stringLength);
+    stringBytes = stringCodec.toPersistedFormat(string);
+
+    proto = new ContainerInfo.Builder()
+        .setContainerID(1L)
+        .setState(LifeCycleState.CLOSED)
+        .setReplicationConfig(RatisReplicationConfig.getInstance(ReplicationFactor.THREE))
+        .setPipelineID(PipelineID.randomId())
+        .setOwner("benchmark")
+        .setSequenceId(100L)
+        .build()
+        .getProtobuf();
+    protoBytes = protoCodec.toPersistedFormat(proto);
+
+    keyInfo = newKeyInfo(numBlocks);
+    keyInfoBytes = keyInfoCodec.toPersistedFormat(keyInfo);
+    keyInfoBuffer = keyInfoCodec.toDirectCodecBuffer(keyInfo);
+  }
+
+  @TearDown
+  public void tearDown() {
+    keyInfoBuffer.release();
+  }
+
+  static OmKeyInfo newKeyInfo(int numBlocks) {
+    final List<OmKeyLocationInfo> locations = new ArrayList<>(numBlocks);
+    for (int i = 0; i < numBlocks; i++) {
+      locations.add(new OmKeyLocationInfo.Builder()
+          .setBlockID(new BlockID(i + 1, i + 100))
+          .setLength(256L << 20)
+          .setOffset(0)
+          .build());
+    }
+    final long now = System.currentTimeMillis();
+    return new OmKeyInfo.Builder()
+        .setVolumeName("vol")
+        .setBucketName("bucket")
+        .setKeyName("dir/sub-dir/" + RandomStringUtils.secure().nextAlphanumeric(32))
+        .setOwnerName("benchmark")
+        .setReplicationConfig(RatisReplicationConfig.getInstance(ReplicationFactor.THREE))
+        .setOmKeyLocationInfos(Collections.singletonList(new OmKeyLocationInfoGroup(0, locations)))
+        .setDataSize(numBlocks * (256L << 20))
+        .setCreationTime(now)
+        .setModificationTime(now)
+        .setObjectID(1L)
+        .setUpdateID(1L)
+        .build();
+  }
+
+  @Benchmark
+  public byte[] stringToBytes() throws CodecException {
+    return stringCodec.toPersistedFormat(string);
+  }
+
+  @Benchmark
+  public String stringFromBytes() throws CodecException {
+    return stringCodec.fromPersistedFormat(stringBytes);
+  }
+
+  @Benchmark
+  public int stringToCodecBuffer() throws CodecException {
+    try (CodecBuffer buffer = stringCodec.toDirectCodecBuffer(string)) {
+      return buffer.readableBytes();
+    }
+  }
+
+  @Benchmark
+  public byte[] protoToBytes() throws CodecException {
+    return protoCodec.toPersistedFormat(proto);
+  }
+
+  @Benchmark
+  public HddsProtos.ContainerInfoProto protoFromBytes() throws CodecException {
+    return protoCodec.fromPersistedFormat(protoBytes);
+  }
+
+  @Benchmark
+  public int protoToCodecBuffer() throws CodecException {
+    try (CodecBuffer buffer = protoCodec.toDirectCodecBuffer(proto)) {
+      return buffer.readableBytes();
+    }
+  }
+
+  @Benchmark
+  public byte[] keyInfoToBytes() throws CodecException {
+    return keyInfoCodec.toPersistedFormat(keyInfo);
+  }
+
+  @Benchmark
+  public OmKeyInfo keyInfoFromBytes() throws CodecException {
+    return keyInfoCodec.fromPersistedFormat(keyInfoBytes);
+  }
+
+  @Benchmark
+  public OmKeyInfo keyInfoFromCodecBuffer() throws CodecException {
+    return keyInfoCodec.fromCodecBuffer(keyInfoBuffer);
+  }
+
+  @Benchmark
+  public OmKeyInfo keyInfoCopy() {
+    return keyInfoCodec.copyObject(keyInfo);
+  }
+}
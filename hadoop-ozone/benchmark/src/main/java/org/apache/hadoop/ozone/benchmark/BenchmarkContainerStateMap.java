@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.hadoop.hdds.scm.container.ContainerInfo;
+import org.apache.hadoop.hdds.scm.container.states.ContainerStateMap;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark {@link ContainerStateMap} queries used by SCM
+ * for container allocation, reports and listing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class BenchmarkContainerStateMap {
+
+  @Param({"100000", "1000000"})
+  private int numContainers;
+
+  /** The percentage of OPEN containers; the rest are CLOSED. */
+  @Param({"1", "10"})
+  private int openPercent;
+
+  @Param({"1000"})
+  private int listCount;
+
+  private ContainerStateMap stateMap;
+
+  @Setup
+  public void setup() {
+    stateMap = new ContainerStateMap();
+    final PipelineID pipelineID = PipelineID.randomId();
+    for (int i = 1; i <= numContainers; i++) {
+      final LifeCycleState state = i % 100 < openPercent ? LifeCycleState.OPEN : LifeCycleState.CLOSED;
+      stateMap.addContainer(new ContainerInfo.Builder()
+          .setContainerID(i)
+          .setState(state)
+          .setReplicationConfig(RatisReplicationConfig.getInstance(ReplicationFactor.THREE))
+          .setPipelineID(pipelineID)
+          .setOwner("benchmark")
+          .setSequenceId(i)
+          .build());
+    }
+  }
+
+  private ContainerID randomContainerID() {
+    return ContainerID.valueOf(ThreadLocalRandom.current().nextInt(numContainers) + 1);
+  }
+
+  @Benchmark
+  public ContainerInfo getContainerInfo() {
+    return stateMap.getContainerInfo(randomContainerID());
+  }
+
+  @Benchmark
+  public List<ContainerInfo> getOpenContainerInfos() {
+    return stateMap.getContainerInfos(LifeCycleState.OPEN);
+  }
+
+  @Benchmark
+  public List<ContainerID> listClosedContainerIDs() {
+    return stateMap.getContainerIDs(LifeCycleState.CLOSED, randomContainerID(), listCount);
+  }
+
+  @Benchmark
+  public List<ContainerInfo> listContainerInfos() {
+    return stateMap.getContainerInfos(randomContainerID(), listCount);
+  }
+
+  @Benchmark
+  public int getContainerCount() {
+    return stateMap.getContainerCount(LifeCycleState.OPEN);
+  }
+
+  /** Move a container between CLOSED and QUASI_CLOSED and back. */
+  @Benchmark
+  public void updateState() throws SCMException {
+    final ContainerID id = randomContainerID();
+    final LifeCycleState state = stateMap.getContainerInfo(id).getState();
+    if (state == LifeCycleState.OPEN) {
+      return;
+    }
+    stateMap.updateState(id, state, LifeCycleState.QUASI_CLOSED);
+    stateMap.updateState(id, LifeCycleState.QUASI_CLOSED, state);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.ByteArrayCodec;
+import org.apache.hadoop.hdds.utils.db.DBStore;
+import org.apache.hadoop.hdds.utils.db.DBStoreBuilder;
+import org.apache.hadoop.hdds.utils.db.RDBBatchOperation;
+import org.apache.hadoop.hdds.utils.db.StringCodec;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.cache.TableCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark building and committing {@link RDBBatchOperation}s
+ * through a {@link Table}, as the OM double buffer and the datanode do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class BenchmarkRDBBatchOperation {
+  private static final String TABLE_NAME = "benchmarkTable";
+
+  @Param({"1", "100", "1000"})
+  private int batchSize;
+
+  @Param({"100", "1024"})
+  private int valueSize;
+
+  /** The number of distinct keys; a smaller number exercises the duplicate-key handling in the batch. */
+  @Param({"1000000", "10"})
+  private int keySpace;
+
+  private File dbDir;
+  private DBStore store;
+  private Table<String, byte[]> table;
+  private byte[] value;
+
+  @Setup
+  public void setup() throws IOException {
+    dbDir = Files.createTempDirectory("benchmark-batch").toFile();
+    store = DBStoreBuilder.newBuilder(new OzoneConfiguration())
+        .setName("benchmark.db")
+        .setPath(dbDir.toPath())
+        .addTable(TABLE_NAME)
+        .setEnableRocksDbMetrics(false)
+        .build();
+    table = store.getTable(TABLE_NAME, StringCodec.get(), ByteArrayCodec.get(), TableCache.CacheType.NO_CACHE);
+    value = new byte[valueSize];
+    ThreadLocalRandom.current().nextBytes(value);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    store.close();
+    FileUtils.deleteDirectory(dbDir);
+  }
+
+  private String nextKey() {
+    return "/vol/bucket/key-" + ThreadLocalRandom.current().nextInt(keySpace);
+  }
+
+  @Benchmark
+  public void putAndCommit() throws IOException {
+    try (BatchOperation batch = store.initBatchOperation()) {
+      for (int i = 0; i < batchSize; i++) {
+        table.putWithBatch(batch, nextKey(), value);
+      }
+      store.commitBatchOperation(batch);
+    }
+  }
+
+  @Benchmark
+  public void putDeleteAndCommit() throws IOException {
+    try (BatchOperation batch = store.initBatchOperation()) {
+      for (int i = 0; i < batchSize; i++) {
+        final String key = nextKey();
+        table.putWithBatch(batch, key, value);
+        table.deleteWithBatch(batch, key);
+      }
+      store.commitBatchOperation(batch);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.ozone.erasurecode.CodecRegistry;
+import org.apache.ozone.erasurecode.rawcoder.RawErasureCoderFactory;
+import org.apache.ozone.erasurecode.rawcoder.RawErasureDecoder;
+import org.apache.ozone.erasurecode.rawcoder.RawErasureEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark Reed-Solomon raw coders encoding a full stripe and decoding
+ * the maximum number of lost cells, over heap and direct buffers.
+ * The native coder can be added with {@code -p coder=rs_native} when
+ * the native library is loaded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class BenchmarkRawErasureCoder {
+
+  @Param({"rs_java", "rs_java_blocked"})
+  private String coder;
+
+  @Param({"3-2", "6-3", "10-4"})
+  private String schema;
+
+  @Param({"1048576"})
+  private int cellSize;
+
+  @Param({"false", "true"})
+  private boolean direct;
+
+  private RawErasureEncoder encoder;
+  private RawErasureDecoder decoder;
+  private ByteBuffer[] data;
+  private ByteBuffer[] parity;
+  private ByteBuffer[] survivors;
+  private ByteBuffer[] recovered;
+  private int[] erasedIndexes;
+
+  @Setup
+  public void setup() throws IOException {
+    final String[] units = schema.split("-");
+    final int numData = Integer.parseInt(units[0]);
+    final int numParity = Integer.parseInt(units[1]);
+    final ECReplicationConfig config = new ECReplicationConfig(numData, numParity);
+    final RawErasureCoderFactory factory = CodecRegistry.getInstance().getCoderByName(
+        ECReplicationConfig.EcCodec.RS.name().toLowerCase(Locale.ROOT), coder);
+    if (factory == null) {
+      throw new IllegalArgumentException("Coder " + coder + " is not available");
+    }
+    encoder = factory.createEncoder(config);
+    decoder = factory.createDecoder(config);
+
+    data = allocate(numData);
+    parity = allocate(numParity);
+    final byte[] bytes = new byte[cellSize];
+    for (ByteBuffer buffer : data) {
+      ThreadLocalRandom.current().nextBytes(bytes);
+      buffer.put(bytes);
+      buffer.flip();
+    }
+    encoder.encode(duplicate(data), duplicate(parity));
+
+    // lose the first numParity data cells, decode from the rest
+    survivors = new ByteBuffer[numData + numParity];
+    erasedIndexes = new int[numParity];
+    for (int i = 0; i < numData + numParity; i++) {
+      if (i < numParity) {
+        erasedIndexes[i] = i;
+      } else {
+        survivors[i] = i < numData ? data[i] : parity[i - numData];
+      }
+    }
+    recovered = allocate(numParity);
+  }
+
+  @Benchmark
+  public ByteBuffer[] encode() throws IOException {
+    final ByteBuffer[] outputs = duplicate(parity);
+    encoder.encode(duplicate(data), outputs);
+    return outputs;
+  }
+
+  @Benchmark
+  public ByteBuffer[] decode() throws IOException {
+    final ByteBuffer[] outputs = duplicate(recovered);
+    decoder.decode(duplicate(survivors), erasedIndexes, outputs);
+    return outputs;
+  }
+
+  private ByteBuffer[] allocate(int count) {
+    final ByteBuffer[] buffers = new ByteBuffer[count];
+    for (int i = 0; i < count; i++) {
+      buffers[i] = direct ? ByteBuffer.allocateDirect(cellSize) : ByteBuffer.allocate(cellSize);
+    }
+    return buffers;
+  }
+
+  private static ByteBuffer[] duplicate(ByteBuffer[] buffers) {
+    final ByteBuffer[] copies = new ByteBuffer[buffers.length];
+    for (int i = 0; i < buffers.length; i++) {
+      copies[i] = buffers[i] == null ? null : buffers[i].duplicate();
+    }
+    return copies;
+  }
+}
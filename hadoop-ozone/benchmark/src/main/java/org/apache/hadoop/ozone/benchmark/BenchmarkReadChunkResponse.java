@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkVersion;
+import org.apache.hadoop.hdds.protocol.datanode.proto.XceiverClientProtocolServiceGrpc;
+import org.apache.hadoop.hdds.scm.ByteStringConversion;
+import org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.ratis.thirdparty.io.grpc.Drainable;
+import org.apache.ratis.thirdparty.io.grpc.MethodDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark the gRPC marshalling of ReadChunk responses:
+ * the datanode streaming a response into the gRPC write buffer
+ * and the client parsing it back.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class BenchmarkReadChunkResponse {
+
+  @Param({"V0", "V1"})
+  private ReadChunkVersion version;
+
+  @Param({"false", "true"})
+  private boolean direct;
+
+  @Param({"1048576", "4194304"})
+  private int chunkSize;
+
+  @Param({"65536"})
+  private int bufferSize;
+
+  private final MethodDescriptor.Marshaller<ContainerCommandResponseProto> marshaller =
+      XceiverClientProtocolServiceGrpc.getSendMethod().getResponseMarshaller();
+
+  private ContainerCommandResponseProto response;
+  private byte[] serialized;
+  private WriteBuffer writeBuffer;
+
+  @Setup
+  public void setup() {
+    final byte[] data = new byte[chunkSize];
+    ThreadLocalRandom.current().nextBytes(data);
+
+    // the chunk data as read by the datanode, one buffer per bufferSize
+    final List<ByteBuffer> buffers = new ArrayList<>();
+    for (int offset = 0; offset < chunkSize; offset += bufferSize) {
+      final int length = Math.min(bufferSize, chunkSize - offset);
+      final ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+      buffer.put(data, offset, length);
+      buffer.flip();
+      buffers.add(buffer);
+    }
+
+    response = ContainerCommandResponseBuilders.getReadChunkResponse(
+        newReadChunkRequest(), ChunkBuffer.wrap(buffers),
+        ByteStringConversion.createByteBufferConversion(true));
+    serialized = response.toByteArray();
+    writeBuffer = new WriteBuffer(serialized.length);
+  }
+
+  private ContainerCommandRequestProto newReadChunkRequest() {
+    final ContainerProtos.DatanodeBlockID blockID = ContainerProtos.DatanodeBlockID.newBuilder()
+        .setContainerID(1)
+        .setLocalID(1)
+        .build();
+    final ContainerProtos.ChunkInfo chunkInfo = ContainerProtos.ChunkInfo.newBuilder()
+        .setChunkName("chunk")
+        .setOffset(0)
+        .setLen(chunkSize)
+        .setChecksumData(ContainerProtos.ChecksumData.newBuilder()
+            .setType(ContainerProtos.ChecksumType.NONE)
+            .setBytesPerChecksum(bufferSize))
+        .build();
+    return ContainerCommandRequestProto.newBuilder()
+        .setCmdType(ContainerProtos.Type.ReadChunk)
+        .setContainerID(1)
+        .setDatanodeUuid(UUID.randomUUID().toString())
+        .setReadChunk(ContainerProtos.ReadChunkRequestProto.newBuilder()
+            .setBlockID(blockID)
+            .setChunkData(chunkInfo)
+            .setReadChunkVersion(version))
+        .build();
+  }
+
+  /** Write a response to the gRPC write buffer, as the datanode does. */
+  @Benchmark
+  public void stream(Blackhole blackhole) throws IOException {
+    writeBuffer.reset();
+    try (InputStream in = marshaller.stream(response)) {
+      // same as gRPC MessageFramer
+      if (in instanceof Drainable) {
+        ((Drainable) in).drainTo(writeBuffer);
+      } else {
+        IOUtils.copy(in, writeBuffer);
+      }
+    }
+    blackhole.consume(writeBuffer.size());
+  }
+
+  /** Parse a received response, as the client does. */
+  @Benchmark
+  public void parse(Blackhole blackhole) {
+    final ContainerCommandResponseProto parsed = marshaller.parse(new ByteArrayInputStream(serialized));
+    blackhole.consume(parsed.getReadChunk());
+  }
+
+  /** A preallocated buffer in place of the Netty buffers of gRPC. */
+  private static final class WriteBuffer extends OutputStream {
+    private final byte[] buffer;
+    private int size;
+
+    WriteBuffer(int capacity) {
+      this.buffer = new byte[capacity];
+    }
+
+    void reset() {
+      size = 0;
+    }
+
+    int size() {
+      return size;
+    }
+
+    @Override
+    public void write(int b) {
+      buffer[size++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      System.arraycopy(b, off, buffer, size, len);
+      size += len;
+    }
+  }
+}
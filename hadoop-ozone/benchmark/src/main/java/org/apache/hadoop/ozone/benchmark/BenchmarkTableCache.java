@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheResult;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.cache.FullTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.PartialTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.TableCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark {@link FullTableCache} and {@link PartialTableCache}
+ * lookups and the put/evict cycle driven by the OM double buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class BenchmarkTableCache {
+
+  @Param({"FULL_CACHE", "PARTIAL_CACHE"})
+  private TableCache.CacheType cacheType;
+
+  @Param({"100000"})
+  private int numKeys;
+
+  private TableCache<String, String> cache;
+  private String[] keys;
+
+  @Setup
+  public void setup() {
+    cache = cacheType == TableCache.CacheType.FULL_CACHE
+        ? new FullTableCache<>("benchmark-")
+        : new PartialTableCache<>("benchmark-");
+    keys = new String[numKeys];
+    for (int i = 0; i < numKeys; i++) {
+      keys[i] = "/vol/bucket/key-" + i;
+      cache.loadInitial(new CacheKey<>(keys[i]), CacheValue.get(0, keys[i]));
+    }
+  }
+
+  private String randomKey() {
+    return keys[ThreadLocalRandom.current().nextInt(numKeys)];
+  }
+
+  @Benchmark
+  public CacheValue<String> get() {
+    return cache.get(new CacheKey<>(randomKey()));
+  }
+
+  @Benchmark
+  public CacheResult<String> lookup() {
+    return cache.lookup(new CacheKey<>(randomKey()));
+  }
+
+  /** Put an entry with a new epoch and then evict that epoch, as after a double buffer flush. */
+  @Benchmark
+  public int putAndEvict() {
+    final long epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    final String key = randomKey();
+    cache.put(new CacheKey<>(key), CacheValue.get(epoch, key));
+    cache.evictCache(Collections.singletonList(epoch));
+    return cache.size();
+  }
+}
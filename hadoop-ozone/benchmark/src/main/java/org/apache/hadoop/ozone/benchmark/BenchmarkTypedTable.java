@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.DBStore;
+import org.apache.hadoop.hdds.utils.db.DBStoreBuilder;
+import org.apache.hadoop.hdds.utils.db.IteratorType;
+import org.apache.hadoop.hdds.utils.db.StringCodec;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.TypedTable;
+import org.apache.hadoop.hdds.utils.db.cache.TableCache;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark {@link TypedTable} point lookups and iteration
+ * over a key table populated with {@link OmKeyInfo}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class BenchmarkTypedTable {
+  private static final String TABLE_NAME = "keyTable";
+
+  @Param({"100000"})
+  private int numKeys;
+
+  @Param({"FULL_CACHE", "PARTIAL_CACHE", "NO_CACHE"})
+  private TableCache.CacheType cacheType;
+
+  @Param({"1000"})
+  private int scanCount;
+
+  private File dbDir;
+  private DBStore store;
+  private Table<String, OmKeyInfo> table;
+
+  @Setup
+  public void setup() throws IOException {
+    dbDir = Files.createTempDirectory("benchmark-table").toFile();
+    store = DBStoreBuilder.newBuilder(new OzoneConfiguration())
+        .setName("benchmark.db")
+        .setPath(dbDir.toPath())
+        .addTable(TABLE_NAME)
+        .setEnableRocksDbMetrics(false)
+        .build();
+
+    // Populate through an uncached view, then reopen with the requested cache type
+    final Table<String, OmKeyInfo> loader = store.getTable(TABLE_NAME, StringCodec.get(), OmKeyInfo.getCodec(),
+        TableCache.CacheType.NO_CACHE);
+    final OmKeyInfo keyInfo = BenchmarkCodec.newKeyInfo(1);
+    try (BatchOperation batch = store.initBatchOperation()) {
+      for (int i = 0; i < numKeys; i++) {
+        loader.putWithBatch(batch, key(i), keyInfo);
+      }
+      store.commitBatchOperation(batch);
+    }
+    store.flushDB();
+    table = store.getTable(TABLE_NAME, StringCodec.get(), OmKeyInfo.getCodec(), cacheType);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    store.close();
+    FileUtils.deleteDirectory(dbDir);
+  }
+
+  private static String key(int i) {
+    return String.format("/vol/bucket/key-%010d", i);
+  }
+
+  @Benchmark
+  public OmKeyInfo get() throws IOException {
+    return table.get(key(ThreadLocalRandom.current().nextInt(numKeys)));
+  }
+
+  @Benchmark
+  public boolean isExist() throws IOException {
+    return table.isExist(key(ThreadLocalRandom.current().nextInt(numKeys)));
+  }
+
+  @Benchmark
+  public void iterate(Blackhole blackhole) throws IOException {
+    final String start = key(ThreadLocalRandom.current().nextInt(Math.max(1, numKeys - scanCount)));
+    try (Table.KeyValueIterator<String, OmKeyInfo> i = table.iterator(null, IteratorType.KEY_AND_VALUE)) {
+      i.seek(start);
+      for (int n = 0; n < scanCount && i.hasNext(); n++) {
+        blackhole.consume(i.next().getValue());
+      }
+    }
+  }
+
+  @Benchmark
+  public void iterateKeysOnly(Blackhole blackhole) throws IOException {
+    final String start = key(ThreadLocalRandom.current().nextInt(Math.max(1, numKeys - scanCount)));
+    try (Table.KeyValueIterator<String, OmKeyInfo> i = table.iterator(null, IteratorType.KEY_ONLY)) {
+      i.seek(start);
+      for (int n = 0; n < scanCount && i.hasNext(); n++) {
+        blackhole.consume(i.next().getKey());
+      }
+    }
+  }
+}
@@ -148,7 +148,8 @@ public void loadContainersFromVolumes() throws IOException {
       HddsVolume volume = volumeSetIterator.next();
       LOG.info("Loading container metadata from volume " + volume.toString());
       final ContainerReader reader =
-          new ContainerReader(volumeSet, volume, containerSet, conf, false);
+          new ContainerReader(volumeSet, volume, containerSet, conf, false,
+              false);
       reader.run();
     }
 
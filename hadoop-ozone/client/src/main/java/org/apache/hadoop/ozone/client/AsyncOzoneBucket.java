@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.ozone.client.io.OzoneInputStream;
+import org.apache.hadoop.ozone.client.io.OzoneOutputStream;
+import org.apache.hadoop.ozone.client.protocol.ClientProtocol;
+import org.apache.hadoop.ozone.om.helpers.ErrorInfo;
+import org.apache.ratis.util.function.CheckedSupplier;
+
+/**
+ * Asynchronous key operations of a bucket, returning
+ * {@link CompletableFuture}s instead of blocking the caller.
+ * <p>
+ * Each operation is run on the executor given at creation, by default the
+ * bounded pool of the {@link OzoneClient}
+ * ({@code ozone.client.async.pool.limit}), so that many operations can be
+ * submitted from a few threads.  The queue of the pool is bounded too
+ * ({@code ozone.client.async.queue.limit}); the futures of the operations
+ * submitted when it is full are completed exceptionally with a
+ * {@link java.util.concurrent.RejectedExecutionException}.  An executor of virtual threads can
+ * be passed to {@link OzoneClient#getAsyncBucket(String, String, Executor)}
+ * instead to run each operation on its own virtual thread.
+ * <p>
+ * The operations use the blocking client API, so each running operation
+ * occupies a thread of the executor until it completes; only the caller is
+ * not blocked.
+ * <p>
+ * Closing the {@link OzoneClient} cancels the operations queued on its pool,
+ * completing their futures exceptionally, after waiting for them up to
+ * {@code ozone.client.async.close.timeout} (no wait by default).  The running
+ * operations fail if they have not completed when the client is closed.
+ * <p>
+ * Futures are completed exceptionally with the {@link IOException} of the
+ * failed operation.  The bucket is not looked up on creation, so errors such
+ * as a missing bucket are reported by the futures of the operations.
+ */
+public class AsyncOzoneBucket {
+
+  private final ClientProtocol proxy;
+  private final String volumeName;
+  private final String bucketName;
+  private final Executor executor;
+
+  AsyncOzoneBucket(ClientProtocol proxy, String volumeName, String bucketName,
+      Executor executor) {
+    this.proxy = Objects.requireNonNull(proxy, "proxy == null");
+    this.volumeName = Objects.requireNonNull(volumeName, "volumeName == null");
+    this.bucketName = Objects.requireNonNull(bucketName, "bucketName == null");
+    this.executor = Objects.requireNonNull(executor, "executor == null");
+  }
+
+  public String getVolumeName() {
+    return volumeName;
+  }
+
+  public String getName() {
+    return bucketName;
+  }
+
+  /**
+   * Creates the key with the given data, using the bucket default
+   * replication.
+   */
+  public CompletableFuture<Void> createKey(String key, byte[] data) {
+    return createKey(key, data, null, Collections.emptyMap());
+  }
+
+  /**
+   * Creates the key with the given data.
+   * @param replicationConfig replication of the key, bucket default if null
+   * @return future completed when the key is committed
+   */
+  public CompletableFuture<Void> createKey(String key, byte[] data,
+      ReplicationConfig replicationConfig, Map<String, String> metadata) {
+    return supplyAsync(() -> {
+      try (OzoneOutputStream out = proxy.createKey(volumeName, bucketName,
+          key, data.length, replicationConfig, metadata)) {
+        out.write(data);
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Opens the key for reading.  The key is looked up asynchronously; the
+   * data is read from the returned stream, which must be closed by the
+   * caller.
+   */
+  public CompletableFuture<OzoneInputStream> readKey(String key) {
+    return supplyAsync(() -> proxy.getKey(volumeName, bucketName, key));
+  }
+
+  /**
+   * Lists up to {@code maxKeys} keys with the given prefix after
+   * {@code prevKey}.
+   * @param keyPrefix prefix of the keys, all keys if null
+   * @param prevKey keys are listed after this key, from the first if null
+   */
+  public CompletableFuture<List<OzoneKey>> listKeys(String keyPrefix,
+      String prevKey, int maxKeys) {
+    return supplyAsync(() ->
+        proxy.listKeys(volumeName, bucketName, keyPrefix, prevKey, maxKeys));
+  }
+
+  /**
+   * Deletes the key.
+   */
+  public CompletableFuture<Void> deleteKey(String key) {
+    return supplyAsync(() -> {
+      proxy.deleteKey(volumeName, bucketName, key, false);
+      return null;
+    });
+  }
+
+  /**
+   * Deletes the keys in a single request to OM.
+   * @return future of the keys which could not be deleted, with the reason
+   */
+  public CompletableFuture<Map<String, ErrorInfo>> deleteKeys(
+      List<String> keys) {
+    return supplyAsync(() ->
+        proxy.deleteKeys(volumeName, bucketName, keys, true));
+  }
+
+  private <T> CompletableFuture<T> supplyAsync(
+      CheckedSupplier<T, IOException> operation) {
+    final Operation<T> op = new Operation<>(operation);
+    try {
+      executor.execute(op);
+    } catch (RuntimeException e) {
+      // executor rejected the operation, e.g. the client is closed
+      op.fail(e);
+    }
+    return op.future;
+  }
+
+  /**
+   * An operation submitted to the executor, which completes its future.
+   */
+  static final class Operation<T> implements Runnable {
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private final CheckedSupplier<T, IOException> operation;
+
+    Operation(CheckedSupplier<T, IOException> operation) {
+      this.operation = operation;
+    }
+
+    @Override
+    public void run() {
+      try {
+        future.complete(operation.get());
+      } catch (Throwable t) {
+        future.completeExceptionally(t);
+      }
+    }
+
+    /** Complete the future of an operation which will not be run. */
+    void fail(Throwable cause) {
+      future.completeExceptionally(cause);
+    }
+  }
+}
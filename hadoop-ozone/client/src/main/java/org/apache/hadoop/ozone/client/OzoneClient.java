@@ -18,12 +18,25 @@
 package org.apache.hadoop.ozone.client;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.Closeable;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.hadoop.ozone.client.protocol.ClientProtocol;
+import org.apache.ratis.util.MemoizedSupplier;
 import org.apache.ratis.util.UncheckedAutoCloseable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * OzoneClient connects to Ozone Cluster and
@@ -71,10 +84,14 @@ public class OzoneClient implements Closeable {
    * client.close();
    */
 
+  private static final Logger LOG = LoggerFactory.getLogger(OzoneClient.class);
+
   private final ClientProtocol proxy;
   private final ObjectStore objectStore;
   private  ConfigurationSource conf;
   private final UncheckedAutoCloseable leakTracker = OzoneClientFactory.track(this);
+  private final MemoizedSupplier<ThreadPoolExecutor> asyncExecutor =
+      MemoizedSupplier.valueOf(this::createAsyncExecutor);
 
   /**
    * Creates a new OzoneClient object, generally constructed
@@ -113,19 +130,85 @@ public ConfigurationSource getConfiguration() {
     return conf;
   }
 
+  /**
+   * Returns the asynchronous key operations of the given bucket, run on the
+   * thread pool of this client.
+   */
+  public AsyncOzoneBucket getAsyncBucket(String volumeName,
+      String bucketName) {
+    return getAsyncBucket(volumeName, bucketName, asyncExecutor.get());
+  }
+
+  /**
+   * Returns the asynchronous key operations of the given bucket, run on the
+   * given executor.
+   */
+  public AsyncOzoneBucket getAsyncBucket(String volumeName,
+      String bucketName, Executor executor) {
+    return new AsyncOzoneBucket(proxy, volumeName, bucketName, executor);
+  }
+
+  private ThreadPoolExecutor createAsyncExecutor() {
+    OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    int poolSize = clientConfig.getAsyncPoolLimit();
+    // operations beyond the queue limit are rejected by the default policy
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize,
+        60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(clientConfig.getAsyncQueueLimit()),
+        new ThreadFactoryBuilder().setNameFormat("client-async-TID-%d")
+            .setDaemon(true).build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   /**
    * Closes the client and all the underlying resources.
+   * The queued operations of the asynchronous key API are cancelled, after
+   * waiting for them up to {@code ozone.client.async.close.timeout},
+   * see {@link AsyncOzoneBucket}.
    * @throws IOException
    */
   @Override
   public void close() throws IOException {
     try {
+      if (asyncExecutor.isInitialized()) {
+        shutdownAsyncExecutor(asyncExecutor.get(),
+            conf.getObject(OzoneClientConfig.class).getAsyncCloseTimeout());
+      }
       proxy.close();
     } finally {
       leakTracker.close();
     }
   }
 
+  private static void shutdownAsyncExecutor(ThreadPoolExecutor executor,
+      Duration timeout) {
+    executor.shutdown();
+    if (!timeout.isZero()) {
+      try {
+        if (executor.awaitTermination(timeout.toMillis(),
+            TimeUnit.MILLISECONDS)) {
+          return;
+        }
+        LOG.warn("Asynchronous operations not completed in {}, cancelling "
+            + "the queued ones", timeout);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    // The running operations are not interrupted; they fail once the proxy
+    // is closed if they have not completed.
+    final List<Runnable> dropped = new ArrayList<>();
+    executor.getQueue().drainTo(dropped);
+    final CancellationException cause =
+        new CancellationException("OzoneClient is closed");
+    for (Runnable r : dropped) {
+      if (r instanceof AsyncOzoneBucket.Operation) {
+        ((AsyncOzoneBucket.Operation<?>) r).fail(cause);
+      }
+    }
+  }
+
   /**
    * Return the ClientProtocol associated with the Ozone Cluster.
    * @return ClientProtocol
@@ -158,6 +158,18 @@ protected abstract AbstractBlockChecksumComputer getBlockChecksumComputer(List<C
   protected abstract List<ContainerProtos.ChunkInfo> getChunkInfos(
       OmKeyLocationInfo keyLocationInfo) throws IOException;
 
+  /**
+   * Get the composite CRC of the block precomputed by the datanode, if any.
+   * This is only called in COMPOSITE_CRC combine mode.
+   *
+   * @return the composite CRC of the block, or null if it is not available,
+   *     in which case it is computed from the chunk checksums.
+   */
+  protected BlockCompositeCrc getPrecomputedCompositeCrc(
+      OmKeyLocationInfo keyLocationInfo) throws IOException {
+    return null;
+  }
+
   protected ByteBuffer getBlockChecksumFromChunkChecksums(AbstractBlockChecksumComputer blockChecksumComputer)
       throws IOException {
     blockChecksumComputer.compute(getCombineMode());
@@ -230,11 +242,17 @@ protected void checksumBlocks() throws IOException {
    */
   protected boolean checksumBlock(OmKeyLocationInfo keyLocationInfo)
       throws IOException {
+    final BlockCompositeCrc precomputed =
+        getCombineMode() == OzoneClientConfig.ChecksumCombineMode.COMPOSITE_CRC
+            ? getPrecomputedCompositeCrc(keyLocationInfo) : null;
+
     // for each block, send request
-    List<ContainerProtos.ChunkInfo> chunkInfos =
-        getChunkInfos(keyLocationInfo);
-    if (chunkInfos.isEmpty()) {
-      return false;
+    List<ContainerProtos.ChunkInfo> chunkInfos = null;
+    if (precomputed == null) {
+      chunkInfos = getChunkInfos(keyLocationInfo);
+      if (chunkInfos.isEmpty()) {
+        return false;
+      }
     }
 
     long blockNumBytes = keyLocationInfo.getLength();
@@ -244,16 +262,23 @@ protected boolean checksumBlock(OmKeyLocationInfo keyLocationInfo)
     }
     setRemaining(getRemaining() - blockNumBytes);
 
-    ContainerProtos.ChecksumData checksumData =
-        chunkInfos.get(0).getChecksumData();
-    setChecksumType(checksumData.getType());
-    int bytesPerChecksum = checksumData.getBytesPerChecksum();
-    setBytesPerCRC(bytesPerChecksum);
-
-    AbstractBlockChecksumComputer blockChecksumComputer = getBlockChecksumComputer(chunkInfos,
-        keyLocationInfo.getLength());
-    ByteBuffer blockChecksumByteBuffer =
-        getBlockChecksumFromChunkChecksums(blockChecksumComputer);
+    final ContainerProtos.ChecksumType blockChecksumType;
+    final ByteBuffer blockChecksumByteBuffer;
+    if (precomputed != null) {
+      blockChecksumType = precomputed.getChecksumType();
+      setBytesPerCRC(precomputed.getBytesPerChecksum());
+      blockChecksumByteBuffer = ByteBuffer.wrap(precomputed.toBytes());
+    } else {
+      ContainerProtos.ChecksumData checksumData =
+          chunkInfos.get(0).getChecksumData();
+      blockChecksumType = checksumData.getType();
+      setBytesPerCRC(checksumData.getBytesPerChecksum());
+      AbstractBlockChecksumComputer blockChecksumComputer = getBlockChecksumComputer(chunkInfos,
+          keyLocationInfo.getLength());
+      blockChecksumByteBuffer =
+          getBlockChecksumFromChunkChecksums(blockChecksumComputer);
+    }
+    setChecksumType(blockChecksumType);
     String blockChecksumForDebug =
         populateBlockChecksumBuf(blockChecksumByteBuffer);
 
@@ -262,7 +287,7 @@ protected boolean checksumBlock(OmKeyLocationInfo keyLocationInfo)
         keyInfo.getReplicationConfig().getReplicationType() == HddsProtos.ReplicationType.EC
             ? "EC pipeline" : "pipeline",
         keyLocationInfo.getPipeline(), keyLocationInfo.getBlockID(),
-        blockChecksumForDebug, checksumData.getType());
+        blockChecksumForDebug, blockChecksumType);
 
     return true;
   }
@@ -25,7 +25,6 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.hadoop.io.MD5Hash;
-import org.apache.hadoop.util.DataChecksum;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,61 +89,14 @@ private void computeMd5Crc() {
 
   // compute the block checksum of CompositeCrc,
   // which is the incremental computation of chunk checksums
-  private void computeCompositeCrc() throws IOException {
-    DataChecksum.Type dataChecksumType;
-    long bytesPerCrc;
-    long chunkSize;
+  private void computeCompositeCrc() {
     Preconditions.checkArgument(!chunkInfoList.isEmpty());
-
-    final ContainerProtos.ChunkInfo firstChunkInfo = chunkInfoList.get(0);
-    switch (firstChunkInfo.getChecksumData().getType()) {
-    case CRC32C:
-      dataChecksumType = DataChecksum.Type.CRC32C;
-      break;
-    case CRC32:
-      dataChecksumType = DataChecksum.Type.CRC32;
-      break;
-    default:
-      throw new IllegalArgumentException("unsupported checksum type: " +
-          firstChunkInfo.getChecksumData().getType());
-    }
-    chunkSize = firstChunkInfo.getLen();
-    bytesPerCrc = firstChunkInfo.getChecksumData().getBytesPerChecksum();
-
-
-    CrcComposer blockCrcComposer =
-        CrcComposer.newCrcComposer(dataChecksumType, chunkSize);
-
-    for (ContainerProtos.ChunkInfo chunkInfo : chunkInfoList) {
-      ContainerProtos.ChecksumData checksumData =
-          chunkInfo.getChecksumData();
-      List<ByteString> checksums = checksumData.getChecksumsList();
-      CrcComposer chunkCrcComposer =
-          CrcComposer.newCrcComposer(dataChecksumType, bytesPerCrc);
-      //compute the composite-crc checksum of the whole chunk by iterating
-      //all the checksum data one by one
-      long remainingChunkSize = chunkInfo.getLen();
-      Preconditions.checkArgument(remainingChunkSize <=
-          checksums.size() * chunkSize);
-      for (ByteString checksum : checksums) {
-        final int checksumDataCrc = checksum.asReadOnlyByteBuffer().getInt();
-        chunkCrcComposer.update(checksumDataCrc,
-            Math.min(bytesPerCrc, remainingChunkSize));
-        remainingChunkSize -= bytesPerCrc;
-      }
-      //get the composite-crc checksum of the whole chunk
-      int chunkChecksumCrc = CrcUtil.readInt(chunkCrcComposer.digest(), 0);
-
-      //update block checksum using chunk checksum
-      blockCrcComposer.update(chunkChecksumCrc, chunkInfo.getLen());
-    }
-
-    //compute the composite-crc checksum of the whole block
-    byte[] compositeCrcChunkChecksum = blockCrcComposer.digest();
+    final BlockCompositeCrc blockCrc = BlockCompositeCrc.compute(chunkInfoList);
+    final byte[] compositeCrcChunkChecksum = blockCrc.toBytes();
     setOutBytes(compositeCrcChunkChecksum);
 
     LOG.debug("number of chunks = {}, chunk checksum type is {}, " +
-            "composite checksum = {}", chunkInfoList.size(), dataChecksumType,
-        compositeCrcChunkChecksum);
+            "composite checksum = {}", chunkInfoList.size(),
+        blockCrc.getChecksumType(), compositeCrcChunkChecksum);
   }
 }
@@ -38,6 +38,13 @@
  */
 public class ReplicatedFileChecksumHelper extends BaseFileChecksumHelper {
 
+  /**
+   * The chunks returned with the block data by
+   * {@link #getPrecomputedCompositeCrc} when the block has no composite CRC,
+   * so that they are not fetched again.
+   */
+  private ContainerProtos.BlockData fetchedBlockData;
+
   public ReplicatedFileChecksumHelper(
       OzoneVolume volume, OzoneBucket bucket, String keyName, long length,
       OzoneClientConfig.ChecksumCombineMode checksumCombineMode,
@@ -59,7 +66,19 @@ protected AbstractBlockChecksumComputer getBlockChecksumComputer(List<ContainerP
     return new ReplicatedBlockChecksumComputer(chunkInfos);
   }
 
-  // copied from BlockInputStream
+  @Override
+  protected BlockCompositeCrc getPrecomputedCompositeCrc(
+      OmKeyLocationInfo keyLocationInfo) throws IOException {
+    final ContainerProtos.BlockData blockData =
+        getBlockData(keyLocationInfo, true);
+    final BlockCompositeCrc compositeCrc =
+        BlockCompositeCrc.fromBlockData(blockData);
+    if (compositeCrc == null) {
+      fetchedBlockData = blockData;
+    }
+    return compositeCrc;
+  }
+
   /**
    * Send RPC call to get the block info from the container.
    * @return List of chunks in this block.
@@ -67,13 +86,26 @@ protected AbstractBlockChecksumComputer getBlockChecksumComputer(List<ContainerP
   @Override
   protected List<ContainerProtos.ChunkInfo> getChunkInfos(
       OmKeyLocationInfo keyLocationInfo) throws IOException {
+    final ContainerProtos.BlockData blockData = fetchedBlockData;
+    fetchedBlockData = null;
+    if (blockData != null && BlockID.getFromProtobuf(blockData.getBlockID())
+        .getContainerBlockID().equals(keyLocationInfo.getBlockID().getContainerBlockID())) {
+      return blockData.getChunksList();
+    }
+    return getBlockData(keyLocationInfo, false).getChunksList();
+  }
+
+  // copied from BlockInputStream
+  private ContainerProtos.BlockData getBlockData(
+      OmKeyLocationInfo keyLocationInfo, boolean compositeCrcOnly)
+      throws IOException {
     // irrespective of the container state, we will always read via Standalone
     // protocol.
     Token<OzoneBlockTokenIdentifier> token = keyLocationInfo.getToken();
     Pipeline pipeline = keyLocationInfo.getPipeline().copyForRead();
     BlockID blockID = keyLocationInfo.getBlockID();
 
-    List<ContainerProtos.ChunkInfo> chunks;
+    ContainerProtos.BlockData blockData;
     XceiverClientSpi xceiverClientSpi = null;
     try {
       if (LOG.isDebugEnabled()) {
@@ -82,9 +114,9 @@ protected List<ContainerProtos.ChunkInfo> getChunkInfos(
       }
       xceiverClientSpi = getXceiverClientFactory().acquireClientForReadData(pipeline);
       ContainerProtos.GetBlockResponseProto response = ContainerProtocolCalls
-          .getBlock(xceiverClientSpi, blockID, token, pipeline.getReplicaIndexes());
+          .getBlock(xceiverClientSpi, blockID, token, pipeline.getReplicaIndexes(), compositeCrcOnly);
 
-      chunks = response.getBlockData().getChunksList();
+      blockData = response.getBlockData();
     } finally {
       if (xceiverClientSpi != null) {
         getXceiverClientFactory().releaseClientForReadData(
@@ -92,6 +124,6 @@ protected List<ContainerProtos.ChunkInfo> getChunkInfos(
       }
     }
 
-    return chunks;
+    return blockData;
   }
 }
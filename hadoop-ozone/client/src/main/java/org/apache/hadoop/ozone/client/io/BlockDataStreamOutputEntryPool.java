@@ -64,6 +64,7 @@ public class BlockDataStreamOutputEntryPool implements KeyMetadataAware {
   private final ExcludeList excludeList;
   private List<StreamBuffer> bufferList;
   private ContainerBlockID lastUpdatedBlockId = new ContainerBlockID(-1, -1);
+  private Runnable keyUpdateListener;
 
   @SuppressWarnings({"parameternumber", "squid:S00107"})
   public BlockDataStreamOutputEntryPool(
@@ -174,6 +175,7 @@ void hsyncKey(long offset) throws IOException {
             lastUpdatedBlockId = lastBLockId;
           }
         }
+        notifyKeyUpdated();
       }
     } else {
       LOG.warn("Closing KeyOutputStream, but key args is null");
@@ -251,17 +253,34 @@ void commitKey(long offset) throws IOException {
       // When the key is multipart upload part file upload, we should not
       // commit the key, as this is not an actual key, this is a just a
       // partial key of a large file.
-      if (keyArgs.getIsMultipartKey()) {
-        commitUploadPartInfo =
-            omClient.commitMultipartUploadPart(buildKeyArgs(), openID);
-      } else {
-        omClient.commitKey(buildKeyArgs(), openID);
+      try {
+        if (keyArgs.getIsMultipartKey()) {
+          commitUploadPartInfo =
+              omClient.commitMultipartUploadPart(buildKeyArgs(), openID);
+        } else {
+          omClient.commitKey(buildKeyArgs(), openID);
+        }
+      } finally {
+        notifyKeyUpdated();
       }
     } else {
       LOG.warn("Closing KeyDataStreamOutput, but key args is null");
     }
   }
 
+  /**
+   * Set a callback that is run after the key is committed or hsync-ed in OM.
+   */
+  void setKeyUpdateListener(Runnable listener) {
+    this.keyUpdateListener = listener;
+  }
+
+  private void notifyKeyUpdated() {
+    if (keyUpdateListener != null) {
+      keyUpdateListener.run();
+    }
+  }
+
   public BlockDataStreamOutputEntry getCurrentStreamEntry() {
     if (streamEntries.isEmpty() || streamEntries.size() <= currentStreamIndex) {
       return null;
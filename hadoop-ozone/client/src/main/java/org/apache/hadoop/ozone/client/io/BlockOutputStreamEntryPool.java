@@ -39,6 +39,7 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
 import org.apache.hadoop.hdds.scm.storage.BufferPool;
+import org.apache.hadoop.hdds.scm.storage.SharedChunkBufferPool;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
@@ -88,6 +89,7 @@ public class BlockOutputStreamEntryPool implements KeyMetadataAware {
   private final ContainerClientMetrics clientMetrics;
   private final StreamBufferArgs streamBufferArgs;
   private final Supplier<ExecutorService> executorServiceSupplier;
+  private final Runnable keyUpdateListener;
   // update blocks on OM
   private ContainerBlockID lastUpdatedBlockId = new ContainerBlockID(-1, -1);
 
@@ -113,9 +115,22 @@ public BlockOutputStreamEntryPool(KeyOutputStream.Builder b) {
             (int) (streamBufferArgs.getStreamBufferMaxSize() / streamBufferArgs
                 .getStreamBufferSize()),
             ByteStringConversion
-                .createByteBufferConversion(b.isUnsafeByteBufferConversionEnabled()));
+                .createByteBufferConversion(b.isUnsafeByteBufferConversionEnabled()),
+            getSharedBufferPool(config));
     this.clientMetrics = b.getClientMetrics();
     this.executorServiceSupplier = b.getExecutorServiceSupplier();
+    this.keyUpdateListener = b.getKeyUpdateListener();
+  }
+
+  private static SharedChunkBufferPool getSharedBufferPool(OzoneClientConfig config) {
+    final long maxSize = config.getStreamBufferPoolMaxSize();
+    if (maxSize <= 0) {
+      return null;
+    }
+    final SharedChunkBufferPool pool = SharedChunkBufferPool.get();
+    pool.setMaxPooledSize(maxSize);
+    pool.setMaxOutstandingSize(config.getStreamBufferPoolMaxOutstandingSize());
+    return pool;
   }
 
   ExcludeList createExcludeList() {
@@ -326,11 +341,15 @@ void commitKey(long offset) throws IOException {
       // When the key is multipart upload part file upload, we should not
       // commit the key, as this is not an actual key, this is a just a
       // partial key of a large file.
-      if (keyArgs.getIsMultipartKey()) {
-        commitUploadPartInfo =
-            omClient.commitMultipartUploadPart(buildKeyArgs(), openID);
-      } else {
-        omClient.commitKey(buildKeyArgs(), openID);
+      try {
+        if (keyArgs.getIsMultipartKey()) {
+          commitUploadPartInfo =
+              omClient.commitMultipartUploadPart(buildKeyArgs(), openID);
+        } else {
+          omClient.commitKey(buildKeyArgs(), openID);
+        }
+      } finally {
+        notifyKeyUpdated();
       }
     } else {
       LOG.warn("Closing KeyOutputStream, but key args is null");
@@ -360,12 +379,19 @@ void hsyncKey(long offset) throws IOException {
             lastUpdatedBlockId = lastBLockId;
           }
         }
+        notifyKeyUpdated();
       }
     } else {
       LOG.warn("Closing KeyOutputStream, but key args is null");
     }
   }
 
+  private void notifyKeyUpdated() {
+    if (keyUpdateListener != null) {
+      keyUpdateListener.run();
+    }
+  }
+
   BlockOutputStreamEntry getCurrentStreamEntry() {
     if (streamEntries.isEmpty() || streamEntries.size() <= currentStreamIndex) {
       return null;
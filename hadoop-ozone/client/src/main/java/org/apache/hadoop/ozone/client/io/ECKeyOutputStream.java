@@ -30,7 +30,9 @@
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -46,7 +48,6 @@
 import org.apache.hadoop.hdds.scm.storage.ECBlockOutputStream;
 import org.apache.hadoop.io.ByteBufferPool;
 import org.apache.hadoop.ozone.om.protocol.S3Auth;
-import org.apache.ozone.erasurecode.rawcoder.RawErasureEncoder;
 import org.apache.ozone.erasurecode.rawcoder.util.CodecUtil;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.apache.ratis.util.function.CheckedRunnable;
@@ -70,7 +71,7 @@ public final class ECKeyOutputStream extends KeyOutputStream
   private final int numDataBlks;
   private final int numParityBlks;
   private final ByteBufferPool bufferPool;
-  private final RawErasureEncoder encoder;
+  private final ECStripeEncoder encoder;
   private final Future<Boolean> flushFuture;
   private final AtomicLong flushCheckpoint;
 
@@ -112,12 +113,13 @@ private ECKeyOutputStream(Builder builder) {
     ecStripeQueue = new ArrayBlockingQueue<>(config.getEcStripeQueueSize());
 
     this.writeOffset = 0;
-    this.encoder = CodecUtil.createRawEncoderWithFallback(
-        builder.getReplicationConfig());
     S3Auth s3Auth = builder.getS3CredentialsProvider().get();
     ThreadLocal<S3Auth> s3CredentialsProvider =
         builder.getS3CredentialsProvider();
-    this.flushFuture = builder.getExecutorServiceSupplier().get().submit(() -> {
+    final ExecutorService executor = builder.getExecutorServiceSupplier().get();
+    this.encoder = new ECStripeEncoder(CodecUtil.createRawEncoderWithFallback(
+        builder.getReplicationConfig()), executor);
+    this.flushFuture = executor.submit(() -> {
       s3CredentialsProvider.set(s3Auth);
       return flushStripeFromQueue();
     });
@@ -262,9 +264,15 @@ protected boolean checkIfContainerToExclude(Throwable t) {
         && t instanceof ContainerNotOpenException;
   }
 
-  private void generateParityCells() throws IOException {
-    final ByteBuffer[] dataBuffers = ecChunkBufferCache.getDataBuffers();
-    final ByteBuffer[] parityBuffers = ecChunkBufferCache.getParityBuffers();
+  /**
+   * Start computing the parity cells of the stripe in the background, so
+   * that the writer can fill the next stripe and the flush thread can send
+   * the data cells meanwhile.  The parity cells are only written after
+   * {@link ECChunkBuffers#awaitParity()}.
+   */
+  private void encodeStripe(ECChunkBuffers stripe) {
+    final ByteBuffer[] dataBuffers = stripe.getDataBuffers();
+    final ByteBuffer[] parityBuffers = stripe.getParityBuffers();
 
     // parityCellSize = min(ecChunkSize, stripeSize)
     //                = min(cellSize, sum(dataBuffers positions))
@@ -272,12 +280,10 @@ private void generateParityCells() throws IOException {
     //                = dataBuffers[0].position()
     final int parityCellSize = dataBuffers[0].position();
     int firstNonFullIndex = dataBuffers.length;
-    int firstNonFullLength = 0;
 
     for (int i = 0; i < dataBuffers.length; i++) {
       if (dataBuffers[i].position() != ecChunkSize) {
         firstNonFullIndex = i;
-        firstNonFullLength = dataBuffers[i].position();
         break;
       }
     }
@@ -287,26 +293,20 @@ private void generateParityCells() throws IOException {
           firstNonFullIndex, i);
     }
 
-    // Add padding to dataBuffers for encode if stripe is not full.
-    for (int i = firstNonFullIndex; i < dataBuffers.length; i++) {
-      padBufferToLimit(dataBuffers[i], parityCellSize);
+    // Encode duplicates padded if stripe is not full, the data cells keep
+    // their actual length to be written while encoding.
+    final ByteBuffer[] inputs = new ByteBuffer[dataBuffers.length];
+    for (int i = 0; i < dataBuffers.length; i++) {
+      inputs[i] = dataBuffers[i].duplicate();
+      padBufferToLimit(inputs[i], parityCellSize);
+      inputs[i].flip();
+      dataBuffers[i].flip();
     }
-
     for (ByteBuffer b : parityBuffers) {
       b.limit(parityCellSize);
     }
-    for (ByteBuffer b : dataBuffers) {
-      b.flip();
-    }
-    encoder.encode(dataBuffers, parityBuffers);
 
-    // Remove padding from dataBuffers for (re)write data cells.
-    if (firstNonFullIndex < dataBuffers.length) {
-      dataBuffers[firstNonFullIndex].limit(firstNonFullLength);
-    }
-    for (int i = firstNonFullIndex + 1; i < dataBuffers.length; i++) {
-      dataBuffers[i].limit(0);
-    }
+    stripe.setParityFuture(encoder.encode(inputs, parityBuffers));
   }
 
   private void writeDataCells(ECChunkBuffers stripe) throws IOException {
@@ -345,7 +345,7 @@ private int handleWrite(byte[] b, int off, int len) throws IOException {
       // if this is last data cell in the stripe,
       // compute parity cells and write data
       if (chunkIndex == numDataBlks) {
-        generateParityCells();
+        encodeStripe(ecChunkBufferCache);
         addStripeToQueue(ecChunkBufferCache);
         ecChunkBufferCache = new ECChunkBuffers(ecChunkSize,
             numDataBlks, numParityBlks, bufferPool);
@@ -468,7 +468,7 @@ public void close() throws IOException {
       if (!closing) {
         // If stripe buffer is not empty, encode and flush the stripe.
         if (ecChunkBufferCache.getFirstDataCell().position() > 0) {
-          generateParityCells();
+          encodeStripe(ecChunkBufferCache);
           addStripeToQueue(ecChunkBufferCache);
         }
         // Send EOF mark to flush thread.
@@ -551,6 +551,7 @@ private void flushStripeToDatanodes(ECChunkBuffers stripe)
     int maxRetry = config.getMaxECStripeWriteRetries();
     for (int i = 0; i <= maxRetry; i++) {
       writeDataCells(stripe);
+      stripe.awaitParity();
       writeParityCells(stripe);
       if (commitStripeWrite(stripe) == StripeWriteStatus.SUCCESS) {
         return;
@@ -649,6 +650,7 @@ private static class ECChunkBuffers {
     private final ByteBuffer[] parityBuffers;
     private int cellSize;
     private ByteBufferPool byteBufferPool;
+    private CompletableFuture<Void> parityFuture;
 
     ECChunkBuffers() {
       dataBuffers = null;
@@ -673,6 +675,17 @@ private ByteBuffer[] getParityBuffers() {
       return parityBuffers;
     }
 
+    private void setParityFuture(CompletableFuture<Void> future) {
+      this.parityFuture = future;
+    }
+
+    /**
+     * Wait until the parity cells are computed.
+     */
+    private void awaitParity() throws IOException {
+      ECStripeEncoder.await(parityFuture);
+    }
+
     private ByteBuffer getFirstDataCell() {
       return dataBuffers[0];
     }
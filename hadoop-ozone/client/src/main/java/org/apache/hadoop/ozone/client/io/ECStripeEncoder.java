@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import org.apache.ozone.erasurecode.rawcoder.RawErasureEncoder;
+
+/**
+ * Computes the parity cells of the stripes of an {@link ECKeyOutputStream}
+ * in the background.
+ * The stripes are encoded one after another, in the order they are submitted,
+ * so that the encoder is never used concurrently.
+ */
+class ECStripeEncoder {
+  private final RawErasureEncoder encoder;
+  private final Executor executor;
+  // The encoding of the last submitted stripe.
+  private CompletableFuture<Void> lastEncode =
+      CompletableFuture.completedFuture(null);
+
+  ECStripeEncoder(RawErasureEncoder encoder, Executor executor) {
+    this.encoder = encoder;
+    this.executor = executor;
+  }
+
+  /**
+   * Encode the inputs into the outputs once the previous stripes are encoded.
+   * The buffers must not be modified until the returned future is completed.
+   * If a previous stripe failed to encode, this stripe fails as well.
+   *
+   * @return a future completed once the outputs are computed,
+   *         to be waited by {@link #await(CompletableFuture)}.
+   */
+  CompletableFuture<Void> encode(ByteBuffer[] inputs, ByteBuffer[] outputs) {
+    lastEncode = lastEncode.thenRunAsync(() -> {
+      try {
+        encoder.encode(inputs, outputs);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, executor);
+    return lastEncode;
+  }
+
+  /**
+   * Wait until the stripe of the given future is encoded.
+   */
+  static void await(CompletableFuture<Void> encoded) throws IOException {
+    try {
+      encoded.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while encoding stripe", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) cause).getCause();
+      } else if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException("Failed to encode stripe", cause);
+    }
+  }
+}
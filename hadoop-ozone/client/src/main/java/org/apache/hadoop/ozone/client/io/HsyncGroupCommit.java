@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.apache.ratis.util.function.CheckedSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Group commit of the hsync calls of a {@link KeyOutputStream}.
+ * <p>
+ * At most one sync runs at a time.  A caller returns without syncing when
+ * a completed sync already covers its position; otherwise it waits for the
+ * running sync, if any, and then the first waiting caller (the leader) runs
+ * a sync for all of them, covering everything written before the sync starts.
+ * The leader may wait for a short window before the sync to let more callers
+ * join.  If a sync fails, the leader gets the exception and each follower
+ * retries on its own, so that every caller gets the same durability guarantee
+ * as an individual hsync.
+ */
+class HsyncGroupCommit {
+  private static final Logger LOG = LoggerFactory.getLogger(HsyncGroupCommit.class);
+
+  private final long windowNanos;
+  /** The position up to which a sync has completed, -1 if none. */
+  private long syncedPosition = -1;
+  private boolean syncing;
+  private long syncCount;
+  private long coalescedCount;
+
+  HsyncGroupCommit(Duration window) {
+    this.windowNanos = window.toNanos();
+  }
+
+  /**
+   * Make sure the data up to the given position is synced.
+   * @param position the position to sync.
+   * @param sync the action to sync the stream; it returns the position synced,
+   *             which must not be smaller than the position written when the
+   *             action is called.
+   * @return true if the data is synced by this caller,
+   *         false if it is synced by another one.
+   */
+  boolean sync(long position, CheckedSupplier<Long, IOException> sync) throws IOException {
+    synchronized (this) {
+      try {
+        while (syncing && syncedPosition < position) {
+          wait();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted waiting for hsync of position " + position);
+      }
+      if (syncedPosition >= position) {
+        coalescedCount++;
+        LOG.trace("Position {} already synced up to {}", position, syncedPosition);
+        return false;
+      }
+      syncing = true;
+    }
+
+    long synced = -1;
+    try {
+      if (windowNanos > 0) {
+        TimeUnit.NANOSECONDS.sleep(windowNanos);
+      }
+      synced = sync.get();
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted waiting for the hsync window");
+    } finally {
+      synchronized (this) {
+        syncing = false;
+        if (synced > syncedPosition) {
+          syncedPosition = synced;
+        }
+        syncCount++;
+        notifyAll();
+      }
+    }
+  }
+
+  synchronized long getSyncedPosition() {
+    return syncedPosition;
+  }
+
+  /** @return the number of syncs run. */
+  synchronized long getSyncCount() {
+    return syncCount;
+  }
+
+  /** @return the number of calls returned without running a sync. */
+  synchronized long getCoalescedCount() {
+    return coalescedCount;
+  }
+}
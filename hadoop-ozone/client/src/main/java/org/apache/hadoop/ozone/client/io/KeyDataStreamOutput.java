@@ -486,6 +486,7 @@ public static class Builder {
     private boolean unsafeByteBufferConversion;
     private OzoneClientConfig clientConfig;
     private ReplicationConfig replicationConfig;
+    private Runnable keyUpdateListener;
 
     public Builder setMultipartUploadID(String uploadID) {
       this.multipartUploadID = uploadID;
@@ -537,8 +538,18 @@ public Builder setReplicationConfig(ReplicationConfig replConfig) {
       return this;
     }
 
+    /**
+     * Set a callback that is run after the key is committed or hsync-ed in
+     * OM, i.e. whenever the block locations of the key visible to readers
+     * may have changed.
+     */
+    public Builder setKeyUpdateListener(Runnable listener) {
+      this.keyUpdateListener = listener;
+      return this;
+    }
+
     public KeyDataStreamOutput build() {
-      return new KeyDataStreamOutput(
+      KeyDataStreamOutput out = new KeyDataStreamOutput(
           clientConfig,
           openHandler,
           xceiverManager,
@@ -550,6 +561,9 @@ public KeyDataStreamOutput build() {
           multipartNumber,
           isMultipartKey,
           unsafeByteBufferConversion);
+      out.blockDataStreamOutputEntryPool.setKeyUpdateListener(
+          keyUpdateListener);
+      return out;
     }
 
   }
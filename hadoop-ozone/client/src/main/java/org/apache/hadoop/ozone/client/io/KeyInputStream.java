@@ -24,7 +24,9 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.hadoop.hdds.client.BlockID;
@@ -54,6 +56,19 @@ public KeyInputStream(String keyName,
     super(keyName, inputStreams);
   }
 
+  public KeyInputStream(String keyName,
+      List<? extends BlockExtendedInputStream> inputStreams,
+      Supplier<ExecutorService> vectoredReadExecutorSupplier) {
+    super(keyName, inputStreams, vectoredReadExecutorSupplier);
+  }
+
+  public KeyInputStream(String keyName,
+      List<? extends BlockExtendedInputStream> inputStreams,
+      Supplier<ExecutorService> vectoredReadExecutorSupplier,
+      OzoneClientConfig config) {
+    super(keyName, inputStreams, vectoredReadExecutorSupplier, config);
+  }
+
   private static List<BlockExtendedInputStream> createStreams(
       OmKeyInfo keyInfo,
       List<OmKeyLocationInfo> blockInfos,
@@ -127,12 +142,13 @@ private static LengthInputStream getFromOmKeyInfo(
       Function<OmKeyInfo, OmKeyInfo> retryFunction,
       BlockInputStreamFactory blockStreamFactory,
       List<OmKeyLocationInfo> locationInfos,
-      OzoneClientConfig config) throws IOException {
+      OzoneClientConfig config,
+      Supplier<ExecutorService> vectoredReadExecutorSupplier) throws IOException {
     List<BlockExtendedInputStream> streams = createStreams(keyInfo,
         locationInfos, xceiverClientFactory, retryFunction,
         blockStreamFactory, config);
-    KeyInputStream keyInputStream =
-        new KeyInputStream(keyInfo.getKeyName(), streams);
+    KeyInputStream keyInputStream = new KeyInputStream(keyInfo.getKeyName(),
+        streams, vectoredReadExecutorSupplier, config);
     return new LengthInputStream(keyInputStream, keyInputStream.getLength());
   }
 
@@ -144,12 +160,28 @@ public static LengthInputStream getFromOmKeyInfo(OmKeyInfo keyInfo,
       Function<OmKeyInfo, OmKeyInfo> retryFunction,
       BlockInputStreamFactory blockStreamFactory,
       OzoneClientConfig config) throws IOException {
+    return getFromOmKeyInfo(keyInfo, xceiverClientFactory, retryFunction,
+        blockStreamFactory, config, null);
+  }
+
+  /**
+   * For each block in keyInfo, add a BlockInputStream to blockStreams.
+   * Vectored reads of different blocks are issued in parallel using the
+   * given executor.
+   */
+  public static LengthInputStream getFromOmKeyInfo(OmKeyInfo keyInfo,
+      XceiverClientFactory xceiverClientFactory,
+      Function<OmKeyInfo, OmKeyInfo> retryFunction,
+      BlockInputStreamFactory blockStreamFactory,
+      OzoneClientConfig config,
+      Supplier<ExecutorService> vectoredReadExecutorSupplier) throws IOException {
 
     List<OmKeyLocationInfo> keyLocationInfos = keyInfo
         .getLatestVersionLocations().getBlocksLatestVersionOnly();
 
     return getFromOmKeyInfo(keyInfo, xceiverClientFactory,
-        retryFunction, blockStreamFactory, keyLocationInfos, config);
+        retryFunction, blockStreamFactory, keyLocationInfos, config,
+        vectoredReadExecutorSupplier);
   }
 
   public static List<LengthInputStream> getStreamsFromKeyInfo(OmKeyInfo keyInfo,
@@ -172,7 +204,7 @@ public static List<LengthInputStream> getStreamsFromKeyInfo(OmKeyInfo keyInfo,
     for (List<OmKeyLocationInfo> locationInfo : partsToBlocksMap.values()) {
       lengthInputStreams.add(getFromOmKeyInfo(keyInfo, xceiverClientFactory,
           retryFunction, blockStreamFactory, locationInfo,
-          config));
+          config, null));
     }
     return lengthInputStreams;
   }
@@ -105,6 +105,8 @@ public class KeyOutputStream extends OutputStream
 
   private final int maxConcurrentWritePerKey;
   private final KeyOutputStreamSemaphore keyOutputStreamSemaphore;
+  // group commit of the hsync calls, null if disabled
+  private final HsyncGroupCommit hsyncGroupCommit;
   private List<CheckedRunnable<IOException>> preCommits = Collections.emptyList();
 
   @Override
@@ -123,6 +125,7 @@ KeyOutputStreamSemaphore getRequestSemaphore() {
   KeyOutputStream() {
     maxConcurrentWritePerKey = 0;
     keyOutputStreamSemaphore = null;
+    hsyncGroupCommit = null;
     blockOutputStreamEntryPool = null;
     retryPolicyMap = null;
     replication = null;
@@ -142,6 +145,7 @@ public KeyOutputStream(ReplicationConfig replicationConfig, BlockOutputStreamEnt
     // At the moment, this constructor is only used by ECKeyOutputStream.
     this.maxConcurrentWritePerKey = 1;
     this.keyOutputStreamSemaphore = new KeyOutputStreamSemaphore(maxConcurrentWritePerKey);
+    this.hsyncGroupCommit = null;
   }
 
   protected BlockOutputStreamEntryPool getBlockOutputStreamEntryPool() {
@@ -174,6 +178,8 @@ public KeyOutputStream(Builder b) {
     final OzoneClientConfig config = b.getClientConfig();
     this.maxConcurrentWritePerKey = config.getMaxConcurrentWritePerKey();
     this.keyOutputStreamSemaphore = new KeyOutputStreamSemaphore(maxConcurrentWritePerKey);
+    this.hsyncGroupCommit = config.isHsyncGroupCommit()
+        ? new HsyncGroupCommit(config.getHsyncGroupCommitWindow()) : null;
     this.retryPolicyMap = HddsClientUtils.getRetryPolicyByException(
         config.getMaxRetryCount(), config.getRetryInterval());
     this.retryCount = 0;
@@ -538,20 +544,33 @@ public void hsync() throws IOException {
             + ozoneManagerVersion);
       }
       checkNotClosed();
-      final long hsyncPos = writeOffset;
-      handleFlushOrClose(StreamAction.HSYNC);
-
-      doInWriteLock(() -> {
-        Preconditions.checkState(offset >= hsyncPos,
-            "offset = %s < hsyncPos = %s", offset, hsyncPos);
-        MetricUtil.captureLatencyNs(clientMetrics::addHsyncLatency,
-            () -> blockOutputStreamEntryPool.hsyncKey(hsyncPos));
-      });
+      if (hsyncGroupCommit == null) {
+        hsyncInternal();
+      } else if (!hsyncGroupCommit.sync(writeOffset, this::hsyncInternal)) {
+        clientMetrics.getHsyncCoalesced().incr();
+      }
     } finally {
       getRequestSemaphore().release();
     }
   }
 
+  /**
+   * Flush the data written so far to the datanodes and update the key in OM.
+   * @return the position synced.
+   */
+  private long hsyncInternal() throws IOException {
+    final long hsyncPos = writeOffset;
+    handleFlushOrClose(StreamAction.HSYNC);
+
+    doInWriteLock(() -> {
+      Preconditions.checkState(offset >= hsyncPos,
+          "offset = %s < hsyncPos = %s", offset, hsyncPos);
+      MetricUtil.captureLatencyNs(clientMetrics::addHsyncLatency,
+          () -> blockOutputStreamEntryPool.hsyncKey(hsyncPos));
+    });
+    return hsyncPos;
+  }
+
   /**
    * Close or Flush the latest outputStream depending upon the action.
    * This function gets called when while write is going on, the current stream
@@ -692,6 +711,7 @@ public static class Builder {
     private StreamBufferArgs streamBufferArgs;
     private Supplier<ExecutorService> executorServiceSupplier;
     private OzoneManagerVersion ozoneManagerVersion;
+    private Runnable keyUpdateListener;
 
     public String getMultipartUploadID() {
       return multipartUploadID;
@@ -814,6 +834,20 @@ public OzoneManagerVersion getOmVersion() {
       return ozoneManagerVersion;
     }
 
+    /**
+     * Set a callback that is run after the key is committed or hsync-ed in
+     * OM, i.e. whenever the block locations of the key visible to readers
+     * may have changed.
+     */
+    public Builder setKeyUpdateListener(Runnable listener) {
+      this.keyUpdateListener = listener;
+      return this;
+    }
+
+    public Runnable getKeyUpdateListener() {
+      return keyUpdateListener;
+    }
+
     public KeyOutputStream build() {
       return new KeyOutputStream(this);
     }
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.rpc;
+
+import static org.apache.hadoop.ozone.OzoneConsts.LEASE_RECOVERY;
+import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+
+/**
+ * Bounded cache of the {@link OmKeyInfo} (including block locations) of keys
+ * recently opened for read, to avoid looking up the same key in OM again.
+ * Entries expire after a fixed time, and are dropped when the key is
+ * modified by this client or a read of the key needs refreshed locations.
+ * Keys still being written, i.e. hsync'ed or under lease recovery, are not
+ * cached, since another client may extend them at any time.
+ */
+final class KeyLocationCache {
+
+  private final Cache<String, OmKeyInfo> cache;
+
+  KeyLocationCache(int maxSize, Duration ttl) {
+    cache = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  OmKeyInfo get(String volumeName, String bucketName, String keyName) {
+    return cache.getIfPresent(cacheKey(volumeName, bucketName, keyName));
+  }
+
+  void put(OmKeyInfo keyInfo) {
+    if (isOpen(keyInfo)) {
+      cache.invalidate(cacheKey(keyInfo));
+    } else {
+      cache.put(cacheKey(keyInfo), keyInfo);
+    }
+  }
+
+  void invalidate(String volumeName, String bucketName, String keyName) {
+    cache.invalidate(cacheKey(volumeName, bucketName, keyName));
+  }
+
+  /**
+   * Drop the entry of the key only if it is still the same version as
+   * {@code stale}, so that a newer entry cached meanwhile is kept.
+   */
+  void invalidate(OmKeyInfo stale) {
+    cache.asMap().computeIfPresent(cacheKey(stale),
+        (k, cached) -> isSameVersion(cached, stale) ? null : cached);
+  }
+
+  void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  long size() {
+    return cache.size();
+  }
+
+  private static boolean isOpen(OmKeyInfo keyInfo) {
+    return keyInfo.isHsync()
+        || keyInfo.getMetadata().containsKey(LEASE_RECOVERY);
+  }
+
+  private static boolean isSameVersion(OmKeyInfo a, OmKeyInfo b) {
+    return a.getObjectID() == b.getObjectID()
+        && a.getUpdateID() == b.getUpdateID();
+  }
+
+  private static String cacheKey(OmKeyInfo keyInfo) {
+    return cacheKey(keyInfo.getVolumeName(), keyInfo.getBucketName(),
+        keyInfo.getKeyName());
+  }
+
+  private static String cacheKey(String volumeName, String bucketName,
+      String keyName) {
+    return OM_KEY_PREFIX + volumeName + OM_KEY_PREFIX + bucketName
+        + OM_KEY_PREFIX + keyName;
+  }
+}
@@ -52,6 +52,7 @@
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -116,6 +117,7 @@
 import org.apache.hadoop.ozone.client.io.CipherOutputStreamOzone;
 import org.apache.hadoop.ozone.client.io.ECBlockInputStream;
 import org.apache.hadoop.ozone.client.io.ECKeyOutputStream;
+import org.apache.hadoop.ozone.client.io.ECStripeCache;
 import org.apache.hadoop.ozone.client.io.KeyDataStreamOutput;
 import org.apache.hadoop.ozone.client.io.KeyInputStream;
 import org.apache.hadoop.ozone.client.io.KeyOutputStream;
@@ -223,6 +225,10 @@ public class RpcClient implements ClientProtocol {
   private final ContainerClientMetrics.Handle clientMetricsHandle;
   private final ContainerClientMetrics clientMetrics;
   private final MemoizedSupplier<ExecutorService> writeExecutor;
+  private final MemoizedSupplier<ExecutorService> readAheadExecutor;
+  private final MemoizedSupplier<ExecutorService> vectoredReadExecutor;
+  private final KeyLocationCache keyLocationCache;
+  private final ECStripeCache ecStripeCache;
   private volatile OzoneFsServerDefaults serverDefaults;
   private volatile long serverDefaultsLastUpdate;
   private final long serverDefaultsValidityPeriod;
@@ -248,6 +254,12 @@ public RpcClient(ConfigurationSource conf, String omServiceId)
         "ec-reconstruct-reader-TID-%d"));
     this.writeExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
         WRITE_POOL_MIN_SIZE, Integer.MAX_VALUE, "client-write-TID-%d"));
+    // Read-ahead is only an optimization, skip it rather than running it in the reader thread.
+    this.readAheadExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
+        0, clientConfig.getReadAheadPoolLimit(), "client-read-ahead-TID-%d",
+        new ThreadPoolExecutor.AbortPolicy()));
+    this.vectoredReadExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
+        0, clientConfig.getVectoredReadPoolLimit(), "client-vectored-read-TID-%d"));
 
     OmTransport omTransport = createOmTransport(omServiceId);
     OzoneManagerProtocolClientSideTranslatorPB
@@ -327,8 +339,18 @@ public void onRemoval(
         OZONE_CLIENT_ELASTIC_BYTE_BUFFER_POOL_MAX_SIZE_DEFAULT,
         StorageUnit.GB);
     this.byteBufferPool = new BoundedElasticByteBufferPool(maxPoolSize);
+    this.ecStripeCache = clientConfig.getEcReconstructStripeCacheSize() > 0
+        ? new ECStripeCache(clientConfig.getEcReconstructStripeCacheSize(),
+            clientConfig.getEcReconstructStripeCacheTtl())
+        : null;
     this.blockInputStreamFactory = BlockInputStreamFactoryImpl
-        .getInstance(byteBufferPool, ecReconstructExecutor);
+        .getInstance(byteBufferPool, ecReconstructExecutor,
+            clientConfig.getReadAheadChunks() > 0 ? readAheadExecutor : null,
+            ecStripeCache);
+    this.keyLocationCache = clientConfig.getKeyLocationCacheSize() > 0
+        ? new KeyLocationCache(clientConfig.getKeyLocationCacheSize(),
+            clientConfig.getKeyLocationCacheTtl())
+        : null;
     this.clientMetricsHandle = ContainerClientMetrics.acquireHandle();
     this.clientMetrics = clientMetricsHandle.metrics();
 
@@ -1472,6 +1494,8 @@ private OmKeyArgs.Builder createWriteKeyArgsBuilder(String volumeName,
 
   private OzoneOutputStream openOutputStream(OmKeyArgs keyArgs, long size)
       throws IOException {
+    invalidateKeyLocation(keyArgs.getVolumeName(), keyArgs.getBucketName(),
+        keyArgs.getKeyName());
     OpenKeySession openKey = ozoneManagerClient.openKey(keyArgs);
     return createOutputStream(openKey);
   }
@@ -1578,6 +1602,8 @@ private OmKeyArgs.Builder createStreamKeyArgsBuilder(String volumeName,
 
   private OzoneDataStreamOutput openDataStreamOutput(OmKeyArgs keyArgs)
       throws IOException {
+    invalidateKeyLocation(keyArgs.getVolumeName(), keyArgs.getBucketName(),
+        keyArgs.getKeyName());
     OpenKeySession openKey = ozoneManagerClient.openKey(keyArgs);
     return createDataStreamOutput(openKey);
   }
@@ -1624,10 +1650,57 @@ public OzoneInputStream getKey(
     verifyVolumeName(volumeName);
     verifyBucketName(bucketName);
     Objects.requireNonNull(keyName, "keyName == null");
-    OmKeyInfo keyInfo = getKeyInfo(volumeName, bucketName, keyName, false);
+    OmKeyInfo keyInfo = getKeyInfoForRead(volumeName, bucketName, keyName);
     return getInputStreamWithRetryFunction(keyInfo);
   }
 
+  /**
+   * Returns the key from the key location cache if enabled and present,
+   * otherwise looks it up in OM.
+   */
+  private OmKeyInfo getKeyInfoForRead(
+      String volumeName, String bucketName, String keyName)
+      throws IOException {
+    if (keyLocationCache == null) {
+      return getKeyInfo(volumeName, bucketName, keyName, false);
+    }
+    OmKeyInfo keyInfo = keyLocationCache.get(volumeName, bucketName, keyName);
+    if (keyInfo == null) {
+      keyInfo = getKeyInfo(volumeName, bucketName, keyName, false);
+      keyLocationCache.put(keyInfo);
+    }
+    return keyInfo;
+  }
+
+  private void invalidateKeyLocation(
+      String volumeName, String bucketName, String keyName) {
+    if (keyLocationCache != null) {
+      keyLocationCache.invalidate(volumeName, bucketName, keyName);
+    }
+  }
+
+  /**
+   * Locations cached for a key being written are dropped once more when the
+   * key is committed or hsync-ed, as a read between open and commit would
+   * otherwise keep serving the previous version until the entry expires.
+   */
+  private Runnable newKeyUpdateListener(OpenKeySession openKey) {
+    if (keyLocationCache == null) {
+      return null;
+    }
+    final OmKeyInfo keyInfo = openKey.getKeyInfo();
+    final String volumeName = keyInfo.getVolumeName();
+    final String bucketName = keyInfo.getBucketName();
+    final String keyName = keyInfo.getKeyName();
+    return () -> invalidateKeyLocation(volumeName, bucketName, keyName);
+  }
+
+  private void invalidateKeyLocations() {
+    if (keyLocationCache != null) {
+      keyLocationCache.invalidateAll();
+    }
+  }
+
   /**
    * Returns a map that contains {@link org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo} objects of the given key
    * as keys of the map.
@@ -1716,6 +1789,11 @@ public void deleteKey(
         .setRecursive(recursive)
         .build();
     ozoneManagerClient.deleteKey(keyArgs);
+    if (recursive) {
+      invalidateKeyLocations();
+    } else {
+      invalidateKeyLocation(volumeName, bucketName, keyName);
+    }
   }
 
   @Override
@@ -1728,6 +1806,7 @@ public void deleteKeys(
     OmDeleteKeys omDeleteKeys = new OmDeleteKeys(volumeName, bucketName,
         keyNameList);
     ozoneManagerClient.deleteKeys(omDeleteKeys);
+    keyNameList.forEach(k -> invalidateKeyLocation(volumeName, bucketName, k));
   }
 
   @Override
@@ -1739,7 +1818,11 @@ public Map<String, ErrorInfo> deleteKeys(
     Objects.requireNonNull(keyNameList, "keyNameList == null");
     OmDeleteKeys omDeleteKeys = new OmDeleteKeys(volumeName, bucketName,
         keyNameList);
-    return ozoneManagerClient.deleteKeys(omDeleteKeys, quiet);
+    try {
+      return ozoneManagerClient.deleteKeys(omDeleteKeys, quiet);
+    } finally {
+      keyNameList.forEach(k -> invalidateKeyLocation(volumeName, bucketName, k));
+    }
   }
 
   @Override
@@ -1757,6 +1840,8 @@ public void renameKey(String volumeName, String bucketName,
         .setKeyName(fromKeyName)
         .build();
     ozoneManagerClient.renameKey(keyArgs, toKeyName);
+    // the source may be a directory, drop all keys that may be under it
+    invalidateKeyLocations();
   }
 
   @Override
@@ -1769,6 +1854,7 @@ public void renameKeys(String volumeName, String bucketName,
     OmRenameKeys omRenameKeys =
         new OmRenameKeys(volumeName, bucketName, keyMap, null);
     ozoneManagerClient.renameKeys(omRenameKeys);
+    invalidateKeyLocations();
   }
 
   @Override
@@ -1953,12 +2039,15 @@ public void close() throws IOException {
     IOUtils.cleanupWithLogger(LOG,
         () -> shutdownExecutor(ecReconstructExecutor),
         () -> shutdownExecutor(writeExecutor),
+        () -> shutdownExecutor(readAheadExecutor),
+        () -> shutdownExecutor(vectoredReadExecutor),
         ozoneManagerClient,
         xceiverClientManager,
         () -> {
           keyProviderCache.invalidateAll();
           keyProviderCache.cleanUp();
         },
+        ecStripeCache,
         clientMetricsHandle);
   }
 
@@ -2109,6 +2198,7 @@ public OzoneDataStreamOutput createMultipartStreamKey(
     if (replicationConfig.getReplicationType() == HddsProtos.ReplicationType.RATIS) {
       KeyDataStreamOutput keyOutputStream = newKeyOutputStreamBuilder()
           .setHandler(openKey)
+          .setKeyUpdateListener(newKeyUpdateListener(openKey))
           .setReplicationConfig(replicationConfig)
           .setMultipartNumber(partNumber)
           .setMultipartUploadID(uploadID)
@@ -2149,6 +2239,7 @@ public OmMultipartUploadCompleteInfo completeMultipartUpload(
     OmMultipartUploadCompleteInfo omMultipartUploadCompleteInfo =
         ozoneManagerClient.completeMultipartUpload(keyArgs,
             omMultipartUploadCompleteList);
+    invalidateKeyLocation(volumeName, bucketName, keyName);
 
     return omMultipartUploadCompleteInfo;
 
@@ -2183,8 +2274,11 @@ public OmMultipartUploadCompleteInfo completeMultipartUpload(
     OmMultipartUploadCompleteList omMultipartUploadCompleteList =
         new OmMultipartUploadCompleteList(partsMap);
 
-    return ozoneManagerClient.completeMultipartUpload(keyArgs,
-        omMultipartUploadCompleteList);
+    OmMultipartUploadCompleteInfo omMultipartUploadCompleteInfo =
+        ozoneManagerClient.completeMultipartUpload(keyArgs,
+            omMultipartUploadCompleteList);
+    invalidateKeyLocation(volumeName, bucketName, keyName);
+    return omMultipartUploadCompleteInfo;
   }
 
   @Override
@@ -2291,6 +2385,12 @@ public void createDirectory(String volumeName, String bucketName,
   @Override
   public OzoneInputStream readFile(String volumeName, String bucketName,
       String keyName) throws IOException {
+    if (keyLocationCache != null) {
+      OmKeyInfo cached = keyLocationCache.get(volumeName, bucketName, keyName);
+      if (cached != null && cached.isFile()) {
+        return getInputStreamWithRetryFunction(cached);
+      }
+    }
     OmKeyArgs keyArgs = new OmKeyArgs.Builder()
         .setVolumeName(volumeName)
         .setBucketName(bucketName)
@@ -2309,6 +2409,9 @@ public OzoneInputStream readFile(String volumeName, String bucketName,
     } else {
       keyInfo = ozoneManagerClient.lookupFile(keyArgs);
     }
+    if (keyLocationCache != null) {
+      keyLocationCache.put(keyInfo);
+    }
     return getInputStreamWithRetryFunction(keyInfo);
   }
 
@@ -2324,7 +2427,8 @@ public OzoneOutputStream createFile(String volumeName, String bucketName,
 
   /**
    * Create InputStream with Retry function to refresh pipeline information
-   * if reads fail.
+   * if reads fail.  The retry also replaces the stale key in the key location
+   * cache, if enabled.
    *
    * @param keyInfo
    * @return
@@ -2333,9 +2437,16 @@ public OzoneOutputStream createFile(String volumeName, String bucketName,
   private OzoneInputStream getInputStreamWithRetryFunction(
       OmKeyInfo keyInfo) throws IOException {
     return createInputStream(keyInfo, omKeyInfo -> {
+      if (keyLocationCache != null) {
+        keyLocationCache.invalidate(omKeyInfo);
+      }
       try {
-        return getKeyInfo(omKeyInfo.getVolumeName(), omKeyInfo.getBucketName(),
-            omKeyInfo.getKeyName(), true);
+        OmKeyInfo refreshed = getKeyInfo(omKeyInfo.getVolumeName(),
+            omKeyInfo.getBucketName(), omKeyInfo.getKeyName(), true);
+        if (keyLocationCache != null && refreshed != null) {
+          keyLocationCache.put(refreshed);
+        }
+        return refreshed;
       } catch (IOException e) {
         LOG.error("Unable to lookup key {} on retry.", keyInfo.getKeyName(), e);
         return null;
@@ -2366,6 +2477,7 @@ public OzoneOutputStream createFile(String volumeName, String bucketName,
         .setLatestVersionLocation(getLatestVersionLocation)
         .setOwnerName(ownerName)
         .build();
+    invalidateKeyLocation(volumeName, bucketName, keyName);
     OpenKeySession keySession =
         ozoneManagerClient.createFile(keyArgs, overWrite, recursive);
     return createOutputStream(keySession);
@@ -2398,6 +2510,7 @@ public OzoneDataStreamOutput createStreamFile(String volumeName,
         .setSortDatanodesInPipeline(true)
         .setOwnerName(ownerName)
         .build();
+    invalidateKeyLocation(volumeName, bucketName, keyName);
     OpenKeySession keySession =
         ozoneManagerClient.createFile(keyArgs, overWrite, recursive);
     return createDataStreamOutput(keySession);
@@ -2521,7 +2634,8 @@ private OzoneInputStream createInputStream(
     if (feInfo == null) {
       LengthInputStream lengthInputStream = KeyInputStream
           .getFromOmKeyInfo(keyInfo, xceiverClientManager, retryFunction,
-              blockInputStreamFactory, clientConfig);
+              blockInputStreamFactory, clientConfig,
+              clientConfig.getVectoredReadPoolLimit() > 0 ? vectoredReadExecutor : null);
       try {
         final GDPRSymmetricKey gk = getGDPRSymmetricKey(
             keyInfo.getMetadata(), Cipher.DECRYPT_MODE);
@@ -2574,6 +2688,7 @@ private OzoneDataStreamOutput createDataStreamOutput(OpenKeySession openKey)
     if (replicationConfig.getReplicationType() == HddsProtos.ReplicationType.RATIS) {
       KeyDataStreamOutput keyOutputStream = newKeyOutputStreamBuilder()
           .setHandler(openKey)
+          .setKeyUpdateListener(newKeyUpdateListener(openKey))
           .setReplicationConfig(replicationConfig)
           .build();
       keyOutputStream.addPreallocateBlocks(
@@ -2663,6 +2778,7 @@ private KeyOutputStream.Builder createKeyOutputStream(
     }
 
     return builder.setHandler(openKey)
+        .setKeyUpdateListener(newKeyUpdateListener(openKey))
         .setXceiverClientManager(xceiverClientManager)
         .setOmClient(ozoneManagerClient)
         .enableUnsafeByteBufferConversion(unsafeByteBufferConversion)
@@ -2887,9 +3003,16 @@ public void deleteObjectTagging(String volumeName, String bucketName,
 
   private static ExecutorService createThreadPoolExecutor(
        int corePoolSize, int maximumPoolSize, String threadNameFormat) {
+    return createThreadPoolExecutor(corePoolSize, maximumPoolSize, threadNameFormat,
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  private static ExecutorService createThreadPoolExecutor(
+       int corePoolSize, int maximumPoolSize, String threadNameFormat,
+       RejectedExecutionHandler rejectedExecutionHandler) {
     return new ThreadPoolExecutor(corePoolSize, maximumPoolSize,
             60, TimeUnit.SECONDS, new SynchronousQueue<>(),
                new ThreadFactoryBuilder().setNameFormat(threadNameFormat).setDaemon(true).build(),
-               new ThreadPoolExecutor.CallerRunsPolicy());
+               rejectedExecutionHandler);
   }
 }
@@ -20,23 +20,35 @@
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.hadoop.hdds.client.ReplicationFactor.ONE;
 import static org.apache.ozone.test.GenericTestUtils.getTestStartTime;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import jakarta.annotation.Nonnull;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.apache.hadoop.conf.StorageUnit;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfigValidator;
 import org.apache.hadoop.hdds.client.ReplicationType;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
+import org.apache.hadoop.io.IOUtils;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.client.io.OzoneInputStream;
@@ -220,6 +232,129 @@ public void testPutKeyWithECReplicationConfig() throws IOException {
     }
   }
 
+  @Test
+  public void testAsyncPutAndReadKeys() throws Exception {
+    OzoneBucket bucket = getOzoneBucket();
+    AsyncOzoneBucket asyncBucket = client.getAsyncBucket(
+        bucket.getVolumeName(), bucket.getName());
+
+    List<String> keyNames = new ArrayList<>();
+    List<CompletableFuture<Void>> writes = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      String keyName = UUID.randomUUID().toString();
+      keyNames.add(keyName);
+      writes.add(asyncBucket.createKey(keyName, keyName.getBytes(UTF_8),
+          RatisReplicationConfig.getInstance(HddsProtos.ReplicationFactor.ONE),
+          new HashMap<>()));
+    }
+    CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).get();
+
+    List<CompletableFuture<OzoneInputStream>> reads = new ArrayList<>();
+    for (String keyName : keyNames) {
+      reads.add(asyncBucket.readKey(keyName));
+    }
+    for (int i = 0; i < keyNames.size(); i++) {
+      byte[] expected = keyNames.get(i).getBytes(UTF_8);
+      byte[] data = new byte[expected.length];
+      try (OzoneInputStream in = reads.get(i).get()) {
+        IOUtils.readFully(in, data, 0, data.length);
+        assertEquals(-1, in.read());
+      }
+      assertArrayEquals(expected, data);
+    }
+  }
+
+  @Test
+  public void testCloseCancelsQueuedAsyncOperations() throws Exception {
+    OzoneBucket bucket = getOzoneBucket();
+    AsyncOzoneBucket asyncBucket = client.getAsyncBucket(
+        bucket.getVolumeName(), bucket.getName());
+    List<CompletableFuture<Void>> writes = createKeys(asyncBucket, 100);
+
+    // close does not wait, but every future is completed
+    close();
+    for (CompletableFuture<Void> write : writes) {
+      write.handle((v, e) -> null).get(10, TimeUnit.SECONDS);
+    }
+
+    // operations submitted after close fail instead of hanging
+    CompletableFuture<OzoneInputStream> read = asyncBucket.readKey("key");
+    assertThrows(ExecutionException.class, read::get);
+    init();
+  }
+
+  @Test
+  public void testCloseWaitsForAsyncOperations() throws Exception {
+    close();
+    OzoneConfiguration config = new OzoneConfiguration();
+    OzoneClientConfig clientConfig = config.getObject(OzoneClientConfig.class);
+    clientConfig.setAsyncCloseTimeout(Duration.ofMinutes(1));
+    config.setFromObject(clientConfig);
+    createNewClient(config, new SinglePipelineBlockAllocator(config));
+    OzoneBucket bucket = getOzoneBucket();
+    AsyncOzoneBucket asyncBucket = client.getAsyncBucket(
+        bucket.getVolumeName(), bucket.getName());
+    List<CompletableFuture<Void>> writes = createKeys(asyncBucket, 100);
+
+    close();
+    for (CompletableFuture<Void> write : writes) {
+      assertTrue(write.isDone());
+      write.get();
+    }
+    init();
+  }
+
+  private static List<CompletableFuture<Void>> createKeys(
+      AsyncOzoneBucket asyncBucket, int count) {
+    List<CompletableFuture<Void>> writes = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      String keyName = UUID.randomUUID().toString();
+      writes.add(asyncBucket.createKey(keyName, keyName.getBytes(UTF_8),
+          RatisReplicationConfig.getInstance(HddsProtos.ReplicationFactor.ONE),
+          new HashMap<>()));
+    }
+    return writes;
+  }
+
+  @Test
+  public void testReadOwnWritesWithKeyLocationCache() throws IOException {
+    close();
+    OzoneConfiguration config = new OzoneConfiguration();
+    config.setInt("ozone.client.key.location.cache.size", 100);
+    createNewClient(config, new SinglePipelineBlockAllocator(config));
+    OzoneBucket bucket = getOzoneBucket();
+    String keyName = UUID.randomUUID().toString();
+
+    writeKey(bucket, keyName, "first version");
+    assertEquals("first version", readKey(bucket, keyName));
+
+    OzoneOutputStream out = bucket.createKey(keyName, 0,
+        ReplicationType.RATIS, ONE, new HashMap<>());
+    out.write("second version".getBytes(UTF_8));
+    // a read between open and commit caches the committed locations again
+    assertEquals("first version", readKey(bucket, keyName));
+    out.close();
+
+    assertEquals("second version", readKey(bucket, keyName));
+  }
+
+  private static void writeKey(OzoneBucket bucket, String keyName,
+      String value) throws IOException {
+    try (OzoneOutputStream out = bucket.createKey(keyName, 0,
+        ReplicationType.RATIS, ONE, new HashMap<>())) {
+      out.write(value.getBytes(UTF_8));
+    }
+  }
+
+  private static String readKey(OzoneBucket bucket, String keyName)
+      throws IOException {
+    byte[] buffer = new byte[1024];
+    try (OzoneInputStream in = bucket.readKey(keyName)) {
+      int length = in.read(buffer);
+      return new String(buffer, 0, length, UTF_8);
+    }
+  }
+
   private OzoneBucket getOzoneBucket() throws IOException {
     String volumeName = UUID.randomUUID().toString();
     String bucketName = UUID.randomUUID().toString();
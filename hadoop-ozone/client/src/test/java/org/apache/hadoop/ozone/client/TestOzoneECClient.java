@@ -21,6 +21,7 @@
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
@@ -197,6 +198,22 @@ public void testPutECKeyAndCheckParityData() throws IOException {
 
   }
 
+  @Test
+  public void testPartialStripeParityData() throws IOException {
+    // The last stripe has a full cell, a partial cell and an empty cell,
+    // it is padded for the encoder while the data cells keep their length.
+    final byte[][] chunks = {inputChunks[0], Arrays.copyOf(inputChunks[1], chunkSize / 2 + 1)};
+    final OzoneBucket bucket = writeIntoECKey(chunks, keyName, null);
+    final List<OzoneKeyLocation> locations = bucket.getKey(keyName).getOzoneKeyLocations();
+    assertEquals(1, locations.size());
+
+    final Map<Integer, ByteString> replicas = getReplicas(locations.get(0));
+    assertEquals(ByteString.copyFrom(chunks[0]), replicas.get(1));
+    assertEquals(ByteString.copyFrom(chunks[1]), replicas.get(2));
+    assertNull(replicas.get(3));
+    assertSingleStripeParity(replicas);
+  }
+
   @Test
   public void testPutECKeyAndReadContent() throws IOException {
     OzoneBucket bucket = writeIntoECKey(inputChunks, keyName, null);
@@ -770,6 +787,9 @@ public void testStripeWriteRetriesOnFailures(OzoneConfiguration con,
         assertArrayEquals(inputChunks[i], fileContent);
       }
     }
+    // The retried stripe is written with the parity computed before the failure.
+    final List<OzoneKeyLocation> locations = key.getOzoneKeyLocations();
+    assertSingleStripeParity(getReplicas(locations.get(locations.size() - 1)));
   }
 
   public void testNodeFailuresWhileWriting(int[] nodesIndexesToMarkFailure,
@@ -1164,6 +1184,54 @@ private OzoneBucket writeIntoECKey(int[] offsets, int[] lengths,
     return bucket;
   }
 
+  /**
+   * @return the data of the given block stored by the datanodes,
+   *         by replica index.
+   */
+  private Map<Integer, ByteString> getReplicas(OzoneKeyLocation location) {
+    final ContainerProtos.DatanodeBlockID blockID = ContainerProtos.DatanodeBlockID.newBuilder()
+        .setContainerID(location.getContainerID())
+        .setLocalID(location.getLocalID())
+        .build();
+    final String blockKey = location.getContainerID() + "_" + location.getLocalID();
+    final Map<Integer, ByteString> replicas = new HashMap<>();
+    for (MockDatanodeStorage storage : factoryStub.getStorages().values()) {
+      final ByteString data = storage.getAllBlockData().get(blockKey);
+      if (data != null) {
+        replicas.put(storage.getBlock(blockID).getBlockID().getReplicaIndex(), data);
+      }
+    }
+    return replicas;
+  }
+
+  /**
+   * Assert that the parity replicas of a block holding a single stripe
+   * are the encoding of its data replicas.
+   */
+  private void assertSingleStripeParity(Map<Integer, ByteString> replicas)
+      throws IOException {
+    final int cellSize = replicas.get(1).size();
+    final ByteBuffer[] dataBuffers = new ByteBuffer[dataBlocks];
+    for (int i = 0; i < dataBlocks; i++) {
+      // a missing or partial data cell is padded with zeros
+      dataBuffers[i] = ByteBuffer.allocate(cellSize);
+      final ByteString cell = replicas.get(i + 1);
+      if (cell != null) {
+        cell.copyTo(dataBuffers[i]);
+      }
+      dataBuffers[i].clear();
+    }
+    final ByteBuffer[] parityBuffers = new ByteBuffer[parityBlocks];
+    for (int i = 0; i < parityBlocks; i++) {
+      parityBuffers[i] = ByteBuffer.allocate(cellSize);
+    }
+    encoder.encode(dataBuffers, parityBuffers);
+    for (int i = 0; i < parityBlocks; i++) {
+      assertEquals(ByteString.copyFrom(parityBuffers[i].array()),
+          replicas.get(dataBlocks + i + 1), "parity " + i);
+    }
+  }
+
   private List<OmKeyLocationInfo> getAllLocationInfoList(
       ECKeyOutputStream kos) {
     List<OmKeyLocationInfo> locationInfoList = new ArrayList<>();
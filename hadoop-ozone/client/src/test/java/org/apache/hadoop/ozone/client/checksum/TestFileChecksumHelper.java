@@ -23,6 +23,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -54,6 +55,7 @@
 import org.apache.hadoop.hdds.scm.XceiverClientReply;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.client.MockOmTransport;
 import org.apache.hadoop.ozone.client.MockXceiverClientFactory;
 import org.apache.hadoop.ozone.client.ObjectStore;
@@ -262,6 +264,77 @@ public XceiverClientReply sendCommandAsync(
     assertEquals(1, helper.getKeyLocationInfoList().size());
   }
 
+  @Test
+  public void testPrecomputedCompositeCrc() throws Exception {
+    final ContainerProtos.BlockData withChunks = buildValidResponse(ReplicationType.RATIS)
+        .getResponse().get().getGetBlock().getBlockData();
+    final ContainerProtos.BlockData withCompositeCrc = withChunks.toBuilder()
+        .clearChunks()
+        .addMetadata(ContainerProtos.KeyValue.newBuilder()
+            .setKey(OzoneConsts.BLOCK_COMPOSITE_CRC_KEY)
+            .setValue(BlockCompositeCrc.compute(withChunks.getChunksList()).toMetadataValue()))
+        .build();
+
+    final List<ContainerProtos.ContainerCommandRequestProto> requests = new ArrayList<>();
+    final FileChecksum computed = compositeCrcFileChecksum(withChunks, requests);
+    final FileChecksum precomputed = compositeCrcFileChecksum(withCompositeCrc, requests);
+
+    assertInstanceOf(CompositeCrcFileChecksum.class, precomputed);
+    assertEquals(computed, precomputed);
+    // without a precomputed CRC, the chunks from the first response are used
+    assertEquals(2, requests.size());
+    for (ContainerProtos.ContainerCommandRequestProto request : requests) {
+      assertTrue(request.getGetBlock().getCompositeCrcOnly());
+    }
+  }
+
+  private FileChecksum compositeCrcFileChecksum(ContainerProtos.BlockData blockData,
+      List<ContainerProtos.ContainerCommandRequestProto> requests) throws IOException {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    RpcClient mockRpcClient = mock(RpcClient.class);
+    List<DatanodeDetails> dns = Collections.singletonList(
+        DatanodeDetails.newBuilder().setUuid(UUID.randomUUID()).build());
+    Pipeline pipeline = pipeline(ReplicationType.RATIS, dns);
+    OmKeyLocationInfo omKeyLocationInfo = new OmKeyLocationInfo.Builder()
+        .setPipeline(pipeline)
+        .setBlockID(new BlockID(1, 1))
+        .setLength(10)
+        .build();
+    OmKeyInfo omKeyInfo = omKeyInfo(ReplicationType.RATIS, noCachedChecksum,
+        Collections.singletonList(omKeyLocationInfo));
+    XceiverClientGrpc xceiverClientGrpc = new XceiverClientGrpc(pipeline, conf) {
+      @Override
+      public XceiverClientReply sendCommandAsync(
+          ContainerProtos.ContainerCommandRequestProto request,
+          DatanodeDetails dn) {
+        requests.add(request);
+        return new XceiverClientReply(CompletableFuture.completedFuture(
+            ContainerProtos.ContainerCommandResponseProto.newBuilder()
+                .setCmdType(ContainerProtos.Type.GetBlock)
+                .setResult(ContainerProtos.Result.SUCCESS)
+                .setGetBlock(ContainerProtos.GetBlockResponseProto.newBuilder()
+                    .setBlockData(blockData))
+                .build()));
+      }
+    };
+    XceiverClientFactory factory = mock(XceiverClientFactory.class);
+    when(factory.acquireClientForReadData(any())).thenReturn(xceiverClientGrpc);
+    when(mockRpcClient.getXceiverClientManager()).thenReturn(factory);
+    OzoneManagerProtocol om = mock(OzoneManagerProtocol.class);
+    when(mockRpcClient.getOzoneManagerClient()).thenReturn(om);
+    when(om.lookupKey(any())).thenReturn(omKeyInfo);
+
+    OzoneVolume mockVolume = mock(OzoneVolume.class);
+    when(mockVolume.getName()).thenReturn("vol1");
+    OzoneBucket mockBucket = mock(OzoneBucket.class);
+    when(mockBucket.getName()).thenReturn("bucket1");
+
+    BaseFileChecksumHelper helper = checksumHelper(ReplicationType.RATIS, mockVolume, mockBucket, 10,
+        OzoneClientConfig.ChecksumCombineMode.COMPOSITE_CRC, mockRpcClient, omKeyInfo);
+    helper.compute();
+    return helper.getFileChecksum();
+  }
+
   private XceiverClientReply buildValidResponse(ReplicationType type) {
     // return a GetBlockResponse message of a block and its chunk checksums.
     ContainerProtos.DatanodeBlockID blockID =
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.ozone.erasurecode.rawcoder.RSRawErasureCoderFactory;
+import org.apache.ozone.erasurecode.rawcoder.RawErasureEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link ECStripeEncoder}.
+ */
+public class TestECStripeEncoder {
+  private static final int CELL_SIZE = 1024;
+  private static final ECReplicationConfig REPLICATION = new ECReplicationConfig(3, 2);
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void init() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void testEncodeStripes() throws Exception {
+    final RSRawErasureCoderFactory factory = new RSRawErasureCoderFactory();
+    final ECStripeEncoder encoder = new ECStripeEncoder(factory.createEncoder(REPLICATION), executor);
+    final RawErasureEncoder expectedEncoder = factory.createEncoder(REPLICATION);
+
+    final int stripes = 8;
+    final List<ByteBuffer[]> outputs = new ArrayList<>();
+    final List<ByteBuffer[]> expected = new ArrayList<>();
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int s = 0; s < stripes; s++) {
+      // the last stripe is shorter than a cell
+      final int cellSize = s == stripes - 1 ? CELL_SIZE / 3 : CELL_SIZE;
+      final ByteBuffer[] inputs = newBuffers(REPLICATION.getData(), cellSize);
+      for (ByteBuffer input : inputs) {
+        ThreadLocalRandom.current().nextBytes(input.array());
+      }
+      final ByteBuffer[] parity = newBuffers(REPLICATION.getParity(), cellSize);
+      expectedEncoder.encode(duplicate(inputs), parity);
+      expected.add(parity);
+
+      outputs.add(newBuffers(REPLICATION.getParity(), cellSize));
+      futures.add(encoder.encode(inputs, outputs.get(s)));
+    }
+
+    for (int s = 0; s < stripes; s++) {
+      ECStripeEncoder.await(futures.get(s));
+      for (int i = 0; i < REPLICATION.getParity(); i++) {
+        assertArrayEquals(expected.get(s)[i].array(), outputs.get(s)[i].array());
+      }
+    }
+  }
+
+  @Test
+  void testEncoderException() throws Exception {
+    final RawErasureEncoder rawEncoder = mock(RawErasureEncoder.class);
+    final List<ByteBuffer[]> encoded = new ArrayList<>();
+    final IOException failure = new IOException("injected");
+    doAnswer(invocation -> {
+      encoded.add(invocation.getArgument(0));
+      if (encoded.size() == 2) {
+        throw failure;
+      }
+      return null;
+    }).when(rawEncoder).encode(any(ByteBuffer[].class), any(ByteBuffer[].class));
+    final ECStripeEncoder encoder = new ECStripeEncoder(rawEncoder, executor);
+
+    final List<ByteBuffer[]> inputs = new ArrayList<>();
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int s = 0; s < 3; s++) {
+      inputs.add(newBuffers(REPLICATION.getData(), CELL_SIZE));
+      futures.add(encoder.encode(inputs.get(s), newBuffers(REPLICATION.getParity(), CELL_SIZE)));
+    }
+
+    ECStripeEncoder.await(futures.get(0));
+    assertSame(failure, assertThrows(IOException.class, () -> ECStripeEncoder.await(futures.get(1))));
+    // the stripes following a failed one are not encoded
+    assertSame(failure, assertThrows(IOException.class, () -> ECStripeEncoder.await(futures.get(2))));
+    verify(rawEncoder, times(2)).encode(any(ByteBuffer[].class), any(ByteBuffer[].class));
+    // the stripes are encoded in order
+    assertSame(inputs.get(0), encoded.get(0));
+    assertSame(inputs.get(1), encoded.get(1));
+  }
+
+  @Test
+  void testEncoderRuntimeException() throws Exception {
+    final RawErasureEncoder rawEncoder = mock(RawErasureEncoder.class);
+    final IllegalArgumentException failure = new IllegalArgumentException("injected");
+    doAnswer(invocation -> {
+      throw failure;
+    }).when(rawEncoder).encode(any(ByteBuffer[].class), any(ByteBuffer[].class));
+    final ECStripeEncoder encoder = new ECStripeEncoder(rawEncoder, executor);
+
+    final CompletableFuture<Void> future = encoder.encode(
+        newBuffers(REPLICATION.getData(), CELL_SIZE), newBuffers(REPLICATION.getParity(), CELL_SIZE));
+    final IOException e = assertThrows(IOException.class, () -> ECStripeEncoder.await(future));
+    assertThat(e).hasMessage("Failed to encode stripe");
+    assertSame(failure, e.getCause());
+  }
+
+  private static ByteBuffer[] newBuffers(int count, int size) {
+    final ByteBuffer[] buffers = new ByteBuffer[count];
+    for (int i = 0; i < count; i++) {
+      buffers[i] = ByteBuffer.allocate(size);
+    }
+    return buffers;
+  }
+
+  private static ByteBuffer[] duplicate(ByteBuffer[] buffers) {
+    final ByteBuffer[] duplicates = new ByteBuffer[buffers.length];
+    for (int i = 0; i < buffers.length; i++) {
+      duplicates[i] = buffers[i].duplicate();
+    }
+    return duplicates;
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link HsyncGroupCommit}.
+ */
+public class TestHsyncGroupCommit {
+
+  @Test
+  void testSyncedPositionIsNotSyncedAgain() throws Exception {
+    final HsyncGroupCommit groupCommit = new HsyncGroupCommit(Duration.ZERO);
+    final AtomicInteger syncs = new AtomicInteger();
+
+    // an empty stream is synced once
+    assertTrue(groupCommit.sync(0, () -> syncs.incrementAndGet() * 0L));
+    assertFalse(groupCommit.sync(0, () -> (long) syncs.incrementAndGet()));
+
+    assertTrue(groupCommit.sync(10, () -> {
+      syncs.incrementAndGet();
+      return 20L;
+    }));
+    assertFalse(groupCommit.sync(10, () -> (long) syncs.incrementAndGet()));
+    assertFalse(groupCommit.sync(20, () -> (long) syncs.incrementAndGet()));
+    assertTrue(groupCommit.sync(21, () -> {
+      syncs.incrementAndGet();
+      return 21L;
+    }));
+
+    assertEquals(3, syncs.get());
+    assertEquals(3, groupCommit.getSyncCount());
+    assertEquals(3, groupCommit.getCoalescedCount());
+    assertEquals(21, groupCommit.getSyncedPosition());
+  }
+
+  @Test
+  void testConcurrentSyncsAreGrouped() throws Exception {
+    final HsyncGroupCommit groupCommit = new HsyncGroupCommit(Duration.ZERO);
+    final CountDownLatch leaderStarted = new CountDownLatch(1);
+    final CountDownLatch leaderBlocked = new CountDownLatch(1);
+    final AtomicInteger syncs = new AtomicInteger();
+
+    final CompletableFuture<Boolean> leader = CompletableFuture.supplyAsync(() -> {
+      try {
+        return groupCommit.sync(10, () -> {
+          syncs.incrementAndGet();
+          leaderStarted.countDown();
+          await(leaderBlocked);
+          return 10L;
+        });
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    leaderStarted.await();
+
+    // position 30 is written after the running sync started
+    final CompletableFuture<Boolean> next = CompletableFuture.supplyAsync(() -> {
+      try {
+        return groupCommit.sync(30, () -> {
+          syncs.incrementAndGet();
+          return 40L;
+        });
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    final CompletableFuture<Boolean> follower = CompletableFuture.supplyAsync(() -> {
+      try {
+        return groupCommit.sync(8, () -> (long) syncs.incrementAndGet());
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+
+    GenericTestUtils.waitFor(() -> !next.isDone() && !follower.isDone() && syncs.get() == 1, 10, 1000);
+    leaderBlocked.countDown();
+
+    assertTrue(leader.get());
+    assertFalse(follower.get());
+    assertTrue(next.get());
+    assertEquals(2, syncs.get());
+    assertEquals(40, groupCommit.getSyncedPosition());
+  }
+
+  @Test
+  void testFailedSyncIsRetriedByFollower() throws Exception {
+    final HsyncGroupCommit groupCommit = new HsyncGroupCommit(Duration.ZERO);
+    final CountDownLatch leaderStarted = new CountDownLatch(1);
+    final CountDownLatch leaderBlocked = new CountDownLatch(1);
+
+    final CompletableFuture<Void> leader = CompletableFuture.runAsync(() ->
+        assertThrows(IOException.class, () -> groupCommit.sync(10, () -> {
+          leaderStarted.countDown();
+          await(leaderBlocked);
+          throw new IOException("Injected failure");
+        })));
+    leaderStarted.await();
+
+    final CompletableFuture<Boolean> follower = CompletableFuture.supplyAsync(() -> {
+      try {
+        return groupCommit.sync(5, () -> 10L);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    leaderBlocked.countDown();
+
+    leader.get();
+    assertTrue(follower.get());
+    assertEquals(10, groupCommit.getSyncedPosition());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
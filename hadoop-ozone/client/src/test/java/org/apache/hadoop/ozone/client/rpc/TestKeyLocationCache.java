@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.rpc;
+
+import static org.apache.hadoop.ozone.OzoneConsts.HSYNC_CLIENT_ID;
+import static org.apache.hadoop.ozone.OzoneConsts.LEASE_RECOVERY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link KeyLocationCache}.
+ */
+public class TestKeyLocationCache {
+
+  @Test
+  public void testPutGetAndInvalidate() {
+    KeyLocationCache cache = new KeyLocationCache(10, Duration.ofMinutes(1));
+    OmKeyInfo key = createKeyInfo("key", 1, 1);
+
+    assertNull(cache.get("vol", "bucket", "key"));
+    cache.put(key);
+    assertSame(key, cache.get("vol", "bucket", "key"));
+    assertNull(cache.get("vol", "bucket", "other"));
+
+    cache.invalidate("vol", "bucket", "key");
+    assertNull(cache.get("vol", "bucket", "key"));
+  }
+
+  @Test
+  public void testInvalidateKeepsNewerVersion() {
+    KeyLocationCache cache = new KeyLocationCache(10, Duration.ofMinutes(1));
+    OmKeyInfo stale = createKeyInfo("key", 1, 1);
+    OmKeyInfo newer = createKeyInfo("key", 1, 2);
+
+    cache.put(newer);
+    cache.invalidate(stale);
+    assertSame(newer, cache.get("vol", "bucket", "key"));
+
+    cache.invalidate(newer);
+    assertNull(cache.get("vol", "bucket", "key"));
+  }
+
+  @Test
+  public void testOpenKeysAreNotCached() {
+    KeyLocationCache cache = new KeyLocationCache(10, Duration.ofMinutes(1));
+    cache.put(createKeyInfo("key", 1, 1));
+
+    // a newer version of the key being written replaces the cached one
+    cache.put(createKeyInfo("key", 1, 2, HSYNC_CLIENT_ID));
+    assertNull(cache.get("vol", "bucket", "key"));
+
+    cache.put(createKeyInfo("key", 1, 3, LEASE_RECOVERY));
+    assertNull(cache.get("vol", "bucket", "key"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testBoundedSize() {
+    KeyLocationCache cache = new KeyLocationCache(2, Duration.ofMinutes(1));
+    for (int i = 0; i < 10; i++) {
+      cache.put(createKeyInfo("key" + i, i, i));
+    }
+    assertEquals(2, cache.size());
+
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testExpiry() throws InterruptedException {
+    KeyLocationCache cache = new KeyLocationCache(10, Duration.ofMillis(10));
+    cache.put(createKeyInfo("key", 1, 1));
+    Thread.sleep(50);
+    assertNull(cache.get("vol", "bucket", "key"));
+  }
+
+  private static OmKeyInfo createKeyInfo(String keyName, long objectID,
+      long updateID) {
+    return keyInfoBuilder(keyName, objectID, updateID).build();
+  }
+
+  private static OmKeyInfo createKeyInfo(String keyName, long objectID,
+      long updateID, String metadataKey) {
+    return keyInfoBuilder(keyName, objectID, updateID)
+        .addMetadata(metadataKey, "1")
+        .build();
+  }
+
+  private static OmKeyInfo.Builder keyInfoBuilder(String keyName,
+      long objectID, long updateID) {
+    return new OmKeyInfo.Builder()
+        .setVolumeName("vol")
+        .setBucketName("bucket")
+        .setKeyName(keyName)
+        .setReplicationConfig(
+            RatisReplicationConfig.getInstance(ReplicationFactor.THREE))
+        .setObjectID(objectID)
+        .setUpdateID(updateID);
+  }
+}
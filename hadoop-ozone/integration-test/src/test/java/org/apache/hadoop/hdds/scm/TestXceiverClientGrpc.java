@@ -21,6 +21,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
@@ -29,6 +30,7 @@
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.client.RatisReplicationConfig;
@@ -150,6 +152,68 @@ public XceiverClientReply sendCommandAsync(
     assertEquals(0, allDNs.size());
   }
 
+  @Test
+  public void testHedgedReadChunk() throws IOException {
+    conf.set("ozone.client.hedged.read.threshold", "10ms");
+    conf.setDouble("ozone.client.hedged.read.percentile", 0);
+    final List<DatanodeDetails> seenDNs = new ArrayList<>();
+    final AtomicInteger calls = new AtomicInteger();
+    final long hedgedReads = XceiverClientGrpc.getHedgedReadCount();
+    final long hedgedReadWins = XceiverClientGrpc.getHedgedReadWinCount();
+    final CompletableFuture<ContainerProtos.ContainerCommandResponseProto> slow = new CompletableFuture<>();
+    try (XceiverClientGrpc client = new XceiverClientGrpc(pipeline, conf) {
+      @Override
+      public XceiverClientReply sendCommandAsync(
+          ContainerProtos.ContainerCommandRequestProto request,
+          DatanodeDetails dn) {
+        seenDNs.add(dn);
+        if (calls.getAndIncrement() == 0) {
+          // the first datanode never responds
+          return new XceiverClientReply(slow);
+        }
+        return buildValidResponse();
+      }
+    }) {
+      invokeXceiverClientReadChunk(client);
+    }
+    assertEquals(2, seenDNs.size());
+    assertNotEquals(seenDNs.get(0), seenDNs.get(1));
+    assertEquals(hedgedReads + 1, XceiverClientGrpc.getHedgedReadCount());
+    assertEquals(hedgedReadWins + 1, XceiverClientGrpc.getHedgedReadWinCount());
+    // the request which lost the race is cancelled
+    assertTrue(slow.isCancelled());
+  }
+
+  @Test
+  public void testHedgedReadChunkRetriesFailureImmediately() throws IOException {
+    // a delay long enough to time out the test if the retry waited for it
+    conf.set("ozone.client.hedged.read.threshold", "1h");
+    conf.setDouble("ozone.client.hedged.read.percentile", 0);
+    final List<DatanodeDetails> seenDNs = new ArrayList<>();
+    final long hedgedReads = XceiverClientGrpc.getHedgedReadCount();
+    try (XceiverClientGrpc client = new XceiverClientGrpc(pipeline, conf) {
+      @Override
+      public XceiverClientReply sendCommandAsync(
+          ContainerProtos.ContainerCommandRequestProto request,
+          DatanodeDetails dn) {
+        seenDNs.add(dn);
+        if (seenDNs.size() == 1) {
+          // the first datanode fails before the hedged read delay
+          final CompletableFuture<ContainerProtos.ContainerCommandResponseProto> failed = new CompletableFuture<>();
+          failed.completeExceptionally(new IOException("Failed " + dn));
+          return new XceiverClientReply(failed);
+        }
+        return buildValidResponse();
+      }
+    }) {
+      invokeXceiverClientReadChunk(client);
+    }
+    assertEquals(2, seenDNs.size());
+    assertNotEquals(seenDNs.get(0), seenDNs.get(1));
+    // a retry after a failure is not a hedged read
+    assertEquals(hedgedReads, XceiverClientGrpc.getHedgedReadCount());
+  }
+
   @Test
   public void testInterruptedCommandThrowsInterruptedIOException()
       throws IOException {
@@ -22,10 +22,13 @@
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.ReadOnlyBufferException;
+import java.util.List;
+import java.util.function.IntFunction;
 import org.apache.hadoop.fs.ByteBufferPositionedReadable;
 import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.CanUnbuffer;
 import org.apache.hadoop.fs.FSInputStream;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem.Statistics;
 import org.apache.hadoop.fs.Seekable;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
@@ -190,6 +193,31 @@ public int read(long position, ByteBuffer buf) throws IOException {
     return bytesRead;
   }
 
+  /**
+   * Vectored read. If supported by the underlying stream, nearby ranges are
+   * merged and the ranges in different blocks are read in parallel,
+   * otherwise the ranges are read one by one.
+   * @param ranges the byte ranges to read
+   * @param allocate the function to allocate ByteBuffer
+   * @throws IOException if there is some error performing the read
+   */
+  @Override
+  public void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    if (inputStream instanceof ExtendedInputStream
+        && ((ExtendedInputStream) inputStream).readVectored(ranges, allocate,
+            minSeekForVectorReads(), maxReadSizeForVectorReads())) {
+      if (statistics != null) {
+        for (FileRange range : ranges) {
+          range.getData().thenAccept(
+              buf -> statistics.incrementBytesRead(range.getLength()));
+        }
+      }
+      return;
+    }
+    super.readVectored(ranges, allocate);
+  }
+
   /**
    * @param buf the ByteBuffer to receive the results of the read operation.
    * @param position offset
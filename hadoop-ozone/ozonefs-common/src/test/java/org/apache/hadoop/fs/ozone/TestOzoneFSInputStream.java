@@ -136,6 +136,8 @@ public void testStreamCapability() throws IOException {
 
       assertTrue(capableOzoneFSInputStream.
           hasCapability(StreamCapabilities.READBYTEBUFFER));
+      assertTrue(capableOzoneFSInputStream.
+          hasCapability(StreamCapabilities.VECTOREDIO));
     } finally {
       if (capableOzoneFSInputStream != null) {
         capableOzoneFSInputStream.close();